@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Author;
+import org.hibernate.benchmarks.model.Book;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Builds the SessionFactory the benchmarks run against: the benchmark model mapped onto a private in-memory H2
+ * database, populated with {@link #AUTHOR_COUNT} authors of {@link #BOOKS_PER_AUTHOR} books each.
+ */
+public final class BenchmarkEnvironment {
+	public static final int AUTHOR_COUNT = 100;
+	public static final int BOOKS_PER_AUTHOR = 10;
+	public static final int BOOK_COUNT = AUTHOR_COUNT * BOOKS_PER_AUTHOR;
+
+	private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+	private final StandardServiceRegistry serviceRegistry;
+	private final SessionFactory sessionFactory;
+
+	/**
+	 * Builds and populates a new environment.
+	 *
+	 * @param settings Settings overriding the defaults, may be {@code null}
+	 */
+	public BenchmarkEnvironment(Map<String,String> settings) {
+		final Configuration configuration = new Configuration()
+				.addAnnotatedClass( Author.class )
+				.addAnnotatedClass( Book.class )
+				.setProperty( AvailableSettings.DRIVER, "org.h2.Driver" )
+				.setProperty(
+						AvailableSettings.URL,
+						"jdbc:h2:mem:benchmark" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1"
+				)
+				.setProperty( AvailableSettings.USER, "sa" )
+				.setProperty( AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect" )
+				.setProperty( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		if ( settings != null ) {
+			for ( Map.Entry<String,String> setting : settings.entrySet() ) {
+				configuration.setProperty( setting.getKey(), setting.getValue() );
+			}
+		}
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( configuration.getProperties() ).build();
+		sessionFactory = configuration.buildSessionFactory( serviceRegistry );
+		populate();
+	}
+
+	public SessionFactory getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * Releases the SessionFactory, dropping the database.
+	 */
+	public void close() {
+		sessionFactory.close();
+		StandardServiceRegistryBuilder.destroy( serviceRegistry );
+	}
+
+	private void populate() {
+		final Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		long bookId = 0;
+		for ( long authorId = 1; authorId <= AUTHOR_COUNT; authorId++ ) {
+			final Author author = new Author( authorId, "Author " + authorId );
+			session.persist( author );
+			for ( int i = 0; i < BOOKS_PER_AUTHOR; i++ ) {
+				bookId++;
+				session.persist( new Book( bookId, "Book " + bookId, "ISBN-" + bookId, bookId / 10d, author ) );
+			}
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+}
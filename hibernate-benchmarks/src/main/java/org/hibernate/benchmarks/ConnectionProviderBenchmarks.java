@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Benchmarks borrowing and returning a Connection from the built-in ConnectionProviders, with several threads
+ * contending for a pool smaller than the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@Threads(8)
+public class ConnectionProviderBenchmarks {
+	@Param({ "org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl", PooledConnectionProviderImpl.SHORT_NAME })
+	public String provider;
+
+	private StandardServiceRegistry serviceRegistry;
+	private ConnectionProvider connectionProvider;
+
+	@Setup
+	public void setUp() {
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, provider );
+		settings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		settings.put( AvailableSettings.URL, "jdbc:h2:mem:connections;DB_CLOSE_DELAY=-1" );
+		settings.put( AvailableSettings.USER, "sa" );
+		settings.put( AvailableSettings.POOL_SIZE, "4" );
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( settings ).build();
+		connectionProvider = serviceRegistry.getService( ConnectionProvider.class );
+	}
+
+	@TearDown
+	public void tearDown() {
+		StandardServiceRegistryBuilder.destroy( serviceRegistry );
+	}
+
+	@Benchmark
+	public Connection borrowAndReturn() throws SQLException {
+		final Connection connection = connectionProvider.getConnection();
+		connectionProvider.closeConnection( connection );
+		return connection;
+	}
+}
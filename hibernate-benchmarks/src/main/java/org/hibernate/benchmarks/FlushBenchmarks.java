@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Book;
+
+/**
+ * Benchmarks flushing a Session ({@link org.hibernate.event.internal.AbstractFlushingEventListener#flushEverythingToExecutions}
+ * and the resulting updates), with either none or all of its entities dirty.
+ * <p/>
+ * Loading and dirtying the entities happens in per-invocation setup, so only the flush itself is measured; the
+ * transaction is rolled back afterwards so every invocation sees the same data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class FlushBenchmarks {
+	@Param({ "100", "1000" })
+	public int entityCount;
+
+	@Param({ "false", "true" })
+	public boolean dirty;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+
+	@Setup
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+	}
+
+	@TearDown
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Setup(Level.Invocation)
+	@SuppressWarnings("unchecked")
+	public void loadEntities() {
+		session = environment.getSessionFactory().openSession();
+		session.beginTransaction();
+		final List<Book> books = session.createQuery( "from Book b where b.id <= :max" )
+				.setLong( "max", entityCount )
+				.list();
+		if ( dirty ) {
+			for ( Book book : books ) {
+				book.setPrice( book.getPrice() + 1 );
+			}
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void rollback() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void flush() {
+		session.flush();
+	}
+}
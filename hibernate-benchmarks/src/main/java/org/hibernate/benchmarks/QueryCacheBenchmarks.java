@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.cache.internal.CompactQueryCacheEntryCodec;
+import org.hibernate.cache.internal.StandardQueryCacheEntryCodec;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.testing.cache.CachingRegionFactory;
+
+/**
+ * Benchmarks query cache hits ({@link org.hibernate.cache.internal.StandardQueryCache#get}), for an entity query
+ * (cached as identifiers) and a scalar query, with each {@link org.hibernate.cache.spi.QueryCacheEntryCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class QueryCacheBenchmarks {
+	private static final String ENTITY_QUERY = "from Book b where b.author.id = :author";
+	private static final String SCALAR_QUERY = "select b.id, b.title, b.price from Book b where b.author.id = :author";
+
+	@Param({ StandardQueryCacheEntryCodec.SHORT_NAME, CompactQueryCacheEntryCodec.SHORT_NAME })
+	public String codec;
+
+	private BenchmarkEnvironment environment;
+	private long nextId;
+
+	@Setup
+	public void setUp() {
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		settings.put( AvailableSettings.QUERY_CACHE_ENTRY_CODEC, codec );
+		environment = new BenchmarkEnvironment( settings );
+
+		// prime the query cache, so that every benchmarked execution is a hit
+		for ( long author = 1; author <= BenchmarkEnvironment.AUTHOR_COUNT; author++ ) {
+			list( ENTITY_QUERY, author );
+			list( SCALAR_QUERY, author );
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Benchmark
+	public List entityQuery() {
+		return list( ENTITY_QUERY, nextAuthorId() );
+	}
+
+	@Benchmark
+	public List scalarQuery() {
+		return list( SCALAR_QUERY, nextAuthorId() );
+	}
+
+	private List list(String hql, long author) {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			return session.createQuery( hql )
+					.setLong( "author", author )
+					.setCacheable( true )
+					.list();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private long nextAuthorId() {
+		return nextId++ % BenchmarkEnvironment.AUTHOR_COUNT + 1;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Benchmarks HQL query plan lookups ({@link QueryPlanCache#getHQLQueryPlan}), both hitting the plan cache and
+ * compiling the plan from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class QueryPlanCacheBenchmarks {
+	private static final String HQL = "select b from Book b join b.author a where a.name = :name and b.price > :price order by b.title";
+
+	private BenchmarkEnvironment environment;
+	private SessionFactoryImplementor sessionFactory;
+	private QueryPlanCache queryPlanCache;
+
+	@Setup
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+		sessionFactory = (SessionFactoryImplementor) environment.getSessionFactory();
+		queryPlanCache = sessionFactory.getQueryPlanCache();
+		queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@TearDown
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Benchmark
+	public HQLQueryPlan cachedPlan() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan compiledPlan() {
+		return new HQLQueryPlan( HQL, false, Collections.emptyMap(), sessionFactory );
+	}
+}
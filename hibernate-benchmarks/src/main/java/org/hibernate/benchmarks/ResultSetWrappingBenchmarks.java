@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.model.Book;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Benchmarks 64 threads loading entities by identifier through the same shared entity loader, with and without
+ * {@value AvailableSettings#WRAP_RESULT_SETS}.  The connection pool is sized to the thread count so the loader is
+ * the only state the threads share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@Threads(ResultSetWrappingBenchmarks.THREAD_COUNT)
+public class ResultSetWrappingBenchmarks {
+	static final int THREAD_COUNT = 64;
+
+	@Param({ "false", "true" })
+	public String wrapResultSets;
+
+	private BenchmarkEnvironment environment;
+
+	@Setup
+	public void setUp() {
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( AvailableSettings.WRAP_RESULT_SETS, wrapResultSets );
+		settings.put( AvailableSettings.POOL_SIZE, Integer.toString( THREAD_COUNT ) );
+		environment = new BenchmarkEnvironment( settings );
+	}
+
+	@TearDown
+	public void tearDown() {
+		environment.close();
+	}
+
+	/**
+	 * Per-thread cursor over the book identifiers.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		private long next;
+
+		Long nextBookId() {
+			return next++ % BenchmarkEnvironment.BOOK_COUNT + 1;
+		}
+	}
+
+	@Benchmark
+	public Object get(Cursor cursor) {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			return session.get( Book.class, cursor.nextBookId() );
+		}
+		finally {
+			session.close();
+		}
+	}
+}
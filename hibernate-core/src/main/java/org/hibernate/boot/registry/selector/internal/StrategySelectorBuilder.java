@@ -32,6 +32,9 @@ import org.hibernate.boot.registry.selector.StrategyRegistrationProvider;
 import org.hibernate.boot.registry.selector.SimpleStrategyRegistrationImpl;
 import org.hibernate.boot.registry.selector.spi.StrategySelectionException;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
+import org.hibernate.cache.internal.CompactQueryCacheEntryCodec;
+import org.hibernate.cache.internal.StandardQueryCacheEntryCodec;
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
 import org.hibernate.dialect.CUBRIDDialect;
 import org.hibernate.dialect.Cache71Dialect;
 import org.hibernate.dialect.DB2390Dialect;
@@ -73,6 +76,8 @@ import org.hibernate.dialect.SybaseASE15Dialect;
 import org.hibernate.dialect.SybaseAnywhereDialect;
 import org.hibernate.dialect.TeradataDialect;
 import org.hibernate.dialect.TimesTenDialect;
+import org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.transaction.internal.jdbc.JdbcTransactionFactory;
 import org.hibernate.engine.transaction.internal.jta.CMTTransactionFactory;
 import org.hibernate.engine.transaction.internal.jta.JtaTransactionFactory;
@@ -160,6 +165,8 @@ public class StrategySelectorBuilder {
 		addJtaPlatforms( strategySelector );
 		addTransactionFactories( strategySelector );
 		addMultiTableBulkIdStrategies( strategySelector );
+		addConnectionProviders( strategySelector );
+		addQueryCacheEntryCodecs( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -369,4 +376,25 @@ public class StrategySelectorBuilder {
 				TemporaryTableBulkIdStrategy.class
 		);
 	}
+
+	private void addConnectionProviders(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				ConnectionProvider.class,
+				PooledConnectionProviderImpl.SHORT_NAME,
+				PooledConnectionProviderImpl.class
+		);
+	}
+
+	private void addQueryCacheEntryCodecs(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				QueryCacheEntryCodec.class,
+				StandardQueryCacheEntryCodec.SHORT_NAME,
+				StandardQueryCacheEntryCodec.class
+		);
+		strategySelector.registerStrategyImplementor(
+				QueryCacheEntryCodec.class,
+				CompactQueryCacheEntryCodec.SHORT_NAME,
+				CompactQueryCacheEntryCodec.class
+		);
+	}
 }
@@ -62,6 +62,7 @@ import org.hibernate.engine.spi.ManagedComposite;
 import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.internal.CoreMessageLogger;
 
 /**
@@ -80,6 +81,7 @@ public class Enhancer  {
 	private final CtClass managedCompositeCtClass;
 	private final CtClass attributeInterceptorCtClass;
 	private final CtClass attributeInterceptableCtClass;
+	private final CtClass selfDirtinessTrackerCtClass;
 	private final CtClass entityEntryCtClass;
 	private final CtClass objectCtClass;
 
@@ -122,6 +124,13 @@ public class Enhancer  {
 					)
 			);
 
+			// add SelfDirtinessTracker contract
+			this.selfDirtinessTrackerCtClass = classPool.makeClass(
+					SelfDirtinessTracker.class.getClassLoader().getResourceAsStream(
+							SelfDirtinessTracker.class.getName().replace( '.', '/' ) + ".class"
+					)
+			);
+
 			// "add" EntityEntry
 			this.entityEntryCtClass = classPool.makeClass( EntityEntry.class.getName() );
 		}
@@ -227,7 +236,7 @@ public class Enhancer  {
 		// add the ManagedEntity interface
 		managedCtClass.addInterface( managedEntityCtClass );
 
-		enhancePersistentAttributes( managedCtClass );
+		enhancePersistentAttributes( managedCtClass, true );
 
 		addEntityInstanceHandling( managedCtClass );
 		addEntityEntryHandling( managedCtClass );
@@ -236,7 +245,7 @@ public class Enhancer  {
 	}
 
 	private void enhanceAsComposite(CtClass managedCtClass) {
-		enhancePersistentAttributes( managedCtClass );
+		enhancePersistentAttributes( managedCtClass, false );
 	}
 
 	private void addEntityInstanceHandling(CtClass managedCtClass) {
@@ -303,19 +312,24 @@ public class Enhancer  {
 		return annotationsAttribute;
 	}
 
-	private void enhancePersistentAttributes(CtClass managedCtClass) {
+	private void enhancePersistentAttributes(CtClass managedCtClass, boolean isEntity) {
 		addInterceptorHandling( managedCtClass );
-		if ( enhancementContext.doDirtyCheckingInline( managedCtClass ) ) {
-			addInLineDirtyHandling( managedCtClass );
+
+		final CtField[] persistentFields = collectPersistentFields( managedCtClass );
+
+		// changes are only tracked by entities; a composite is a single (mutable) attribute of its owner
+		final boolean trackDirtiness = isEntity && enhancementContext.doDirtyCheckingInline( managedCtClass );
+		if ( trackDirtiness ) {
+			addInLineDirtyHandling( managedCtClass, persistentFields );
 		}
 
 		final IdentityHashMap<String,PersistentAttributeDescriptor> attrDescriptorMap
 				= new IdentityHashMap<String, PersistentAttributeDescriptor>();
 
-		for ( CtField persistentField : collectPersistentFields( managedCtClass ) ) {
+		for ( int i = 0; i < persistentFields.length; i++ ) {
 			attrDescriptorMap.put(
-					persistentField.getName(),
-					enhancePersistentAttribute( managedCtClass, persistentField )
+					persistentFields[i].getName(),
+					enhancePersistentAttribute( managedCtClass, persistentFields[i], trackDirtiness, i )
 			);
 		}
 
@@ -323,13 +337,17 @@ public class Enhancer  {
 		transformFieldAccessesIntoReadsAndWrites( managedCtClass, attrDescriptorMap );
 	}
 
-	private PersistentAttributeDescriptor enhancePersistentAttribute(CtClass managedCtClass, CtField persistentField) {
+	private PersistentAttributeDescriptor enhancePersistentAttribute(
+			CtClass managedCtClass,
+			CtField persistentField,
+			boolean trackDirtiness,
+			int attributeIndex) {
 		try {
 			final AttributeTypeDescriptor typeDescriptor = resolveAttributeTypeDescriptor( persistentField );
 			return new PersistentAttributeDescriptor(
 					persistentField,
 					generateFieldReader( managedCtClass, persistentField, typeDescriptor ),
-					generateFieldWriter( managedCtClass, persistentField, typeDescriptor ),
+					generateFieldWriter( managedCtClass, persistentField, typeDescriptor, trackDirtiness, attributeIndex ),
 					typeDescriptor
 			);
 		}
@@ -390,8 +408,89 @@ public class Enhancer  {
 		);
 	}
 
-	private void addInLineDirtyHandling(CtClass managedCtClass) {
-		// todo : implement
+	private void addInLineDirtyHandling(CtClass managedCtClass, CtField[] persistentFields) {
+		log.debug( "Weaving in SelfDirtinessTracker implementation" );
+
+		managedCtClass.addInterface( selfDirtinessTrackerCtClass );
+
+		// the changed attributes are kept as a bitset (long words) indexed by the position of the
+		// persistent field; the words are only allocated once an attribute actually changes.  The field is
+		// not transient so that the changes survive serialization of the Session
+		final String bits = "this." + EnhancerConstants.TRACKER_FIELD_NAME;
+		try {
+			addField( managedCtClass, classPool.get( "long[]" ), EnhancerConstants.TRACKER_FIELD_NAME, false );
+		}
+		catch (NotFoundException e) {
+			throw new EnhancementException(
+					String.format(
+							"Could not enhance entity class [%s] to add dirty tracking field",
+							managedCtClass.getName()
+					),
+					e
+			);
+		}
+
+		final int wordCount = ( persistentFields.length + 63 ) >> 6;
+		addTrackerMethod(
+				managedCtClass,
+				"private void " + EnhancerConstants.TRACKER_MARK_NAME + "(int index) {"
+						+ "if ( " + bits + " == null ) { " + bits + " = new long[" + wordCount + "]; }"
+						+ bits + "[index >> 6] = " + bits + "[index >> 6] | ( 1L << index );"
+						+ "}"
+		);
+
+		addTrackerMethod(
+				managedCtClass,
+				"public boolean " + EnhancerConstants.TRACKER_HAS_CHANGED_NAME + "() {"
+						+ "if ( " + bits + " == null ) { return false; }"
+						+ "for ( int i = 0; i < " + bits + ".length; i++ ) {"
+						+ "if ( " + bits + "[i] != 0L ) { return true; }"
+						+ "}"
+						+ "return false;"
+						+ "}"
+		);
+
+		addTrackerMethod(
+				managedCtClass,
+				"public void " + EnhancerConstants.TRACKER_CLEAR_NAME + "() { " + bits + " = null; }"
+		);
+
+		final StringBuilder getter = new StringBuilder()
+				.append( "public String[] " ).append( EnhancerConstants.TRACKER_GET_NAME ).append( "() {" )
+				.append( "if ( " ).append( bits ).append( " == null ) { return new String[0]; }" )
+				.append( "int count = 0;" )
+				.append( "for ( int i = 0; i < " ).append( bits ).append( ".length; i++ ) {" )
+				.append( "count += Long.bitCount( " ).append( bits ).append( "[i] );" )
+				.append( "}" )
+				.append( "String[] dirty = new String[count];" )
+				.append( "int j = 0;" );
+		final StringBuilder changer = new StringBuilder()
+				.append( "public void " ).append( EnhancerConstants.TRACKER_CHANGER_NAME ).append( "(String name) {" );
+		for ( int i = 0; i < persistentFields.length; i++ ) {
+			final String fieldName = persistentFields[i].getName();
+			getter.append( "if ( ( " ).append( bits ).append( '[' ).append( i >> 6 ).append( "] & ( 1L << " )
+					.append( i & 63 ).append( " ) ) != 0L ) { dirty[j++] = \"" ).append( fieldName ).append( "\"; }" );
+			changer.append( "if ( \"" ).append( fieldName ).append( "\".equals( name ) ) { " )
+					.append( EnhancerConstants.TRACKER_MARK_NAME ).append( '(' ).append( i ).append( "); return; }" );
+		}
+		addTrackerMethod( managedCtClass, getter.append( "return dirty; }" ).toString() );
+		addTrackerMethod( managedCtClass, changer.append( '}' ).toString() );
+	}
+
+	private void addTrackerMethod(CtClass managedCtClass, String source) {
+		try {
+			managedCtClass.addMethod( CtNewMethod.make( source, managedCtClass ) );
+		}
+		catch (CannotCompileException e) {
+			throw new EnhancementException(
+					String.format(
+							"Could not enhance entity class [%s] to add dirty tracking method [%s]",
+							managedCtClass.getName(),
+							source.substring( 0, source.indexOf( '(' ) )
+					),
+					e
+			);
+		}
 	}
 
 	private void addFieldWithGetterAndSetter(
@@ -531,7 +630,9 @@ public class Enhancer  {
 	private CtMethod generateFieldWriter(
 			CtClass managedCtClass,
 			CtField persistentField,
-			AttributeTypeDescriptor typeDescriptor) {
+			AttributeTypeDescriptor typeDescriptor,
+			boolean trackDirtiness,
+			int attributeIndex) {
 
 		final FieldInfo fieldInfo = persistentField.getFieldInfo();
 		final String fieldName = fieldInfo.getName();
@@ -557,8 +658,8 @@ public class Enhancer  {
 				);
 			}
 
-			if ( enhancementContext.doDirtyCheckingInline( managedCtClass ) ) {
-				writer.insertBefore( typeDescriptor.buildInLineDirtyCheckingBodyFragment( fieldName ) );
+			if ( trackDirtiness ) {
+				writer.insertBefore( typeDescriptor.buildInLineDirtyCheckingBodyFragment( fieldName, attributeIndex ) );
 			}
 
 			managedCtClass.addMethod( writer );
@@ -699,7 +800,7 @@ public class Enhancer  {
 	private static interface AttributeTypeDescriptor {
 		public String buildReadInterceptionBodyFragment(String fieldName);
 		public String buildWriteInterceptionBodyFragment(String fieldName);
-		public String buildInLineDirtyCheckingBodyFragment(String fieldName);
+		public String buildInLineDirtyCheckingBodyFragment(String fieldName, int attributeIndex);
 	}
 
 	private AttributeTypeDescriptor resolveAttributeTypeDescriptor(CtField persistentField) throws NotFoundException {
@@ -735,12 +836,12 @@ public class Enhancer  {
 
 	private abstract static class AbstractAttributeTypeDescriptor implements AttributeTypeDescriptor {
 		@Override
-		public String buildInLineDirtyCheckingBodyFragment(String fieldName) {
-			// for now...
-			// todo : hook-in in-lined dirty checking
+		public String buildInLineDirtyCheckingBodyFragment(String fieldName, int attributeIndex) {
 			return String.format(
-					"System.out.println( \"DIRTY CHECK (%1$s) : \" + this.%1$s + \" -> \" + $1 + \" (dirty=\" + (this.%1$s != $1) +\")\" );",
-					fieldName
+					"if ( this.%1$s != $1 ) { %2$s(%3$d); }",
+					fieldName,
+					EnhancerConstants.TRACKER_MARK_NAME,
+					attributeIndex
 			);
 		}
 	}
@@ -752,6 +853,16 @@ public class Enhancer  {
 			this.concreteType = concreteType;
 		}
 
+		@Override
+		public String buildInLineDirtyCheckingBodyFragment(String fieldName, int attributeIndex) {
+			return String.format(
+					"if ( !org.hibernate.internal.util.compare.EqualsHelper.equals( this.%1$s, $1 ) ) { %2$s(%3$d); }",
+					fieldName,
+					EnhancerConstants.TRACKER_MARK_NAME,
+					attributeIndex
+			);
+		}
+
 		@Override
 		public String buildReadInterceptionBodyFragment(String fieldName) {
 			return String.format(
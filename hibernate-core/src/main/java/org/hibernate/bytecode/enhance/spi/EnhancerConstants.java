@@ -128,6 +128,46 @@ public class EnhancerConstants {
 	 */
 	public static final String INTERCEPTOR_SETTER_NAME = "$$_hibernate_setInterceptor";
 
+	/**
+	 * Name of the field used to hold the bitset of changed attributes for in-line dirty checking.
+	 */
+	public static final String TRACKER_FIELD_NAME = "$$_hibernate_dirtyAttributes";
+
+	/**
+	 * Name of the method used to mark an attribute changed, by its index, in the bitset
+	 *
+	 * @see #TRACKER_FIELD_NAME
+	 */
+	public static final String TRACKER_MARK_NAME = "$$_hibernate_markDirtyAttribute";
+
+	/**
+	 * Name of the method used to check whether any attribute changed
+	 *
+	 * @see #TRACKER_FIELD_NAME
+	 */
+	public static final String TRACKER_HAS_CHANGED_NAME = "$$_hibernate_hasDirtyAttributes";
+
+	/**
+	 * Name of the method used to read the names of the changed attributes
+	 *
+	 * @see #TRACKER_FIELD_NAME
+	 */
+	public static final String TRACKER_GET_NAME = "$$_hibernate_getDirtyAttributes";
+
+	/**
+	 * Name of the method used to forget the changed attributes
+	 *
+	 * @see #TRACKER_FIELD_NAME
+	 */
+	public static final String TRACKER_CLEAR_NAME = "$$_hibernate_clearDirtyAttributes";
+
+	/**
+	 * Name of the method used to mark an attribute changed, by its name
+	 *
+	 * @see #TRACKER_FIELD_NAME
+	 */
+	public static final String TRACKER_CHANGER_NAME = "$$_hibernate_trackChange";
+
 	private EnhancerConstants() {
 	}
 }
@@ -0,0 +1,337 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
+import org.hibernate.type.Type;
+
+/**
+ * Query cache entry layout storing the rows column by column in a single byte array.
+ * <p/>
+ * Columns holding only {@link Long}, {@link Integer}, {@link Double}, {@link Boolean} or {@link String} values (which
+ * covers the disassembled form of most entity and scalar results, entity results being disassembled to their
+ * identifier) are written as fixed-width primitives, or length-prefixed UTF-8 for strings, preceded by a null bitmap
+ * when the column contains nulls.  Results having any other kind of column fall back to the
+ * {@link StandardQueryCacheEntryCodec standard} layout.
+ * <p/>
+ * The timestamp is kept outside of the byte array so that stale entries are rejected without decoding anything, and
+ * rows are only decoded as they are accessed.
+ */
+public class CompactQueryCacheEntryCodec implements QueryCacheEntryCodec {
+	public static final String SHORT_NAME = "compact";
+
+	/**
+	 * Singleton access
+	 */
+	public static final CompactQueryCacheEntryCodec INSTANCE = new CompactQueryCacheEntryCodec();
+
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+	private static final byte NULL = 0;
+	private static final byte LONG = 1;
+	private static final byte INT = 2;
+	private static final byte DOUBLE = 3;
+	private static final byte BOOLEAN = 4;
+	private static final byte STRING = 5;
+	private static final byte UNSUPPORTED = -1;
+
+	@Override
+	public Object encode(long timestamp, Type[] returnTypes, List rows) {
+		final int columnCount = returnTypes.length;
+		final int rowCount = rows.size();
+
+		final byte[] kinds = new byte[columnCount];
+		final boolean[] nullable = new boolean[columnCount];
+		for ( int column = 0; column < columnCount; column++ ) {
+			byte kind = NULL;
+			for ( int row = 0; row < rowCount; row++ ) {
+				final Object value = cell( rows.get( row ), column, columnCount );
+				if ( value == null ) {
+					nullable[column] = true;
+					continue;
+				}
+				final byte valueKind = kindOf( value );
+				if ( valueKind == UNSUPPORTED || ( kind != NULL && kind != valueKind ) ) {
+					return StandardQueryCacheEntryCodec.INSTANCE.encode( timestamp, returnTypes, rows );
+				}
+				kind = valueKind;
+			}
+			kinds[column] = kind;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 16 + rowCount * columnCount * 8 );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			for ( int column = 0; column < columnCount; column++ ) {
+				out.writeByte( kinds[column] );
+				out.writeBoolean( nullable[column] );
+				if ( nullable[column] ) {
+					writeNullBitmap( out, rows, column, columnCount );
+				}
+				for ( int row = 0; row < rowCount; row++ ) {
+					writeValue( out, kinds[column], cell( rows.get( row ), column, columnCount ) );
+				}
+			}
+			out.flush();
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( "Unable to encode query cache entry", e );
+		}
+		return new CompactEntry( timestamp, rowCount, columnCount, bytes.toByteArray() );
+	}
+
+	@Override
+	public long getTimestamp(Object entry) {
+		if ( entry instanceof CompactEntry ) {
+			return ( (CompactEntry) entry ).timestamp;
+		}
+		return StandardQueryCacheEntryCodec.INSTANCE.getTimestamp( entry );
+	}
+
+	@Override
+	public List decodeRows(Object entry, Type[] returnTypes) {
+		if ( entry instanceof CompactEntry ) {
+			return new LazyRows( (CompactEntry) entry );
+		}
+		return StandardQueryCacheEntryCodec.INSTANCE.decodeRows( entry, returnTypes );
+	}
+
+	private static Object cell(Object row, int column, int columnCount) {
+		return columnCount == 1 ? row : ( (Object[]) row )[column];
+	}
+
+	private static byte kindOf(Object value) {
+		final Class valueClass = value.getClass();
+		if ( valueClass == Long.class ) {
+			return LONG;
+		}
+		else if ( valueClass == Integer.class ) {
+			return INT;
+		}
+		else if ( valueClass == Double.class ) {
+			return DOUBLE;
+		}
+		else if ( valueClass == Boolean.class ) {
+			return BOOLEAN;
+		}
+		else if ( valueClass == String.class ) {
+			return STRING;
+		}
+		return UNSUPPORTED;
+	}
+
+	private static void writeNullBitmap(DataOutputStream out, List rows, int column, int columnCount)
+			throws IOException {
+		final int rowCount = rows.size();
+		for ( int start = 0; start < rowCount; start += 8 ) {
+			int bits = 0;
+			for ( int bit = 0; bit < 8 && start + bit < rowCount; bit++ ) {
+				if ( cell( rows.get( start + bit ), column, columnCount ) == null ) {
+					bits |= 1 << bit;
+				}
+			}
+			out.writeByte( bits );
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, byte kind, Object value) throws IOException {
+		switch ( kind ) {
+			case LONG: {
+				out.writeLong( value == null ? 0L : (Long) value );
+				break;
+			}
+			case INT: {
+				out.writeInt( value == null ? 0 : (Integer) value );
+				break;
+			}
+			case DOUBLE: {
+				out.writeDouble( value == null ? 0D : (Double) value );
+				break;
+			}
+			case BOOLEAN: {
+				out.writeBoolean( value != null && (Boolean) value );
+				break;
+			}
+			case STRING: {
+				if ( value == null ) {
+					out.writeInt( -1 );
+				}
+				else {
+					final byte[] encoded = ( (String) value ).getBytes( UTF_8 );
+					out.writeInt( encoded.length );
+					out.write( encoded );
+				}
+				break;
+			}
+			default: {
+				// NULL columns have no data
+			}
+		}
+	}
+
+	private static final class CompactEntry implements Serializable {
+		private final long timestamp;
+		private final int rowCount;
+		private final int columnCount;
+		private final byte[] data;
+
+		private CompactEntry(long timestamp, int rowCount, int columnCount, byte[] data) {
+			this.timestamp = timestamp;
+			this.rowCount = rowCount;
+			this.columnCount = columnCount;
+			this.data = data;
+		}
+	}
+
+	/**
+	 * Read-only view decoding (and remembering) each row the first time it is accessed.
+	 */
+	private static final class LazyRows extends AbstractList implements RandomAccess {
+		private final CompactEntry entry;
+		private final ByteBuffer buffer;
+		private final byte[] kinds;
+		private final int[] nullBitmapOffsets;
+		private final int[] dataOffsets;
+		private final int[][] stringOffsets;
+		private final Object[] decoded;
+		private final boolean[] isDecoded;
+
+		private LazyRows(CompactEntry entry) {
+			this.entry = entry;
+			this.buffer = ByteBuffer.wrap( entry.data );
+			this.kinds = new byte[entry.columnCount];
+			this.nullBitmapOffsets = new int[entry.columnCount];
+			this.dataOffsets = new int[entry.columnCount];
+			this.stringOffsets = new int[entry.columnCount][];
+			this.decoded = new Object[entry.rowCount];
+			this.isDecoded = new boolean[entry.rowCount];
+
+			int position = 0;
+			for ( int column = 0; column < entry.columnCount; column++ ) {
+				kinds[column] = entry.data[position++];
+				final boolean nullable = entry.data[position++] != 0;
+				nullBitmapOffsets[column] = nullable ? position : -1;
+				if ( nullable ) {
+					position += ( entry.rowCount + 7 ) / 8;
+				}
+				dataOffsets[column] = position;
+				switch ( kinds[column] ) {
+					case LONG:
+					case DOUBLE: {
+						position += entry.rowCount * 8;
+						break;
+					}
+					case INT: {
+						position += entry.rowCount * 4;
+						break;
+					}
+					case BOOLEAN: {
+						position += entry.rowCount;
+						break;
+					}
+					case STRING: {
+						final int[] offsets = new int[entry.rowCount];
+						for ( int row = 0; row < entry.rowCount; row++ ) {
+							offsets[row] = position;
+							position += 4 + Math.max( buffer.getInt( position ), 0 );
+						}
+						stringOffsets[column] = offsets;
+						break;
+					}
+					default: {
+						// NULL columns have no data
+					}
+				}
+			}
+		}
+
+		@Override
+		public Object get(int index) {
+			if ( index < 0 || index >= entry.rowCount ) {
+				throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + entry.rowCount );
+			}
+			if ( !isDecoded[index] ) {
+				decoded[index] = decodeRow( index );
+				isDecoded[index] = true;
+			}
+			return decoded[index];
+		}
+
+		@Override
+		public int size() {
+			return entry.rowCount;
+		}
+
+		private Object decodeRow(int row) {
+			if ( entry.columnCount == 1 ) {
+				return decodeValue( row, 0 );
+			}
+			final Serializable[] values = new Serializable[entry.columnCount];
+			for ( int column = 0; column < entry.columnCount; column++ ) {
+				values[column] = decodeValue( row, column );
+			}
+			return values;
+		}
+
+		private Serializable decodeValue(int row, int column) {
+			final int nullBitmapOffset = nullBitmapOffsets[column];
+			if ( nullBitmapOffset >= 0 && ( entry.data[nullBitmapOffset + ( row >>> 3 )] & ( 1 << ( row & 7 ) ) ) != 0 ) {
+				return null;
+			}
+			final int offset = dataOffsets[column];
+			switch ( kinds[column] ) {
+				case LONG: {
+					return buffer.getLong( offset + row * 8 );
+				}
+				case INT: {
+					return buffer.getInt( offset + row * 4 );
+				}
+				case DOUBLE: {
+					return buffer.getDouble( offset + row * 8 );
+				}
+				case BOOLEAN: {
+					return entry.data[offset + row] != 0;
+				}
+				case STRING: {
+					final int stringOffset = stringOffsets[column][row];
+					return new String( entry.data, stringOffset + 4, buffer.getInt( stringOffset ), UTF_8 );
+				}
+				default: {
+					return null;
+				}
+			}
+		}
+	}
+}
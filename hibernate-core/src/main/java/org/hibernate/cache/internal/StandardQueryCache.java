@@ -35,13 +35,18 @@ import org.jboss.logging.Logger;
 import org.hibernate.HibernateException;
 import org.hibernate.UnresolvableObjectException;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.QueryCache;
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cfg.Settings;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -65,6 +70,7 @@ public class StandardQueryCache implements QueryCache {
 
 	private QueryResultsRegion cacheRegion;
 	private UpdateTimestampsCache updateTimestampsCache;
+	private QueryCacheEntryCodec entryCodec;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -91,6 +97,9 @@ public class StandardQueryCache implements QueryCache {
 
 		this.cacheRegion = settings.getRegionFactory().buildQueryResultsRegion( regionNameToUse, props );
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.entryCodec = settings.getQueryCacheEntryCodec() == null
+				? StandardQueryCacheEntryCodec.INSTANCE
+				: settings.getQueryCacheEntryCodec();
 	}
 
 	@Override
@@ -130,9 +139,8 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debugf( "Caching query results in region: %s; timestamp=%s", cacheRegion.getName(), ts );
 		}
 
-		final List cacheable = new ArrayList( result.size() + 1 );
+		final List cacheable = new ArrayList( result.size() );
 		logCachedResultDetails( key, null, returnTypes, cacheable );
-		cacheable.add( ts );
 
 		final boolean isSingleResult = returnTypes.length == 1;
 		for ( Object aResult : result ) {
@@ -143,7 +151,7 @@ public class StandardQueryCache implements QueryCache {
 			logCachedResultRowDetails( returnTypes, aResult );
 		}
 
-		cacheRegion.put( key, cacheable );
+		cacheRegion.put( key, entryCodec.encode( ts, returnTypes, cacheable ) );
 		return true;
 	}
 
@@ -159,17 +167,16 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debugf( "Checking cached query results in region: %s", cacheRegion.getName() );
 		}
 
-		final List cacheable = (List) cacheRegion.get( key );
-		logCachedResultDetails( key, spaces, returnTypes, cacheable );
-
-		if ( cacheable == null ) {
+		final Object entry = cacheRegion.get( key );
+		if ( entry == null ) {
+			logCachedResultDetails( key, spaces, returnTypes, null );
 			if ( DEBUGGING ) {
 				LOG.debug( "Query results were not found in cache" );
 			}
 			return null;
 		}
 
-		final Long timestamp = (Long) cacheable.get( 0 );
+		final Long timestamp = entryCodec.getTimestamp( entry );
 		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp ) ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
@@ -177,11 +184,14 @@ public class StandardQueryCache implements QueryCache {
 			return null;
 		}
 
+		final List cacheable = entryCodec.decodeRows( entry, returnTypes );
+		logCachedResultDetails( key, spaces, returnTypes, cacheable );
+
 		if ( DEBUGGING ) {
 			LOG.debug( "Returning cached query results" );
 		}
 		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		for ( int i = 0; i < cacheable.size(); i++ ) {
 			if ( singleResult ) {
 				returnTypes[0].beforeAssemble( (Serializable) cacheable.get( i ), session );
 			}
@@ -190,39 +200,80 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 
-		final List result = new ArrayList( cacheable.size() - 1 );
-		for ( int i = 1; i < cacheable.size(); i++ ) {
-			try {
-				if ( singleResult ) {
-					result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
-				}
-				else {
-					result.add(
-							TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
-					);
+		final List result = new ArrayList( cacheable.size() );
+		prefetchCachedEntities( cacheable, returnTypes, session );
+		try {
+			for ( int i = 0; i < cacheable.size(); i++ ) {
+				try {
+					if ( singleResult ) {
+						result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
+					}
+					else {
+						result.add(
+								TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
+						);
+					}
+					logCachedResultRowDetails( returnTypes, result.get( i ) );
 				}
-				logCachedResultRowDetails( returnTypes, result.get( i - 1 ) );
-			}
-			catch ( RuntimeException ex ) {
-				if ( isNaturalKeyLookup ) {
-					// potentially perform special handling for natural-id look ups.
-					if ( UnresolvableObjectException.class.isInstance( ex )
-							|| EntityNotFoundException.class.isInstance( ex ) ) {
-						if ( DEBUGGING ) {
-							LOG.debug( "Unable to reassemble cached natural-id query result" );
-						}
-						cacheRegion.evict( key );
+				catch ( RuntimeException ex ) {
+					if ( isNaturalKeyLookup ) {
+						// potentially perform special handling for natural-id look ups.
+						if ( UnresolvableObjectException.class.isInstance( ex )
+								|| EntityNotFoundException.class.isInstance( ex ) ) {
+							if ( DEBUGGING ) {
+								LOG.debug( "Unable to reassemble cached natural-id query result" );
+							}
+							cacheRegion.evict( key );
 
-						// EARLY EXIT !!!!!
-						return null;
+							// EARLY EXIT !!!!!
+							return null;
+						}
 					}
+					throw ex;
 				}
-				throw ex;
 			}
 		}
+		finally {
+			session.getPersistenceContext().getBatchFetchQueue().clearPrefetchedCacheEntries();
+		}
 		return result;
 	}
 
+	/**
+	 * Reads the second-level cache entries of the entities referenced by the cached rows with one bulk call per
+	 * entity type, instead of one call per row as each is assembled.
+	 */
+	private static void prefetchCachedEntities(List cacheable, Type[] returnTypes, SessionImplementor session) {
+		if ( cacheable.size() < 2 || !session.getCacheMode().isGetEnabled() ) {
+			return;
+		}
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			if ( !( returnTypes[i] instanceof ManyToOneType )
+					|| !( (ManyToOneType) returnTypes[i] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = session.getFactory().getEntityPersister(
+					( (ManyToOneType) returnTypes[i] ).getAssociatedEntityName()
+			);
+			if ( !persister.hasCache() || persister.getIdentifierType().isComponentType() ) {
+				continue;
+			}
+			final List<CacheKey> keys = new ArrayList<CacheKey>( cacheable.size() );
+			for ( Object row : cacheable ) {
+				final Serializable id = (Serializable) ( returnTypes.length == 1 ? row : ( (Object[]) row )[i] );
+				if ( id != null && persistenceContext.getEntity( id, persister ) == null ) {
+					keys.add(
+							session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() )
+					);
+				}
+			}
+			if ( keys.size() > 1 ) {
+				persistenceContext.getBatchFetchQueue().prefetchCacheEntries( persister, keys );
+			}
+		}
+	}
+
 	protected boolean isUpToDate(final Set spaces, final Long timestamp) {
 		if ( DEBUGGING ) {
 			LOG.debugf( "Checking query spaces are up-to-date: %s", spaces );
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
+import org.hibernate.type.Type;
+
+/**
+ * The historical query cache entry layout: a {@link List} holding the timestamp followed by the disassembled rows.
+ */
+public class StandardQueryCacheEntryCodec implements QueryCacheEntryCodec {
+	public static final String SHORT_NAME = "standard";
+
+	/**
+	 * Singleton access
+	 */
+	public static final StandardQueryCacheEntryCodec INSTANCE = new StandardQueryCacheEntryCodec();
+
+	@Override
+	@SuppressWarnings({ "unchecked" })
+	public Object encode(long timestamp, Type[] returnTypes, List rows) {
+		final List cacheable = new ArrayList( rows.size() + 1 );
+		cacheable.add( timestamp );
+		cacheable.addAll( rows );
+		return cacheable;
+	}
+
+	@Override
+	public long getTimestamp(Object entry) {
+		return (Long) ( (List) entry ).get( 0 );
+	}
+
+	@Override
+	public List decodeRows(Object entry, Type[] returnTypes) {
+		final List cacheable = (List) entry;
+		return cacheable.subList( 1, cacheable.size() );
+	}
+}
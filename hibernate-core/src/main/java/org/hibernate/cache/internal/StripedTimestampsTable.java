@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory table of the last update timestamp of each query space, used by
+ * {@link org.hibernate.cache.spi.UpdateTimestampsCache} to validate query cache results without reading the
+ * timestamps region.
+ * <p/>
+ * Each space is interned to an int id the first time it is seen; the timestamps themselves are kept as primitive
+ * longs in fixed-size stripes which are allocated as the number of known spaces grows, so neither reads nor
+ * writes box or allocate once a space is known.
+ */
+public class StripedTimestampsTable {
+	/**
+	 * Marker for a space whose timestamp is not known locally.
+	 */
+	public static final long UNKNOWN = Long.MIN_VALUE;
+
+	private static final int STRIPE_SHIFT = 6;
+	private static final int STRIPE_SIZE = 1 << STRIPE_SHIFT;
+	private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+	private final ConcurrentMap<Serializable, Integer> spaceIds = new ConcurrentHashMap<Serializable, Integer>();
+	private final Object internLock = new Object();
+	private volatile AtomicLongArray[] stripes = new AtomicLongArray[0];
+	private int nextId;
+
+	/**
+	 * Get the last known update timestamp of the given space.
+	 *
+	 * @param space The query space
+	 *
+	 * @return The timestamp, or {@link #UNKNOWN}
+	 */
+	public long get(Serializable space) {
+		final Integer id = spaceIds.get( space );
+		if ( id == null ) {
+			return UNKNOWN;
+		}
+		return stripeFor( id ).get( id & STRIPE_MASK );
+	}
+
+	/**
+	 * Record the update timestamp of the given space, replacing whatever was known before.
+	 *
+	 * @param space The query space
+	 * @param timestamp The timestamp
+	 */
+	public void set(Serializable space, long timestamp) {
+		final int id = intern( space );
+		stripeFor( id ).set( id & STRIPE_MASK, timestamp );
+	}
+
+	/**
+	 * Record the update timestamp of the given space, unless one is already known.  Used to seed the table with
+	 * values read from the region without overwriting a newer local invalidation.
+	 *
+	 * @param space The query space
+	 * @param timestamp The timestamp
+	 */
+	public void setIfUnknown(Serializable space, long timestamp) {
+		final int id = intern( space );
+		stripeFor( id ).compareAndSet( id & STRIPE_MASK, UNKNOWN, timestamp );
+	}
+
+	/**
+	 * Forget all known timestamps.  Space ids stay interned.
+	 */
+	public void clear() {
+		for ( AtomicLongArray stripe : stripes ) {
+			for ( int i = 0; i < STRIPE_SIZE; i++ ) {
+				stripe.set( i, UNKNOWN );
+			}
+		}
+	}
+
+	private AtomicLongArray stripeFor(int id) {
+		return stripes[id >>> STRIPE_SHIFT];
+	}
+
+	private int intern(Serializable space) {
+		Integer id = spaceIds.get( space );
+		if ( id == null ) {
+			synchronized ( internLock ) {
+				id = spaceIds.get( space );
+				if ( id == null ) {
+					id = nextId++;
+					ensureStripe( id );
+					// published only after its stripe exists, so readers resolving the id always find the stripe
+					spaceIds.put( space, id );
+				}
+			}
+		}
+		return id;
+	}
+
+	private void ensureStripe(int id) {
+		final int stripeIndex = id >>> STRIPE_SHIFT;
+		final AtomicLongArray[] current = stripes;
+		if ( stripeIndex < current.length ) {
+			return;
+		}
+		final AtomicLongArray[] grown = new AtomicLongArray[stripeIndex + 1];
+		System.arraycopy( current, 0, grown, 0, current.length );
+		final AtomicLongArray stripe = new AtomicLongArray( STRIPE_SIZE );
+		for ( int i = 0; i < STRIPE_SIZE; i++ ) {
+			stripe.set( i, UNKNOWN );
+		}
+		grown[stripeIndex] = stripe;
+		stripes = grown;
+	}
+}
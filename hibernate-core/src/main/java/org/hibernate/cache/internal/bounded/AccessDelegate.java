@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * The operations of the access strategies of {@link BoundedRegionFactory}, for one access type.  The entity,
+ * collection and natural-id access strategies all delegate to one of these; natural-id and collection data are
+ * simply unversioned.
+ */
+abstract class AccessDelegate {
+	protected final BoundedTransactionalRegion region;
+
+	AccessDelegate(BoundedTransactionalRegion region) {
+		this.region = region;
+	}
+
+	Object get(Object key, long txTimestamp) throws CacheException {
+		return region.get( key );
+	}
+
+	boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		if ( key == null || value == null ) {
+			return false;
+		}
+		if ( minimalPutOverride && region.contains( key ) ) {
+			return false;
+		}
+		region.put( key, value );
+		return true;
+	}
+
+	SoftLock lockItem(Object key, Object version) throws CacheException {
+		return null;
+	}
+
+	void unlockItem(Object key, SoftLock lock) throws CacheException {
+		region.evict( key );
+	}
+
+	boolean insert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+	abstract boolean afterInsert(Object key, Object value, Object version) throws CacheException;
+
+	abstract boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException;
+
+	abstract boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException;
+
+	void remove(Object key) throws CacheException {
+		region.evict( key );
+	}
+
+	void removeAll() throws CacheException {
+		region.evictAll();
+	}
+
+	/**
+	 * Region locks are not supported.
+	 *
+	 * @return {@code null}
+	 */
+	SoftLock lockRegion() throws CacheException {
+		return null;
+	}
+
+	/**
+	 * Region locks are not supported, so the whole region is evicted instead.
+	 */
+	void unlockRegion(SoftLock lock) throws CacheException {
+		region.evictAll();
+	}
+
+	void evict(Object key) throws CacheException {
+		region.evict( key );
+	}
+
+	void evictAll() throws CacheException {
+		region.evictAll();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Base of the access strategies of {@link BoundedRegionFactory}, which delegate to the {@link AccessDelegate} of
+ * their access type.
+ */
+abstract class BaseAccess implements RegionAccessStrategy {
+	protected final BoundedTransactionalRegion region;
+	protected final AccessDelegate delegate;
+
+	BaseAccess(BoundedTransactionalRegion region, AccessDelegate delegate) {
+		this.region = region;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		return delegate.get( key, txTimestamp );
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version, region.isMinimalPutsEnabled() );
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
+	}
+
+	@Override
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		return delegate.lockItem( key, version );
+	}
+
+	@Override
+	public SoftLock lockRegion() throws CacheException {
+		return delegate.lockRegion();
+	}
+
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		delegate.unlockItem( key, lock );
+	}
+
+	@Override
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		delegate.unlockRegion( lock );
+	}
+
+	@Override
+	public void remove(Object key) throws CacheException {
+		delegate.remove( key );
+	}
+
+	@Override
+	public void removeAll() throws CacheException {
+		delegate.removeAll();
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		delegate.evict( key );
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		delegate.evictAll();
+	}
+}
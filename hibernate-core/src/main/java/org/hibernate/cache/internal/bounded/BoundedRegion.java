@@ -0,0 +1,239 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Base of the regions of {@link BoundedRegionFactory}: a {@link BoundedConcurrentHashMap}, whose entries optionally
+ * expire some time after they were put.
+ * <p/>
+ * When given an off-heap size, the region also writes its entries through to an {@link OffHeapStore}, and the map
+ * only keeps the recently used ones: entries missing from the map are read back from the off-heap store.
+ */
+class BoundedRegion implements GeneralDataRegion {
+	private static final int CONCURRENCY_LEVEL = 16;
+	// timeout of the soft locks of the read-write access strategies: 60s
+	private static final int TIMEOUT = Timestamper.ONE_MS * 60000;
+
+	private final String name;
+	private final long timeToLive;
+	private final BoundedConcurrentHashMap<Object,Object> cache;
+	private final OffHeapStore offHeap;
+
+	BoundedRegion(String name, int maxEntries, long timeToLive, BoundedConcurrentHashMap.Eviction eviction) {
+		this( name, maxEntries, timeToLive, 0, eviction );
+	}
+
+	BoundedRegion(
+			String name,
+			int maxEntries,
+			long timeToLive,
+			long offHeapSize,
+			BoundedConcurrentHashMap.Eviction eviction) {
+		this.name = name;
+		this.timeToLive = timeToLive;
+		this.cache = new BoundedConcurrentHashMap<Object,Object>( maxEntries, CONCURRENCY_LEVEL, eviction );
+		this.offHeap = offHeapSize > 0 ? new OffHeapStore( offHeapSize ) : null;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object get(Object key) throws CacheException {
+		if ( key == null ) {
+			return null;
+		}
+		Object cached = cache.get( key );
+		if ( cached == null && offHeap != null ) {
+			cached = readOffHeap( key );
+		}
+		if ( cached instanceof ExpiringValue ) {
+			final ExpiringValue expiring = (ExpiringValue) cached;
+			if ( expiring.isExpired( System.currentTimeMillis() ) ) {
+				cache.remove( key, cached );
+				if ( offHeap != null ) {
+					offHeap.remove( key );
+				}
+				return null;
+			}
+			return expiring.value;
+		}
+		return cached;
+	}
+
+	/**
+	 * Reads an entry back from the off-heap store into the map.  Should the entry be replaced or evicted meanwhile,
+	 * the copy just put in the map is removed again, as the writer may have already gone through the map.
+	 */
+	private Object readOffHeap(Object key) {
+		final OffHeapStore.Stored stored = offHeap.get( key );
+		if ( stored == null ) {
+			return null;
+		}
+		final Object value = EntryEncoding.decode( stored.bytes );
+		cache.put( key, value );
+		if ( !offHeap.isCurrent( key, stored ) ) {
+			cache.remove( key, value );
+		}
+		return value;
+	}
+
+	@Override
+	public void put(Object key, Object value) throws CacheException {
+		if ( key == null || value == null ) {
+			return;
+		}
+		final Object stored = timeToLive > 0
+				? new ExpiringValue( value, System.currentTimeMillis() + timeToLive )
+				: value;
+		if ( offHeap != null ) {
+			final byte[] bytes = EntryEncoding.encode( stored );
+			if ( bytes == null ) {
+				// the entry only lives in the map
+				offHeap.remove( key );
+			}
+			else {
+				offHeap.put( key, bytes );
+			}
+		}
+		cache.put( key, stored );
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		if ( key != null ) {
+			if ( offHeap != null ) {
+				offHeap.remove( key );
+			}
+			cache.remove( key );
+		}
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		if ( offHeap != null ) {
+			offHeap.clear();
+		}
+		cache.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return get( key ) != null;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		if ( offHeap != null ) {
+			offHeap.destroy();
+		}
+		cache.clear();
+	}
+
+	/**
+	 * The size of the off-heap store, as the size of the objects of the map is unknown.
+	 *
+	 * @return The number of bytes of direct memory allocated by the off-heap store, or -1 when there is none
+	 */
+	@Override
+	public long getSizeInMemory() {
+		return offHeap != null ? offHeap.getAllocatedBytes() : -1;
+	}
+
+	/**
+	 * The number of entries of the map, or of the off-heap store when there is one.
+	 */
+	@Override
+	public long getElementCountInMemory() {
+		return offHeap != null ? offHeap.size() : cache.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		final long now = System.currentTimeMillis();
+		final Map<Object,Object> copy = new HashMap<Object,Object>();
+		if ( offHeap != null ) {
+			for ( Object key : offHeap.keys() ) {
+				final OffHeapStore.Stored stored = offHeap.get( key );
+				if ( stored != null ) {
+					copyEntry( key, EntryEncoding.decode( stored.bytes ), now, copy );
+				}
+			}
+		}
+		for ( Map.Entry<Object,Object> entry : cache.entrySet() ) {
+			copyEntry( entry.getKey(), entry.getValue(), now, copy );
+		}
+		return copy;
+	}
+
+	private static void copyEntry(Object key, Object cached, long now, Map<Object,Object> copy) {
+		if ( cached instanceof ExpiringValue ) {
+			final ExpiringValue expiring = (ExpiringValue) cached;
+			if ( !expiring.isExpired( now ) ) {
+				copy.put( key, expiring.value );
+			}
+		}
+		else {
+			copy.put( key, cached );
+		}
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return TIMEOUT;
+	}
+
+	static final class ExpiringValue {
+		final Object value;
+		final long expiration;
+
+		ExpiringValue(Object value, long expiration) {
+			this.value = value;
+			this.expiration = expiration;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiration;
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.util.Properties;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A {@link RegionFactory} keeping each region in a {@link BoundedConcurrentHashMap} using LIRS eviction, for a
+ * single-node second-level cache without any other dependency.
+ * <p/>
+ * The size and the time to live of the entries of the entity, collection, natural-id and query results regions are
+ * configured by {@link #MAX_ENTRIES} and {@link #TIME_TO_LIVE}, and may be set for a single region by inserting its
+ * name: {@code hibernate.cache.bounded.<region name>.max_entries}.  The entries of the timestamps region are never
+ * evicted, as the query cache would otherwise take outdated results for current ones.
+ * <p/>
+ * Setting {@link #OFF_HEAP_SIZE} keeps the entries of the entity, collection and natural-id regions in direct memory,
+ * outside of the heap.  {@link #MAX_ENTRIES} then sizes the on-heap tier of recently used entries in front of it.
+ * <p/>
+ * The regions support the read-only, nonstrict-read-write and read-write access types.
+ */
+public class BoundedRegionFactory implements RegionFactory {
+	/**
+	 * Maximum number of entries of a region.  Default is 10000.
+	 */
+	public static final String MAX_ENTRIES = "hibernate.cache.bounded.max_entries";
+
+	/**
+	 * Number of milliseconds after which a cached entry expires.  Default is 0, meaning entries do not expire.
+	 */
+	public static final String TIME_TO_LIVE = "hibernate.cache.bounded.time_to_live";
+
+	/**
+	 * Number of bytes of direct memory in which to keep the entries of a region off the heap.  Default is 0, meaning
+	 * entries are only kept on the heap.
+	 */
+	public static final String OFF_HEAP_SIZE = "hibernate.cache.bounded.off_heap_size";
+
+	private static final String PREFIX = "hibernate.cache.bounded.";
+	private static final String MAX_ENTRIES_SUFFIX = ".max_entries";
+	private static final String TIME_TO_LIVE_SUFFIX = ".time_to_live";
+	private static final String OFF_HEAP_SIZE_SUFFIX = ".off_heap_size";
+
+	static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private Settings settings;
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+		this.settings = settings;
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new BoundedEntityRegion(
+				regionName,
+				maxEntries( regionName, properties ),
+				timeToLive( regionName, properties ),
+				offHeapSize( regionName, properties ),
+				metadata,
+				settings
+		);
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new BoundedNaturalIdRegion(
+				regionName,
+				maxEntries( regionName, properties ),
+				timeToLive( regionName, properties ),
+				offHeapSize( regionName, properties ),
+				metadata,
+				settings
+		);
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new BoundedCollectionRegion(
+				regionName,
+				maxEntries( regionName, properties ),
+				timeToLive( regionName, properties ),
+				offHeapSize( regionName, properties ),
+				metadata,
+				settings
+		);
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new QueryResultsRegionImpl(
+				regionName,
+				maxEntries( regionName, properties ),
+				timeToLive( regionName, properties )
+		);
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new TimestampsRegionImpl( regionName );
+	}
+
+	private static int maxEntries(String regionName, Properties properties) {
+		final int maxEntries = ConfigurationHelper.getInt(
+				PREFIX + regionName + MAX_ENTRIES_SUFFIX,
+				properties,
+				ConfigurationHelper.getInt( MAX_ENTRIES, properties, DEFAULT_MAX_ENTRIES )
+		);
+		if ( maxEntries < 1 ) {
+			throw new CacheException( "Maximum number of entries of region [" + regionName + "] must be positive" );
+		}
+		return maxEntries;
+	}
+
+	private static long timeToLive(String regionName, Properties properties) {
+		return ConfigurationHelper.getInt(
+				PREFIX + regionName + TIME_TO_LIVE_SUFFIX,
+				properties,
+				ConfigurationHelper.getInt( TIME_TO_LIVE, properties, 0 )
+		);
+	}
+
+	private static long offHeapSize(String regionName, Properties properties) {
+		final String value = ConfigurationHelper.getString(
+				PREFIX + regionName + OFF_HEAP_SIZE_SUFFIX,
+				properties,
+				ConfigurationHelper.getString( OFF_HEAP_SIZE, properties, "0" )
+		);
+		try {
+			return Long.parseLong( value.trim() );
+		}
+		catch (NumberFormatException e) {
+			throw new CacheException( "Off-heap size of region [" + regionName + "] is not a number: " + value, e );
+		}
+	}
+
+	private static class QueryResultsRegionImpl extends BoundedRegion implements QueryResultsRegion {
+		QueryResultsRegionImpl(String name, int maxEntries, long timeToLive) {
+			super( name, maxEntries, timeToLive, BoundedConcurrentHashMap.Eviction.LIRS );
+		}
+	}
+
+	private static class TimestampsRegionImpl extends BoundedRegion implements TimestampsRegion {
+		TimestampsRegionImpl(String name) {
+			super( name, DEFAULT_MAX_ENTRIES, 0, BoundedConcurrentHashMap.Eviction.NONE );
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Base of the entity, collection and natural-id regions of {@link BoundedRegionFactory}.
+ */
+abstract class BoundedTransactionalRegion extends BoundedRegion implements TransactionalDataRegion {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			BoundedTransactionalRegion.class.getName()
+	);
+
+	private final CacheDataDescription metadata;
+	private final Settings settings;
+
+	BoundedTransactionalRegion(
+			String name,
+			int maxEntries,
+			long timeToLive,
+			long offHeapSize,
+			CacheDataDescription metadata,
+			Settings settings) {
+		super( name, maxEntries, timeToLive, offHeapSize, BoundedConcurrentHashMap.Eviction.LIRS );
+		this.metadata = metadata;
+		this.settings = settings;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	boolean isMinimalPutsEnabled() {
+		return settings.isMinimalPutsEnabled();
+	}
+
+	AccessDelegate buildAccessDelegate(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( metadata.isMutable() ) {
+					LOG.warnf( "Read-only cache configured for mutable data of region [%s]", getName() );
+				}
+				return new ReadOnlyAccessDelegate( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonstrictReadWriteAccessDelegate( this );
+			case READ_WRITE:
+				return new ReadWriteAccessDelegate( this );
+			default:
+				throw new CacheException(
+						"Access type [" + accessType.getExternalName() + "] is not supported by region [" + getName() + "]"
+				);
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.type.SerializationException;
+
+/**
+ * Compact binary encoding of the values of the off-heap tier.
+ * <p/>
+ * Cache entries are written field by field, and the values of their disassembled state with a one byte tag followed
+ * by a type specific encoding: variable length integers, modified UTF-8 strings, raw dates and so on.  Values of any other
+ * type fall back to Java serialization.  Values which cannot be serialized, such as reference cache entries, cannot
+ * be encoded at all.
+ */
+final class EntryEncoding {
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte LONG = 3;
+	private static final byte SHORT = 4;
+	private static final byte BYTE = 5;
+	private static final byte TRUE = 6;
+	private static final byte FALSE = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte FLOAT = 9;
+	private static final byte CHARACTER = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte DATE = 13;
+	private static final byte SQL_DATE = 14;
+	private static final byte SQL_TIME = 15;
+	private static final byte SQL_TIMESTAMP = 16;
+	private static final byte BYTES = 17;
+	private static final byte SERIALIZABLE_ARRAY = 18;
+	private static final byte OBJECT_ARRAY = 19;
+	private static final byte STANDARD_ENTRY = 20;
+	private static final byte COLLECTION_ENTRY = 21;
+	private static final byte ITEM = 22;
+	private static final byte EXPIRING_VALUE = 23;
+	private static final byte SERIALIZED = 24;
+
+	private EntryEncoding() {
+	}
+
+	/**
+	 * Encodes a cached value.
+	 *
+	 * @return The encoded value, or {@code null} if it cannot be encoded
+	 */
+	static byte[] encode(Object value) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 128 );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			write( value, out );
+			out.flush();
+		}
+		catch (IOException e) {
+			// ByteArrayOutputStream does not throw
+			throw new CacheException( e );
+		}
+		catch (SerializationException e) {
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a value encoded by {@link #encode}.
+	 */
+	static Object decode(byte[] bytes) {
+		try {
+			return read( new DataInputStream( new ByteArrayInputStream( bytes ) ) );
+		}
+		catch (IOException e) {
+			throw new CacheException( "Could not decode off-heap cache entry", e );
+		}
+	}
+
+	private static void write(Object value, DataOutputStream out) throws IOException {
+		if ( value == null ) {
+			out.writeByte( NULL );
+			return;
+		}
+		final Class<?> type = value.getClass();
+		if ( type == String.class ) {
+			out.writeByte( STRING );
+			writeString( (String) value, out );
+		}
+		else if ( type == Integer.class ) {
+			out.writeByte( INTEGER );
+			writeVarLong( (Integer) value, out );
+		}
+		else if ( type == Long.class ) {
+			out.writeByte( LONG );
+			writeVarLong( (Long) value, out );
+		}
+		else if ( type == Short.class ) {
+			out.writeByte( SHORT );
+			out.writeShort( (Short) value );
+		}
+		else if ( type == Byte.class ) {
+			out.writeByte( BYTE );
+			out.writeByte( (Byte) value );
+		}
+		else if ( type == Boolean.class ) {
+			out.writeByte( (Boolean) value ? TRUE : FALSE );
+		}
+		else if ( type == Double.class ) {
+			out.writeByte( DOUBLE );
+			out.writeDouble( (Double) value );
+		}
+		else if ( type == Float.class ) {
+			out.writeByte( FLOAT );
+			out.writeFloat( (Float) value );
+		}
+		else if ( type == Character.class ) {
+			out.writeByte( CHARACTER );
+			out.writeChar( (Character) value );
+		}
+		else if ( type == BigDecimal.class ) {
+			out.writeByte( BIG_DECIMAL );
+			writeVarLong( ( (BigDecimal) value ).scale(), out );
+			writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray(), out );
+		}
+		else if ( type == BigInteger.class ) {
+			out.writeByte( BIG_INTEGER );
+			writeBytes( ( (BigInteger) value ).toByteArray(), out );
+		}
+		else if ( type == Date.class ) {
+			out.writeByte( DATE );
+			out.writeLong( ( (Date) value ).getTime() );
+		}
+		else if ( type == java.sql.Date.class ) {
+			out.writeByte( SQL_DATE );
+			out.writeLong( ( (Date) value ).getTime() );
+		}
+		else if ( type == java.sql.Time.class ) {
+			out.writeByte( SQL_TIME );
+			out.writeLong( ( (Date) value ).getTime() );
+		}
+		else if ( type == java.sql.Timestamp.class ) {
+			out.writeByte( SQL_TIMESTAMP );
+			out.writeLong( ( (java.sql.Timestamp) value ).getTime() );
+			writeVarLong( ( (java.sql.Timestamp) value ).getNanos(), out );
+		}
+		else if ( type == byte[].class ) {
+			out.writeByte( BYTES );
+			writeBytes( (byte[]) value, out );
+		}
+		else if ( type == Serializable[].class || type == Object[].class ) {
+			out.writeByte( type == Serializable[].class ? SERIALIZABLE_ARRAY : OBJECT_ARRAY );
+			writeArray( (Object[]) value, out );
+		}
+		else if ( type == StandardCacheEntryImpl.class ) {
+			final StandardCacheEntryImpl entry = (StandardCacheEntryImpl) value;
+			out.writeByte( STANDARD_ENTRY );
+			writeString( entry.getSubclass(), out );
+			out.writeBoolean( entry.areLazyPropertiesUnfetched() );
+			write( entry.getVersion(), out );
+			writeArray( entry.getDisassembledState(), out );
+		}
+		else if ( type == CollectionCacheEntry.class ) {
+			out.writeByte( COLLECTION_ENTRY );
+			write( ( (CollectionCacheEntry) value ).getState(), out );
+		}
+		else if ( type == ReadWriteAccessDelegate.Item.class ) {
+			final ReadWriteAccessDelegate.Item item = (ReadWriteAccessDelegate.Item) value;
+			out.writeByte( ITEM );
+			out.writeLong( item.timestamp );
+			write( item.version, out );
+			write( item.value, out );
+		}
+		else if ( type == BoundedRegion.ExpiringValue.class ) {
+			final BoundedRegion.ExpiringValue expiring = (BoundedRegion.ExpiringValue) value;
+			out.writeByte( EXPIRING_VALUE );
+			out.writeLong( expiring.expiration );
+			write( expiring.value, out );
+		}
+		else if ( value instanceof Serializable ) {
+			out.writeByte( SERIALIZED );
+			writeBytes( SerializationHelper.serialize( (Serializable) value ), out );
+		}
+		else {
+			throw new SerializationException( "Value of type " + type.getName() + " cannot be encoded", null );
+		}
+	}
+
+	private static Object read(DataInputStream in) throws IOException {
+		final byte tag = in.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case STRING:
+				return readString( in );
+			case INTEGER:
+				return (int) readVarLong( in );
+			case LONG:
+				return readVarLong( in );
+			case SHORT:
+				return in.readShort();
+			case BYTE:
+				return in.readByte();
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case DOUBLE:
+				return in.readDouble();
+			case FLOAT:
+				return in.readFloat();
+			case CHARACTER:
+				return in.readChar();
+			case BIG_DECIMAL: {
+				final int scale = (int) readVarLong( in );
+				return new BigDecimal( new BigInteger( readBytes( in ) ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( readBytes( in ) );
+			case DATE:
+				return new Date( in.readLong() );
+			case SQL_DATE:
+				return new java.sql.Date( in.readLong() );
+			case SQL_TIME:
+				return new java.sql.Time( in.readLong() );
+			case SQL_TIMESTAMP: {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( in.readLong() );
+				timestamp.setNanos( (int) readVarLong( in ) );
+				return timestamp;
+			}
+			case BYTES:
+				return readBytes( in );
+			case SERIALIZABLE_ARRAY:
+				return readArray( new Serializable[(int) readVarLong( in )], in );
+			case OBJECT_ARRAY:
+				return readArray( new Object[(int) readVarLong( in )], in );
+			case STANDARD_ENTRY: {
+				final String subclass = readString( in );
+				final boolean unfetched = in.readBoolean();
+				final Object version = read( in );
+				final Serializable[] state = new Serializable[(int) readVarLong( in )];
+				readArray( state, in );
+				return new StandardCacheEntryImpl( state, subclass, unfetched, version );
+			}
+			case COLLECTION_ENTRY:
+				return new CollectionCacheEntry( (Serializable) read( in ) );
+			case ITEM: {
+				final long timestamp = in.readLong();
+				final Object version = read( in );
+				return new ReadWriteAccessDelegate.Item( read( in ), version, timestamp );
+			}
+			case EXPIRING_VALUE: {
+				final long expiration = in.readLong();
+				return new BoundedRegion.ExpiringValue( read( in ), expiration );
+			}
+			case SERIALIZED:
+				return SerializationHelper.deserialize( readBytes( in ) );
+			default:
+				throw new CacheException( "Unknown off-heap cache entry tag: " + tag );
+		}
+	}
+
+	private static void writeArray(Object[] array, DataOutputStream out) throws IOException {
+		writeVarLong( array.length, out );
+		for ( Object element : array ) {
+			write( element, out );
+		}
+	}
+
+	private static Object[] readArray(Object[] array, DataInputStream in) throws IOException {
+		for ( int i = 0; i < array.length; i++ ) {
+			array[i] = read( in );
+		}
+		return array;
+	}
+
+	private static void writeBytes(byte[] bytes, DataOutputStream out) throws IOException {
+		writeVarLong( bytes.length, out );
+		out.write( bytes );
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[(int) readVarLong( in )];
+		in.readFully( bytes );
+		return bytes;
+	}
+
+	/**
+	 * Writes the length of a string followed by its chars in modified UTF-8, as {@link DataOutputStream#writeUTF}
+	 * does but without its 64KB limit.  Each UTF-16 code unit is encoded on its own, so that strings which are not
+	 * valid UTF-16, such as ones holding an unpaired surrogate, are read back unchanged.
+	 */
+	private static void writeString(String value, DataOutputStream out) throws IOException {
+		final int length = value.length();
+		writeVarLong( length, out );
+		for ( int i = 0; i < length; i++ ) {
+			final char c = value.charAt( i );
+			if ( c >= 0x0001 && c <= 0x007F ) {
+				out.writeByte( c );
+			}
+			else if ( c <= 0x07FF ) {
+				out.writeByte( 0xC0 | ( ( c >> 6 ) & 0x1F ) );
+				out.writeByte( 0x80 | ( c & 0x3F ) );
+			}
+			else {
+				out.writeByte( 0xE0 | ( ( c >> 12 ) & 0x0F ) );
+				out.writeByte( 0x80 | ( ( c >> 6 ) & 0x3F ) );
+				out.writeByte( 0x80 | ( c & 0x3F ) );
+			}
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		final char[] chars = new char[(int) readVarLong( in )];
+		for ( int i = 0; i < chars.length; i++ ) {
+			final int b = in.readUnsignedByte();
+			if ( b < 0x80 ) {
+				chars[i] = (char) b;
+			}
+			else if ( b < 0xE0 ) {
+				chars[i] = (char) ( ( ( b & 0x1F ) << 6 ) | ( in.readUnsignedByte() & 0x3F ) );
+			}
+			else {
+				chars[i] = (char) ( ( ( b & 0x0F ) << 12 )
+						| ( ( in.readUnsignedByte() & 0x3F ) << 6 )
+						| ( in.readUnsignedByte() & 0x3F ) );
+			}
+		}
+		return new String( chars );
+	}
+
+	/**
+	 * Writes a zig-zag encoded variable length integer: 7 bits per byte, so that small values of either sign, like
+	 * most identifiers and lengths, take a single byte.
+	 */
+	private static void writeVarLong(long value, DataOutputStream out) throws IOException {
+		long zigZag = ( value << 1 ) ^ ( value >> 63 );
+		while ( ( zigZag & ~0x7FL ) != 0 ) {
+			out.writeByte( (int) ( ( zigZag & 0x7F ) | 0x80 ) );
+			zigZag >>>= 7;
+		}
+		out.writeByte( (int) zigZag );
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long zigZag = 0;
+		for ( int shift = 0; ; shift += 7 ) {
+			final byte b = in.readByte();
+			zigZag |= (long) ( b & 0x7F ) << shift;
+			if ( ( b & 0x80 ) == 0 ) {
+				break;
+			}
+		}
+		return ( zigZag >>> 1 ) ^ -( zigZag & 1 );
+	}
+}
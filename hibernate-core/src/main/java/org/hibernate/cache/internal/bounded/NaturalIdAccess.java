@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Access strategy of a {@link BoundedNaturalIdRegion}.  Natural-id resolutions are unversioned.
+ */
+class NaturalIdAccess extends BaseAccess implements NaturalIdRegionAccessStrategy {
+	NaturalIdAccess(BoundedNaturalIdRegion region, AccessDelegate delegate) {
+		super( region, delegate );
+	}
+
+	@Override
+	public NaturalIdRegion getRegion() {
+		return (NaturalIdRegion) region;
+	}
+
+	@Override
+	public boolean insert(Object key, Object value) throws CacheException {
+		return delegate.insert( key, value, null );
+	}
+
+	@Override
+	public boolean afterInsert(Object key, Object value) throws CacheException {
+		return delegate.afterInsert( key, value, null );
+	}
+
+	@Override
+	public boolean update(Object key, Object value) throws CacheException {
+		return delegate.update( key, value, null, null );
+	}
+
+	@Override
+	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+		return delegate.afterUpdate( key, value, null, null, lock );
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Nonstrict read-write access: data is cached once loaded, and evicted whenever it is changed, without locking.
+ */
+class NonstrictReadWriteAccessDelegate extends AccessDelegate {
+	NonstrictReadWriteAccessDelegate(BoundedTransactionalRegion region) {
+		super( region );
+	}
+
+	@Override
+	boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+	@Override
+	boolean update(Object key, Object value, Object currentVersion, Object previousVersion) throws CacheException {
+		region.evict( key );
+		return false;
+	}
+
+	@Override
+	boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException {
+		region.evict( key );
+		return false;
+	}
+}
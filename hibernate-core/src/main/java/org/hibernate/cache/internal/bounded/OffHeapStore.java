@@ -0,0 +1,417 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores encoded entries outside of the Java heap, in direct {@link ByteBuffer} slabs.
+ * <p/>
+ * The store is split in segments, each guarded by its own monitor.  A segment allocates slabs of
+ * {@link #SLAB_SIZE} bytes up to its share of the capacity, and carves each slab into chunks of one size class when
+ * a class runs out of free chunks.  Once a segment cannot allocate more slabs, storing an entry evicts the least
+ * recently used entry of the same size class, or, when that class has no entries, takes a slab over from another
+ * class after evicting the entries it holds.  Slabs are never released before {@link #destroy()}, so clearing the
+ * store does not churn direct memory; their chunks are handed back to whatever size class needs them next.
+ * <p/>
+ * Only the keys and the location of each entry remain on the heap.  Entries larger than a slab are not stored.
+ */
+final class OffHeapStore {
+	private static final int SLAB_SHIFT = 16;
+	static final int SLAB_SIZE = 1 << SLAB_SHIFT;
+
+	private static final int MIN_CHUNK_SIZE = 64;
+	private static final float CHUNK_GROWTH_FACTOR = 1.25f;
+	private static final int[] CHUNK_SIZES = chunkSizes();
+
+	private static final int MAX_SEGMENT_COUNT = 16;
+	// small stores use fewer segments, leaving each enough slabs to share among size classes
+	private static final int MIN_SLABS_PER_SEGMENT = 8;
+	// a chunk address packs the slab index above the offset within the slab
+	private static final int MAX_SLABS_PER_SEGMENT = Integer.MAX_VALUE >>> SLAB_SHIFT;
+	private static final int OFFSET_MASK = SLAB_SIZE - 1;
+
+	private final Segment[] segments;
+
+	/**
+	 * Creates a store of the given capacity, rounded up to a whole number of slabs per segment.
+	 *
+	 * @param capacity The maximum number of bytes of direct memory to allocate
+	 */
+	OffHeapStore(long capacity) {
+		final long slabCount = ( capacity + SLAB_SIZE - 1 ) / SLAB_SIZE;
+		int segmentCount = 1;
+		while ( segmentCount < MAX_SEGMENT_COUNT && segmentCount * 2L * MIN_SLABS_PER_SEGMENT <= slabCount ) {
+			segmentCount *= 2;
+		}
+		final int maxSlabs = (int) Math.min( MAX_SLABS_PER_SEGMENT, ( slabCount + segmentCount - 1 ) / segmentCount );
+		segments = new Segment[segmentCount];
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment( maxSlabs );
+		}
+	}
+
+	/**
+	 * Stores the entry of a key, replacing any previous one.
+	 *
+	 * @return {@code false} if the entry could not be stored, in which case any previous entry was removed
+	 */
+	boolean put(Object key, byte[] bytes) {
+		return segmentFor( key ).put( key, bytes );
+	}
+
+	/**
+	 * Reads the entry of a key.
+	 *
+	 * @return A copy of the entry, or {@code null}
+	 */
+	Stored get(Object key) {
+		return segmentFor( key ).get( key );
+	}
+
+	/**
+	 * Whether the entry of a key is still the one previously read.
+	 */
+	boolean isCurrent(Object key, Stored stored) {
+		return segmentFor( key ).isCurrent( key, stored.stamp );
+	}
+
+	void remove(Object key) {
+		segmentFor( key ).remove( key );
+	}
+
+	void clear() {
+		for ( Segment segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Clears the store and drops its slabs, for the garbage collector to release their memory.
+	 */
+	void destroy() {
+		for ( Segment segment : segments ) {
+			segment.destroy();
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for ( Segment segment : segments ) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	long getAllocatedBytes() {
+		long bytes = 0;
+		for ( Segment segment : segments ) {
+			bytes += segment.getAllocatedBytes();
+		}
+		return bytes;
+	}
+
+	List<Object> keys() {
+		final List<Object> keys = new ArrayList<Object>();
+		for ( Segment segment : segments ) {
+			segment.collectKeys( keys );
+		}
+		return keys;
+	}
+
+	private Segment segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= ( h >>> 20 ) ^ ( h >>> 12 );
+		h ^= ( h >>> 7 ) ^ ( h >>> 4 );
+		return segments[h & ( segments.length - 1 )];
+	}
+
+	private static int[] chunkSizes() {
+		final List<Integer> sizes = new ArrayList<Integer>();
+		int size = MIN_CHUNK_SIZE;
+		while ( size < SLAB_SIZE / 2 ) {
+			sizes.add( size );
+			// keep chunks 8-byte aligned
+			size = ( (int) ( size * CHUNK_GROWTH_FACTOR ) + 7 ) & ~7;
+		}
+		sizes.add( SLAB_SIZE / 2 );
+		sizes.add( SLAB_SIZE );
+		final int[] result = new int[sizes.size()];
+		for ( int i = 0; i < result.length; i++ ) {
+			result[i] = sizes.get( i );
+		}
+		return result;
+	}
+
+	private static int sizeClassFor(int length) {
+		final int index = Arrays.binarySearch( CHUNK_SIZES, length );
+		return index >= 0 ? index : -index - 1;
+	}
+
+	/**
+	 * A copy of a stored entry, with the stamp identifying the write that stored it.
+	 */
+	static final class Stored {
+		final byte[] bytes;
+		private final long stamp;
+
+		private Stored(byte[] bytes, long stamp) {
+			this.bytes = bytes;
+			this.stamp = stamp;
+		}
+	}
+
+	/**
+	 * Location of a stored entry, with the stamp of the write that stored it.
+	 */
+	private static final class Chunk {
+		private final int address;
+		private final int sizeClass;
+		private final int length;
+		private final long stamp;
+
+		private Chunk(int address, int sizeClass, int length, long stamp) {
+			this.address = address;
+			this.sizeClass = sizeClass;
+			this.length = length;
+			this.stamp = stamp;
+		}
+
+		private int slab() {
+			return address >>> SLAB_SHIFT;
+		}
+
+		private int offset() {
+			return address & OFFSET_MASK;
+		}
+	}
+
+	private static final class Segment {
+		private final int maxSlabs;
+		private final List<ByteBuffer> slabs = new ArrayList<ByteBuffer>();
+		private final IntStack unusedSlabs = new IntStack();
+		private int[] slabClasses = new int[MIN_SLABS_PER_SEGMENT];
+		private int reassignCursor;
+		private final Map<Object,Chunk> index = new HashMap<Object,Chunk>();
+		private final IntStack[] freeChunks = new IntStack[CHUNK_SIZES.length];
+		private final LinkedHashMap<Object,Chunk>[] lru;
+		private long nextStamp;
+
+		@SuppressWarnings("unchecked")
+		private Segment(int maxSlabs) {
+			this.maxSlabs = maxSlabs;
+			this.lru = new LinkedHashMap[CHUNK_SIZES.length];
+			for ( int i = 0; i < CHUNK_SIZES.length; i++ ) {
+				freeChunks[i] = new IntStack();
+				lru[i] = new LinkedHashMap<Object,Chunk>( 16, 0.75f, true );
+			}
+		}
+
+		private synchronized boolean put(Object key, byte[] bytes) {
+			removeEntry( key );
+			if ( bytes.length > SLAB_SIZE ) {
+				return false;
+			}
+			final int sizeClass = sizeClassFor( bytes.length );
+			final int address = allocate( sizeClass );
+			if ( address < 0 ) {
+				return false;
+			}
+			final Chunk chunk = new Chunk( address, sizeClass, bytes.length, nextStamp++ );
+			final ByteBuffer slab = slabs.get( chunk.slab() );
+			slab.position( chunk.offset() );
+			slab.put( bytes );
+			index.put( key, chunk );
+			lru[sizeClass].put( key, chunk );
+			return true;
+		}
+
+		private synchronized Stored get(Object key) {
+			final Chunk chunk = index.get( key );
+			if ( chunk == null ) {
+				return null;
+			}
+			// touch the entry in its LRU order
+			lru[chunk.sizeClass].get( key );
+			final byte[] bytes = new byte[chunk.length];
+			final ByteBuffer slab = slabs.get( chunk.slab() );
+			slab.position( chunk.offset() );
+			slab.get( bytes );
+			return new Stored( bytes, chunk.stamp );
+		}
+
+		private synchronized boolean isCurrent(Object key, long stamp) {
+			final Chunk chunk = index.get( key );
+			return chunk != null && chunk.stamp == stamp;
+		}
+
+		private synchronized void remove(Object key) {
+			removeEntry( key );
+		}
+
+		private synchronized void clear() {
+			index.clear();
+			for ( int i = 0; i < CHUNK_SIZES.length; i++ ) {
+				lru[i].clear();
+				freeChunks[i].clear();
+			}
+			unusedSlabs.clear();
+			for ( int i = 0; i < slabs.size(); i++ ) {
+				unusedSlabs.push( i );
+			}
+		}
+
+		private synchronized void destroy() {
+			clear();
+			unusedSlabs.clear();
+			slabs.clear();
+		}
+
+		private synchronized int size() {
+			return index.size();
+		}
+
+		private synchronized long getAllocatedBytes() {
+			return (long) slabs.size() * SLAB_SIZE;
+		}
+
+		private synchronized void collectKeys(List<Object> keys) {
+			keys.addAll( index.keySet() );
+		}
+
+		private void removeEntry(Object key) {
+			final Chunk chunk = index.remove( key );
+			if ( chunk != null ) {
+				lru[chunk.sizeClass].remove( key );
+				freeChunks[chunk.sizeClass].push( chunk.address );
+			}
+		}
+
+		private int allocate(int sizeClass) {
+			final IntStack free = freeChunks[sizeClass];
+			if ( free.isEmpty() ) {
+				if ( !unusedSlabs.isEmpty() ) {
+					carve( unusedSlabs.pop(), sizeClass );
+				}
+				else if ( slabs.size() < maxSlabs ) {
+					slabs.add( ByteBuffer.allocateDirect( SLAB_SIZE ) );
+					carve( slabs.size() - 1, sizeClass );
+				}
+				else {
+					final Iterator<Map.Entry<Object,Chunk>> eldest = lru[sizeClass].entrySet().iterator();
+					if ( eldest.hasNext() ) {
+						final Map.Entry<Object,Chunk> evicted = eldest.next();
+						eldest.remove();
+						index.remove( evicted.getKey() );
+						return evicted.getValue().address;
+					}
+					if ( !reassignSlab( sizeClass ) ) {
+						return -1;
+					}
+				}
+			}
+			return free.pop();
+		}
+
+		/**
+		 * Takes the next slab carved for another size class, in round-robin order, and carves it for the given one.
+		 */
+		private boolean reassignSlab(int sizeClass) {
+			for ( int i = 0; i < slabs.size(); i++ ) {
+				final int slab = ( reassignCursor + i ) % slabs.size();
+				final int owner = slabClasses[slab];
+				if ( owner != sizeClass ) {
+					reassignCursor = slab + 1;
+					final Iterator<Map.Entry<Object,Chunk>> entries = lru[owner].entrySet().iterator();
+					while ( entries.hasNext() ) {
+						final Map.Entry<Object,Chunk> entry = entries.next();
+						if ( entry.getValue().slab() == slab ) {
+							entries.remove();
+							index.remove( entry.getKey() );
+						}
+					}
+					freeChunks[owner].removeSlab( slab );
+					carve( slab, sizeClass );
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void carve(int slab, int sizeClass) {
+			if ( slab == slabClasses.length ) {
+				slabClasses = Arrays.copyOf( slabClasses, slab * 2 );
+			}
+			slabClasses[slab] = sizeClass;
+			final int chunkSize = CHUNK_SIZES[sizeClass];
+			for ( int offset = SLAB_SIZE - chunkSize; offset >= 0; offset -= chunkSize ) {
+				freeChunks[sizeClass].push( ( slab << SLAB_SHIFT ) | offset );
+			}
+		}
+	}
+
+	private static final class IntStack {
+		private int[] values = new int[16];
+		private int size;
+
+		private boolean isEmpty() {
+			return size == 0;
+		}
+
+		private void push(int value) {
+			if ( size == values.length ) {
+				values = Arrays.copyOf( values, size * 2 );
+			}
+			values[size++] = value;
+		}
+
+		private int pop() {
+			return values[--size];
+		}
+
+		/**
+		 * Removes the chunk addresses of the given slab.
+		 */
+		private void removeSlab(int slab) {
+			int kept = 0;
+			for ( int i = 0; i < size; i++ ) {
+				if ( values[i] >>> SLAB_SHIFT != slab ) {
+					values[kept++] = values[i];
+				}
+			}
+			size = kept;
+		}
+
+		private void clear() {
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Read-write access: an item is soft-locked while a transaction changes it, and loads of older data are refused
+ * until the lock is released.
+ * <p/>
+ * Items are kept in the bounded region, while the soft locks are kept in a separate unbounded map, so that eviction
+ * to make room for new items can never drop a lock.  Reads are lock-free; the check-then-act sequences of the writes
+ * are made atomic per key by a set of striped monitors.
+ */
+class ReadWriteAccessDelegate extends AccessDelegate {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ReadWriteAccessDelegate.class.getName()
+	);
+
+	private static final int STRIPES = 64;
+	// expired locks are purged once every PURGE_INTERVAL unlocks
+	private static final int PURGE_INTERVAL = 1024;
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextLockId = new AtomicLong();
+	private final AtomicLong unlockCount = new AtomicLong();
+	private final ConcurrentMap<Object,Lock> locks = new ConcurrentHashMap<Object,Lock>();
+	private final Object[] stripes = new Object[STRIPES];
+
+	ReadWriteAccessDelegate(BoundedTransactionalRegion region) {
+		super( region );
+		for ( int i = 0; i < STRIPES; i++ ) {
+			stripes[i] = new Object();
+		}
+	}
+
+	@Override
+	Object get(Object key, long txTimestamp) throws CacheException {
+		if ( locks.containsKey( key ) ) {
+			return null;
+		}
+		final Object cached = region.get( key );
+		if ( cached instanceof Item ) {
+			final Item item = (Item) cached;
+			return item.timestamp < txTimestamp ? item.value : null;
+		}
+		return null;
+	}
+
+	@Override
+	boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		if ( key == null || value == null ) {
+			return false;
+		}
+		synchronized ( stripeFor( key ) ) {
+			final Lock lock = locks.get( key );
+			if ( lock != null ) {
+				if ( !lock.isWriteable( txTimestamp, version, getVersionComparator() ) ) {
+					return false;
+				}
+				locks.remove( key );
+			}
+			final Object cached = region.get( key );
+			if ( cached instanceof Item ) {
+				if ( minimalPutOverride || !( (Item) cached ).isWriteable( version, getVersionComparator() ) ) {
+					return false;
+				}
+			}
+			region.put( key, new Item( value, version, region.nextTimestamp() ) );
+			return true;
+		}
+	}
+
+	@Override
+	SoftLock lockItem(Object key, Object version) throws CacheException {
+		synchronized ( stripeFor( key ) ) {
+			final long timeout = region.nextTimestamp() + region.getTimeout();
+			Lock lock = locks.get( key );
+			if ( lock != null ) {
+				lock.lock( timeout );
+			}
+			else {
+				final Object cached = region.get( key );
+				final Object lockedVersion = cached instanceof Item ? ( (Item) cached ).version : version;
+				lock = new Lock( timeout, uuid, nextLockId.getAndIncrement(), lockedVersion );
+				locks.put( key, lock );
+			}
+			region.evict( key );
+			return lock;
+		}
+	}
+
+	@Override
+	void unlockItem(Object key, SoftLock softLock) throws CacheException {
+		synchronized ( stripeFor( key ) ) {
+			final Lock lock = locks.get( key );
+			if ( lock != null && lock.isUnlockable( softLock ) ) {
+				lock.unlock( region.nextTimestamp() );
+			}
+			else {
+				handleLockExpiry( key );
+			}
+		}
+		purgeExpiredLocksOccasionally();
+	}
+
+	@Override
+	boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+		synchronized ( stripeFor( key ) ) {
+			if ( locks.containsKey( key ) || region.get( key ) != null ) {
+				return false;
+			}
+			region.put( key, new Item( value, version, region.nextTimestamp() ) );
+			return true;
+		}
+	}
+
+	@Override
+	boolean update(Object key, Object value, Object currentVersion, Object previousVersion) throws CacheException {
+		return false;
+	}
+
+	@Override
+	boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock softLock)
+			throws CacheException {
+		try {
+			synchronized ( stripeFor( key ) ) {
+				final Lock lock = locks.get( key );
+				if ( lock != null && lock.isUnlockable( softLock ) ) {
+					if ( lock.wasLockedConcurrently() ) {
+						lock.unlock( region.nextTimestamp() );
+						return false;
+					}
+					locks.remove( key );
+					region.put( key, new Item( value, currentVersion, region.nextTimestamp() ) );
+					return true;
+				}
+				handleLockExpiry( key );
+				return false;
+			}
+		}
+		finally {
+			purgeExpiredLocksOccasionally();
+		}
+	}
+
+	@Override
+	void removeAll() throws CacheException {
+		locks.clear();
+		region.evictAll();
+	}
+
+	@Override
+	void evictAll() throws CacheException {
+		locks.clear();
+		region.evictAll();
+	}
+
+	/**
+	 * Marks the item as unusable until the expiry of the lock replacing it, since another transaction may have
+	 * changed it in the meantime.
+	 */
+	private void handleLockExpiry(Object key) {
+		LOG.expired( key );
+		final long ts = region.nextTimestamp() + region.getTimeout();
+		final Lock lock = new Lock( ts, uuid, nextLockId.getAndIncrement(), null );
+		lock.unlock( ts );
+		locks.put( key, lock );
+		region.evict( key );
+	}
+
+	private void purgeExpiredLocksOccasionally() {
+		if ( unlockCount.incrementAndGet() % PURGE_INTERVAL != 0 ) {
+			return;
+		}
+		final long now = region.nextTimestamp();
+		final Iterator<Map.Entry<Object,Lock>> entries = locks.entrySet().iterator();
+		while ( entries.hasNext() ) {
+			final Map.Entry<Object,Lock> entry = entries.next();
+			if ( entry.getValue().isExpired( now ) ) {
+				synchronized ( stripeFor( entry.getKey() ) ) {
+					locks.remove( entry.getKey(), entry.getValue() );
+				}
+			}
+		}
+	}
+
+	private Object stripeFor(Object key) {
+		int h = key.hashCode();
+		h ^= ( h >>> 20 ) ^ ( h >>> 12 );
+		h ^= ( h >>> 7 ) ^ ( h >>> 4 );
+		return stripes[h & ( STRIPES - 1 )];
+	}
+
+	@SuppressWarnings("unchecked")
+	private Comparator<Object> getVersionComparator() {
+		return region.getCacheDataDescription().getVersionComparator();
+	}
+
+	/**
+	 * Cached data, stamped with the time it was cached.
+	 */
+	static final class Item implements Serializable {
+		final Object value;
+		final Object version;
+		final long timestamp;
+
+		Item(Object value, Object version, long timestamp) {
+			this.value = value;
+			this.version = version;
+			this.timestamp = timestamp;
+		}
+
+		private boolean isWriteable(Object newVersion, Comparator<Object> versionComparator) {
+			return version != null && versionComparator != null && versionComparator.compare( version, newVersion ) < 0;
+		}
+	}
+
+	/**
+	 * Soft lock held on a key while transactions change it.  Mutated only under the stripe of its key.
+	 */
+	private static final class Lock implements SoftLock, Serializable {
+		private final UUID sourceUuid;
+		private final long lockId;
+		private final Object version;
+
+		private volatile long timeout;
+		private volatile boolean concurrent;
+		private volatile int multiplicity = 1;
+		private volatile long unlockTimestamp;
+
+		private Lock(long timeout, UUID sourceUuid, long lockId, Object version) {
+			this.timeout = timeout;
+			this.sourceUuid = sourceUuid;
+			this.lockId = lockId;
+			this.version = version;
+		}
+
+		private boolean isWriteable(long txTimestamp, Object newVersion, Comparator<Object> versionComparator) {
+			if ( txTimestamp > timeout ) {
+				// the lock has expired
+				return true;
+			}
+			if ( multiplicity > 0 ) {
+				return false;
+			}
+			return version == null || versionComparator == null || newVersion == null
+					? txTimestamp > unlockTimestamp
+					: versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		private boolean isUnlockable(SoftLock lock) {
+			return equals( lock );
+		}
+
+		private boolean isExpired(long now) {
+			return now > timeout;
+		}
+
+		private boolean wasLockedConcurrently() {
+			return concurrent;
+		}
+
+		private void lock(long timeout) {
+			concurrent = true;
+			multiplicity++;
+			this.timeout = timeout;
+		}
+
+		private void unlock(long timestamp) {
+			if ( --multiplicity == 0 ) {
+				unlockTimestamp = timestamp;
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			if ( !( o instanceof Lock ) ) {
+				return false;
+			}
+			final Lock other = (Lock) o;
+			return lockId == other.lockId && sourceUuid.equals( other.sourceUuid );
+		}
+
+		@Override
+		public int hashCode() {
+			final int hash = sourceUuid != null ? sourceUuid.hashCode() : 0;
+			return hash ^ (int) ( lockId ^ ( lockId >>> 32 ) );
+		}
+	}
+}
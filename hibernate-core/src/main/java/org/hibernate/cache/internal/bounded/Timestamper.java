@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal.bounded;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates increasing timestamps, in units of 1/4096 of a millisecond so that up to 4096 timestamps generated
+ * within the same millisecond are distinct.
+ */
+final class Timestamper {
+	/**
+	 * The number of timestamp units in a millisecond.
+	 */
+	static final int ONE_MS = 1 << 12;
+
+	private static final AtomicLong LAST = new AtomicLong();
+
+	private Timestamper() {
+	}
+
+	static long next() {
+		while ( true ) {
+			final long last = LAST.get();
+			final long candidate = Math.max( System.currentTimeMillis() << 12, last + 1 );
+			if ( LAST.compareAndSet( last, candidate ) ) {
+				return candidate;
+			}
+		}
+	}
+}
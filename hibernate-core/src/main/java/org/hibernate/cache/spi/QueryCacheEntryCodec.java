@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.util.List;
+
+import org.hibernate.type.Type;
+
+/**
+ * Defines how {@link org.hibernate.cache.internal.StandardQueryCache} lays out query results in the
+ * {@link QueryResultsRegion}.
+ * <p/>
+ * The rows handled by a codec are already disassembled: a single {@link java.io.Serializable} per row when the query
+ * has a single return type, otherwise a {@code Serializable[]} with one element per return type.
+ */
+public interface QueryCacheEntryCodec {
+	/**
+	 * Build the value to store in the query results region.
+	 *
+	 * @param timestamp The timestamp of the results
+	 * @param returnTypes The query return types
+	 * @param rows The disassembled rows
+	 *
+	 * @return The entry to put into the region
+	 */
+	public Object encode(long timestamp, Type[] returnTypes, List rows);
+
+	/**
+	 * Extract the timestamp of an entry read from the region, without decoding its rows.
+	 *
+	 * @param entry The entry, as read from the region
+	 *
+	 * @return The timestamp given to {@link #encode}
+	 */
+	public long getTimestamp(Object entry);
+
+	/**
+	 * Extract the disassembled rows of an entry read from the region.  Implementations may decode the rows lazily as
+	 * they are accessed.
+	 *
+	 * @param entry The entry, as read from the region
+	 * @param returnTypes The query return types
+	 *
+	 * @return The disassembled rows
+	 */
+	public List decodeRows(Object entry, Type[] returnTypes);
+}
@@ -30,6 +30,7 @@ import java.util.Set;
 import org.jboss.logging.Logger;
 
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.StripedTimestampsTable;
 import org.hibernate.cfg.Settings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
@@ -40,6 +41,10 @@ import org.hibernate.internal.CoreMessageLogger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * When {@link org.hibernate.cfg.AvailableSettings#USE_LOCAL_UPDATE_TIMESTAMPS} is enabled, the timestamps are also
+ * kept in a local {@link StripedTimestampsTable} which is updated synchronously on (pre-)invalidation and consulted
+ * first by {@link #isUpToDate}; the region is then only read for spaces not yet known locally.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -55,6 +60,7 @@ public class UpdateTimestampsCache {
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final StripedTimestampsTable localTimestamps;
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -70,6 +76,7 @@ public class UpdateTimestampsCache {
 
 		LOG.startingUpdateTimestampsCache( regionName );
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		this.localTimestamps = settings.isLocalUpdateTimestampsEnabled() ? new StripedTimestampsTable() : null;
 	}
 
 	/**
@@ -101,6 +108,9 @@ public class UpdateTimestampsCache {
 			if ( debug ) {
 				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
 			}
+			if ( localTimestamps != null ) {
+				localTimestamps.set( space, ts );
+			}
 			//put() has nowait semantics, is this really appropriate?
 			//note that it needs to be async replication, never local or sync
 			region.put( space, ts );
@@ -128,6 +138,9 @@ public class UpdateTimestampsCache {
 			if ( debug ) {
 				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
 			}
+			if ( localTimestamps != null ) {
+				localTimestamps.set( space, ts );
+			}
 			//put() has nowait semantics, is this really appropriate?
 			//note that it needs to be async replication, never local or sync
 			region.put( space, ts );
@@ -153,8 +166,8 @@ public class UpdateTimestampsCache {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
 		for ( Serializable space : (Set<Serializable>) spaces ) {
-			final Long lastUpdate = (Long) region.get( space );
-			if ( lastUpdate == null ) {
+			final long lastUpdate = getLastUpdate( space );
+			if ( lastUpdate == StripedTimestampsTable.UNKNOWN ) {
 				if ( stats ) {
 					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
 				}
@@ -182,12 +195,33 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
+	private long getLastUpdate(Serializable space) {
+		if ( localTimestamps != null ) {
+			final long known = localTimestamps.get( space );
+			if ( known != StripedTimestampsTable.UNKNOWN ) {
+				return known;
+			}
+		}
+
+		final Long lastUpdate = (Long) region.get( space );
+		if ( lastUpdate == null ) {
+			return StripedTimestampsTable.UNKNOWN;
+		}
+		if ( localTimestamps != null ) {
+			localTimestamps.setIfUnknown( space, lastUpdate );
+		}
+		return lastUpdate;
+	}
+
 	/**
 	 * Clear the update-timestamps data.
 	 *
 	 * @throws CacheException Indicates problem delegating call to underlying region.
 	 */
 	public void clear() throws CacheException {
+		if ( localTimestamps != null ) {
+			localTimestamps.clear();
+		}
 		region.evictAll();
 	}
 
@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Performs multi-key cache access against any {@link RegionAccessStrategy}: natively when the strategy is a
+ * {@link BulkRegionAccessStrategy}, otherwise by looping over its single-key operations.
+ */
+public final class BulkAccessHelper {
+	private BulkAccessHelper() {
+	}
+
+	/**
+	 * Retrieve several objects from the cache.
+	 *
+	 * @param accessStrategy The access strategy of the region to read
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, keyed by their key; keys which are not cached (or not readable) are absent
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see BulkRegionAccessStrategy#getAll
+	 */
+	public static Map<Object,Object> getAll(
+			RegionAccessStrategy accessStrategy,
+			Collection<?> keys,
+			long txTimestamp) throws CacheException {
+		if ( accessStrategy instanceof BulkRegionAccessStrategy ) {
+			return ( (BulkRegionAccessStrategy) accessStrategy ).getAll( keys, txTimestamp );
+		}
+		final Map<Object,Object> result = new HashMap<Object,Object>();
+		for ( Object key : keys ) {
+			final Object value = accessStrategy.get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Cache several objects, after loading them from the database.
+	 *
+	 * @param accessStrategy The access strategy of the region to write
+	 * @param values The items, keyed by their key
+	 * @param versions The item version numbers, keyed by item key; may be null for unversioned data
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 * @return the keys of the items which were successfully cached
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see BulkRegionAccessStrategy#putAllFromLoad
+	 */
+	public static Set<Object> putAllFromLoad(
+			RegionAccessStrategy accessStrategy,
+			Map<?,?> values,
+			Map<?,?> versions,
+			long txTimestamp,
+			boolean minimalPutOverride) throws CacheException {
+		if ( accessStrategy instanceof BulkRegionAccessStrategy ) {
+			return ( (BulkRegionAccessStrategy) accessStrategy ).putAllFromLoad(
+					values,
+					versions,
+					txTimestamp,
+					minimalPutOverride
+			);
+		}
+		final Set<Object> cached = new HashSet<Object>();
+		for ( Map.Entry<?,?> entry : values.entrySet() ) {
+			final Object version = versions == null ? null : versions.get( entry.getKey() );
+			if ( accessStrategy.putFromLoad( entry.getKey(), entry.getValue(), txTimestamp, version, minimalPutOverride ) ) {
+				cached.add( entry.getKey() );
+			}
+		}
+		return cached;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for a {@link RegionAccessStrategy} able to read and write several keys with a single call to
+ * the underlying cache.  The entity, collection and natural-id access strategies may all implement it.
+ * <p/>
+ * Callers should go through {@link BulkAccessHelper}, which falls back to looping over the single-key operations
+ * of strategies not implementing this contract.
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+	/**
+	 * Attempt to retrieve several objects from the cache.  The multi-key equivalent of
+	 * {@link RegionAccessStrategy#get}.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects, keyed by their key; keys which are not cached (or not readable) are absent
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+
+	/**
+	 * Attempt to cache several objects, after loading them from the database.  The multi-key equivalent of
+	 * {@link RegionAccessStrategy#putFromLoad(Object, Object, long, Object, boolean)}.
+	 *
+	 * @param values The items, keyed by their key
+	 * @param versions The item version numbers, keyed by item key; may be null for unversioned data
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 * @return the keys of the items which were successfully cached
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	public Set<Object> putAllFromLoad(
+			Map<?,?> values,
+			Map<?,?> versions,
+			long txTimestamp,
+			boolean minimalPutOverride) throws CacheException;
+}
@@ -47,7 +47,13 @@ public class CollectionCacheEntry implements Serializable {
 		this.state = collection.disassemble( persister );
 	}
 
-	CollectionCacheEntry(Serializable state) {
+	/**
+	 * Constructs a CollectionCacheEntry from already disassembled state, as when it is read back from a
+	 * serialized form.
+	 *
+	 * @param state The disassembled collection state
+	 */
+	public CollectionCacheEntry(Serializable state) {
 		this.state = state;
 	}
 
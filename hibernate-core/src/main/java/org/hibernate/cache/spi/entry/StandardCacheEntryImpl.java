@@ -83,7 +83,16 @@ public class StandardCacheEntryImpl implements CacheEntry {
 		this.version = version;
 	}
 
-	StandardCacheEntryImpl(Serializable[] state, String subclass, boolean unfetched, Object version) {
+	/**
+	 * Constructs a StandardCacheEntryImpl from already disassembled state, as when it is read back from a
+	 * serialized form.
+	 *
+	 * @param state The disassembled state
+	 * @param subclass The entity name
+	 * @param unfetched Are any values present in state unfetched?
+	 * @param version The current version (if versioned)
+	 */
+	public StandardCacheEntryImpl(Serializable[] state, String subclass, boolean unfetched, Object version) {
 		this.disassembledState = state;
 		this.subclass = subclass;
 		this.lazyPropertiesAreUnfetched = unfetched;
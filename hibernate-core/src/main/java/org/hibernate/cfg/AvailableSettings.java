@@ -91,6 +91,46 @@ public interface AvailableSettings {
 	 */
 	public static final String POOL_SIZE ="hibernate.connection.pool_size";
 
+	/**
+	 * Minimum number of connections the {@code pooled} connection provider opens at startup and keeps open when
+	 * evicting idle ones.  Default is 0.
+	 *
+	 * @see org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl
+	 */
+	public static final String POOL_MIN_SIZE ="hibernate.connection.pool_min_size";
+
+	/**
+	 * Maximum time, in milliseconds, a request for a connection waits on the {@code pooled} connection provider when
+	 * all of its {@link #POOL_SIZE} connections are checked out.  Default is 30000.
+	 *
+	 * @see org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl
+	 */
+	public static final String POOL_MAX_WAIT ="hibernate.connection.pool_max_wait";
+
+	/**
+	 * Time, in milliseconds, after which an idle connection of the {@code pooled} connection provider is closed.
+	 * Default is 600000 (10 minutes); 0 disables idle eviction.
+	 *
+	 * @see org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl
+	 */
+	public static final String POOL_IDLE_TIMEOUT ="hibernate.connection.pool_idle_timeout";
+
+	/**
+	 * Should the {@code pooled} connection provider validate (via {@link java.sql.Connection#isValid}) idle
+	 * connections before handing them out?  Default is {@code false}.
+	 *
+	 * @see org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl
+	 */
+	public static final String POOL_VALIDATE_ON_BORROW ="hibernate.connection.pool_validate_on_borrow";
+
+	/**
+	 * Time, in milliseconds, a connection of the {@code pooled} connection provider may stay checked out before it
+	 * is reported as a possible leak.  Default is 0, which disables leak detection.
+	 *
+	 * @see org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl
+	 */
+	public static final String POOL_LEAK_DETECTION_THRESHOLD ="hibernate.connection.pool_leak_detection_threshold";
+
 	/**
 	 * Names a {@link javax.sql.DataSource}.  Can either reference a {@link javax.sql.DataSource} instance or
 	 * a {@literal JNDI} name under which to locate the {@link javax.sql.DataSource}.
@@ -184,6 +224,12 @@ public interface AvailableSettings {
 	 * when more rows are needed. If <tt>0</tt>, JDBC driver default settings will be used.
 	 */
 	public static final String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
+	/**
+	 * The number of prepared statements each Session keeps open for reuse, per JDBC connection.  Cached
+	 * statements are reset rather than closed when released.  If <tt>0</tt> (the default), statements are
+	 * closed after use and any caching is left to the driver or connection pool.
+	 */
+	public static final String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
 	/**
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
@@ -259,6 +305,21 @@ public interface AvailableSettings {
 	 * Enable automatic flush during the JTA <tt>beforeCompletion()</tt> callback
 	 */
 	public static final String FLUSH_BEFORE_COMPLETION = "hibernate.transaction.flush_before_completion";
+	/**
+	 * Minimum number of entities to dirty check for a flush to compare their state against the loaded snapshot in
+	 * parallel.  Only entities without associations, collections or bytecode instrumentation take part, and only
+	 * for sessions without a custom interceptor, flush entity listener or entity dirtiness strategy.  Reading the
+	 * current state and action scheduling still happen on the flushing thread, in the usual order.  Default is 0,
+	 * which disables parallel dirty checking.
+	 */
+	public static final String FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD = "hibernate.flush.parallel_dirty_check_threshold";
+	/**
+	 * Number of threads, counting the flushing thread itself, which share the parallel dirty check of a flush.  Each
+	 * SessionFactory keeps a pool of the other threads.  Default is the number of available processors.
+	 *
+	 * @see #FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+	 */
+	public static final String FLUSH_PARALLEL_DIRTY_CHECK_THREADS = "hibernate.flush.parallel_dirty_check_threads";
 	/**
 	 * Specifies how Hibernate should release JDBC connections.
 	 */
@@ -309,6 +370,12 @@ public interface AvailableSettings {
 	 * The <tt>QueryCacheFactory</tt> implementation class.
 	 */
 	public static final String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
+	/**
+	 * The {@link org.hibernate.cache.spi.QueryCacheEntryCodec} used to lay out query results in the query cache
+	 * region; either a short name ({@code standard} or {@code compact}), a class name or an instance.  Default is
+	 * {@code standard}.
+	 */
+	public static final String QUERY_CACHE_ENTRY_CODEC = "hibernate.cache.query_cache_entry_codec";
 	/**
 	 * Enable the second-level cache (enabled by default)
 	 */
@@ -331,6 +398,12 @@ public interface AvailableSettings {
 	 */
 	public static final String GENERATE_STATISTICS = "hibernate.generate_statistics";
 
+	/**
+	 * The maximum number of distinct query strings statistics are kept for.  Once full, the statistics of a rarely
+	 * used query are replaced, so dynamically built queries cannot grow them without bound.  Default is 1024.
+	 */
+	public static final String QUERY_STATISTICS_MAX_SIZE = "hibernate.statistics.query_max_size";
+
 	public static final String USE_IDENTIFIER_ROLLBACK = "hibernate.use_identifier_rollback";
 
 	/**
@@ -356,6 +429,12 @@ public interface AvailableSettings {
 	 */
 	public static final String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * Number of threads used to build the entity and collection persisters, and their static SQL and loaders, when
+	 * building the SessionFactory.  Default is 1, which builds them all on the calling thread.
+	 */
+	public static final String PERSISTER_BUILD_THREADS = "hibernate.persister.build_threads";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -617,6 +696,13 @@ public interface AvailableSettings {
 	 */
 	public static final String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * Enable an in-memory copy of the update timestamps, consulted by the query cache instead of reading the
+	 * timestamps region on every hit.  Only safe when all updates go through this SessionFactory (i.e. the
+	 * timestamps region is not shared through a cluster).  Default is to not keep a local copy.
+	 */
+	public static final String USE_LOCAL_UPDATE_TIMESTAMPS = "hibernate.cache.use_local_update_timestamps";
+
 	/**
 	 * Enable nationalized character support on all string / clob based attribute ( string, char, clob, text etc ).
 	 *
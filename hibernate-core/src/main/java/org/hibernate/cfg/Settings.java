@@ -29,6 +29,7 @@ import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
 import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.NullPrecedence;
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
@@ -53,6 +54,7 @@ public final class Settings {
 	private String defaultSchemaName;
 	private String defaultCatalogName;
 	private Integer jdbcFetchSize;
+	private int statementCacheSize;
 	private String sessionFactoryName;
 	private boolean sessionFactoryNameAlsoJndiName;
 	private boolean autoCreateSchema;
@@ -73,6 +75,7 @@ public final class Settings {
 	private ConnectionReleaseMode connectionReleaseMode;
 	private RegionFactory regionFactory;
 	private QueryCacheFactory queryCacheFactory;
+	private QueryCacheEntryCodec queryCacheEntryCodec;
 	private QueryTranslatorFactory queryTranslatorFactory;
 	private boolean wrapResultSetsEnabled;
 	private boolean orderUpdatesEnabled;
@@ -95,7 +98,11 @@ public final class Settings {
 
 	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private BatchFetchStyle batchFetchStyle;
+	private int parallelDirtyCheckThreshold;
+	private int parallelDirtyCheckThreads;
+	private int persisterBuildThreads;
 	private boolean directReferenceCacheEntriesEnabled;
+	private boolean localUpdateTimestampsEnabled;
 	
 	private boolean jtaTrackByThread;
 
@@ -204,6 +211,10 @@ public final class Settings {
 		return queryCacheFactory;
 	}
 
+	public QueryCacheEntryCodec getQueryCacheEntryCodec() {
+		return queryCacheEntryCodec;
+	}
+
 	public boolean isStatisticsEnabled() {
 		return statisticsEnabled;
 	}
@@ -248,6 +259,10 @@ public final class Settings {
 		return directReferenceCacheEntriesEnabled;
 	}
 
+	public boolean isLocalUpdateTimestampsEnabled() {
+		return localUpdateTimestampsEnabled;
+	}
+
 	public EntityMode getDefaultEntityMode() {
 		return defaultEntityMode;
 	}
@@ -326,6 +341,14 @@ public final class Settings {
 		jdbcFetchSize = integer;
 	}
 
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
 	void setSessionFactoryName(String string) {
 		sessionFactoryName = string;
 	}
@@ -374,6 +397,10 @@ public final class Settings {
 		this.queryCacheFactory = queryCacheFactory;
 	}
 
+	void setQueryCacheEntryCodec(QueryCacheEntryCodec queryCacheEntryCodec) {
+		this.queryCacheEntryCodec = queryCacheEntryCodec;
+	}
+
 	void setStatisticsEnabled(boolean statisticsEnabled) {
 		this.statisticsEnabled = statisticsEnabled;
 	}
@@ -503,10 +530,38 @@ public final class Settings {
 		this.batchFetchStyle = batchFetchStyle;
 	}
 
+	public int getParallelDirtyCheckThreshold() {
+		return parallelDirtyCheckThreshold;
+	}
+
+	void setParallelDirtyCheckThreshold(int parallelDirtyCheckThreshold) {
+		this.parallelDirtyCheckThreshold = parallelDirtyCheckThreshold;
+	}
+
+	public int getParallelDirtyCheckThreads() {
+		return parallelDirtyCheckThreads;
+	}
+
+	void setParallelDirtyCheckThreads(int parallelDirtyCheckThreads) {
+		this.parallelDirtyCheckThreads = parallelDirtyCheckThreads;
+	}
+
+	public int getPersisterBuildThreads() {
+		return persisterBuildThreads;
+	}
+
+	void setPersisterBuildThreads(int persisterBuildThreads) {
+		this.persisterBuildThreads = persisterBuildThreads;
+	}
+
 	public void setDirectReferenceCacheEntriesEnabled(boolean directReferenceCacheEntriesEnabled) {
 		this.directReferenceCacheEntriesEnabled = directReferenceCacheEntriesEnabled;
 	}
 
+	void setLocalUpdateTimestampsEnabled(boolean localUpdateTimestampsEnabled) {
+		this.localUpdateTimestampsEnabled = localUpdateTimestampsEnabled;
+	}
+
 	void setDefaultNullPrecedence(NullPrecedence defaultNullPrecedence) {
 		this.defaultNullPrecedence = defaultNullPrecedence;
 	}
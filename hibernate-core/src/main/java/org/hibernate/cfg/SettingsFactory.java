@@ -37,7 +37,9 @@ import org.hibernate.NullPrecedence;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.cache.internal.NoCachingRegionFactory;
 import org.hibernate.cache.internal.RegionFactoryInitiator;
+import org.hibernate.cache.internal.StandardQueryCacheEntryCodec;
 import org.hibernate.cache.internal.StandardQueryCacheFactory;
+import org.hibernate.cache.spi.QueryCacheEntryCodec;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.engine.jdbc.spi.ExtractedDatabaseMetaData;
@@ -121,6 +123,26 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setFlushBeforeCompletionEnabled(flushBeforeCompletion);
 
+		int parallelDirtyCheckThreshold = ConfigurationHelper.getInt(
+				AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD,
+				properties,
+				0
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Parallel dirty check threshold: %s", parallelDirtyCheckThreshold );
+		}
+		settings.setParallelDirtyCheckThreshold( parallelDirtyCheckThreshold );
+
+		int parallelDirtyCheckThreads = ConfigurationHelper.getInt(
+				AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THREADS,
+				properties,
+				Runtime.getRuntime().availableProcessors()
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Parallel dirty check threads: %s", parallelDirtyCheckThreads );
+		}
+		settings.setParallelDirtyCheckThreads( parallelDirtyCheckThreads );
+
 		boolean autoCloseSession = ConfigurationHelper.getBoolean(AvailableSettings.AUTO_CLOSE_SESSION, properties);
 		if ( debugEnabled ) {
 			LOG.debugf( "Automatic session close at end of transaction: %s", enabledDisabled(autoCloseSession) );
@@ -172,6 +194,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setJdbcFetchSize(statementFetchSize);
 
+		int statementCacheSize = ConfigurationHelper.getInt( AvailableSettings.STATEMENT_CACHE_SIZE, properties, 0 );
+		if ( debugEnabled ) {
+			LOG.debugf( "JDBC prepared statement cache size: %s", statementCacheSize );
+		}
+		settings.setStatementCacheSize( statementCacheSize );
+
 		MultiTenancyStrategy multiTenancyStrategy = MultiTenancyStrategy.determineMultiTenancyStrategy( properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "multi-tenancy strategy : %s", multiTenancyStrategy );
@@ -288,6 +316,16 @@ public class SettingsFactory implements Serializable {
 		settings.setQueryCacheEnabled( useQueryCache );
 		if (useQueryCache) {
 			settings.setQueryCacheFactory( createQueryCacheFactory( properties, serviceRegistry ) );
+			QueryCacheEntryCodec queryCacheEntryCodec = serviceRegistry.getService( StrategySelector.class )
+					.resolveDefaultableStrategy(
+							QueryCacheEntryCodec.class,
+							properties.get( AvailableSettings.QUERY_CACHE_ENTRY_CODEC ),
+							StandardQueryCacheEntryCodec.INSTANCE
+					);
+			if ( debugEnabled ) {
+				LOG.debugf( "Query cache entry codec: %s", queryCacheEntryCodec.getClass().getName() );
+			}
+			settings.setQueryCacheEntryCodec( queryCacheEntryCodec );
 		}
 
 		settings.setRegionFactory( serviceRegistry.getService( RegionFactory.class ) );
@@ -325,6 +363,16 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDirectReferenceCacheEntriesEnabled( useDirectReferenceCacheEntries );
 
+		boolean useLocalUpdateTimestamps = ConfigurationHelper.getBoolean(
+				AvailableSettings.USE_LOCAL_UPDATE_TIMESTAMPS,
+				properties,
+				false
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Local update timestamps: %s", enabledDisabled(useLocalUpdateTimestamps) );
+		}
+		settings.setLocalUpdateTimestampsEnabled( useLocalUpdateTimestamps );
+
 		//Statistics and logging:
 
 		boolean useStatistics = ConfigurationHelper.getBoolean( AvailableSettings.GENERATE_STATISTICS, properties );
@@ -369,6 +417,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setNamedQueryStartupCheckingEnabled( namedQueryChecking );
 
+		int persisterBuildThreads = ConfigurationHelper.getInt( AvailableSettings.PERSISTER_BUILD_THREADS, properties, 1 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Persister build threads: %s", persisterBuildThreads );
+		}
+		settings.setPersisterBuildThreads( persisterBuildThreads );
+
 		boolean checkNullability = ConfigurationHelper.getBoolean(AvailableSettings.CHECK_NULLABILITY, properties, true);
 		if ( debugEnabled ) {
 			LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled(checkNullability) );
@@ -38,6 +38,7 @@ import org.jboss.logging.Logger;
 import org.hibernate.EntityMode;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.OldStateAwareEventListener;
 import org.hibernate.event.spi.PreDeleteEvent;
 import org.hibernate.event.spi.PreDeleteEventListener;
 import org.hibernate.event.spi.PreInsertEvent;
@@ -55,7 +56,7 @@ import org.hibernate.persister.entity.EntityPersister;
  */
 //FIXME review exception model
 public class BeanValidationEventListener
-		implements PreInsertEventListener, PreUpdateEventListener, PreDeleteEventListener {
+		implements PreInsertEventListener, PreUpdateEventListener, PreDeleteEventListener, OldStateAwareEventListener {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        BeanValidationEventListener.class.getName());
@@ -106,6 +107,10 @@ public class BeanValidationEventListener
 		return false;
 	}
 
+	public boolean requiresOldState(EntityPersister persister) {
+		return false;
+	}
+
 	public boolean onPreDelete(PreDeleteEvent event) {
 		validate(
 				event.getEntity(), event.getPersister().getEntityMode(), event.getPersister(),
@@ -886,6 +886,31 @@ public abstract class Dialect implements ConversionContext {
 		throw new MappingException( getClass().getName() + " does not support sequences" );
 	}
 
+	/**
+	 * Does this dialect support retrieving several values of a sequence in a single statement?
+	 *
+	 * @return True if {@link #getSequenceNextValuesString(String, int)} is supported; false otherwise.
+	 */
+	public boolean supportsSequenceNextValues() {
+		return false;
+	}
+
+	/**
+	 * Generate the appropriate select statement to retrieve the next {@code count} values of a sequence, one
+	 * value per row.
+	 * <p/>
+	 * This should be a "stand alone" select statement.
+	 *
+	 * @param sequenceName the name of the sequence
+	 * @param count The number of values to retrieve
+	 * @return String The select string.
+	 * @throws MappingException If fetching multiple sequence values is not supported.
+	 * @see #supportsSequenceNextValues()
+	 */
+	public String getSequenceNextValuesString(String sequenceName, int count) throws MappingException {
+		throw new MappingException( getClass().getName() + " does not support fetching multiple sequence values" );
+	}
+
 	/**
 	 * The multiline script used to create a sequence.
 	 *
@@ -285,6 +285,16 @@ public class H2Dialect extends Dialect {
 		return "call next value for " + sequenceName;
 	}
 
+	@Override
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	@Override
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from system_range(1, " + count + ")";
+	}
+
 	@Override
 	public String getQuerySequencesString() {
 		return querySequenceString;
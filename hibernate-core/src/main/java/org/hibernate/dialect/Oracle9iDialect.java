@@ -103,6 +103,16 @@ public class Oracle9iDialect extends Oracle8iDialect {
 		return "select systimestamp from dual";
 	}
 
+	@Override
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	@Override
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from dual connect by level <= " + count;
+	}
+
 	@Override
 	public String getCurrentTimestampSQLFunctionName() {
 		// the standard SQL function name is current_timestamp...
@@ -199,6 +199,16 @@ public class PostgreSQL81Dialect extends Dialect {
 		return "nextval ('" + sequenceName + "')";
 	}
 
+	@Override
+	public boolean supportsSequenceNextValues() {
+		return true;
+	}
+
+	@Override
+	public String getSequenceNextValuesString(String sequenceName, int count) {
+		return "select " + getSelectSequenceNextValString( sequenceName ) + " from generate_series(1, " + count + ")";
+	}
+
 	@Override
 	public String getCreateSequenceString(String sequenceName) {
 		//starts with 1, implicitly
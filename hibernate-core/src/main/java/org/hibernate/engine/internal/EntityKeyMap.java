@@ -0,0 +1,359 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Map keyed by {@link EntityKey}, specialized for entities having {@link Long} or {@link Integer} identifiers.
+ * <p/>
+ * Such keys are stored in one open-addressing table per root entity, keyed by the primitive identifier value: putting
+ * an entry allocates nothing (besides occasional resizing) and lookups neither call {@link EntityKey#hashCode()} nor
+ * {@link EntityKey#equals}, and so never go through the identifier {@link org.hibernate.type.Type}.  Keys having any
+ * other kind of identifier are kept in a regular {@link HashMap}.
+ * <p/>
+ * All keys of a map are expected to belong to the same tenant, which is the case for the maps of a persistence
+ * context.  Iterators do not support removal.
+ */
+final class EntityKeyMap<V> extends AbstractMap<EntityKey, V> {
+	private final Map<String, LongKeyTable<V>> tablesByRootEntityName = new HashMap<String, LongKeyTable<V>>();
+	private final Map<EntityKey, V> otherKeys;
+
+	private String lastRootEntityName;
+	private LongKeyTable<V> lastTable;
+
+	private int modCount;
+	private Set<Entry<EntityKey, V>> entrySet;
+
+	EntityKeyMap(int initialCapacity) {
+		this.otherKeys = new HashMap<EntityKey, V>( initialCapacity );
+	}
+
+	@Override
+	public V get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final LongKeyTable<V> table = tableFor( entityKey, false );
+		return table == null ? otherKeys.get( entityKey ) : table.get( longValue( entityKey ) );
+	}
+
+	/**
+	 * Get the value mapped to the key of the given entity identifier, without building that key if the identifier is
+	 * a {@link Long} or an {@link Integer}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 * @param tenantId The tenant identifier the keys of this map belong to
+	 *
+	 * @return The value, or {@code null}
+	 */
+	V get(Serializable id, EntityPersister persister, String tenantId) {
+		final LongKeyTable<V> table = tableFor( id, persister.getRootEntityName(), false );
+		if ( table != null ) {
+			return table.get( ( (Number) id ).longValue() );
+		}
+		return otherKeys.isEmpty() ? null : otherKeys.get( new EntityKey( id, persister, tenantId ) );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return false;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final LongKeyTable<V> table = tableFor( entityKey, false );
+		return table == null ? otherKeys.containsKey( entityKey ) : table.indexOf( longValue( entityKey ) ) >= 0;
+	}
+
+	@Override
+	public V put(EntityKey key, V value) {
+		modCount++;
+		final LongKeyTable<V> table = tableFor( key, true );
+		return table == null ? otherKeys.put( key, value ) : table.put( key, longValue( key ), value );
+	}
+
+	@Override
+	public V remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		modCount++;
+		final EntityKey entityKey = (EntityKey) key;
+		final LongKeyTable<V> table = tableFor( entityKey, false );
+		return table == null ? otherKeys.remove( entityKey ) : table.remove( longValue( entityKey ) );
+	}
+
+	@Override
+	public int size() {
+		int size = otherKeys.size();
+		for ( LongKeyTable<V> table : tablesByRootEntityName.values() ) {
+			size += table.size;
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		modCount++;
+		otherKeys.clear();
+		tablesByRootEntityName.clear();
+		lastRootEntityName = null;
+		lastTable = null;
+	}
+
+	@Override
+	public Set<Entry<EntityKey, V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Entry<EntityKey, V>>() {
+				@Override
+				public Iterator<Entry<EntityKey, V>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return EntityKeyMap.this.size();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private static boolean isPrimitive(Serializable id) {
+		final Class idClass = id.getClass();
+		return idClass == Long.class || idClass == Integer.class;
+	}
+
+	private static long longValue(EntityKey key) {
+		return ( (Number) key.getIdentifier() ).longValue();
+	}
+
+	private LongKeyTable<V> tableFor(EntityKey key, boolean create) {
+		return tableFor( key.getIdentifier(), key.getRootEntityName(), create );
+	}
+
+	private LongKeyTable<V> tableFor(Serializable id, String rootEntityName, boolean create) {
+		if ( !isPrimitive( id ) ) {
+			return null;
+		}
+		if ( rootEntityName.equals( lastRootEntityName ) ) {
+			return lastTable.accepts( id ) ? lastTable : null;
+		}
+		LongKeyTable<V> table = tablesByRootEntityName.get( rootEntityName );
+		if ( table == null ) {
+			if ( !create ) {
+				return null;
+			}
+			table = new LongKeyTable<V>( id.getClass() );
+			tablesByRootEntityName.put( rootEntityName, table );
+		}
+		lastRootEntityName = rootEntityName;
+		lastTable = table;
+		return table.accepts( id ) ? table : null;
+	}
+
+	/**
+	 * Open-addressing (linear probing) table of the entries of one root entity.
+	 */
+	private static final class LongKeyTable<V> {
+		private static final int INITIAL_CAPACITY = 16;
+
+		private final Class idClass;
+		private long[] ids = new long[INITIAL_CAPACITY];
+		private EntityKey[] keys = new EntityKey[INITIAL_CAPACITY];
+		private Object[] values = new Object[INITIAL_CAPACITY];
+		private int size;
+
+		private LongKeyTable(Class idClass) {
+			this.idClass = idClass;
+		}
+
+		private boolean accepts(Serializable id) {
+			// an entity hierarchy has a single identifier type, this only guards against unusual mappings
+			return id.getClass() == idClass;
+		}
+
+		private static int slot(long id, int mask) {
+			final int hash = (int) ( id ^ ( id >>> 32 ) ) * 0x9E3779B9;
+			return ( hash ^ ( hash >>> 16 ) ) & mask;
+		}
+
+		private int indexOf(long id) {
+			final int mask = keys.length - 1;
+			int index = slot( id, mask );
+			while ( keys[index] != null ) {
+				if ( ids[index] == id ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		@SuppressWarnings("unchecked")
+		private V get(long id) {
+			final int index = indexOf( id );
+			return index < 0 ? null : (V) values[index];
+		}
+
+		@SuppressWarnings("unchecked")
+		private V put(EntityKey key, long id, V value) {
+			final int mask = keys.length - 1;
+			int index = slot( id, mask );
+			while ( keys[index] != null ) {
+				if ( ids[index] == id ) {
+					final V old = (V) values[index];
+					values[index] = value;
+					return old;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			ids[index] = id;
+			keys[index] = key;
+			values[index] = value;
+			if ( ++size * 2 > keys.length ) {
+				resize();
+			}
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private V remove(long id) {
+			int index = indexOf( id );
+			if ( index < 0 ) {
+				return null;
+			}
+			final V old = (V) values[index];
+			size--;
+
+			// shift back the following entries of the probe sequence so that no lookup stops at the freed slot
+			final int mask = keys.length - 1;
+			int next = ( index + 1 ) & mask;
+			while ( keys[next] != null ) {
+				final int home = slot( ids[next], mask );
+				if ( ( next > index && ( home <= index || home > next ) )
+						|| ( next < index && ( home <= index && home > next ) ) ) {
+					ids[index] = ids[next];
+					keys[index] = keys[next];
+					values[index] = values[next];
+					index = next;
+				}
+				next = ( next + 1 ) & mask;
+			}
+			keys[index] = null;
+			values[index] = null;
+			return old;
+		}
+
+		private void resize() {
+			final long[] oldIds = ids;
+			final EntityKey[] oldKeys = keys;
+			final Object[] oldValues = values;
+			final int capacity = oldKeys.length * 2;
+			final int mask = capacity - 1;
+			ids = new long[capacity];
+			keys = new EntityKey[capacity];
+			values = new Object[capacity];
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				if ( oldKeys[i] != null ) {
+					int index = slot( oldIds[i], mask );
+					while ( keys[index] != null ) {
+						index = ( index + 1 ) & mask;
+					}
+					ids[index] = oldIds[i];
+					keys[index] = oldKeys[i];
+					values[index] = oldValues[i];
+				}
+			}
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Entry<EntityKey, V>> {
+		private final int expectedModCount = modCount;
+		private final Iterator<Entry<EntityKey, V>> otherEntries = otherKeys.entrySet().iterator();
+		private final Iterator<LongKeyTable<V>> tables = tablesByRootEntityName.values().iterator();
+		private LongKeyTable<V> table;
+		private int index = -1;
+
+		@Override
+		public boolean hasNext() {
+			checkForComodification();
+			if ( otherEntries.hasNext() ) {
+				return true;
+			}
+			while ( true ) {
+				if ( table != null ) {
+					while ( ++index < table.keys.length ) {
+						if ( table.keys[index] != null ) {
+							index--;
+							return true;
+						}
+					}
+				}
+				if ( !tables.hasNext() ) {
+					return false;
+				}
+				table = tables.next();
+				index = -1;
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Entry<EntityKey, V> next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( otherEntries.hasNext() ) {
+				return otherEntries.next();
+			}
+			index++;
+			return new SimpleImmutableEntry<EntityKey, V>( table.keys[index], (V) table.values[index] );
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkForComodification() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
@@ -258,16 +258,20 @@ public final class TwoPhaseLoad {
 			persistenceContext.setEntryStatus( entityEntry, Status.READ_ONLY );
 		}
 		else {
-			//take a snapshot
-			TypeHelper.deepCopy(
-					hydratedState,
-					persister.getPropertyTypes(),
-					persister.getPropertyUpdateability(),
-					//after setting values to object
-					hydratedState,
-					session
-			);
 			persistenceContext.setEntryStatus( entityEntry, Status.MANAGED );
+			// entities tracking their own changes do not need the snapshot
+			entityEntry.postLoad( entity );
+			if ( !entityEntry.isSelfDirtinessTracked() ) {
+				//take a snapshot
+				TypeHelper.deepCopy(
+						hydratedState,
+						persister.getPropertyTypes(),
+						persister.getPropertyUpdateability(),
+						//after setting values to object
+						hydratedState,
+						session
+				);
+			}
 		}
 
 		persister.afterInitialize(
@@ -29,7 +29,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Cache of column-name -> column-index resolutions
+ * Cache of column-name -> column-index resolutions.  Safe for concurrent use, as a single instance is shared by
+ * every result set a given loader wraps.
  *
  * @author Steve Ebersole
  */
@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.jboss.logging.Logger;
+
+/**
+ * Opens physical JDBC connections based on the {@literal JDBC} driver settings ({@link AvailableSettings#DRIVER},
+ * {@link AvailableSettings#URL}, etc).  Shared by the built-in connection providers, which only differ in how they
+ * pool the connections this creates.
+ *
+ * @author Gavin King
+ * @author Steve Ebersole
+ */
+@SuppressWarnings( {"UnnecessaryUnboxing"})
+class DriverConnectionCreator {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			DriverConnectionCreator.class.getName()
+	);
+
+	private final Driver driver;
+	private final String url;
+	private final Properties connectionProps;
+	private final Integer isolation;
+	private final boolean autocommit;
+
+	/**
+	 * Reads the driver settings from the given configuration values, loading the driver class if one was named.
+	 *
+	 * @param configurationValues The configuration values
+	 * @param serviceRegistry The service registry used to load the driver class; may be {@code null}
+	 */
+	DriverConnectionCreator(Map configurationValues, ServiceRegistryImplementor serviceRegistry) {
+		final String driverClassName = (String) configurationValues.get( AvailableSettings.DRIVER );
+		this.driver = loadDriverIfPossible( driverClassName, serviceRegistry );
+
+		this.autocommit = ConfigurationHelper.getBoolean( AvailableSettings.AUTOCOMMIT, configurationValues );
+		LOG.autoCommitMode( autocommit );
+
+		this.isolation = ConfigurationHelper.getInteger( AvailableSettings.ISOLATION, configurationValues );
+		if ( isolation != null ) {
+			LOG.jdbcIsolationLevel( Environment.isolationLevelToString( isolation.intValue() ) );
+		}
+
+		this.url = (String) configurationValues.get( AvailableSettings.URL );
+		if ( url == null ) {
+			final String msg = LOG.jdbcUrlNotSpecified( AvailableSettings.URL );
+			LOG.error( msg );
+			throw new HibernateException( msg );
+		}
+
+		this.connectionProps = ConnectionProviderInitiator.getConnectionProperties( configurationValues );
+
+		LOG.usingDriver( driverClassName, url );
+		// if debug level is enabled, then log the password, otherwise mask it
+		if ( LOG.isDebugEnabled() ) {
+			LOG.connectionProperties( connectionProps );
+		}
+		else {
+			LOG.connectionProperties( ConfigurationHelper.maskOut( connectionProps, "password" ) );
+		}
+	}
+
+	private static Driver loadDriverIfPossible(String driverClassName, ServiceRegistryImplementor serviceRegistry) {
+		if ( driverClassName == null ) {
+			LOG.jdbcDriverNotSpecified( AvailableSettings.DRIVER );
+			return null;
+		}
+
+		if ( serviceRegistry != null ) {
+			try {
+				return (Driver) serviceRegistry.getService(
+						ClassLoaderService.class ).classForName( driverClassName )
+						.newInstance();
+			}
+			catch ( Exception e ) {
+				throw new ClassLoadingException(
+						"Specified JDBC Driver " + driverClassName
+						+ " could not be loaded", e
+				);
+			}
+		}
+
+		// guard dog, mostly for making test pass
+		try {
+			// trying via forName() first to be as close to DriverManager's semantics
+			return (Driver) Class.forName( driverClassName ).newInstance();
+		}
+		catch ( Exception e1 ) {
+			try{
+				return (Driver) ReflectHelper.classForName( driverClassName ).newInstance();
+			}
+			catch ( Exception e2 ) {
+				throw new HibernateException( "Specified JDBC Driver " + driverClassName + " could not be loaded", e2 );
+			}
+		}
+	}
+
+	String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Opens a new physical connection.
+	 *
+	 * @return The new connection
+	 *
+	 * @throws SQLException Indicates a problem opening the connection
+	 */
+	Connection createConnection() throws SQLException {
+		final boolean debugEnabled = LOG.isDebugEnabled();
+		if ( debugEnabled ) {
+			LOG.debug( "Opening new JDBC connection" );
+		}
+
+		final Connection conn;
+		if ( driver != null ) {
+			// If a Driver is available, completely circumvent
+			// DriverManager#getConnection.  It attempts to double check
+			// ClassLoaders before using a Driver.  This does not work well in
+			// OSGi environments without wonky workarounds.
+			conn = driver.connect( url, connectionProps );
+		}
+		else {
+			// If no Driver, fall back on the original method.
+			conn = DriverManager.getConnection( url, connectionProps );
+		}
+
+		prepareConnection( conn );
+
+		if ( debugEnabled ) {
+			LOG.debugf( "Created connection to: %s, Isolation Level: %s", url, conn.getTransactionIsolation() );
+		}
+		return conn;
+	}
+
+	/**
+	 * (Re)applies the configured isolation and autocommit settings to a connection about to be handed out.
+	 *
+	 * @param conn The connection
+	 *
+	 * @throws SQLException Indicates a problem applying the settings
+	 */
+	void prepareConnection(Connection conn) throws SQLException {
+		if ( isolation != null ) {
+			conn.setTransactionIsolation( isolation.intValue() );
+		}
+		if ( conn.getAutoCommit() != autocommit ) {
+			conn.setAutoCommit( autocommit );
+		}
+	}
+}
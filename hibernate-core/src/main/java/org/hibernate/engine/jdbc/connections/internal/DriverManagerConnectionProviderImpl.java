@@ -24,22 +24,14 @@
 package org.hibernate.engine.jdbc.connections.internal;
 
 import java.sql.Connection;
-import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import org.hibernate.HibernateException;
-import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
-import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
 import org.hibernate.cfg.AvailableSettings;
-import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.UnknownUnwrapTypeException;
 import org.hibernate.service.spi.Configurable;
@@ -62,11 +54,8 @@ public class DriverManagerConnectionProviderImpl
 		implements ConnectionProvider, Configurable, Stoppable, ServiceRegistryAwareService {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, DriverManagerConnectionProviderImpl.class.getName() );
 
-	private String url;
-	private Properties connectionProps;
-	private Integer isolation;
+	private DriverConnectionCreator connectionCreator;
 	private int poolSize;
-	private boolean autocommit;
 
 	private final ArrayList<Connection> pool = new ArrayList<Connection>();
 	private final AtomicInteger checkedOut = new AtomicInteger();
@@ -74,8 +63,6 @@ public class DriverManagerConnectionProviderImpl
 	private boolean stopped;
 
 	private transient ServiceRegistryImplementor serviceRegistry;
-	
-	private Driver driver;
 
 	@Override
 	public boolean isUnwrappableAs(Class unwrapType) {
@@ -99,73 +86,16 @@ public class DriverManagerConnectionProviderImpl
 	public void configure(Map configurationValues) {
 		LOG.usingHibernateBuiltInConnectionPool();
 
-		final String driverClassName = (String) configurationValues.get( AvailableSettings.DRIVER );
-		if ( driverClassName == null ) {
-			LOG.jdbcDriverNotSpecified( AvailableSettings.DRIVER );
-		}
-		else if ( serviceRegistry != null ) {
-			try {
-				driver = (Driver) serviceRegistry.getService(
-						ClassLoaderService.class ).classForName( driverClassName )
-						.newInstance();
-			}
-			catch ( Exception e ) {
-				throw new ClassLoadingException(
-						"Specified JDBC Driver " + driverClassName
-						+ " could not be loaded", e
-				);
-			}
-		}
-		// guard dog, mostly for making test pass
-		else {
-			try {
-				// trying via forName() first to be as close to DriverManager's semantics
-				driver = (Driver) Class.forName( driverClassName ).newInstance();
-			}
-			catch ( Exception e1 ) {
-				try{
-					driver = (Driver) ReflectHelper.classForName( driverClassName ).newInstance();
-				}
-				catch ( Exception e2 ) {
-					throw new HibernateException( "Specified JDBC Driver " + driverClassName + " could not be loaded", e2 );
-				}
-			}
-		}
+		connectionCreator = new DriverConnectionCreator( configurationValues, serviceRegistry );
 
 		// default pool size 20
 		poolSize = ConfigurationHelper.getInt( AvailableSettings.POOL_SIZE, configurationValues, 20 );
 		LOG.hibernateConnectionPoolSize( poolSize );
-
-		autocommit = ConfigurationHelper.getBoolean( AvailableSettings.AUTOCOMMIT, configurationValues );
-		LOG.autoCommitMode( autocommit );
-
-		isolation = ConfigurationHelper.getInteger( AvailableSettings.ISOLATION, configurationValues );
-		if ( isolation != null ) {
-			LOG.jdbcIsolationLevel( Environment.isolationLevelToString( isolation.intValue() ) );
-		}
-
-		url = (String) configurationValues.get( AvailableSettings.URL );
-		if ( url == null ) {
-			final String msg = LOG.jdbcUrlNotSpecified( AvailableSettings.URL );
-			LOG.error( msg );
-			throw new HibernateException( msg );
-		}
-
-		connectionProps = ConnectionProviderInitiator.getConnectionProperties( configurationValues );
-
-		LOG.usingDriver( driverClassName, url );
-		// if debug level is enabled, then log the password, otherwise mask it
-		if ( LOG.isDebugEnabled() ) {
-			LOG.connectionProperties( connectionProps );
-		}
-		else {
-			LOG.connectionProperties( ConfigurationHelper.maskOut( connectionProps, "password" ) );
-		}
 	}
 
 	@Override
 	public void stop() {
-		LOG.cleaningUpConnectionPool( url );
+		LOG.cleaningUpConnectionPool( connectionCreator == null ? null : connectionCreator.getUrl() );
 
 		for ( Connection connection : pool ) {
 			try {
@@ -194,47 +124,14 @@ public class DriverManagerConnectionProviderImpl
 					LOG.tracev( "Using pooled JDBC connection, pool size: {0}", last );
 				}
 				final Connection pooled = pool.remove( last );
-				if ( isolation != null ) {
-					pooled.setTransactionIsolation( isolation.intValue() );
-				}
-				if ( pooled.getAutoCommit() != autocommit ) {
-					pooled.setAutoCommit( autocommit );
-				}
+				connectionCreator.prepareConnection( pooled );
 				checkedOut.incrementAndGet();
 				return pooled;
 			}
 		}
 
 		// otherwise we open a new connection...
-		final boolean debugEnabled = LOG.isDebugEnabled();
-		if ( debugEnabled ) {
-			LOG.debug( "Opening new JDBC connection" );
-		}
-		
-		final Connection conn;
-		if ( driver != null ) {
-			// If a Driver is available, completely circumvent
-			// DriverManager#getConnection.  It attempts to double check
-			// ClassLoaders before using a Driver.  This does not work well in
-			// OSGi environments without wonky workarounds.
-			conn = driver.connect( url, connectionProps );
-		}
-		else {
-			// If no Driver, fall back on the original method.
-			conn = DriverManager.getConnection( url, connectionProps );
-		}
-		
-		if ( isolation != null ) {
-			conn.setTransactionIsolation( isolation.intValue() );
-		}
-		if ( conn.getAutoCommit() != autocommit ) {
-			conn.setAutoCommit( autocommit );
-		}
-
-		if ( debugEnabled ) {
-			LOG.debugf( "Created connection to: %s, Isolation Level: %s", url, conn.getTransactionIsolation() );
-		}
-
+		final Connection conn = connectionCreator.createConnection();
 		checkedOut.incrementAndGet();
 		return conn;
 	}
@@ -0,0 +1,572 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.Stoppable;
+import org.hibernate.stat.ConnectionPoolStatistics;
+import org.jboss.logging.Logger;
+
+/**
+ * A connection provider that uses the {@link java.sql.DriverManager} (or the configured {@link java.sql.Driver})
+ * directly to open connections and pools them without any global lock.
+ * <p/>
+ * Unlike {@link DriverManagerConnectionProviderImpl}, the number of open connections is bounded by
+ * {@link AvailableSettings#POOL_SIZE}; requests beyond that wait up to {@link AvailableSettings#POOL_MAX_WAIT}
+ * milliseconds for a connection to be returned.  Idle connections are kept in a lock-free queue, and a thread
+ * asking for a connection first tries to reclaim the connection it used last, which avoids touching the shared
+ * queue at all for the common open-session/close-session cycle.
+ * <p/>
+ * Idle eviction ({@link AvailableSettings#POOL_IDLE_TIMEOUT}) and leak detection
+ * ({@link AvailableSettings#POOL_LEAK_DETECTION_THRESHOLD}) are performed by whichever thread happens to return a
+ * connection once the housekeeping interval has elapsed, so the pool does not start any threads of its own.  The
+ * pool opens {@link AvailableSettings#POOL_MIN_SIZE} connections up front and housekeeping tops it back up to that
+ * size after evicting idle connections.
+ * <p/>
+ * Select it with {@code hibernate.connection.provider_class=pooled}.
+ */
+public class PooledConnectionProviderImpl
+		implements ConnectionProvider, Configurable, Stoppable, ServiceRegistryAwareService {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledConnectionProviderImpl.class.getName()
+	);
+
+	/**
+	 * The short name used to select this provider via {@link AvailableSettings#CONNECTION_PROVIDER}
+	 */
+	public static final String SHORT_NAME = "pooled";
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+	private static final long MAX_HOUSEKEEPING_INTERVAL = 30000L;
+
+	private DriverConnectionCreator connectionCreator;
+	private int maxSize;
+	private int minSize;
+	private long maxWait;
+	private long idleTimeout;
+	private boolean validateOnBorrow;
+	private long leakDetectionThreshold;
+	private long housekeepingInterval;
+
+	private Semaphore permits;
+	private final ConcurrentLinkedQueue<PooledConnection> idleConnections = new ConcurrentLinkedQueue<PooledConnection>();
+	private final ConcurrentHashMap<Connection, PooledConnection> allConnections = new ConcurrentHashMap<Connection, PooledConnection>();
+	private final ThreadLocal<PooledConnection> lastUsedConnection = new ThreadLocal<PooledConnection>();
+	private final AtomicLong nextHousekeeping = new AtomicLong();
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final AtomicLong createdCount = new AtomicLong();
+	private final AtomicLong destroyedCount = new AtomicLong();
+	private final AtomicLong borrowCount = new AtomicLong();
+	private final AtomicLong threadAffinityHitCount = new AtomicLong();
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong waitTimeoutCount = new AtomicLong();
+	private final AtomicLong validationFailureCount = new AtomicLong();
+	private final AtomicLong idleEvictionCount = new AtomicLong();
+	private final AtomicLong leakCount = new AtomicLong();
+
+	private volatile boolean stopped;
+
+	private transient ServiceRegistryImplementor serviceRegistry;
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return ConnectionProvider.class.equals( unwrapType ) ||
+				PooledConnectionProviderImpl.class.isAssignableFrom( unwrapType );
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public <T> T unwrap(Class<T> unwrapType) {
+		if ( ConnectionProvider.class.equals( unwrapType ) ||
+				PooledConnectionProviderImpl.class.isAssignableFrom( unwrapType ) ) {
+			return (T) this;
+		}
+		else {
+			throw new UnknownUnwrapTypeException( unwrapType );
+		}
+	}
+
+	@Override
+	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+		this.serviceRegistry = serviceRegistry;
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		LOG.usingHibernateBuiltInConnectionPool();
+
+		connectionCreator = new DriverConnectionCreator( configurationValues, serviceRegistry );
+
+		maxSize = ConfigurationHelper.getInt( AvailableSettings.POOL_SIZE, configurationValues, 20 );
+		LOG.hibernateConnectionPoolSize( maxSize );
+		minSize = Math.min( ConfigurationHelper.getInt( AvailableSettings.POOL_MIN_SIZE, configurationValues, 0 ), maxSize );
+		maxWait = ConfigurationHelper.getInt( AvailableSettings.POOL_MAX_WAIT, configurationValues, 30000 );
+		idleTimeout = ConfigurationHelper.getInt( AvailableSettings.POOL_IDLE_TIMEOUT, configurationValues, 600000 );
+		validateOnBorrow = ConfigurationHelper.getBoolean( AvailableSettings.POOL_VALIDATE_ON_BORROW, configurationValues, false );
+		leakDetectionThreshold = ConfigurationHelper.getInt(
+				AvailableSettings.POOL_LEAK_DETECTION_THRESHOLD,
+				configurationValues,
+				0
+		);
+
+		housekeepingInterval = MAX_HOUSEKEEPING_INTERVAL;
+		if ( idleTimeout > 0 ) {
+			housekeepingInterval = Math.min( housekeepingInterval, idleTimeout );
+		}
+		if ( leakDetectionThreshold > 0 ) {
+			housekeepingInterval = Math.min( housekeepingInterval, leakDetectionThreshold );
+		}
+		nextHousekeeping.set( System.currentTimeMillis() + housekeepingInterval );
+
+		permits = new Semaphore( maxSize );
+
+		fillToMinSize();
+	}
+
+	@Override
+	public void stop() {
+		LOG.cleaningUpConnectionPool( connectionCreator == null ? null : connectionCreator.getUrl() );
+		stopped = true;
+
+		// checked-out connections are closed as they are returned
+		for ( PooledConnection pooled : allConnections.values() ) {
+			if ( pooled.markRemoved() ) {
+				destroy( pooled );
+			}
+		}
+		idleConnections.clear();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if ( stopped ) {
+			throw new SQLException( "Connection pool for [" + connectionCreator.getUrl() + "] has been stopped" );
+		}
+
+		acquirePermit();
+		try {
+			PooledConnection pooled = borrowIdleConnection();
+			if ( pooled == null ) {
+				pooled = createConnection();
+			}
+			pooled.borrowedAt = System.currentTimeMillis();
+			pooled.leakReported = false;
+			if ( leakDetectionThreshold > 0 ) {
+				pooled.borrowerName = Thread.currentThread().getName();
+			}
+			activeCount.incrementAndGet();
+			borrowCount.incrementAndGet();
+			return pooled.connection;
+		}
+		catch ( SQLException e ) {
+			permits.release();
+			throw e;
+		}
+		catch ( RuntimeException e ) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void acquirePermit() throws SQLException {
+		if ( permits.tryAcquire() ) {
+			return;
+		}
+
+		waitCount.incrementAndGet();
+		final boolean acquired;
+		try {
+			acquired = permits.tryAcquire( maxWait, TimeUnit.MILLISECONDS );
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new SQLException( "Interrupted while waiting for a pooled JDBC connection" );
+		}
+		if ( !acquired ) {
+			waitTimeoutCount.incrementAndGet();
+			throw new SQLException(
+					"Unable to obtain a pooled JDBC connection within " + maxWait + "ms; all " + maxSize
+							+ " connections are checked out"
+			);
+		}
+	}
+
+	private PooledConnection borrowIdleConnection() {
+		final long now = System.currentTimeMillis();
+
+		// first try the connection this thread used last; it is likely still idle and cache-warm
+		PooledConnection candidate = lastUsedConnection.get();
+		if ( candidate != null && candidate.markInUse() && isUsable( candidate, now ) ) {
+			threadAffinityHitCount.incrementAndGet();
+			return candidate;
+		}
+
+		while ( ( candidate = idleConnections.poll() ) != null ) {
+			candidate.queued.set( false );
+			// the entry may have been claimed through thread-affinity (or evicted) while it sat in the queue
+			if ( candidate.markInUse() && isUsable( candidate, now ) ) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private boolean isUsable(PooledConnection candidate, long now) {
+		if ( idleTimeout > 0 && now - candidate.lastReturnedAt > idleTimeout ) {
+			idleEvictionCount.incrementAndGet();
+			destroy( candidate );
+			return false;
+		}
+
+		try {
+			if ( validateOnBorrow && !candidate.connection.isValid( VALIDATION_TIMEOUT_SECONDS ) ) {
+				validationFailureCount.incrementAndGet();
+				destroy( candidate );
+				return false;
+			}
+			connectionCreator.prepareConnection( candidate.connection );
+			return true;
+		}
+		catch ( SQLException e ) {
+			LOG.debug( "Discarding pooled JDBC connection which could not be prepared for use", e );
+			validationFailureCount.incrementAndGet();
+			destroy( candidate );
+			return false;
+		}
+	}
+
+	private PooledConnection createConnection() throws SQLException {
+		final Connection connection = connectionCreator.createConnection();
+		final PooledConnection pooled = new PooledConnection( connection );
+		allConnections.put( connection, pooled );
+		createdCount.incrementAndGet();
+		return pooled;
+	}
+
+	@Override
+	public void closeConnection(Connection conn) throws SQLException {
+		final PooledConnection pooled = allConnections.get( conn );
+		if ( pooled == null ) {
+			// not one of ours (or already discarded)
+			LOG.debug( "Closing JDBC connection" );
+			conn.close();
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		activeCount.decrementAndGet();
+		try {
+			if ( stopped ) {
+				pooled.state.set( PooledConnection.REMOVED );
+				destroy( pooled );
+				return;
+			}
+
+			pooled.lastReturnedAt = now;
+			pooled.markIdle();
+			lastUsedConnection.set( pooled );
+			if ( pooled.queued.compareAndSet( false, true ) ) {
+				idleConnections.offer( pooled );
+			}
+		}
+		finally {
+			permits.release();
+		}
+
+		housekeepIfDue( now );
+	}
+
+	private void housekeepIfDue(long now) {
+		final long due = nextHousekeeping.get();
+		if ( now < due || !nextHousekeeping.compareAndSet( due, now + housekeepingInterval ) ) {
+			return;
+		}
+
+		for ( PooledConnection pooled : allConnections.values() ) {
+			if ( pooled.isIdle() ) {
+				if ( idleTimeout > 0
+						&& now - pooled.lastReturnedAt > idleTimeout
+						&& allConnections.size() > minSize
+						&& pooled.markRemoved() ) {
+					idleEvictionCount.incrementAndGet();
+					destroy( pooled );
+				}
+			}
+			else if ( leakDetectionThreshold > 0 && !pooled.leakReported ) {
+				final long checkedOutFor = now - pooled.borrowedAt;
+				if ( checkedOutFor > leakDetectionThreshold ) {
+					pooled.leakReported = true;
+					leakCount.incrementAndGet();
+					LOG.connectionLeakSuspected( checkedOutFor, pooled.borrowerName );
+				}
+			}
+		}
+
+		fillToMinSize();
+	}
+
+	/**
+	 * Opens idle connections until the pool holds at least {@link #minSize} of them.  Only called from
+	 * {@link #configure} and from housekeeping, which at most one thread performs at a time.
+	 */
+	private void fillToMinSize() {
+		while ( !stopped && allConnections.size() < minSize ) {
+			final PooledConnection pooled;
+			try {
+				pooled = createConnection();
+			}
+			catch ( SQLException e ) {
+				// connections are opened on demand instead
+				LOG.unableToFillConnectionPool( minSize, e );
+				return;
+			}
+			pooled.lastReturnedAt = System.currentTimeMillis();
+			pooled.markIdle();
+			pooled.queued.set( true );
+			idleConnections.offer( pooled );
+
+			if ( stopped && pooled.markRemoved() ) {
+				// lost a race with stop()
+				destroy( pooled );
+			}
+		}
+	}
+
+	private void destroy(PooledConnection pooled) {
+		allConnections.remove( pooled.connection );
+		destroyedCount.incrementAndGet();
+		try {
+			pooled.connection.close();
+		}
+		catch ( SQLException sqle ) {
+			LOG.unableToClosePooledConnection( sqle );
+		}
+	}
+
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	/**
+	 * Obtain a point-in-time snapshot of the pool statistics.
+	 *
+	 * @return The pool statistics
+	 */
+	public ConnectionPoolStatistics getStatistics() {
+		final int active = activeCount.get();
+		return new PoolStatisticsSnapshot(
+				maxSize,
+				active,
+				Math.max( 0, allConnections.size() - active ),
+				createdCount.get(),
+				destroyedCount.get(),
+				borrowCount.get(),
+				threadAffinityHitCount.get(),
+				waitCount.get(),
+				waitTimeoutCount.get(),
+				validationFailureCount.get(),
+				idleEvictionCount.get(),
+				leakCount.get()
+		);
+	}
+
+	/**
+	 * A physical connection plus its pool bookkeeping.  Ownership is decided purely by CAS on {@link #state}; an
+	 * entry may sit in the idle queue while being in use (claimed through thread-affinity), in which case whoever
+	 * polls it simply drops it.  {@link #queued} keeps each entry in the queue at most once.
+	 */
+	private static final class PooledConnection {
+		private static final int IDLE = 0;
+		private static final int IN_USE = 1;
+		private static final int REMOVED = 2;
+
+		private final Connection connection;
+		private final AtomicInteger state = new AtomicInteger( IN_USE );
+		private final AtomicBoolean queued = new AtomicBoolean();
+		private volatile long lastReturnedAt;
+		private volatile long borrowedAt;
+		private volatile boolean leakReported;
+		private volatile String borrowerName;
+
+		private PooledConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		private boolean isIdle() {
+			return state.get() == IDLE;
+		}
+
+		private boolean markInUse() {
+			return state.compareAndSet( IDLE, IN_USE );
+		}
+
+		private void markIdle() {
+			state.compareAndSet( IN_USE, IDLE );
+		}
+
+		private boolean markRemoved() {
+			return state.compareAndSet( IDLE, REMOVED );
+		}
+	}
+
+	private static final class PoolStatisticsSnapshot implements ConnectionPoolStatistics {
+		private final int maxSize;
+		private final int activeCount;
+		private final int idleCount;
+		private final long createdCount;
+		private final long destroyedCount;
+		private final long borrowCount;
+		private final long threadAffinityHitCount;
+		private final long waitCount;
+		private final long waitTimeoutCount;
+		private final long validationFailureCount;
+		private final long idleEvictionCount;
+		private final long leakCount;
+
+		private PoolStatisticsSnapshot(
+				int maxSize,
+				int activeCount,
+				int idleCount,
+				long createdCount,
+				long destroyedCount,
+				long borrowCount,
+				long threadAffinityHitCount,
+				long waitCount,
+				long waitTimeoutCount,
+				long validationFailureCount,
+				long idleEvictionCount,
+				long leakCount) {
+			this.maxSize = maxSize;
+			this.activeCount = activeCount;
+			this.idleCount = idleCount;
+			this.createdCount = createdCount;
+			this.destroyedCount = destroyedCount;
+			this.borrowCount = borrowCount;
+			this.threadAffinityHitCount = threadAffinityHitCount;
+			this.waitCount = waitCount;
+			this.waitTimeoutCount = waitTimeoutCount;
+			this.validationFailureCount = validationFailureCount;
+			this.idleEvictionCount = idleEvictionCount;
+			this.leakCount = leakCount;
+		}
+
+		@Override
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		@Override
+		public int getActiveCount() {
+			return activeCount;
+		}
+
+		@Override
+		public int getIdleCount() {
+			return idleCount;
+		}
+
+		@Override
+		public long getCreatedCount() {
+			return createdCount;
+		}
+
+		@Override
+		public long getDestroyedCount() {
+			return destroyedCount;
+		}
+
+		@Override
+		public long getBorrowCount() {
+			return borrowCount;
+		}
+
+		@Override
+		public long getThreadAffinityHitCount() {
+			return threadAffinityHitCount;
+		}
+
+		@Override
+		public long getWaitCount() {
+			return waitCount;
+		}
+
+		@Override
+		public long getWaitTimeoutCount() {
+			return waitTimeoutCount;
+		}
+
+		@Override
+		public long getValidationFailureCount() {
+			return validationFailureCount;
+		}
+
+		@Override
+		public long getIdleEvictionCount() {
+			return idleEvictionCount;
+		}
+
+		@Override
+		public long getLeakCount() {
+			return leakCount;
+		}
+
+		@Override
+		public String toString() {
+			return "ConnectionPoolStatistics[maxSize=" + maxSize
+					+ ",active=" + activeCount
+					+ ",idle=" + idleCount
+					+ ",created=" + createdCount
+					+ ",destroyed=" + destroyedCount
+					+ ",borrowed=" + borrowCount
+					+ ",threadAffinityHits=" + threadAffinityHitCount
+					+ ",waits=" + waitCount
+					+ ",waitTimeouts=" + waitTimeoutCount
+					+ ",validationFailures=" + validationFailureCount
+					+ ",idleEvictions=" + idleEvictionCount
+					+ ",leaks=" + leakCount
+					+ ']';
+		}
+	}
+}
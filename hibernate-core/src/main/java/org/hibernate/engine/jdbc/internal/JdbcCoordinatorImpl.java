@@ -236,6 +236,29 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		return statementPreparer;
 	}
 
+	private transient PreparedStatementCache statementCache;
+	private transient boolean statementCacheResolved;
+
+	/**
+	 * Access to the cache of prepared statements for the current physical connection, if statement caching
+	 * is enabled.
+	 *
+	 * @return The statement cache, or {@code null} if statement caching is disabled
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+	 */
+	PreparedStatementCache getStatementCache() {
+		if ( !statementCacheResolved ) {
+			final int size = sessionFactory().getSettings().getStatementCacheSize();
+			if ( size > 0 ) {
+				statementCache = new PreparedStatementCache( size );
+				logicalConnection.setStatementCache( statementCache );
+			}
+			statementCacheResolved = true;
+		}
+		return statementCache;
+	}
+
 	private transient ResultSetReturn resultSetExtractor;
 
 	@Override
@@ -518,6 +541,13 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			return;
 		}
 
+		if ( statementCache != null && statementCache.checkIn( statement ) ) {
+			if ( lastQuery == statement ) {
+				lastQuery = null;
+			}
+			return;
+		}
+
 		try {
 			// if we are unable to "clean" the prepared statement,
 			// we do not close it
@@ -70,6 +70,8 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 
 	private boolean isClosed;
 
+	private transient PreparedStatementCache statementCache;
+
 	/**
 	 * Constructs a LogicalConnectionImpl
 	 *
@@ -177,6 +179,7 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		LOG.trace( "Closing logical connection" );
 		final Connection c = isUserSuppliedConnection ? physicalConnection : null;
 		try {
+			clearStatementCache();
 			if ( !isUserSuppliedConnection && physicalConnection != null ) {
 				releaseConnection();
 			}
@@ -246,6 +249,7 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		if ( physicalConnection == null ) {
 			return;
 		}
+		clearStatementCache();
 		try {
 			if ( !physicalConnection.isClosed() ) {
 				getJdbcServices().getSqlExceptionHelper().logAndClearWarnings( physicalConnection );
@@ -267,6 +271,21 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		releaseNonDurableObservers();
 	}
 
+	/**
+	 * Bind the cache of prepared statements which must be cleared before the physical connection is released.
+	 *
+	 * @param statementCache The statement cache
+	 */
+	void setStatementCache(PreparedStatementCache statementCache) {
+		this.statementCache = statementCache;
+	}
+
+	private void clearStatementCache() {
+		if ( statementCache != null ) {
+			statementCache.clear();
+		}
+	}
+
 	private void releaseNonDurableObservers() {
 		final Iterator observers = this.observers.iterator();
 		while ( observers.hasNext() ) {
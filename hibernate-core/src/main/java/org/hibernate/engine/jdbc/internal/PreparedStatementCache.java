@@ -0,0 +1,249 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * A bounded, least-recently-used cache of the prepared statements of a single physical JDBC connection.
+ * <p/>
+ * Statements handed out by {@link StatementPreparerImpl} are "checked out" of the cache; when the
+ * {@link JdbcCoordinatorImpl} would normally close them they are instead "checked in", reset and kept
+ * for reuse by a later preparation of the same SQL.  Statements evicted from the cache, or which cannot
+ * be reset, are physically closed.
+ * <p/>
+ * The cache is bound to the physical connection the statements were prepared against, so it must be
+ * {@link #clear() cleared} before that connection is released.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#STATEMENT_CACHE_SIZE
+ */
+class PreparedStatementCache {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PreparedStatementCache.class.getName()
+	);
+
+	private final int maxSize;
+	private final LinkedHashMap<Key,CachedStatement> idleStatements;
+	private final Map<Statement,CachedStatement> checkedOutStatements = new IdentityHashMap<Statement,CachedStatement>();
+
+	/**
+	 * Constructs a PreparedStatementCache
+	 *
+	 * @param maxSize The maximum number of idle statements to keep
+	 */
+	PreparedStatementCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.idleStatements = new LinkedHashMap<Key,CachedStatement>( 16, 0.75f, true ) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,CachedStatement> eldest) {
+				if ( size() > PreparedStatementCache.this.maxSize ) {
+					close( eldest.getValue().statement );
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Check out an idle statement previously prepared for the given key.
+	 *
+	 * @param key The statement key
+	 *
+	 * @return The cached statement, or {@code null} if none is idle.
+	 */
+	PreparedStatement checkOut(Key key) {
+		final CachedStatement cached = idleStatements.remove( key );
+		if ( cached == null ) {
+			return null;
+		}
+		checkedOutStatements.put( cached.statement, cached );
+		return cached.statement;
+	}
+
+	/**
+	 * Make a newly prepared statement eligible for caching once it is checked in.
+	 *
+	 * @param statement The newly prepared statement
+	 * @param key The statement key
+	 */
+	void register(PreparedStatement statement, Key key) {
+		int fetchSize = 0;
+		try {
+			fetchSize = statement.getFetchSize();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to read fetch size of JDBC statement; it will not be cached [%s]", e.getMessage() );
+			return;
+		}
+		checkedOutStatements.put( statement, new CachedStatement( key, statement, fetchSize ) );
+	}
+
+	/**
+	 * Return a statement to the cache, in place of closing it.
+	 *
+	 * @param statement The statement being released
+	 *
+	 * @return {@code true} if the cache took responsibility for the statement (keeping or closing it);
+	 * {@code false} if the statement is unknown to the cache and should be closed by the caller.
+	 */
+	boolean checkIn(Statement statement) {
+		final CachedStatement cached = checkedOutStatements.remove( statement );
+		if ( cached == null ) {
+			return false;
+		}
+		if ( !reset( cached ) || idleStatements.containsKey( cached.key ) ) {
+			close( cached.statement );
+		}
+		else {
+			idleStatements.put( cached.key, cached );
+		}
+		return true;
+	}
+
+	/**
+	 * Close all idle statements, and forget the checked out ones.  Must be called before the physical
+	 * connection is released.
+	 */
+	void clear() {
+		final List<CachedStatement> idle = new ArrayList<CachedStatement>( idleStatements.values() );
+		idleStatements.clear();
+		checkedOutStatements.clear();
+		for ( CachedStatement cached : idle ) {
+			close( cached.statement );
+		}
+	}
+
+	private boolean reset(CachedStatement cached) {
+		final PreparedStatement statement = cached.statement;
+		try {
+			statement.clearParameters();
+			statement.clearWarnings();
+			if ( statement.getMaxRows() != 0 ) {
+				statement.setMaxRows( 0 );
+			}
+			if ( statement.getQueryTimeout() != 0 ) {
+				statement.setQueryTimeout( 0 );
+			}
+			if ( statement.getFetchSize() != cached.fetchSize ) {
+				statement.setFetchSize( cached.fetchSize );
+			}
+			return true;
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to reset JDBC statement for reuse [%s]", e.getMessage() );
+			return false;
+		}
+	}
+
+	private static void close(PreparedStatement statement) {
+		try {
+			statement.close();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to release JDBC statement [%s]", e.getMessage() );
+		}
+	}
+
+	/**
+	 * Identifies statements which may be used interchangeably: same SQL, same kind of statement and
+	 * same result set options.
+	 */
+	static final class Key {
+		private final String sql;
+		private final boolean callable;
+		private final int resultSetType;
+		private final int autoGeneratedKeys;
+		private final int hashCode;
+
+		/**
+		 * Constructs a Key
+		 *
+		 * @param sql The SQL
+		 * @param callable Whether the statement is a {@link java.sql.CallableStatement}
+		 * @param resultSetType The requested result set type, or {@code -1} for the driver default
+		 * @param autoGeneratedKeys The requested auto-generated keys flag, or {@code -1} if none was requested
+		 */
+		Key(String sql, boolean callable, int resultSetType, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.callable = callable;
+			this.resultSetType = resultSetType;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+			int result = sql.hashCode();
+			result = 31 * result + ( callable ? 1 : 0 );
+			result = 31 * result + resultSetType;
+			result = 31 * result + autoGeneratedKeys;
+			this.hashCode = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return callable == that.callable
+					&& resultSetType == that.resultSetType
+					&& autoGeneratedKeys == that.autoGeneratedKeys
+					&& sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return "PreparedStatementCache.Key(" + sql + ")";
+		}
+	}
+
+	private static final class CachedStatement {
+		private final Key key;
+		private final PreparedStatement statement;
+		private final int fetchSize;
+
+		private CachedStatement(Key key, PreparedStatement statement, int fetchSize) {
+			this.key = key;
+			this.statement = statement;
+			this.fetchSize = fetchSize;
+		}
+	}
+}
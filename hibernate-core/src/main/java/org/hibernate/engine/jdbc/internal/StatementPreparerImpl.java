@@ -35,6 +35,7 @@ import org.hibernate.cfg.Settings;
 import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.StatementPreparer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 /**
  * Standard implementation of StatementPreparer
@@ -44,6 +45,9 @@ import org.hibernate.engine.jdbc.spi.StatementPreparer;
  * @author Brett Meyer
 */
 class StatementPreparerImpl implements StatementPreparer {
+	private static final int NO_RESULT_SET_TYPE = -1;
+	private static final int NO_AUTO_GENERATED_KEYS = -1;
+
 	private JdbcCoordinatorImpl jdbcCoordinator;
 
 	/**
@@ -99,7 +103,7 @@ class StatementPreparerImpl implements StatementPreparer {
 	}
 
 	private StatementPreparationTemplate buildPreparedStatementPreparationTemplate(String sql, final boolean isCallable) {
-		return new StatementPreparationTemplate( sql ) {
+		return new StatementPreparationTemplate( sql, isCallable, NO_RESULT_SET_TYPE, NO_AUTO_GENERATED_KEYS ) {
 			@Override
 			protected PreparedStatement doPrepare() throws SQLException {
 				return isCallable
@@ -121,7 +125,7 @@ class StatementPreparerImpl implements StatementPreparer {
 			checkAutoGeneratedKeysSupportEnabled();
 		}
 		jdbcCoordinator.executeBatch();
-		return new StatementPreparationTemplate( sql ) {
+		return new StatementPreparationTemplate( sql, false, NO_RESULT_SET_TYPE, autoGeneratedKeys ) {
 			public PreparedStatement doPrepare() throws SQLException {
 				return connection().prepareStatement( sql, autoGeneratedKeys );
 			}
@@ -148,7 +152,7 @@ class StatementPreparerImpl implements StatementPreparer {
 			if ( ! settings().isScrollableResultSetsEnabled() ) {
 				throw new AssertionFailure("scrollable result sets are not enabled");
 			}
-			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql ) {
+			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql, isCallable, scrollMode.toResultSetType() ) {
 				public PreparedStatement doPrepare() throws SQLException {
 						return isCallable
 								? connection().prepareCall( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY )
@@ -159,7 +163,7 @@ class StatementPreparerImpl implements StatementPreparer {
 			return ps;
 		}
 		else {
-			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql ) {
+			final PreparedStatement ps = new QueryStatementPreparationTemplate( sql, isCallable, NO_RESULT_SET_TYPE ) {
 				public PreparedStatement doPrepare() throws SQLException {
 						return isCallable
 								? connection().prepareCall( sql )
@@ -173,16 +177,35 @@ class StatementPreparerImpl implements StatementPreparer {
 
 	private abstract class StatementPreparationTemplate {
 		protected final String sql;
+		private final PreparedStatementCache.Key cacheKey;
 
 		protected StatementPreparationTemplate(String sql) {
 			this.sql = jdbcCoordinator.getTransactionCoordinator().getTransactionContext().onPrepareStatement( sql );
+			this.cacheKey = null;
+		}
+
+		protected StatementPreparationTemplate(String sql, boolean isCallable, int resultSetType, int autoGeneratedKeys) {
+			this.sql = jdbcCoordinator.getTransactionCoordinator().getTransactionContext().onPrepareStatement( sql );
+			this.cacheKey = new PreparedStatementCache.Key( this.sql, isCallable, resultSetType, autoGeneratedKeys );
 		}
 
 		public PreparedStatement prepareStatement() {
 			try {
 				jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger().logStatement( sql );
-				
-				final PreparedStatement preparedStatement = doPrepare();
+
+				final PreparedStatementCache statementCache = cacheKey == null ? null : jdbcCoordinator.getStatementCache();
+				PreparedStatement preparedStatement = statementCache == null ? null : statementCache.checkOut( cacheKey );
+				if ( preparedStatement == null ) {
+					preparedStatement = doPrepare();
+					logicalConnection().notifyObserversStatementPrepared();
+					if ( statementCache != null ) {
+						statementCache.register( preparedStatement, cacheKey );
+						recordStatementCacheAccess( false );
+					}
+				}
+				else {
+					recordStatementCacheAccess( true );
+				}
 				setStatementTimeout( preparedStatement );
 				postProcess( preparedStatement );
 				return preparedStatement;
@@ -196,7 +219,6 @@ class StatementPreparerImpl implements StatementPreparer {
 
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
 			jdbcCoordinator.register( preparedStatement );
-			logicalConnection().notifyObserversStatementPrepared();
 		}
 
 		private void setStatementTimeout(PreparedStatement preparedStatement) throws SQLException {
@@ -208,8 +230,8 @@ class StatementPreparerImpl implements StatementPreparer {
 	}
 
 	private abstract class QueryStatementPreparationTemplate extends StatementPreparationTemplate {
-		protected QueryStatementPreparationTemplate(String sql) {
-			super( sql );
+		protected QueryStatementPreparationTemplate(String sql, boolean isCallable, int resultSetType) {
+			super( sql, isCallable, resultSetType, NO_AUTO_GENERATED_KEYS );
 		}
 
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
@@ -218,6 +240,18 @@ class StatementPreparerImpl implements StatementPreparer {
 		}
 	}
 
+	private void recordStatementCacheAccess(boolean hit) {
+		final SessionFactoryImplementor sessionFactory = jdbcCoordinator.sessionFactory();
+		if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+			if ( hit ) {
+				sessionFactory.getStatisticsImplementor().preparedStatementCacheHit();
+			}
+			else {
+				sessionFactory.getStatisticsImplementor().preparedStatementCacheMiss();
+			}
+		}
+	}
+
 	private void setStatementFetchSize(PreparedStatement statement) throws SQLException {
 		if ( settings().getJdbcFetchSize() != null ) {
 			statement.setFetchSize( settings().getJdbcFetchSize() );
@@ -43,7 +43,9 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.QuerySplitter;
+import org.hibernate.hql.internal.ast.QueryTranslatorImpl;
 import org.hibernate.hql.spi.FilterTranslator;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.hql.spi.ParameterTranslations;
 import org.hibernate.hql.spi.QueryTranslator;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
@@ -77,10 +79,39 @@ public class HQLQueryPlan implements Serializable {
 	private final boolean shallow;
 
 	public HQLQueryPlan(String hql, boolean shallow, Map enabledFilters, SessionFactoryImplementor factory) {
-		this( hql, null, shallow, enabledFilters, factory );
+		this( hql, null, shallow, enabledFilters, factory, null );
+	}
+
+	/**
+	 * Creates the plan for a query whose HQL AST the caller can build directly.  The builder is used only when the
+	 * query is translated by a single AST-based translator; otherwise the query string is parsed as usual.
+	 *
+	 * @param hql The query string
+	 * @param shallow Whether the execution is to be shallow or not
+	 * @param enabledFilters The enabled filters (we only keep the names)
+	 * @param factory The factory
+	 * @param parseTreeBuilder Builds the HQL AST for {@code hql}
+	 */
+	public HQLQueryPlan(
+			String hql,
+			boolean shallow,
+			Map enabledFilters,
+			SessionFactoryImplementor factory,
+			HqlParseTreeBuilder parseTreeBuilder) {
+		this( hql, null, shallow, enabledFilters, factory, parseTreeBuilder );
 	}
 
 	protected HQLQueryPlan(String hql, String collectionRole, boolean shallow, Map enabledFilters,  SessionFactoryImplementor factory){
+		this( hql, collectionRole, shallow, enabledFilters, factory, null );
+	}
+
+	private HQLQueryPlan(
+			String hql,
+			String collectionRole,
+			boolean shallow,
+			Map enabledFilters,
+			SessionFactoryImplementor factory,
+			HqlParseTreeBuilder parseTreeBuilder) {
 		this.sourceQuery = hql;
 		this.shallow = shallow;
 		Set copy = new HashSet();
@@ -102,7 +133,13 @@ public class HQLQueryPlan implements Serializable {
 			if ( hasCollectionRole ) {
 				translators[i] = queryTranslatorFactory
 						.createQueryTranslator( hql, concreteQueryStrings[i], enabledFilters, factory );
-				translators[i].compile( querySubstitutions, shallow );
+				if ( parseTreeBuilder != null && length == 1 && translators[i] instanceof QueryTranslatorImpl ) {
+					// not a polymorphic query, so its single concrete query is the one the tree is built for
+					( (QueryTranslatorImpl) translators[i] ).compile( parseTreeBuilder, querySubstitutions, shallow );
+				}
+				else {
+					translators[i].compile( querySubstitutions, shallow );
+				}
 			}
 			else {
 				translators[i] = queryTranslatorFactory
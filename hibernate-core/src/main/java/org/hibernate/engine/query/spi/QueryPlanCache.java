@@ -39,6 +39,7 @@ import org.hibernate.QueryException;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
@@ -161,11 +162,33 @@ public class QueryPlanCache implements Serializable {
 
 	public HQLQueryPlan getHQLQueryPlan( String queryString, boolean shallow, Map enabledFilters)
 			throws QueryException, MappingException {
+		return getHQLQueryPlan( queryString, shallow, enabledFilters, null );
+	}
+
+	/**
+	 * Get the query plan for the given HQL query, creating it and caching it if not already cached.  On a cache
+	 * miss, the plan is created from the HQL AST the given builder produces instead of parsing the query string.
+	 *
+	 * @param queryString The HQL query string
+	 * @param shallow Whether the execution will be shallow
+	 * @param enabledFilters The filters enabled on the Session
+	 * @param parseTreeBuilder Builds the HQL AST for {@code queryString}; may be {@code null}
+	 *
+	 * @return The query plan
+	 *
+	 * @throws QueryException Indicates a problem translating the query
+	 * @throws MappingException Indicates a problem translating the query
+	 */
+	public HQLQueryPlan getHQLQueryPlan(
+			String queryString,
+			boolean shallow,
+			Map enabledFilters,
+			HqlParseTreeBuilder parseTreeBuilder) throws QueryException, MappingException {
 		HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
-			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory, parseTreeBuilder );
 			queryPlanCache.putIfAbsent( key, value );
 		} else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
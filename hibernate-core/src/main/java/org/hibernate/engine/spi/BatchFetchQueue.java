@@ -24,9 +24,11 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -34,6 +36,7 @@ import org.jboss.logging.Logger;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.BulkAccessHelper;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -66,7 +69,7 @@ public class BatchFetchQueue {
 	 * A Map structure is used to segment the keys by entity type since loading can only be done for a particular entity
 	 * type at a time.
 	 */
-	private final Map <String,LinkedHashSet<EntityKey>> batchLoadableEntityKeys = new HashMap <String,LinkedHashSet<EntityKey>>(8);
+	private final Map<String,EntityKeyQueue> batchLoadableEntityKeys = new HashMap<String,EntityKeyQueue>(8);
 	
 	/**
 	 * Used to hold information about the collections that are currently eligible for batch-fetching.  Ultimately
@@ -75,6 +78,12 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * Second-level cache lookup results read ahead in bulk by {@link #prefetchCacheEntries}, not yet consumed by a
+	 * load.  A {@code null} value records a key known to be missing from the cache.
+	 */
+	private final Map<CacheKey, Object> prefetchedCacheEntries = new HashMap<CacheKey, Object>(8);
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -93,6 +102,7 @@ public class BatchFetchQueue {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		prefetchedCacheEntries.clear();
 	}
 
 
@@ -143,12 +153,12 @@ public class BatchFetchQueue {
 	 */
 	public void addBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName());
-			if (set == null) {
-				set = new LinkedHashSet<EntityKey>(8);
-				batchLoadableEntityKeys.put( key.getEntityName(), set);
+			EntityKeyQueue queue = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( queue == null ) {
+				queue = new EntityKeyQueue();
+				batchLoadableEntityKeys.put( key.getEntityName(), queue );
 			}
-			set.add(key);
+			queue.add( key );
 		}
 	}
 	
@@ -160,17 +170,17 @@ public class BatchFetchQueue {
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName());
-			if (set != null) {
-				set.remove(key);
+			final EntityKeyQueue queue = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( queue != null ) {
+				queue.remove( key );
 			}
 		}
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Get a batch of unloaded identifiers for this class.  The batch is made of the keys registered immediately
+	 * after the given key, topped up with those registered immediately before it, so only a window of the queue
+	 * proportional to the batch size is visited rather than the whole queue.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -184,50 +194,117 @@ public class BatchFetchQueue {
 			final EntityMode entityMode) {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
-		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
 
 		// TODO: this needn't exclude subclasses...
 
-		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
-		if ( set != null ) {
-			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
-				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
-				}
+		final EntityKeyQueue queue = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( queue == null || batchSize < 2 ) {
+			return ids;
+		}
+
+		final EntityKeyQueue.Node requested = queue.get( context.getSession().generateEntityKey( id, persister ) );
+		EntityKeyQueue.Node after = requested == null ? queue.head : requested.next;
+		EntityKeyQueue.Node before = requested == null ? null : requested.previous;
+
+		final List<EntityKey> window = new ArrayList<EntityKey>( batchSize - 1 );
+		int i = 1;
+		while ( i < batchSize && ( after != null || before != null ) ) {
+			// collect just enough candidates to fill the batch, then drop the cached ones with one bulk probe; only
+			// when some were cached do we need to widen the window
+			window.clear();
+			while ( after != null && window.size() < batchSize - i ) {
+				window.add( after.key );
+				after = after.next;
+			}
+			while ( before != null && window.size() < batchSize - i ) {
+				window.add( before.key );
+				before = before.previous;
 			}
+			i = addUncachedIdentifiers( window, persister, ids, i );
 		}
-		return ids; //we ran out of ids to try
+		return ids;
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		if ( persister.hasCache() ) {
-			CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					entityKey.getEntityName()
+	private int addUncachedIdentifiers(List<EntityKey> keys, EntityPersister persister, Serializable[] ids, int index) {
+		if ( !persister.hasCache() ) {
+			for ( EntityKey key : keys ) {
+				ids[index++] = key.getIdentifier();
+			}
+			return index;
+		}
+
+		final List<CacheKey> cacheKeys = new ArrayList<CacheKey>( keys.size() );
+		for ( EntityKey key : keys ) {
+			cacheKeys.add(
+					context.getSession().generateCacheKey(
+							key.getIdentifier(),
+							persister.getIdentifierType(),
+							key.getEntityName()
+					)
 			);
-			return persister.getCacheAccessStrategy().get( key, context.getSession().getTimestamp() ) != null;
 		}
-		return false;
+		final Map<Object,Object> cached = BulkAccessHelper.getAll(
+				persister.getCacheAccessStrategy(),
+				cacheKeys,
+				context.getSession().getTimestamp()
+		);
+		for ( int i = 0; i < keys.size(); i++ ) {
+			if ( !cached.containsKey( cacheKeys.get( i ) ) ) {
+				ids[index++] = keys.get( i ).getIdentifier();
+			}
+		}
+		return index;
 	}
-	
+
+
+	// second-level cache prefetch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Read the second-level cache entries of several entities with one bulk call, keeping them for the loads which
+	 * are about to follow.  Callers are responsible for {@link #clearPrefetchedCacheEntries clearing} whatever was
+	 * not consumed once those loads are done.
+	 *
+	 * @param persister The persister of the entities, which must be cached
+	 * @param keys The cache keys of the entities
+	 */
+	public void prefetchCacheEntries(EntityPersister persister, Collection<CacheKey> keys) {
+		final Map<Object,Object> cached = BulkAccessHelper.getAll(
+				persister.getCacheAccessStrategy(),
+				keys,
+				context.getSession().getTimestamp()
+		);
+		for ( CacheKey key : keys ) {
+			prefetchedCacheEntries.put( key, cached.get( key ) );
+		}
+	}
+
+	/**
+	 * Is a prefetched second-level cache lookup result (entry or miss) available for the given key?
+	 *
+	 * @param key The cache key
+	 * @return {@code true} if {@link #removePrefetchedCacheEntry} can be used instead of reading the cache
+	 */
+	public boolean hasPrefetchedCacheEntry(CacheKey key) {
+		return !prefetchedCacheEntries.isEmpty() && prefetchedCacheEntries.containsKey( key );
+	}
+
+	/**
+	 * Consume a prefetched second-level cache lookup result.
+	 *
+	 * @param key The cache key
+	 * @return The prefetched cache entry; {@code null} if the entity was not cached
+	 */
+	public Object removePrefetchedCacheEntry(CacheKey key) {
+		return prefetchedCacheEntries.remove( key );
+	}
+
+	/**
+	 * Forget the prefetched second-level cache lookup results which were not consumed.
+	 */
+	public void clearPrefetchedCacheEntries() {
+		prefetchedCacheEntries.clear();
+	}
+
 
 	// collection batch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -340,4 +417,64 @@ public class BatchFetchQueue {
 		}
 		return false;
 	}
+
+	/**
+	 * The batch loadable keys of one entity type, in registration order.  The keys are doubly linked and indexed
+	 * by a hash map, so a batch can be collected by walking outwards from any key without scanning from the head.
+	 */
+	private static final class EntityKeyQueue {
+		private final Map<EntityKey,Node> nodes = new HashMap<EntityKey,Node>( 8 );
+		private Node head;
+		private Node tail;
+
+		private static final class Node {
+			private final EntityKey key;
+			private Node previous;
+			private Node next;
+
+			private Node(EntityKey key) {
+				this.key = key;
+			}
+		}
+
+		private Node get(EntityKey key) {
+			return nodes.get( key );
+		}
+
+		private void add(EntityKey key) {
+			if ( nodes.containsKey( key ) ) {
+				// keep the original registration position, as a LinkedHashSet would
+				return;
+			}
+			final Node node = new Node( key );
+			if ( tail == null ) {
+				head = node;
+			}
+			else {
+				tail.next = node;
+				node.previous = tail;
+			}
+			tail = node;
+			nodes.put( key, node );
+		}
+
+		private void remove(EntityKey key) {
+			final Node node = nodes.remove( key );
+			if ( node == null ) {
+				return;
+			}
+			if ( node.previous == null ) {
+				head = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				tail = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+		}
+	}
 }
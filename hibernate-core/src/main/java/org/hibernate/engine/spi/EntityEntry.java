@@ -59,6 +59,7 @@ public final class EntityEntry implements Serializable {
 	private transient EntityKey cachedEntityKey; // cached EntityKey (lazy-initialized)
 	private boolean isBeingReplicated;
 	private boolean loadedWithLazyPropertiesUnfetched; //NOTE: this is not updated when properties are fetched lazily!
+	private boolean selfDirtinessTracked; // no snapshot kept, the entity tracks its own changes
 	private final transient Object rowId;
 	private final transient PersistenceContext persistenceContext;
 
@@ -115,6 +116,7 @@ public final class EntityEntry implements Serializable {
 			final boolean existsInDatabase,
 			final boolean isBeingReplicated,
 			final boolean loadedWithLazyPropertiesUnfetched,
+			final boolean selfDirtinessTracked,
 			final PersistenceContext persistenceContext) {
 		this.entityName = entityName;
 		this.persister = ( factory == null ? null : factory.getEntityPersister( entityName ) );
@@ -130,6 +132,7 @@ public final class EntityEntry implements Serializable {
 		this.existsInDatabase = existsInDatabase;
 		this.isBeingReplicated = isBeingReplicated;
 		this.loadedWithLazyPropertiesUnfetched = loadedWithLazyPropertiesUnfetched;
+		this.selfDirtinessTracked = selfDirtinessTracked;
 		this.rowId = null; // this is equivalent to the old behavior...
 		this.persistenceContext = persistenceContext;
 	}
@@ -222,7 +225,9 @@ public final class EntityEntry implements Serializable {
 	 * @param nextVersion The new version.
 	 */
 	public void postUpdate(Object entity, Object[] updatedState, Object nextVersion) {
-		this.loadedState = updatedState;
+		if ( !selfDirtinessTracked ) {
+			this.loadedState = updatedState;
+		}
 		setLockMode( LockMode.WRITE );
 
 		if ( getPersister().isVersioned() ) {
@@ -236,12 +241,53 @@ public final class EntityEntry implements Serializable {
 				interceptor.clearDirty();
 			}
 		}
+		if ( entity instanceof SelfDirtinessTracker ) {
+			( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+		}
 		persistenceContext.getSession()
 				.getFactory()
 				.getCustomEntityDirtinessStrategy()
 				.resetDirty( entity, getPersister(), (Session) persistenceContext.getSession() );
 	}
 
+	/**
+	 * Handle updating the internal state of the entry after the entity has been
+	 * loaded.  If the entity tracks its own changes (see
+	 * {@link org.hibernate.tuple.entity.EntityMetamodel#isSelfDirtinessTracking()}) the
+	 * snapshot of the loaded state is dropped and the entity is dirty checked
+	 * through the changes it tracks from now on.
+	 *
+	 * @param entity The entity instance
+	 */
+	public void postLoad(Object entity) {
+		if ( status == Status.MANAGED && isSelfDirtinessTrackingPossible( entity ) ) {
+			startSelfDirtinessTracking( entity );
+		}
+	}
+
+	private boolean isSelfDirtinessTrackingPossible(Object entity) {
+		return entity instanceof SelfDirtinessTracker
+				&& getPersister().getEntityMetamodel() != null
+				&& getPersister().getEntityMetamodel().isSelfDirtinessTracking();
+	}
+
+	private void startSelfDirtinessTracking(Object entity) {
+		( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+		loadedState = null;
+		selfDirtinessTracked = true;
+	}
+
+	/**
+	 * Is the entity dirty checked through the changes it tracks itself, rather than
+	 * against a snapshot?  If so, {@link #getLoadedState()} is {@code null} even
+	 * though the entity did not come in from update().
+	 *
+	 * @return {@code true} if the entity tracks its own changes
+	 */
+	public boolean isSelfDirtinessTracked() {
+		return selfDirtinessTracked;
+	}
+
 	/**
 	 * After actually deleting a row, record the fact that the instance no longer
 	 * exists in the database
@@ -305,6 +351,10 @@ public final class EntityEntry implements Serializable {
 			return ! customEntityDirtinessStrategy.isDirty( entity, getPersister(), (Session) persistenceContext.getSession() );
 		}
 		
+		if ( selfDirtinessTracked ) {
+			return ! ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
+
 		if ( getPersister().hasMutableProperties() ) {
 			return false;
 		}
@@ -336,7 +386,9 @@ public final class EntityEntry implements Serializable {
 
 	public void forceLocked(Object entity, Object nextVersion) {
 		version = nextVersion;
-		loadedState[ persister.getVersionProperty() ] = version;
+		if ( loadedState != null ) {
+			loadedState[ persister.getVersionProperty() ] = version;
+		}
 		//noinspection deprecation
 		setLockMode( LockMode.FORCE );  // TODO:  use LockMode.PESSIMISTIC_FORCE_INCREMENT
 		persister.setPropertyValue( entity, getPersister().getVersionProperty(), nextVersion );
@@ -363,6 +415,11 @@ public final class EntityEntry implements Serializable {
 				throw new IllegalStateException( "Cannot make an immutable entity modifiable." );
 			}
 			setStatus( Status.MANAGED );
+			if ( isSelfDirtinessTrackingPossible( entity ) ) {
+				// changes made while read-only are not to be flushed
+				startSelfDirtinessTracking( entity );
+				return;
+			}
 			loadedState = getPersister().getPropertyValues( entity );
 			persistenceContext.getNaturalIdHelper().manageLocalNaturalIdCrossReference(
 					persister,
@@ -407,6 +464,7 @@ public final class EntityEntry implements Serializable {
 		oos.writeBoolean( existsInDatabase );
 		oos.writeBoolean( isBeingReplicated );
 		oos.writeBoolean( loadedWithLazyPropertiesUnfetched );
+		oos.writeBoolean( selfDirtinessTracked );
 	}
 
 	/**
@@ -444,6 +502,7 @@ public final class EntityEntry implements Serializable {
 	            LockMode.valueOf( (String) ois.readObject() ),
 	            ois.readBoolean(),
 	            ois.readBoolean(),
+	            ois.readBoolean(),
 	            ois.readBoolean(),
 				persistenceContext
 		);
@@ -47,7 +47,8 @@ public final class EntityKey implements Serializable {
 	private final String rootEntityName;
 	private final String tenantId;
 
-	private final int hashCode;
+	// computed on first use; lookups in the persistence context often do not need it
+	private int hashCode;
 
 	private final Type identifierType;
 	private final boolean isBatchLoadable;
@@ -76,7 +77,6 @@ public final class EntityKey implements Serializable {
 		this.identifierType = persister.getIdentifierType();
 		this.isBatchLoadable = persister.isBatchLoadable();
 		this.factory = persister.getFactory();
-		this.hashCode = generateHashCode();
 	}
 
 	/**
@@ -105,7 +105,6 @@ public final class EntityKey implements Serializable {
 		this.isBatchLoadable = batchLoadable;
 		this.factory = factory;
 		this.tenantId = tenantId;
-		this.hashCode = generateHashCode();
 	}
 
 	private int generateHashCode() {
@@ -127,6 +126,10 @@ public final class EntityKey implements Serializable {
 		return entityName;
 	}
 
+	public String getRootEntityName() {
+		return rootEntityName;
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if ( this == other ) {
@@ -144,6 +147,11 @@ public final class EntityKey implements Serializable {
 
 	@Override
 	public int hashCode() {
+		int hashCode = this.hashCode;
+		if ( hashCode == 0 ) {
+			hashCode = generateHashCode();
+			this.hashCode = hashCode;
+		}
 		return hashCode;
 	}
 
@@ -180,6 +180,17 @@ public interface PersistenceContext {
 	 */
 	public Object getEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance associated with the given identifier and persister.  Same as
+	 * {@link #getEntity(EntityKey)}, without the need to build the key.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	public Object getEntity(Serializable id, EntityPersister persister);
+
 	/**
 	 * Is there an entity with the given key in the persistence context
 	 *
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.spi;
+
+/**
+ * Contract for entities which track changes to their own persistent attributes, which allows the flush to
+ * find the dirty attributes without comparing against a snapshot of the loaded state.  Hibernate can enhance
+ * entity classes to implement this contract when in-line dirty checking is requested; the enhanced writers
+ * record the index of each changed attribute in a bitset held by the instance.
+ * <p/>
+ * Changes are tracked from the point the instance was loaded (or last flushed); Hibernate clears the tracked
+ * changes itself once they have been written to the database.
+ */
+public interface SelfDirtinessTracker {
+	/**
+	 * Have any of the tracked attributes changed since the changes were last cleared?
+	 *
+	 * @return {@code true} if at least one attribute was changed
+	 */
+	public boolean $$_hibernate_hasDirtyAttributes();
+
+	/**
+	 * Obtain the names of the attributes changed since the changes were last cleared.
+	 *
+	 * @return The names of the changed attributes; never {@code null}
+	 */
+	public String[] $$_hibernate_getDirtyAttributes();
+
+	/**
+	 * Forget all tracked changes.
+	 */
+	public void $$_hibernate_clearDirtyAttributes();
+
+	/**
+	 * Record a change to the named attribute which happened outside of the instance's own writers, for example
+	 * when Hibernate copies state onto the instance by reflection.  Unknown names are ignored.
+	 *
+	 * @param attributeName The name of the changed attribute
+	 */
+	public void $$_hibernate_trackChange(String attributeName);
+}
@@ -214,7 +214,18 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// So this needs to be safe from concurrent modification problems.
 		// It is safe because of how IdentityMap implements entrySet()
 
-		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
+		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
+
+		// Optionally compare the state of the entities to their loaded state up front, on several threads
+		final Map<EntityEntry,ParallelDirtyChecker.Result> precomputedDirtyChecks =
+				source.getFactory().getSettings().getParallelDirtyCheckThreshold() > 0
+						? source.getFactory()
+								.getServiceRegistry()
+								.getService( ParallelDirtyChecker.class )
+								.dirtyCheck( entityEntries, flushListeners, source )
+						: null;
+
+		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
 //		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
 
 			// Update the status of the object and if necessary, schedule an update
@@ -224,6 +235,12 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 			if ( status != Status.LOADING && status != Status.GONE ) {
 				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+				if ( precomputedDirtyChecks != null ) {
+					final ParallelDirtyChecker.Result precomputed = precomputedDirtyChecks.get( entry );
+					if ( precomputed != null ) {
+						entityEvent.setPrecomputedDirtyCheck( precomputed.propertyValues, precomputed.dirtyProperties );
+					}
+				}
 				for ( FlushEntityEventListener listener : flushListeners ) {
 					listener.onFlushEntity( entityEvent );
 				}
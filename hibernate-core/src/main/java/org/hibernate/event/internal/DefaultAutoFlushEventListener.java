@@ -31,6 +31,8 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Defines the default flush event listeners used by hibernate for
@@ -52,6 +54,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 	public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
 		final EventSource source = event.getSession();
 		if ( flushMightBeNeeded(source) ) {
+			final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.nanoTime() : 0;
 			// Need to get the number of collection removals before flushing to executions
 			// (because flushing to executions can add collection removal actions to the action queue).
 			final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
@@ -64,8 +68,12 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				// note: performExecutions() clears all collectionXxxxtion
 				// collections (the collection actions) in the session
 
-				if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-					source.getFactory().getStatisticsImplementor().flush();
+				if ( stats ) {
+					final StatisticsImplementor statistics = source.getFactory().getStatisticsImplementor();
+					statistics.flush();
+					if ( statistics instanceof LatencyStatisticsImplementor ) {
+						( (LatencyStatisticsImplementor) statistics ).flushTime( ( System.nanoTime() - startTime ) / 1000 );
+					}
 				}
 			}
 			else {
@@ -39,6 +39,7 @@ import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
@@ -48,6 +49,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.type.Type;
 
 /**
@@ -151,9 +153,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final Status status = entry.getStatus();
 		final Type[] types = persister.getPropertyTypes();
 
-		final boolean mightBeDirty = entry.requiresDirtyCheck(entity);
+		// entities dirty checked ahead of time were found to require it then
+		final boolean mightBeDirty = event.hasPrecomputedDirtyCheck() || entry.requiresDirtyCheck(entity);
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		final Object[] values = getValues( event, mightBeDirty, session );
 
 		event.setPropertyValues(values);
 
@@ -166,7 +169,9 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		if ( status != Status.DELETED ) {
 			// now update the object .. has to be outside the main if block above (because of collections)
-			if (substitute) persister.setPropertyValues( entity, values );
+			if (substitute) {
+				setSubstitutedValues( entity, entry, persister, values );
+			}
 
 			// Search for collections by reachability, updating their role.
 			// We don't want to touch collections reachable from a deleted object
@@ -177,7 +182,19 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
+	private void setSubstitutedValues(Object entity, EntityEntry entry, EntityPersister persister, Object[] values) {
+		// writing back the wrapped collections is no change of the entity's own
+		final boolean untracked = entry.isSelfDirtinessTracked()
+				&& !( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		persister.setPropertyValues( entity, values );
+		if ( untracked ) {
+			( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+		}
+	}
+
+	private Object[] getValues(FlushEntityEvent event, boolean mightBeDirty, SessionImplementor session) {
+		final Object entity = event.getEntity();
+		final EntityEntry entry = event.getEntityEntry();
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
 		final EntityPersister persister = entry.getPersister();
@@ -194,7 +211,9 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			checkId( entity, persister, entry.getId(), session );
 
 			// grab its current state
-			values = persister.getPropertyValues( entity );
+			values = event.hasPrecomputedDirtyCheck()
+					? event.getPrecomputedPropertyValues()
+					: persister.getPropertyValues( entity );
 
 			checkNaturalId( persister, entry, values, loadedState, session );
 		}
@@ -243,6 +262,9 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 							.extractInterceptor( event.getEntity() )
 							.clearDirty();
 				}
+				if ( event.getEntityEntry().isSelfDirtinessTracked() ) {
+					( (SelfDirtinessTracker) event.getEntity() ).$$_hibernate_clearDirtyAttributes();
+				}
 				event.getSession()
 						.getFactory()
 						.getCustomEntityDirtinessStrategy()
@@ -521,15 +543,19 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 			// Interceptor returned null, so do the dirtycheck ourself, if possible
 			interceptorHandledDirtyCheck = false;
 
-			cannotDirtyCheck = loadedState==null; // object loaded by update()
+			cannotDirtyCheck = loadedState==null; // object loaded by update(), or tracking its own changes
 			if ( !cannotDirtyCheck ) {
 				// dirty check against the usual snapshot of the entity
-				dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				dirtyProperties = event.hasPrecomputedDirtyCheck()
+						? event.getPrecomputedDirtyProperties()
+						: persister.findDirty( values, loadedState, entity, session );
 			}
-			else if ( entry.getStatus() == Status.DELETED && ! event.getEntityEntry().isModifiableEntity() ) {
+			else if ( entry.getStatus() == Status.DELETED
+					&& ( ! event.getEntityEntry().isModifiableEntity() || entry.isSelfDirtinessTracked() ) ) {
 				// A non-modifiable (e.g., read-only or immutable) entity needs to be have
 				// references to transient entities set to null before being deleted. No other
-				// fields should be updated.
+				// fields should be updated.  The same goes for an entity tracking its own changes,
+				// which keeps no snapshot to compare the deleted state against.
 				if ( values != entry.getDeletedState() ) {
 					throw new IllegalStateException(
 							"Entity has status Status.DELETED but values != entry.getDeletedState"
@@ -546,6 +572,14 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				dirtyProperties = persister.findDirty( entry.getDeletedState(), currentState, entity, session );
 				cannotDirtyCheck = false;
 			}
+			else if ( entry.isSelfDirtinessTracked() ) {
+				// the entity recorded which of its attributes changed
+				final int[] trackedDirtyProperties = getTrackedDirtyProperties( entity, persister );
+				if ( trackedDirtyProperties != NOT_TRACKED ) {
+					dirtyProperties = trackedDirtyProperties;
+					cannotDirtyCheck = false;
+				}
+			}
 			else {
 				// dirty check against the database snapshot, if possible/necessary
 				final Object[] databaseSnapshot = getDatabaseSnapshot(session, persister, id);
@@ -570,6 +604,44 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	private static final int[] NOT_TRACKED = new int[0];
+
+	/**
+	 * Resolve the changes tracked by an entity to property indexes.
+	 *
+	 * @return The (ordered) dirty property indexes, {@code null} if no property changed, or {@link #NOT_TRACKED}
+	 * if a change could not be matched to a property, in which case the entity is updated as a whole
+	 */
+	private int[] getTrackedDirtyProperties(Object entity, EntityPersister persister) {
+		final String[] dirtyAttributes = ( (SelfDirtinessTracker) entity ).$$_hibernate_getDirtyAttributes();
+		if ( dirtyAttributes.length == 0 ) {
+			return null;
+		}
+
+		final EntityMetamodel entityMetamodel = persister.getEntityMetamodel();
+		final String identifierPropertyName = entityMetamodel.getIdentifierProperty().getName();
+		final int[] dirtyProperties = new int[ dirtyAttributes.length ];
+		int count = 0;
+		for ( String dirtyAttribute : dirtyAttributes ) {
+			final Integer index = entityMetamodel.getPropertyIndexOrNull( dirtyAttribute );
+			if ( index != null ) {
+				dirtyProperties[ count++ ] = index;
+			}
+			else if ( !dirtyAttribute.equals( identifierPropertyName ) ) {
+				// the identifier is set by Hibernate itself; anything else means the enhanced
+				// fields do not line up with the mapped attributes
+				return NOT_TRACKED;
+			}
+		}
+		if ( count == 0 ) {
+			return null;
+		}
+
+		final int[] result = count == dirtyProperties.length ? dirtyProperties : Arrays.copyOf( dirtyProperties, count );
+		Arrays.sort( result );
+		return result;
+	}
+
 	private class DirtyCheckAttributeInfoImpl implements CustomEntityDirtinessStrategy.AttributeInformation {
 		private final FlushEntityEvent event;
 		private final EntityPersister persister;
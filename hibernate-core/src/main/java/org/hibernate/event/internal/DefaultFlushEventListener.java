@@ -28,6 +28,8 @@ import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.FlushEvent;
 import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Defines the default flush event listeners used by hibernate for 
@@ -48,12 +50,19 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntries().size() > 0 ) {
 
+			final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.nanoTime() : 0;
+
 			flushEverythingToExecutions(event);
 			performExecutions(source);
 			postFlush(source);
 		
-			if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-				source.getFactory().getStatisticsImplementor().flush();
+			if ( stats ) {
+				final StatisticsImplementor statistics = source.getFactory().getStatisticsImplementor();
+				statistics.flush();
+				if ( statistics instanceof LatencyStatisticsImplementor ) {
+					( (LatencyStatisticsImplementor) statistics ).flushTime( ( System.nanoTime() - startTime ) / 1000 );
+				}
 			}
 
 		}
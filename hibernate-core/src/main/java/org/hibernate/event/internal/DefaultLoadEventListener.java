@@ -39,6 +39,7 @@ import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -57,6 +58,8 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 import org.hibernate.type.EmbeddedComponentType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -457,15 +460,23 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			final EntityKey keyToLoad,
 			final LoadEventListener.LoadType options) {
 		final SessionImplementor source = event.getSession();
+		final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+		final long startTime = stats ? System.nanoTime() : 0;
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
 				event.getLockOptions(),
 				source
 		);
-		
-		if ( event.isAssociationFetch() && source.getFactory().getStatistics().isStatisticsEnabled() ) {
-			source.getFactory().getStatisticsImplementor().fetchEntity( event.getEntityClassName() );
+
+		if ( stats ) {
+			final StatisticsImplementor statistics = source.getFactory().getStatisticsImplementor();
+			if ( statistics instanceof LatencyStatisticsImplementor ) {
+				( (LatencyStatisticsImplementor) statistics ).entityLoadTime( ( System.nanoTime() - startTime ) / 1000 );
+			}
+			if ( event.isAssociationFetch() ) {
+				statistics.fetchEntity( event.getEntityClassName() );
+			}
 		}
 
 		return entity;
@@ -547,7 +558,10 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				persister.getRootEntityName()
 		);
 
-		Object ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
+		final BatchFetchQueue batchFetchQueue = source.getPersistenceContext().getBatchFetchQueue();
+		Object ce = batchFetchQueue.hasPrefetchedCacheEntry( ck )
+				? batchFetchQueue.removePrefetchedCacheEntry( ck )
+				: persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
 
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
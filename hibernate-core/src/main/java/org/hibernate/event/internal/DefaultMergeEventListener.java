@@ -40,6 +40,7 @@ import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.CascadingActions;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.MergeEvent;
@@ -49,6 +50,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.type.ForeignKeyDirection;
+import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
 /**
@@ -371,9 +373,10 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 			final Object target,
 			final SessionImplementor source,
 			final Map copyCache) {
+		final Object[] targetValues = persister.getPropertyValues( target );
 		final Object[] copiedValues = TypeHelper.replace(
 				persister.getPropertyValues( entity ),
-				persister.getPropertyValues( target ),
+				targetValues,
 				persister.getPropertyTypes(),
 				source,
 				target,
@@ -381,6 +384,28 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 		);
 
 		persister.setPropertyValues( target, copiedValues );
+		trackCopiedValues( persister, target, targetValues, copiedValues );
+	}
+
+	/**
+	 * setPropertyValues() may bypass the writers of an entity tracking its own changes, so record
+	 * the copied values which differ from the previous ones explicitly
+	 */
+	private void trackCopiedValues(
+			EntityPersister persister,
+			Object target,
+			Object[] targetValues,
+			Object[] copiedValues) {
+		if ( target instanceof SelfDirtinessTracker ) {
+			final SelfDirtinessTracker tracker = (SelfDirtinessTracker) target;
+			final String[] propertyNames = persister.getPropertyNames();
+			final Type[] types = persister.getPropertyTypes();
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( !types[i].isSame( targetValues[i], copiedValues[i] ) ) {
+					tracker.$$_hibernate_trackChange( propertyNames[i] );
+				}
+			}
+		}
 	}
 
 	protected void copyValues(
@@ -0,0 +1,325 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.Service;
+import org.hibernate.service.spi.Stoppable;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Compares the current state of the entities of a flush to their loaded state on several threads, ahead of the
+ * {@link org.hibernate.event.spi.FlushEntityEventListener flush entity listeners}.
+ * <p/>
+ * Only the comparison itself ({@link EntityPersister#findDirty}) runs on the pool.  The current property values
+ * are read on the flushing thread, in flush order, before any flush entity listener runs.  That is only the same as
+ * reading them as each entity is flushed when nothing invoked along the way can change another entity, so this is
+ * skipped for sessions with a custom interceptor, custom flush entity listeners (such as the JPA one, which runs
+ * {@code @PreUpdate} callbacks) or a custom entity dirtiness strategy.  To keep the comparison free of any session
+ * access, only entities whose properties are all basic values (or components of basic values) and which are not
+ * bytecode instrumented take part.
+ * <p/>
+ * Any failure while comparing a batch simply drops its results, so that the regular dirty check runs for those
+ * entities and reports the problem exactly as it would have without this.
+ * <p/>
+ * Each SessionFactory owns one instance, and so one pool, which is shut down when the SessionFactory is closed.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD
+ */
+public final class ParallelDirtyChecker implements Service, Stoppable {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ParallelDirtyChecker.class.getName()
+	);
+
+	private static final int MIN_BATCH_SIZE = 64;
+	private static final long IDLE_SECONDS = 60;
+
+	private final int threshold;
+	private final int parallelism;
+	private final ThreadPoolExecutor executor;
+
+	private final Map<EntityPersister, Boolean> eligiblePersisters = new ConcurrentHashMap<EntityPersister, Boolean>();
+
+	/**
+	 * The result of the parallel dirty check of an entity.
+	 */
+	static final class Result {
+		final Object[] propertyValues;
+		final int[] dirtyProperties;
+
+		private Result(Object[] propertyValues, int[] dirtyProperties) {
+			this.propertyValues = propertyValues;
+			this.dirtyProperties = dirtyProperties;
+		}
+	}
+
+	/**
+	 * Constructs a ParallelDirtyChecker.
+	 *
+	 * @param threshold The minimum number of eligible entities for a flush to be dirty checked in parallel; 0 or
+	 * less disables parallel dirty checking
+	 * @param threads The number of threads of the pool
+	 */
+	ParallelDirtyChecker(int threshold, int threads) {
+		this.threshold = threshold;
+		this.parallelism = Math.max( 1, threads );
+		if ( threshold > 0 && parallelism > 1 ) {
+			executor = new ThreadPoolExecutor(
+					parallelism - 1,
+					parallelism - 1,
+					IDLE_SECONDS,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new DirtyCheckThreadFactory()
+			);
+			// an idle SessionFactory holds no threads
+			executor.allowCoreThreadTimeOut( true );
+		}
+		else {
+			executor = null;
+		}
+	}
+
+	@Override
+	public void stop() {
+		if ( executor != null ) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Dirty check, in parallel, the eligible entities among the given entries when there are at least
+	 * {@code threshold} of them and the flush allows it.
+	 *
+	 * @param entries The entity entries of the persistence context
+	 * @param flushListeners The flush entity listeners of the flush
+	 * @param session The flushing session
+	 *
+	 * @return The results, by entity entry; {@code null} if the dirty check was not run in parallel
+	 */
+	Map<EntityEntry, Result> dirtyCheck(
+			Map.Entry<Object, EntityEntry>[] entries,
+			Iterable<FlushEntityEventListener> flushListeners,
+			SessionImplementor session) {
+		if ( executor == null || executor.isShutdown() || !isParallelizable( flushListeners, session ) ) {
+			return null;
+		}
+
+		int eligible = 0;
+		for ( Map.Entry<Object, EntityEntry> me : entries ) {
+			if ( isEligible( me.getValue() ) ) {
+				eligible++;
+			}
+		}
+		if ( eligible < threshold ) {
+			return null;
+		}
+
+		// read the current state on this thread, in flush order
+		final List<Candidate> candidates = new ArrayList<Candidate>( eligible );
+		for ( Map.Entry<Object, EntityEntry> me : entries ) {
+			final EntityEntry entry = me.getValue();
+			if ( isEligible( entry ) && entry.requiresDirtyCheck( me.getKey() ) ) {
+				candidates.add( new Candidate( me.getKey(), entry ) );
+			}
+		}
+		if ( candidates.isEmpty() ) {
+			return null;
+		}
+
+		final int batchSize = Math.max( MIN_BATCH_SIZE, ( candidates.size() + parallelism - 1 ) / parallelism );
+		final List<Future<int[][]>> futures = new ArrayList<Future<int[][]>>();
+		final List<Integer> starts = new ArrayList<Integer>();
+		for ( int start = batchSize; start < candidates.size(); start += batchSize ) {
+			futures.add( executor.submit( new Batch( candidates, start, batchSize, session ) ) );
+			starts.add( start );
+		}
+
+		final Map<EntityEntry, Result> results = new IdentityHashMap<EntityEntry, Result>();
+
+		// the flushing thread takes the first batch itself
+		collect( new Batch( candidates, 0, batchSize, session ).call(), candidates, 0, results );
+
+		for ( int i = 0; i < futures.size(); i++ ) {
+			try {
+				collect( futures.get( i ).get(), candidates, starts.get( i ), results );
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				return results;
+			}
+			catch ( ExecutionException e ) {
+				LOG.debugf( "Unable to dirty check batch in parallel : %s", e.getCause() );
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Reading the current state of all entities up front only gives the same values as reading it entity by entity
+	 * when nothing called while flushing an entity can change another one.
+	 */
+	private static boolean isParallelizable(Iterable<FlushEntityEventListener> flushListeners, SessionImplementor session) {
+		if ( session.getInterceptor().getClass() != EmptyInterceptor.class ) {
+			return false;
+		}
+		for ( FlushEntityEventListener listener : flushListeners ) {
+			if ( listener.getClass() != DefaultFlushEntityEventListener.class ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void collect(int[][] batch, List<Candidate> candidates, int start, Map<EntityEntry, Result> results) {
+		if ( batch == null ) {
+			return;
+		}
+		for ( int i = 0; i < batch.length; i++ ) {
+			final Candidate candidate = candidates.get( start + i );
+			results.put( candidate.entry, new Result( candidate.values, batch[i] ) );
+		}
+	}
+
+	private boolean isEligible(EntityEntry entry) {
+		return entry.getStatus() == Status.MANAGED
+				&& entry.getLoadedState() != null
+				&& isEligible( entry.getPersister() );
+	}
+
+	private boolean isEligible(EntityPersister persister) {
+		Boolean eligible = eligiblePersisters.get( persister );
+		if ( eligible == null ) {
+			eligible = !persister.getInstrumentationMetadata().isInstrumented()
+					&& areBasicValues( persister.getPropertyTypes() );
+			eligiblePersisters.put( persister, eligible );
+		}
+		return eligible;
+	}
+
+	private static boolean areBasicValues(Type[] types) {
+		for ( Type type : types ) {
+			if ( type.isAssociationType() ) {
+				return false;
+			}
+			if ( type.isComponentType() && !areBasicValues( ( (CompositeType) type ).getSubtypes() ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * An entity to dirty check, with the state read on the flushing thread.
+	 */
+	private static final class Candidate {
+		private final Object entity;
+		private final EntityEntry entry;
+		private final EntityPersister persister;
+		private final Object[] values;
+		private final Object[] loadedState;
+
+		private Candidate(Object entity, EntityEntry entry) {
+			this.entity = entity;
+			this.entry = entry;
+			this.persister = entry.getPersister();
+			this.values = persister.getPropertyValues( entity );
+			this.loadedState = entry.getLoadedState();
+		}
+	}
+
+	/**
+	 * Compares the already read state of some candidates to their loaded state.
+	 */
+	private static final class Batch implements Callable<int[][]> {
+		private final List<Candidate> candidates;
+		private final int start;
+		private final int end;
+		private final SessionImplementor session;
+
+		private Batch(List<Candidate> candidates, int start, int size, SessionImplementor session) {
+			this.candidates = candidates;
+			this.start = start;
+			this.end = Math.min( start + size, candidates.size() );
+			this.session = session;
+		}
+
+		@Override
+		public int[][] call() {
+			try {
+				final int[][] dirtyProperties = new int[end - start][];
+				for ( int i = start; i < end; i++ ) {
+					final Candidate candidate = candidates.get( i );
+					// basic types do not use the session to compare values
+					dirtyProperties[i - start] = candidate.persister.findDirty(
+							candidate.values,
+							candidate.loadedState,
+							candidate.entity,
+							session
+					);
+				}
+				return dirtyProperties;
+			}
+			catch ( RuntimeException e ) {
+				LOG.debugf( "Unable to dirty check batch in parallel : %s", e );
+				return null;
+			}
+		}
+	}
+
+	private static final class DirtyCheckThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-flush-dirty-check-" + count.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.internal;
+
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Settings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.SessionFactoryServiceInitiator;
+
+/**
+ * Standard initiator for the {@link ParallelDirtyChecker} of a SessionFactory.
+ */
+public class ParallelDirtyCheckerInitiator implements SessionFactoryServiceInitiator<ParallelDirtyChecker> {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ParallelDirtyCheckerInitiator.class.getName()
+	);
+
+	public static final ParallelDirtyCheckerInitiator INSTANCE = new ParallelDirtyCheckerInitiator();
+
+	@Override
+	public Class<ParallelDirtyChecker> getServiceInitiated() {
+		return ParallelDirtyChecker.class;
+	}
+
+	@Override
+	public ParallelDirtyChecker initiateService(
+			SessionFactoryImplementor sessionFactory,
+			Configuration configuration,
+			ServiceRegistryImplementor registry) {
+		return initiateServiceInternal( sessionFactory, configuration.getProperties() );
+	}
+
+	@Override
+	public ParallelDirtyChecker initiateService(
+			SessionFactoryImplementor sessionFactory,
+			MetadataImplementor metadata,
+			ServiceRegistryImplementor registry) {
+		return initiateServiceInternal( sessionFactory, registry.getService( ConfigurationService.class ).getSettings() );
+	}
+
+	private ParallelDirtyChecker initiateServiceInternal(SessionFactoryImplementor sessionFactory, Map configValues) {
+		final Settings settings = sessionFactory.getSettings();
+		int threshold = settings.getParallelDirtyCheckThreshold();
+		if ( threshold > 0 && configValues.get( AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY ) != null ) {
+			// the strategy is consulted while flushing each entity, so the state cannot be read ahead of time
+			LOG.debug( "Parallel dirty checking is disabled because a custom entity dirtiness strategy is in use" );
+			threshold = 0;
+		}
+		return new ParallelDirtyChecker( threshold, settings.getParallelDirtyCheckThreads() );
+	}
+}
@@ -37,6 +37,8 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
 	private EntityEntry entityEntry;
+	private Object[] precomputedPropertyValues;
+	private int[] precomputedDirtyProperties;
 	
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
 		super(source);
@@ -89,4 +91,26 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+
+	/**
+	 * Supply the current property values of the entity, and the properties found dirty comparing them to the
+	 * loaded state, when they were computed ahead of the flush entity listeners.
+	 *
+	 * @param propertyValues The current property values
+	 * @param dirtyProperties The dirty properties, as returned by
+	 * {@link org.hibernate.persister.entity.EntityPersister#findDirty}
+	 */
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, int[] dirtyProperties) {
+		this.precomputedPropertyValues = propertyValues;
+		this.precomputedDirtyProperties = dirtyProperties;
+	}
+	public boolean hasPrecomputedDirtyCheck() {
+		return precomputedPropertyValues != null;
+	}
+	public Object[] getPrecomputedPropertyValues() {
+		return precomputedPropertyValues;
+	}
+	public int[] getPrecomputedDirtyProperties() {
+		return precomputedDirtyProperties;
+	}
 }
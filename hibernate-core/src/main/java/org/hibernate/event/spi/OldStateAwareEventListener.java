@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.spi;
+
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Optional contract for {@link PreUpdateEventListener}s and {@link PostUpdateEventListener}s telling which entities
+ * they read the old state ({@link PreUpdateEvent#getOldState()}, {@link PostUpdateEvent#getOldState()}) of.
+ * <p/>
+ * The snapshot of the loaded state, which the old state comes from, is not kept for entities tracking their own
+ * changes (see {@link org.hibernate.tuple.entity.EntityMetamodel#isSelfDirtinessTracking()}) unless an update listener
+ * needs it.  Update listeners not implementing this contract are assumed to need it for every entity.
+ */
+public interface OldStateAwareEventListener {
+	/**
+	 * Does this listener read the old state of the given entity's updates?
+	 *
+	 * @param persister The persister of the updated entity
+	 *
+	 * @return {@code true} if the old state is read
+	 */
+	public boolean requiresOldState(EntityPersister persister);
+}
@@ -121,7 +121,8 @@ public class HqlSqlWalker extends HqlSqlBaseWalker implements ErrorReporter, Par
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, HqlSqlWalker.class.getName());
 
 	private final QueryTranslatorImpl queryTranslatorImpl;
-	private final HqlParser hqlParser;
+	private final ASTFactory inputAstFactory;
+	private final AST inputAst;
 	private final SessionFactoryHelper sessionFactoryHelper;
 	private final Map tokenReplacements;
 	private final AliasGenerator aliasGenerator = new AliasGenerator();
@@ -168,6 +169,28 @@ public class HqlSqlWalker extends HqlSqlBaseWalker implements ErrorReporter, Par
 			HqlParser parser,
 			Map tokenReplacements,
 			String collectionRole) {
+		this( qti, sfi, parser.getASTFactory(), parser.getAST(), tokenReplacements, collectionRole );
+	}
+
+	/**
+	 * Create a new tree transformer for an HQL AST which was not necessarily produced by {@link HqlParser}.
+	 *
+	 * @param qti Back pointer to the query translator implementation that is using this tree transform.
+	 * @param sfi The session factory implementor where the Hibernate mappings can be found.
+	 * @param inputAstFactory The factory which created the HQL AST
+	 * @param inputAst The HQL AST to be transformed
+	 * @param tokenReplacements Registers the token replacement map with the walker.  This map will
+	 * be used to substitute function names and constants.
+	 * @param collectionRole The collection role name of the collection used as the basis for the
+	 * filter, NULL if this is not a collection filter compilation.
+	 */
+	public HqlSqlWalker(
+			QueryTranslatorImpl qti,
+			SessionFactoryImplementor sfi,
+			ASTFactory inputAstFactory,
+			AST inputAst,
+			Map tokenReplacements,
+			String collectionRole) {
 		setASTFactory( new SqlASTFactory( this ) );
 		// Initialize the error handling delegate.
 		this.parseErrorHandler = new ErrorCounter( qti.getQueryString() );
@@ -176,7 +199,8 @@ public class HqlSqlWalker extends HqlSqlBaseWalker implements ErrorReporter, Par
 		this.literalProcessor = new LiteralProcessor( this );
 		this.tokenReplacements = tokenReplacements;
 		this.collectionFilterRole = collectionRole;
-		this.hqlParser = parser;
+		this.inputAstFactory = inputAstFactory;
+		this.inputAst = inputAst;
 		this.printer = new ASTPrinter( SqlTokenTypes.class );
 	}
 
@@ -246,13 +270,12 @@ public class HqlSqlWalker extends HqlSqlBaseWalker implements ErrorReporter, Par
 				}
 
 				String collectionElementEntityName = persister.getElementPersister().getEntityName();
-				ASTFactory inputAstFactory = hqlParser.getASTFactory();
 				AST fromElement = ASTUtil.create( inputAstFactory, HqlTokenTypes.FILTER_ENTITY, collectionElementEntityName );
 				ASTUtil.createSibling( inputAstFactory, HqlTokenTypes.ALIAS, "this", fromElement );
 				fromClauseInput.addChild( fromElement );
 				// Show the modified AST.
                 LOG.debug("prepareFromClauseInputTree() : Filter - Added 'this' as a from element...");
-				queryTranslatorImpl.showHqlAst( hqlParser.getAST() );
+				queryTranslatorImpl.showHqlAst( inputAst );
 
 				// Create a parameter specification for the collection filter...
 				Type collectionFilterKeyType = sessionFactoryHelper.requireQueryableCollection( collectionFilterRole ).getKeyType();
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 
 import antlr.ANTLRException;
+import antlr.ASTFactory;
 import antlr.RecognitionException;
 import antlr.TokenStreamException;
 import antlr.collections.AST;
@@ -63,6 +64,7 @@ import org.hibernate.hql.internal.ast.util.ASTPrinter;
 import org.hibernate.hql.internal.ast.util.ASTUtil;
 import org.hibernate.hql.internal.ast.util.NodeTraverser;
 import org.hibernate.hql.spi.FilterTranslator;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.hql.spi.ParameterTranslations;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
@@ -138,7 +140,25 @@ public class QueryTranslatorImpl implements FilterTranslator {
 	public void compile(
 			Map replacements,
 			boolean shallow) throws QueryException, MappingException {
-		doCompile( replacements, shallow, null );
+		doCompile( replacements, shallow, null, null );
+	}
+
+	/**
+	 * Compile a "normal" query from an HQL AST built directly by the caller, rather than one parsed from the query
+	 * string.  Falls back to parsing the query string if the builder cannot build the tree.  This method may be
+	 * called multiple times. Subsequent invocations are no-ops.
+	 *
+	 * @param parseTreeBuilder Builds the HQL AST for this translator's query string.
+	 * @param replacements Defined query substitutions.
+	 * @param shallow      Does this represent a shallow (scalar or entity-id) select?
+	 * @throws QueryException   There was a problem parsing the query string.
+	 * @throws MappingException There was a problem querying defined mappings.
+	 */
+	public void compile(
+			HqlParseTreeBuilder parseTreeBuilder,
+			Map replacements,
+			boolean shallow) throws QueryException, MappingException {
+		doCompile( replacements, shallow, null, parseTreeBuilder );
 	}
 
 	/**
@@ -156,7 +176,7 @@ public class QueryTranslatorImpl implements FilterTranslator {
 			String collectionRole,
 			Map replacements,
 			boolean shallow) throws QueryException, MappingException {
-		doCompile( replacements, shallow, collectionRole );
+		doCompile( replacements, shallow, collectionRole, null );
 	}
 
 	/**
@@ -166,8 +186,13 @@ public class QueryTranslatorImpl implements FilterTranslator {
 	 * @param shallow        Does this represent a shallow (scalar or entity-id) select?
 	 * @param collectionRole the role name of the collection used as the basis for the filter, NULL if this
 	 *                       is not a filter.
+	 * @param parseTreeBuilder builds the HQL AST in place of parsing the query string, NULL to parse it
 	 */
-	private synchronized void doCompile(Map replacements, boolean shallow, String collectionRole) {
+	private synchronized void doCompile(
+			Map replacements,
+			boolean shallow,
+			String collectionRole,
+			HqlParseTreeBuilder parseTreeBuilder) {
 		// If the query is already compiled, skip the compilation.
 		if ( compiled ) {
 			LOG.debug( "compile() : The query is already compiled, skipping..." );
@@ -182,11 +207,25 @@ public class QueryTranslatorImpl implements FilterTranslator {
 		this.shallowQuery = shallow;
 
 		try {
-			// PHASE 1 : Parse the HQL into an AST.
-			final HqlParser parser = parse( true );
+			// PHASE 1 : Parse the HQL into an AST (or have it built directly).
+			ASTFactory hqlAstFactory = null;
+			AST hqlAst = null;
+			if ( parseTreeBuilder != null ) {
+				hqlAstFactory = new HqlASTFactory();
+				hqlAst = parseTreeBuilder.buildParseTree( hqlAstFactory );
+				if ( hqlAst != null ) {
+					LOG.debugf( "Using HQL AST built for: %s", hql );
+					showHqlAst( hqlAst );
+				}
+			}
+			if ( hqlAst == null ) {
+				final HqlParser parser = parse( true );
+				hqlAstFactory = parser.getASTFactory();
+				hqlAst = parser.getAST();
+			}
 
 			// PHASE 2 : Analyze the HQL AST, and produce an SQL AST.
-			final HqlSqlWalker w = analyze( parser, collectionRole );
+			final HqlSqlWalker w = analyze( hqlAstFactory, hqlAst, collectionRole );
 
 			sqlAst = (Statement) w.getAST();
 
@@ -253,9 +292,9 @@ public class QueryTranslatorImpl implements FilterTranslator {
 
 	private static final ASTPrinter SQL_TOKEN_PRINTER = new ASTPrinter( SqlTokenTypes.class );
 
-	private HqlSqlWalker analyze(HqlParser parser, String collectionRole) throws QueryException, RecognitionException {
-		final HqlSqlWalker w = new HqlSqlWalker( this, factory, parser, tokenReplacements, collectionRole );
-		final AST hqlAst = parser.getAST();
+	private HqlSqlWalker analyze(ASTFactory hqlAstFactory, AST hqlAst, String collectionRole)
+			throws QueryException, RecognitionException {
+		final HqlSqlWalker w = new HqlSqlWalker( this, factory, hqlAstFactory, hqlAst, tokenReplacements, collectionRole );
 
 		// Transform the tree.
 		w.statement( hqlAst );
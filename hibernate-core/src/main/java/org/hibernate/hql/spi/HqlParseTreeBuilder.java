@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import antlr.ASTFactory;
+import antlr.collections.AST;
+
+/**
+ * Builds the HQL AST (the input to {@link org.hibernate.hql.internal.ast.HqlSqlWalker}) for a query directly, for
+ * callers that already hold the query in structured form and would otherwise render it to a string only to have the
+ * parser lex and parse it again.
+ * <p/>
+ * The built tree must be exactly the one the parser produces for the query string the translator is given.
+ * Unlike a parsed tree, it is not searched for references to Java constants.
+ *
+ * @see org.hibernate.hql.internal.ast.QueryTranslatorImpl#compile(HqlParseTreeBuilder, java.util.Map, boolean)
+ */
+public interface HqlParseTreeBuilder {
+	/**
+	 * Build the HQL AST for the query.
+	 *
+	 * @param astFactory The factory to use for creating the tree nodes
+	 *
+	 * @return The root ({@code QUERY}) node, or {@code null} if this query cannot be built directly, in which case
+	 * the query string is parsed as usual.
+	 */
+	public AST buildParseTree(ASTFactory astFactory);
+}
@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Middleware LLC or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Middleware LLC.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ *
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * Optional contract for a {@link DatabaseStructure} able to hand out several values of the underlying structure
+ * at once.  Generators fall back to calling {@link AccessCallback#getNextValue()} repeatedly for structures not
+ * implementing it.
+ */
+public interface BatchingDatabaseStructure extends DatabaseStructure {
+	/**
+	 * Reserve several values of the underlying structure at once, using a single database round trip where the
+	 * structure (and dialect) allows it.  The returned values are exactly what {@code count} successive calls to
+	 * {@link AccessCallback#getNextValue()} would have produced.
+	 *
+	 * @param session The session.
+	 * @param count The number of values to reserve.
+	 * @return The reserved values.
+	 */
+	public IntegralDataTypeHolder[] getNextValues(SessionImplementor session, int count);
+}
@@ -25,10 +25,14 @@ package org.hibernate.id.enhanced;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
@@ -48,9 +52,15 @@ public class OptimizerFactory {
 	public static enum StandardOptimizerDescriptor {
 		NONE( "none", NoopOptimizer.class ),
 		HILO( "hilo", HiLoOptimizer.class ),
+		HILO_CONCURRENT( "hilo-concurrent", ConcurrentHiLoOptimizer.class ),
+		HILO_PREFETCH( "hilo-prefetch", PrefetchingHiLoOptimizer.class ),
 		LEGACY_HILO( "legacy-hilo", LegacyHiLoAlgorithmOptimizer.class ),
 		POOLED( "pooled", PooledOptimizer.class, true ),
-		POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true );
+		POOLED_CONCURRENT( "pooled-concurrent", ConcurrentPooledOptimizer.class, true ),
+		POOLED_PREFETCH( "pooled-prefetch", PrefetchingPooledOptimizer.class, true ),
+		POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true ),
+		POOLED_LO_CONCURRENT( "pooled-lo-concurrent", ConcurrentPooledLoOptimizer.class, true ),
+		POOLED_LO_PREFETCH( "pooled-lo-prefetch", PrefetchingPooledLoOptimizer.class, true );
 
 		private final String externalName;
 		private final Class<? extends Optimizer> optimizerClass;
@@ -89,15 +99,33 @@ public class OptimizerFactory {
 			else if ( HILO.externalName.equals( externalName ) ) {
 				return HILO;
 			}
+			else if ( HILO_CONCURRENT.externalName.equals( externalName ) ) {
+				return HILO_CONCURRENT;
+			}
+			else if ( HILO_PREFETCH.externalName.equals( externalName ) ) {
+				return HILO_PREFETCH;
+			}
 			else if ( LEGACY_HILO.externalName.equals( externalName ) ) {
 				return LEGACY_HILO;
 			}
 			else if ( POOLED.externalName.equals( externalName ) ) {
 				return POOLED;
 			}
+			else if ( POOLED_CONCURRENT.externalName.equals( externalName ) ) {
+				return POOLED_CONCURRENT;
+			}
+			else if ( POOLED_PREFETCH.externalName.equals( externalName ) ) {
+				return POOLED_PREFETCH;
+			}
 			else if ( POOLED_LO.externalName.equals( externalName ) ) {
 				return POOLED_LO;
 			}
+			else if ( POOLED_LO_CONCURRENT.externalName.equals( externalName ) ) {
+				return POOLED_LO_CONCURRENT;
+			}
+			else if ( POOLED_LO_PREFETCH.externalName.equals( externalName ) ) {
+				return POOLED_LO_PREFETCH;
+			}
 			else {
 				LOG.debugf( "Unknown optimizer key [%s]; returning null assuming Optimizer impl class name", externalName );
 				return null;
@@ -537,6 +565,297 @@ public class OptimizerFactory {
 		}
 	}
 
+	/**
+	 * Common support for the concurrent variations of the optimizers, which do not serialize callers on a monitor.
+	 * Values are handed out from the current in-memory range by a CAS increment; only the (rare) range refill takes a
+	 * lock, since that is the only step which needs to consult the {@link AccessCallback}.  How a value read from the
+	 * underlying source maps to a range is defined by {@link #nextRange}.
+	 * <p/>
+	 * When prefetching, the next range is read from the underlying source once half of the current range has been
+	 * handed out, so that callers rarely have to wait for a refill.  The read ahead is performed by the caller that
+	 * claims the midpoint value, through that caller's own {@link AccessCallback}: the callback is bound to the
+	 * calling session and so cannot be used from a background thread.  All other callers keep drawing from the
+	 * current range while the read ahead is in progress.
+	 * <p/>
+	 * Values are unique but, under concurrent access, are not necessarily handed out in increasing order.
+	 */
+	public static abstract class ConcurrentOptimizerSupport extends OptimizerSupport {
+		private final AtomicReference<Range> currentRange = new AtomicReference<Range>();
+		private final ReentrantLock refillLock = new ReentrantLock();
+		private final boolean prefetch;
+
+		// guarded by refillLock
+		private boolean sourceRead;
+		private Range prefetchedRange;
+
+		/**
+		 * Construct a concurrent optimizer
+		 *
+		 * @param returnClass The expected id class.
+		 * @param incrementSize The increment size
+		 * @param prefetch Whether to read the next range once half of the current one has been handed out
+		 */
+		protected ConcurrentOptimizerSupport(Class returnClass, int incrementSize, boolean prefetch) {
+			super( returnClass, incrementSize );
+			if ( incrementSize < 1 ) {
+				throw new HibernateException( "increment size cannot be less than 1" );
+			}
+			this.prefetch = prefetch;
+		}
+
+		@Override
+		public Serializable generate(AccessCallback callback) {
+			while ( true ) {
+				final Range range = currentRange.get();
+				if ( range != null ) {
+					final long value = range.next.getAndIncrement();
+					if ( value < range.limit ) {
+						if ( prefetch && value == range.prefetchValue ) {
+							prefetch( callback );
+						}
+						return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass )
+								.initialize( value )
+								.makeValue();
+					}
+				}
+				refill( range, callback );
+			}
+		}
+
+		private void prefetch(AccessCallback callback) {
+			refillLock.lock();
+			try {
+				if ( prefetchedRange == null ) {
+					prefetchedRange = readRange( callback );
+				}
+			}
+			finally {
+				refillLock.unlock();
+			}
+		}
+
+		private void refill(Range exhausted, AccessCallback callback) {
+			refillLock.lock();
+			try {
+				// another caller may have refilled while we waited for the lock
+				if ( currentRange.get() == exhausted ) {
+					Range next = prefetchedRange;
+					if ( next == null ) {
+						next = readRange( callback );
+					}
+					else {
+						prefetchedRange = null;
+					}
+					currentRange.set( next );
+				}
+			}
+			finally {
+				refillLock.unlock();
+			}
+		}
+
+		private Range readRange(AccessCallback callback) {
+			final Range range = nextRange( callback, !sourceRead );
+			sourceRead = true;
+			return range;
+		}
+
+		/**
+		 * Reads the next range from the underlying value source.  Called while holding the refill lock.
+		 *
+		 * @param callback The callback to access the underlying value source
+		 * @param first Whether this is the first read from the underlying value source
+		 *
+		 * @return The range of values
+		 */
+		protected abstract Range nextRange(AccessCallback callback, boolean first);
+
+		/**
+		 * The source value backing the range values are currently handed out from.
+		 *
+		 * @return The source value of the current range, or {@code null} if no value was generated yet.
+		 */
+		@Override
+		public IntegralDataTypeHolder getLastSourceValue() {
+			final Range range = currentRange.get();
+			return range == null ? null : range.sourceValue.copy();
+		}
+
+		/**
+		 * A block of values {@code [next, limit)} obtained by one access to the underlying source.
+		 */
+		protected static final class Range {
+			private final IntegralDataTypeHolder sourceValue;
+			private final AtomicLong next;
+			private final long limit;
+			private final long prefetchValue;
+
+			/**
+			 * Construct a range
+			 *
+			 * @param sourceValue The value read from the underlying source
+			 * @param lowerLimit The first value of the range
+			 * @param upperLimit The value just past the last value of the range
+			 */
+			protected Range(IntegralDataTypeHolder sourceValue, long lowerLimit, long upperLimit) {
+				this.sourceValue = sourceValue;
+				this.next = new AtomicLong( lowerLimit );
+				this.limit = upperLimit;
+				this.prefetchValue = upperLimit - Math.max( 1, ( upperLimit - lowerLimit ) / 2 );
+			}
+		}
+	}
+
+	/**
+	 * Variation of {@link HiLoOptimizer} (same interpretation of the database value as the bucket number) which does
+	 * not serialize callers on a monitor.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class ConcurrentHiLoOptimizer extends ConcurrentOptimizerSupport {
+		public ConcurrentHiLoOptimizer(Class returnClass, int incrementSize) {
+			this( returnClass, incrementSize, false );
+		}
+
+		protected ConcurrentHiLoOptimizer(Class returnClass, int incrementSize, boolean prefetch) {
+			super( returnClass, incrementSize, prefetch );
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev( "Creating concurrent hilo optimizer with [incrementSize={0}; returnClass={1}; prefetch={2}]", incrementSize, returnClass.getName(), prefetch );
+			}
+		}
+
+		@Override
+		protected Range nextRange(AccessCallback callback, boolean first) {
+			IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			if ( first ) {
+				while ( sourceValue.lt( 1 ) ) {
+					sourceValue = callback.getNextValue();
+				}
+			}
+			// the bucket is [sourceValue * incrementSize - incrementSize + 1, sourceValue * incrementSize + 1)
+			final long upperLimit = sourceValue.copy().multiplyBy( incrementSize ).increment().makeValue().longValue();
+			return new Range( sourceValue, upperLimit - incrementSize, upperLimit );
+		}
+
+		@Override
+		public boolean applyIncrementSizeToSourceValues() {
+			return false;
+		}
+	}
+
+	/**
+	 * A {@link ConcurrentHiLoOptimizer} which reads the next bucket number ahead of time.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class PrefetchingHiLoOptimizer extends ConcurrentHiLoOptimizer {
+		public PrefetchingHiLoOptimizer(Class returnClass, int incrementSize) {
+			super( returnClass, incrementSize, true );
+		}
+	}
+
+	/**
+	 * Variation of {@link PooledOptimizer} (same interpretation of the database value as the high end of the range)
+	 * which does not serialize callers on a monitor.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class ConcurrentPooledOptimizer extends ConcurrentOptimizerSupport implements InitialValueAwareOptimizer {
+		private long initialValue = -1;
+
+		public ConcurrentPooledOptimizer(Class returnClass, int incrementSize) {
+			this( returnClass, incrementSize, false );
+		}
+
+		protected ConcurrentPooledOptimizer(Class returnClass, int incrementSize, boolean prefetch) {
+			super( returnClass, incrementSize, prefetch );
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev( "Creating concurrent pooled optimizer with [incrementSize={0}; returnClass={1}; prefetch={2}]", incrementSize, returnClass.getName(), prefetch );
+			}
+		}
+
+		@Override
+		protected Range nextRange(AccessCallback callback, boolean first) {
+			final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			if ( first ) {
+				if ( sourceValue.lt( 1 ) ) {
+					LOG.pooledOptimizerReportedInitialValue( sourceValue );
+				}
+				// the call to obtain next-value just gave us the initialValue
+				if ( ( initialValue == -1 && sourceValue.lt( incrementSize ) ) || sourceValue.eq( initialValue ) ) {
+					final IntegralDataTypeHolder hiValue = callback.getNextValue();
+					return new Range( hiValue, sourceValue.makeValue().longValue(), hiValue.makeValue().longValue() );
+				}
+			}
+			final long hiValue = sourceValue.makeValue().longValue();
+			return new Range( sourceValue, hiValue - incrementSize, hiValue );
+		}
+
+		@Override
+		public boolean applyIncrementSizeToSourceValues() {
+			return true;
+		}
+
+		@Override
+		public void injectInitialValue(long initialValue) {
+			this.initialValue = initialValue;
+		}
+	}
+
+	/**
+	 * A {@link ConcurrentPooledOptimizer} which reads the next range ahead of time.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class PrefetchingPooledOptimizer extends ConcurrentPooledOptimizer {
+		public PrefetchingPooledOptimizer(Class returnClass, int incrementSize) {
+			super( returnClass, incrementSize, true );
+		}
+	}
+
+	/**
+	 * Variation of {@link PooledLoOptimizer} (same interpretation of the database value as the low end of the
+	 * range) which does not serialize callers on a monitor.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class ConcurrentPooledLoOptimizer extends ConcurrentOptimizerSupport {
+		public ConcurrentPooledLoOptimizer(Class returnClass, int incrementSize) {
+			this( returnClass, incrementSize, false );
+		}
+
+		protected ConcurrentPooledLoOptimizer(Class returnClass, int incrementSize, boolean prefetch) {
+			super( returnClass, incrementSize, prefetch );
+			if ( LOG.isTraceEnabled() ) {
+				LOG.tracev( "Creating concurrent pooled optimizer (lo) with [incrementSize={0}; returnClass={1}; prefetch={2}]", incrementSize, returnClass.getName(), prefetch );
+			}
+		}
+
+		@Override
+		protected Range nextRange(AccessCallback callback, boolean first) {
+			final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			final long lowValue = sourceValue.makeValue().longValue();
+			// handle cases where initial-value is less that one (hsqldb for instance).
+			return new Range( sourceValue, Math.max( 1, lowValue ), lowValue + incrementSize );
+		}
+
+		@Override
+		public boolean applyIncrementSizeToSourceValues() {
+			return true;
+		}
+	}
+
+	/**
+	 * A {@link ConcurrentPooledLoOptimizer} which reads the next range ahead of time.
+	 *
+	 * @see ConcurrentOptimizerSupport
+	 */
+	public static class PrefetchingPooledLoOptimizer extends ConcurrentPooledLoOptimizer {
+		public PrefetchingPooledLoOptimizer(Class returnClass, int incrementSize) {
+			super( returnClass, incrementSize, true );
+		}
+	}
+
 	/**
 	 * @deprecated Use {@link StandardOptimizerDescriptor#getExternalName()} via {@link StandardOptimizerDescriptor#NONE}
 	 */
@@ -41,7 +41,7 @@ import org.hibernate.internal.CoreMessageLogger;
  *
  * @author Steve Ebersole
  */
-public class SequenceStructure implements DatabaseStructure {
+public class SequenceStructure implements BatchingDatabaseStructure {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, SequenceStructure.class.getName());
 
@@ -50,6 +50,7 @@ public class SequenceStructure implements DatabaseStructure {
 	private final int incrementSize;
 	private final Class numberType;
 	private final String sql;
+	private final Dialect dialect;
 	private boolean applyIncrementSizeToSourceValues;
 	private int accessCounter;
 
@@ -64,6 +65,7 @@ public class SequenceStructure implements DatabaseStructure {
 		this.incrementSize = incrementSize;
 		this.numberType = numberType;
 		sql = dialect.getSequenceNextValString( sequenceName );
+		this.dialect = dialect;
 	}
 
 	@Override
@@ -92,42 +94,69 @@ public class SequenceStructure implements DatabaseStructure {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
 				accessCounter++;
+				return readValues( session, sql, 1 )[0];
+			}
+		};
+	}
+
+	@Override
+	public IntegralDataTypeHolder[] getNextValues(SessionImplementor session, int count) {
+		if ( count > 1 && dialect.supportsSequenceNextValues() ) {
+			accessCounter++;
+			return readValues( session, dialect.getSequenceNextValuesString( sequenceName, count ), count );
+		}
+
+		final IntegralDataTypeHolder[] values = new IntegralDataTypeHolder[count];
+		for ( int i = 0; i < count; i++ ) {
+			accessCounter++;
+			values[i] = readValues( session, sql, 1 )[0];
+		}
+		return values;
+	}
+
+	private IntegralDataTypeHolder[] readValues(SessionImplementor session, String sql, int count) {
+		try {
+			PreparedStatement st = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
+			try {
+				ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( st );
 				try {
-					PreparedStatement st = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
-					try {
-						ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( st );
-						try {
-							rs.next();
-							IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
-							value.initialize( rs, 1 );
-							if ( LOG.isDebugEnabled() ) {
-								LOG.debugf( "Sequence value obtained: %s", value.makeValue() );
-							}
-							return value;
+					final IntegralDataTypeHolder[] values = new IntegralDataTypeHolder[count];
+					for ( int i = 0; i < count; i++ ) {
+						if ( !rs.next() ) {
+							throw new HibernateException(
+									"Sequence [" + sequenceName + "] returned " + i + " values; " + count + " were requested"
+							);
 						}
-						finally {
-							try {
-								session.getTransactionCoordinator().getJdbcCoordinator().release( rs, st );
-							}
-							catch( Throwable ignore ) {
-								// intentionally empty
-							}
+						IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+						value.initialize( rs, 1 );
+						if ( LOG.isDebugEnabled() ) {
+							LOG.debugf( "Sequence value obtained: %s", value.makeValue() );
 						}
+						values[i] = value;
 					}
-					finally {
-						session.getTransactionCoordinator().getJdbcCoordinator().release( st );
-					}
-
+					return values;
 				}
-				catch ( SQLException sqle) {
-					throw session.getFactory().getSQLExceptionHelper().convert(
-							sqle,
-							"could not get next sequence value",
-							sql
-					);
+				finally {
+					try {
+						session.getTransactionCoordinator().getJdbcCoordinator().release( rs, st );
+					}
+					catch( Throwable ignore ) {
+						// intentionally empty
+					}
 				}
 			}
-		};
+			finally {
+				session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			}
+
+		}
+		catch ( SQLException sqle) {
+			throw session.getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not get next sequence value",
+					sql
+			);
+		}
 	}
 
 	@Override
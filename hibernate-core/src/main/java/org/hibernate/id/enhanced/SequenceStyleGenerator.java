@@ -25,6 +25,8 @@ package org.hibernate.id.enhanced;
 
 import java.io.Serializable;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.jboss.logging.Logger;
 
@@ -36,6 +38,7 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.id.BulkInsertionCapableIdentifierGenerator;
 import org.hibernate.id.Configurable;
+import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.id.PersistentIdentifierGenerator;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
@@ -85,6 +88,12 @@ import org.hibernate.type.Type;
  *     <td><b><i>false<i/></b></td>
  *     <td>Allows explicit definition of which optimization strategy to use</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@link #FETCH_SIZE_PARAM}</td>
+ *     <td>{@link #DEFAULT_FETCH_SIZE}</td>
+ *     <td>The number of values to reserve from the underlying structure per database round trip; only applies
+ *     when no (non-noop) optimizer is in use</td>
+ *   </tr>
  * </table>
  * <p/>
  * Configuration parameters used specifically when the underlying structure is a table:
@@ -126,6 +135,9 @@ public class SequenceStyleGenerator
 
 	public static final String FORCE_TBL_PARAM = "force_table_use";
 
+	public static final String FETCH_SIZE_PARAM = "fetch_size";
+	public static final int DEFAULT_FETCH_SIZE = 1;
+
 	public static final String CONFIG_PREFER_SEQUENCE_PER_ENTITY = "prefer_sequence_per_entity";
 	public static final String CONFIG_SEQUENCE_PER_ENTITY_SUFFIX = "sequence_per_entity_suffix";
 	public static final String DEF_SEQUENCE_SUFFIX = "_SEQ";
@@ -140,6 +152,8 @@ public class SequenceStyleGenerator
 	private DatabaseStructure databaseStructure;
 	private Optimizer optimizer;
 	private Type identifierType;
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+	private final Queue<IntegralDataTypeHolder> reservedValues = new ConcurrentLinkedQueue<IntegralDataTypeHolder>();
 
 	/**
 	 * Getter for property 'databaseStructure'.
@@ -207,6 +221,7 @@ public class SequenceStyleGenerator
 				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
 		);
 		this.databaseStructure.prepare( optimizer );
+		this.fetchSize = determineFetchSize( params, optimizer );
 	}
 
 	/**
@@ -330,6 +345,31 @@ public class SequenceStyleGenerator
 		return incrementSize;
 	}
 
+	/**
+	 * Determine the number of values to reserve from the database structure per access.  Reserving values
+	 * in bulk only makes sense when no optimizer is in use; optimizers already amortize database access
+	 * through the increment size.
+	 * <p/>
+	 * Called during {@link #configure configuration}.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 * @param optimizer The optimizer in use
+	 * @return The fetch size
+	 */
+	protected int determineFetchSize(Properties params, Optimizer optimizer) {
+		final int fetchSize = ConfigurationHelper.getInt( FETCH_SIZE_PARAM, params, DEFAULT_FETCH_SIZE );
+		if ( fetchSize > 1 && !OptimizerFactory.NoopOptimizer.class.isInstance( optimizer ) ) {
+			LOG.debugf(
+					"Ignoring %s [%s] as optimizer [%s] is in use",
+					FETCH_SIZE_PARAM,
+					fetchSize,
+					optimizer.getClass().getName()
+			);
+			return DEFAULT_FETCH_SIZE;
+		}
+		return Math.max( fetchSize, DEFAULT_FETCH_SIZE );
+	}
+
 	/**
 	 * Build the database structure.
 	 *
@@ -366,9 +406,43 @@ public class SequenceStyleGenerator
 
 	@Override
 	public Serializable generate(SessionImplementor session, Object object) throws HibernateException {
+		if ( fetchSize > 1 ) {
+			return generateFromReservedValues( session );
+		}
 		return optimizer.generate( databaseStructure.buildCallback( session ) );
 	}
 
+	private Serializable generateFromReservedValues(SessionImplementor session) {
+		IntegralDataTypeHolder value = reservedValues.poll();
+		while ( value == null ) {
+			synchronized ( reservedValues ) {
+				if ( reservedValues.isEmpty() ) {
+					for ( IntegralDataTypeHolder reserved : reserveValues( session ) ) {
+						// same as the noop optimizer, values less than 1 are skipped
+						if ( !reserved.lt( 1 ) ) {
+							reservedValues.add( reserved );
+						}
+					}
+				}
+			}
+			value = reservedValues.poll();
+		}
+		return value.makeValue();
+	}
+
+	private IntegralDataTypeHolder[] reserveValues(SessionImplementor session) {
+		if ( databaseStructure instanceof BatchingDatabaseStructure ) {
+			return ( (BatchingDatabaseStructure) databaseStructure ).getNextValues( session, fetchSize );
+		}
+
+		final AccessCallback callback = databaseStructure.buildCallback( session );
+		final IntegralDataTypeHolder[] values = new IntegralDataTypeHolder[fetchSize];
+		for ( int i = 0; i < fetchSize; i++ ) {
+			values[i] = callback.getNextValue();
+		}
+		return values;
+	}
+
 
 	// PersistentIdentifierGenerator implementation ~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -32,6 +32,7 @@ import java.sql.Types;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.logging.Logger;
 
@@ -177,7 +178,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount = 0;
+	private final AtomicLong accessCount = new AtomicLong();
 
 	@Override
 	public Object generatorKey() {
@@ -281,7 +282,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	@Override
@@ -458,7 +459,9 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	}
 
 	@Override
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
+		// no need to synchronize here: optimizers guard their own state (just as for SequenceStyleGenerator), and
+		// a lock here would serialize the lock-free optimizers again
 		final SqlStatementLogger statementLogger = session
 				.getFactory()
 				.getServiceRegistry()
@@ -534,7 +537,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 										}
 										while ( rows == 0 );
 
-										accessCount++;
+										accessCount.incrementAndGet();
 
 										return value;
 									}
@@ -49,7 +49,7 @@ import org.hibernate.jdbc.AbstractReturningWork;
  *
  * @author Steve Ebersole
  */
-public class TableStructure implements DatabaseStructure {
+public class TableStructure implements BatchingDatabaseStructure {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, TableStructure.class.getName());
 
@@ -116,67 +116,86 @@ public class TableStructure implements DatabaseStructure {
 		return new AccessCallback() {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
-				return session.getTransactionCoordinator().getTransaction().createIsolationDelegate().delegateWork(
-						new AbstractReturningWork<IntegralDataTypeHolder>() {
-							@Override
-							public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
-								final SqlStatementLogger statementLogger = session
-										.getFactory()
-										.getServiceRegistry()
-										.getService( JdbcServices.class )
-										.getSqlStatementLogger();
-								IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
-								int rows;
-								do {
-									statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
-									PreparedStatement selectStatement = connection.prepareStatement( selectQuery );
-									try {
-										ResultSet selectRS = selectStatement.executeQuery();
-										if ( !selectRS.next() ) {
-											String err = "could not read a hi value - you need to populate the table: " + tableName;
-											LOG.error( err );
-											throw new IdentifierGenerationException( err );
-										}
-										value.initialize( selectRS, 1 );
-										selectRS.close();
-									}
-									catch ( SQLException sqle ) {
-										LOG.error( "could not read a hi value", sqle );
-										throw sqle;
-									}
-									finally {
-										selectStatement.close();
-									}
-
-									statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
-									PreparedStatement updatePS = connection.prepareStatement( updateQuery );
-									try {
-										final int increment = applyIncrementSizeToSourceValues ? incrementSize : 1;
-										final IntegralDataTypeHolder updateValue = value.copy().add( increment );
-										updateValue.bind( updatePS, 1 );
-										value.bind( updatePS, 2 );
-										rows = updatePS.executeUpdate();
-									}
-									catch ( SQLException e ) {
-									    LOG.unableToUpdateQueryHiValue(tableName, e);
-										throw e;
-									}
-									finally {
-										updatePS.close();
-									}
-								} while ( rows == 0 );
-
-								accessCounter++;
-
-								return value;
-							}
-						},
-						true
-				);
+				return reserveValues( session, sourceIncrement() );
 			}
 		};
 	}
 
+	@Override
+	public IntegralDataTypeHolder[] getNextValues(SessionImplementor session, int count) {
+		// the table is simply advanced past all of the requested values at once
+		final int increment = sourceIncrement();
+		final IntegralDataTypeHolder first = reserveValues( session, increment * count );
+		final IntegralDataTypeHolder[] values = new IntegralDataTypeHolder[count];
+		for ( int i = 0; i < count; i++ ) {
+			values[i] = first.copy().add( (long) increment * i );
+		}
+		return values;
+	}
+
+	private int sourceIncrement() {
+		return applyIncrementSizeToSourceValues ? incrementSize : 1;
+	}
+
+	private IntegralDataTypeHolder reserveValues(final SessionImplementor session, final int span) {
+		return session.getTransactionCoordinator().getTransaction().createIsolationDelegate().delegateWork(
+				new AbstractReturningWork<IntegralDataTypeHolder>() {
+					@Override
+					public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
+						final SqlStatementLogger statementLogger = session
+								.getFactory()
+								.getServiceRegistry()
+								.getService( JdbcServices.class )
+								.getSqlStatementLogger();
+						IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+						int rows;
+						do {
+							statementLogger.logStatement( selectQuery, FormatStyle.BASIC.getFormatter() );
+							PreparedStatement selectStatement = connection.prepareStatement( selectQuery );
+							try {
+								ResultSet selectRS = selectStatement.executeQuery();
+								if ( !selectRS.next() ) {
+									String err = "could not read a hi value - you need to populate the table: " + tableName;
+									LOG.error( err );
+									throw new IdentifierGenerationException( err );
+								}
+								value.initialize( selectRS, 1 );
+								selectRS.close();
+							}
+							catch ( SQLException sqle ) {
+								LOG.error( "could not read a hi value", sqle );
+								throw sqle;
+							}
+							finally {
+								selectStatement.close();
+							}
+
+							statementLogger.logStatement( updateQuery, FormatStyle.BASIC.getFormatter() );
+							PreparedStatement updatePS = connection.prepareStatement( updateQuery );
+							try {
+								final IntegralDataTypeHolder updateValue = value.copy().add( span );
+								updateValue.bind( updatePS, 1 );
+								value.bind( updatePS, 2 );
+								rows = updatePS.executeUpdate();
+							}
+							catch ( SQLException e ) {
+							    LOG.unableToUpdateQueryHiValue(tableName, e);
+								throw e;
+							}
+							finally {
+								updatePS.close();
+							}
+						} while ( rows == 0 );
+
+						accessCounter++;
+
+						return value;
+					}
+				},
+				true
+		);
+	}
+
 	@Override
 	public String[] sqlCreateStrings(Dialect dialect) throws HibernateException {
 		return new String[] {
@@ -53,6 +53,7 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.transaction.spi.TransactionContext;
 import org.hibernate.engine.transaction.spi.TransactionEnvironment;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.id.uuid.StandardRandomStrategy;
 import org.hibernate.jdbc.WorkExecutor;
 import org.hibernate.jdbc.WorkExecutorVisitable;
@@ -217,11 +218,26 @@ public abstract class AbstractSessionImpl implements Serializable, SharedSession
 
 	@Override
 	public Query createQuery(String queryString) {
+		return createQuery( queryString, null );
+	}
+
+	/**
+	 * Create a {@link Query} instance for the given HQL query string, whose HQL AST the given builder can produce
+	 * without parsing the string.  The builder is only used if the query plan is not already cached.
+	 *
+	 * @param queryString The HQL query
+	 * @param parseTreeBuilder Builds the HQL AST for {@code queryString}; may be {@code null}
+	 *
+	 * @return The query instance for manipulation and execution
+	 */
+	public Query createQuery(String queryString, HqlParseTreeBuilder parseTreeBuilder) {
 		errorIfClosed();
 		QueryImpl query = new QueryImpl(
 				queryString,
 		        this,
-		        getHQLQueryPlan( queryString, false ).getParameterMetadata()
+		        factory.getQueryPlanCache()
+						.getHQLQueryPlan( queryString, false, getEnabledFilters(), parseTreeBuilder )
+						.getParameterMetadata()
 		);
 		query.setComment( queryString );
 		return query;
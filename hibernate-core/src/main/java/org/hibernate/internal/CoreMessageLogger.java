@@ -1627,4 +1627,28 @@ public interface CoreMessageLogger extends BasicLogger {
 	@LogMessage(level = WARN)
 	@Message(value = "Exception while discovering OSGi service implementations : %s", id = 450)
 	void unableToDiscoverOsgiService(String service, @Cause Exception e);
+
+	@LogMessage(level = WARN)
+	@Message(value = "JDBC connection has been checked out of the pool for %sms by thread [%s]; possible connection leak", id = 451)
+	void connectionLeakSuspected(long checkedOutMillis, String threadName);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Connection pool: %s active, %s idle, %s waits, %s wait timeouts", id = 452)
+	void connectionPoolStatistics(int activeCount, int idleCount, long waitCount, long waitTimeoutCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Prepared statement cache hits: %s", id = 453)
+	void preparedStatementCacheHits(long preparedStatementCacheHitCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Prepared statement cache misses: %s", id = 454)
+	void preparedStatementCacheMisses(long preparedStatementCacheMissCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "%s latency (microseconds): %s recorded, median %s, 99th percentile %s, max %s", id = 455)
+	void latencyStatistics(String operation, long count, long medianTime, long percentile99Time, long maxTime);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Unable to open the minimum of %s pooled JDBC connections; connections will be opened on demand", id = 456)
+	void unableToFillConnectionPool(int minSize, @Cause SQLException e);
 }
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Runs the independent steps of building the persisters of a SessionFactory (instantiating each persister,
+ * post-instantiating each) on several threads.
+ * <p/>
+ * With a single thread, the steps simply run on the calling thread, in order.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PERSISTER_BUILD_THREADS
+ */
+final class PersisterBuildExecutor {
+	private static final long IDLE_SECONDS = 10;
+
+	private final ThreadPoolExecutor executor;
+
+	PersisterBuildExecutor(int threads) {
+		if ( threads > 1 ) {
+			executor = new ThreadPoolExecutor(
+					threads,
+					threads,
+					IDLE_SECONDS,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new BuildThreadFactory()
+			);
+			// let the threads go even if building the SessionFactory fails before #shutdown is reached
+			executor.allowCoreThreadTimeOut( true );
+		}
+		else {
+			executor = null;
+		}
+	}
+
+	/**
+	 * Run the given steps and wait for all of them.
+	 *
+	 * @param steps The steps
+	 * @param <T> The type of step result
+	 *
+	 * @return The step results, in the order of the steps
+	 *
+	 * @throws HibernateException The failure of the first failing step, in the order of the steps; any exception
+	 * other than a RuntimeException or Error is wrapped.
+	 */
+	<T> List<T> run(List<Callable<T>> steps) {
+		final List<T> results = new ArrayList<T>( steps.size() );
+		if ( executor == null ) {
+			for ( Callable<T> step : steps ) {
+				results.add( call( step ) );
+			}
+			return results;
+		}
+
+		final List<Future<T>> futures = new ArrayList<Future<T>>( steps.size() );
+		for ( Callable<T> step : steps ) {
+			futures.add( executor.submit( step ) );
+		}
+		try {
+			for ( Future<T> future : futures ) {
+				results.add( future.get() );
+			}
+		}
+		catch ( InterruptedException e ) {
+			shutdown();
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while building persisters", e );
+		}
+		catch ( ExecutionException e ) {
+			// the SessionFactory will not be built, so there is no point in finishing the other steps
+			shutdown();
+			throw rethrow( e.getCause() );
+		}
+		return results;
+	}
+
+	/**
+	 * Release the threads, once all the steps were run.
+	 */
+	void shutdown() {
+		if ( executor != null ) {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> T call(Callable<T> step) {
+		try {
+			return step.call();
+		}
+		catch ( Exception e ) {
+			throw rethrow( e );
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable failure) {
+		if ( failure instanceof RuntimeException ) {
+			throw (RuntimeException) failure;
+		}
+		if ( failure instanceof Error ) {
+			throw (Error) failure;
+		}
+		throw new HibernateException( "Unable to build persisters", failure );
+	}
+
+	private static final class BuildThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+		private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-persister-build-" + count.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+}
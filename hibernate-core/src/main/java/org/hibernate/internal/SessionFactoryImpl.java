@@ -35,9 +35,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.naming.Reference;
@@ -216,7 +218,7 @@ public final class SessionFactoryImpl
 	@SuppressWarnings( {"unchecked", "ThrowableResultOfMethodCallIgnored"})
 	public SessionFactoryImpl(
 			final Configuration cfg,
-			Mapping mapping,
+			final Mapping mapping,
 			final ServiceRegistry serviceRegistry,
 			Settings settings,
 			SessionFactoryObserver observer) throws HibernateException {
@@ -334,9 +336,13 @@ public final class SessionFactoryImpl
 
 		final PersisterFactory persisterFactory = serviceRegistry.getService( PersisterFactory.class );
 
+		// the persisters do not depend upon one another until postInstantiate(), so they may be built concurrently
+		final PersisterBuildExecutor persisterBuildExecutor = new PersisterBuildExecutor( settings.getPersisterBuildThreads() );
+
 		entityPersisters = new HashMap();
 		Map entityAccessStrategies = new HashMap();
 		Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
+		final List<Callable<EntityPersister>> entityPersisterBuilds = new ArrayList<Callable<EntityPersister>>();
 		classes = cfg.getClassMappings();
 		while ( classes.hasNext() ) {
 			final PersistentClass model = (PersistentClass) classes.next();
@@ -385,24 +391,36 @@ public final class SessionFactoryImpl
 				}
 			}
 			
-			EntityPersister cp = persisterFactory.createEntityPersister(
-					model,
-					accessStrategy,
-					naturalIdAccessStrategy,
-					this,
-					mapping
+			final EntityRegionAccessStrategy entityAccessStrategy = accessStrategy;
+			final NaturalIdRegionAccessStrategy entityNaturalIdAccessStrategy = naturalIdAccessStrategy;
+			entityPersisterBuilds.add(
+					new Callable<EntityPersister>() {
+						@Override
+						public EntityPersister call() {
+							return persisterFactory.createEntityPersister(
+									model,
+									entityAccessStrategy,
+									entityNaturalIdAccessStrategy,
+									SessionFactoryImpl.this,
+									mapping
+							);
+						}
+					}
 			);
-			entityPersisters.put( model.getEntityName(), cp );
-			classMeta.put( model.getEntityName(), cp.getClassMetadata() );
+		}
+		for ( EntityPersister cp : persisterBuildExecutor.run( entityPersisterBuilds ) ) {
+			entityPersisters.put( cp.getEntityName(), cp );
+			classMeta.put( cp.getEntityName(), cp.getClassMetadata() );
 		}
 		this.classMetadata = Collections.unmodifiableMap(classMeta);
 
 		Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
 		collectionPersisters = new HashMap<String,CollectionPersister>();
 		Map<String,CollectionMetadata> tmpCollectionMetadata = new HashMap<String,CollectionMetadata>();
+		final List<Callable<CollectionPersister>> collectionPersisterBuilds = new ArrayList<Callable<CollectionPersister>>();
 		Iterator collections = cfg.getCollectionMappings();
 		while ( collections.hasNext() ) {
-			Collection model = (Collection) collections.next();
+			final Collection model = (Collection) collections.next();
 			final String cacheRegionName = cacheRegionPrefix + model.getCacheRegionName();
 			final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
 			CollectionRegionAccessStrategy accessStrategy = null;
@@ -414,14 +432,24 @@ public final class SessionFactoryImpl
 				entityAccessStrategies.put( cacheRegionName, accessStrategy );
 				cacheAccess.addCacheRegion( cacheRegionName, collectionRegion );
 			}
-			CollectionPersister persister = persisterFactory.createCollectionPersister(
-					cfg,
-					model,
-					accessStrategy,
-					this
-			) ;
-			collectionPersisters.put( model.getRole(), persister );
-			tmpCollectionMetadata.put( model.getRole(), persister.getCollectionMetadata() );
+			final CollectionRegionAccessStrategy collectionAccessStrategy = accessStrategy;
+			collectionPersisterBuilds.add(
+					new Callable<CollectionPersister>() {
+						@Override
+						public CollectionPersister call() {
+							return persisterFactory.createCollectionPersister(
+									cfg,
+									model,
+									collectionAccessStrategy,
+									SessionFactoryImpl.this
+							);
+						}
+					}
+			);
+		}
+		for ( CollectionPersister persister : persisterBuildExecutor.run( collectionPersisterBuilds ) ) {
+			collectionPersisters.put( persister.getRole(), persister );
+			tmpCollectionMetadata.put( persister.getRole(), persister.getCollectionMetadata() );
 			Type indexType = persister.getIndexType();
 			if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
 				String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
@@ -460,18 +488,39 @@ public final class SessionFactoryImpl
 		imports = new HashMap<String,String>( cfg.getImports() );
 
 		// after *all* persisters and named queries are registered
+		final List<Callable<EntityPersister>> entityPostInstantiations = new ArrayList<Callable<EntityPersister>>();
 		Iterator iter = entityPersisters.values().iterator();
 		while ( iter.hasNext() ) {
 			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
+			entityPostInstantiations.add(
+					new Callable<EntityPersister>() {
+						@Override
+						public EntityPersister call() {
+							persister.postInstantiate();
+							return persister;
+						}
+					}
+			);
+		}
+		for ( EntityPersister persister : persisterBuildExecutor.run( entityPostInstantiations ) ) {
 			registerEntityNameResolvers( persister );
-
 		}
+		final List<Callable<CollectionPersister>> collectionPostInstantiations = new ArrayList<Callable<CollectionPersister>>();
 		iter = collectionPersisters.values().iterator();
 		while ( iter.hasNext() ) {
 			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
+			collectionPostInstantiations.add(
+					new Callable<CollectionPersister>() {
+						@Override
+						public CollectionPersister call() {
+							persister.postInstantiate();
+							return persister;
+						}
+					}
+			);
 		}
+		persisterBuildExecutor.run( collectionPostInstantiations );
+		persisterBuildExecutor.shutdown();
 
 		//JNDI + Serialization:
 
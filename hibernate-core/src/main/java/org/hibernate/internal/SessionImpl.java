@@ -138,6 +138,7 @@ import org.hibernate.event.spi.ResolveNaturalIdEvent;
 import org.hibernate.event.spi.ResolveNaturalIdEventListener;
 import org.hibernate.event.spi.SaveOrUpdateEvent;
 import org.hibernate.event.spi.SaveOrUpdateEventListener;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.internal.CriteriaImpl.CriterionEntry;
 import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.jdbc.Work;
@@ -1774,9 +1775,14 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	}
 
 	public Query createQuery(String queryString) {
+		return createQuery( queryString, null );
+	}
+
+	@Override
+	public Query createQuery(String queryString, HqlParseTreeBuilder parseTreeBuilder) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
-		return super.createQuery( queryString );
+		return super.createQuery( queryString, parseTreeBuilder );
 	}
 
 	public SQLQuery createSQLQuery(String sql) {
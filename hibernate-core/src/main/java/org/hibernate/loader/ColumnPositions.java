@@ -0,0 +1,186 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * The result set positions of the columns a {@link Loader} reads for its entities, resolved once from the result set
+ * meta data rather than by the driver on every read of a column by its alias.
+ * <p/>
+ * A position of {@code 0} means the value is read by alias, as before: its type does not support positional reads
+ * (only single column {@link AbstractStandardBasicType basic types} do), or its alias is not in the result set.
+ * <p/>
+ * Instances are immutable, apart from the lazily resolved property positions of subclass persisters, and are
+ * shared by all executions of the loader's SQL.
+ */
+final class ColumnPositions {
+	private static final int BY_ALIAS = 0;
+
+	private final int columnCount;
+	private final Map<String,Integer> positionsByLabel;
+	private final String[] keyAliases;
+	private final int[] keyPositions;
+	private final int[] discriminatorPositions;
+	private final ConcurrentHashMap<Loadable,int[]>[] propertyPositions;
+
+	@SuppressWarnings("unchecked")
+	private ColumnPositions(ResultSet rs, EntityAliases[] entityAliases, Loadable[] persisters) throws SQLException {
+		final ResultSetMetaData metaData = rs.getMetaData();
+		columnCount = metaData.getColumnCount();
+		positionsByLabel = new HashMap<String,Integer>( columnCount * 2 );
+		for ( int position = 1; position <= columnCount; position++ ) {
+			final String label = normalize( metaData.getColumnLabel( position ) );
+			// like ResultSet#findColumn, the first of several columns with the same label wins
+			if ( !positionsByLabel.containsKey( label ) ) {
+				positionsByLabel.put( label, position );
+			}
+		}
+
+		final int entitySpan = persisters.length;
+		keyAliases = new String[entitySpan];
+		keyPositions = new int[entitySpan];
+		discriminatorPositions = new int[entitySpan];
+		propertyPositions = new ConcurrentHashMap[entitySpan];
+		for ( int i = 0; i < entitySpan; i++ ) {
+			final String[] suffixedKeyAliases = entityAliases[i].getSuffixedKeyAliases();
+			if ( suffixedKeyAliases.length == 1 ) {
+				keyAliases[i] = suffixedKeyAliases[0];
+				keyPositions[i] = resolve( persisters[i].getIdentifierType(), suffixedKeyAliases );
+			}
+			if ( persisters[i].hasSubclasses() && entityAliases[i].getSuffixedDiscriminatorAlias() != null ) {
+				discriminatorPositions[i] = resolve(
+						persisters[i].getDiscriminatorType(),
+						new String[] { entityAliases[i].getSuffixedDiscriminatorAlias() }
+				);
+			}
+			propertyPositions[i] = new ConcurrentHashMap<Loadable,int[]>( 4, .75f, 1 );
+		}
+	}
+
+	/**
+	 * Resolve the column positions for the given result set.
+	 *
+	 * @param rs The result set
+	 * @param entityAliases The loader's entity aliases
+	 * @param persisters The loader's entity persisters
+	 *
+	 * @return The resolved column positions
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set meta data
+	 */
+	static ColumnPositions resolve(ResultSet rs, EntityAliases[] entityAliases, Loadable[] persisters) throws SQLException {
+		return new ColumnPositions( rs, entityAliases, persisters );
+	}
+
+	/**
+	 * Checks, cheaply, that a result set has the shape these positions were resolved from.  The SQL a loader
+	 * executes varies a little (limits, locks, comments), which may add columns.
+	 *
+	 * @param rs The result set
+	 *
+	 * @return {@code true} if these positions apply to the result set
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set meta data
+	 */
+	boolean matches(ResultSet rs) throws SQLException {
+		final ResultSetMetaData metaData = rs.getMetaData();
+		if ( metaData.getColumnCount() != columnCount ) {
+			return false;
+		}
+		for ( int i = 0; i < keyPositions.length; i++ ) {
+			if ( keyPositions[i] != BY_ALIAS
+					&& !keyAliases[i].equalsIgnoreCase( metaData.getColumnLabel( keyPositions[i] ) ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The position of the identifier column of the i-th entity.
+	 *
+	 * @param i The entity index
+	 *
+	 * @return The position, or {@code 0} if the identifier must be read by alias
+	 */
+	int getKeyPosition(int i) {
+		return keyPositions[i];
+	}
+
+	/**
+	 * The position of the discriminator column of the i-th entity.
+	 *
+	 * @param i The entity index
+	 *
+	 * @return The position, or {@code 0} if the discriminator must be read by alias
+	 */
+	int getDiscriminatorPosition(int i) {
+		return discriminatorPositions[i];
+	}
+
+	/**
+	 * The positions of the property columns of the i-th entity, when hydrated by the given (sub)class persister.
+	 *
+	 * @param i The entity index
+	 * @param persister The persister hydrating the entity
+	 * @param suffixedPropertyAliases The property column aliases for that persister
+	 *
+	 * @return The position of each property's column, {@code 0} for those which must be read by alias
+	 */
+	int[] getPropertyPositions(int i, Loadable persister, String[][] suffixedPropertyAliases) {
+		int[] positions = propertyPositions[i].get( persister );
+		if ( positions == null ) {
+			final Type[] types = persister.getPropertyTypes();
+			positions = new int[types.length];
+			for ( int property = 0; property < types.length; property++ ) {
+				positions[property] = resolve( types[property], suffixedPropertyAliases[property] );
+			}
+			propertyPositions[i].put( persister, positions );
+		}
+		return positions;
+	}
+
+	private int resolve(Type type, String[] aliases) {
+		if ( !( type instanceof AbstractStandardBasicType ) || aliases == null || aliases.length != 1 || aliases[0] == null ) {
+			return BY_ALIAS;
+		}
+		final Integer position = positionsByLabel.get( normalize( aliases[0] ) );
+		return position == null ? BY_ALIAS : position;
+	}
+
+	private static String normalize(String label) {
+		return label == null ? null : label.toLowerCase( Locale.ENGLISH );
+	}
+}
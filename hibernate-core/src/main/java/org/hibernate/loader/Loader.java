@@ -38,6 +38,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.logging.Logger;
 
@@ -81,6 +82,7 @@ import org.hibernate.internal.ScrollableResultsImpl;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
@@ -88,6 +90,7 @@ import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.transform.CacheableResultTransformer;
 import org.hibernate.transform.ResultTransformer;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -112,7 +115,8 @@ public abstract class Loader {
     protected static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, Loader.class.getName());
 
 	private final SessionFactoryImplementor factory;
-	private ColumnNameCache columnNameCache;
+	private final AtomicReference<ColumnNameCache> columnNameCache = new AtomicReference<ColumnNameCache>();
+	private volatile ColumnPositions columnPositions;
 
 	public Loader(SessionFactoryImplementor factory) {
 		this.factory = factory;
@@ -701,9 +705,43 @@ public abstract class Loader {
 	        final EntityKey[] keys,
 	        boolean returnProxies,
 	        ResultTransformer forcedResultTransformer) throws SQLException, HibernateException {
+		return getRowFromResultSet(
+				resultSet,
+				session,
+				queryParameters,
+				lockModesArray,
+				optionalObjectKey,
+				hydratedObjects,
+				keys,
+				returnProxies,
+				forcedResultTransformer,
+				null
+		);
+	}
+
+	private Object getRowFromResultSet(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final LockMode[] lockModesArray,
+	        final EntityKey optionalObjectKey,
+	        final List hydratedObjects,
+	        final EntityKey[] keys,
+	        boolean returnProxies,
+	        ResultTransformer forcedResultTransformer,
+	        ColumnPositions columnPositions) throws SQLException, HibernateException {
 		final Loadable[] persisters = getEntityPersisters();
 		final int entitySpan = persisters.length;
-		extractKeysFromResultSet( persisters, queryParameters, resultSet, session, keys, lockModesArray, hydratedObjects );
+		extractKeysFromResultSet(
+				persisters,
+				queryParameters,
+				resultSet,
+				session,
+				keys,
+				lockModesArray,
+				hydratedObjects,
+				columnPositions
+		);
 
 		registerNonExists( keys, persisters, session );
 
@@ -716,6 +754,7 @@ public abstract class Loader {
 				optionalObjectKey,
 				lockModesArray,
 				hydratedObjects,
+				columnPositions,
 				session
 		);
 
@@ -750,6 +789,27 @@ public abstract class Loader {
 			EntityKey[] keys,
 			LockMode[] lockModes,
 			List hydratedObjects) throws SQLException {
+		extractKeysFromResultSet(
+				persisters,
+				queryParameters,
+				resultSet,
+				session,
+				keys,
+				lockModes,
+				hydratedObjects,
+				null
+		);
+	}
+
+	private void extractKeysFromResultSet(
+			Loadable[] persisters,
+			QueryParameters queryParameters,
+			ResultSet resultSet,
+			SessionImplementor session,
+			EntityKey[] keys,
+			LockMode[] lockModes,
+			List hydratedObjects,
+			ColumnPositions columnPositions) throws SQLException {
 		final int entitySpan = persisters.length;
 
 		final int numberOfPersistersToProcess;
@@ -767,7 +827,10 @@ public abstract class Loader {
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
 			final Type idType = persisters[i].getIdentifierType();
-			hydratedKeyState[i] = idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
+			final int keyPosition = columnPositions == null ? 0 : columnPositions.getKeyPosition( i );
+			hydratedKeyState[i] = keyPosition > 0
+					? ( (AbstractStandardBasicType) idType ).nullSafeGet( resultSet, keyPosition, session )
+					: idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
 		}
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
@@ -815,6 +878,7 @@ public abstract class Loader {
 									getOptionalObjectKey( queryParameters, session ),
 									queryParameters.getOptionalObject(),
 									hydratedObjects,
+									columnPositions,
 									session
 							);
 						}
@@ -929,6 +993,7 @@ public abstract class Loader {
 
 		handleEmptyCollections( queryParameters.getCollectionKeys(), rs, session );
 		EntityKey[] keys = new EntityKey[entitySpan]; //we can reuse it for each row
+		final ColumnPositions columnPositions = entitySpan == 0 ? null : resolveColumnPositions( rs );
 		LOG.trace( "Processing result set" );
 		int count;
 		boolean isDebugEnabled = LOG.isDebugEnabled();
@@ -944,7 +1009,8 @@ public abstract class Loader {
 					hydratedObjects,
 					keys,
 					returnProxies,
-					forcedResultTransformer
+					forcedResultTransformer,
+					columnPositions
 			);
 			results.add( result );
 			if ( createSubselects ) {
@@ -969,6 +1035,31 @@ public abstract class Loader {
 		return results;
 	}
 
+	/**
+	 * Resolve the positions of the entity columns in the result set, reusing those resolved for a previous
+	 * execution of this loader's SQL.
+	 *
+	 * @param rs The result set
+	 *
+	 * @return The column positions, or {@code null} if they could not be resolved, in which case all columns are
+	 * read by alias
+	 */
+	private ColumnPositions resolveColumnPositions(ResultSet rs) {
+		try {
+			ColumnPositions positions = columnPositions;
+			if ( positions == null || !positions.matches( rs ) ) {
+				LOG.trace( "Resolving column positions" );
+				positions = ColumnPositions.resolve( rs, getEntityAliases(), getEntityPersisters() );
+				columnPositions = positions;
+			}
+			return positions;
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to resolve result set column positions; reading columns by alias [%s]", e.getMessage() );
+			return null;
+		}
+	}
+
 	protected boolean isSubselectLoadingEnabled() {
 		return false;
 	}
@@ -1464,6 +1555,7 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final LockMode[] lockModes,
 	        final List hydratedObjects,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 
@@ -1509,6 +1601,7 @@ public abstract class Loader {
 							optionalObjectKey,
 							optionalObject,
 							hydratedObjects,
+							columnPositions,
 							session
 						);
 				}
@@ -1573,6 +1666,7 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final Object optionalObject,
 	        final List hydratedObjects,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 		final String instanceClass = getInstanceClass(
@@ -1580,6 +1674,7 @@ public abstract class Loader {
 				i,
 				persister,
 				key.getIdentifier(),
+				columnPositions,
 				session
 		);
 
@@ -1608,6 +1703,7 @@ public abstract class Loader {
 				rowIdAlias,
 				acquiredLockMode,
 				persister,
+				columnPositions,
 				session
 			);
 
@@ -1637,6 +1733,7 @@ public abstract class Loader {
 	        final String rowIdAlias,
 	        final LockMode lockMode,
 	        final Loadable rootPersister,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws SQLException, HibernateException {
 
@@ -1667,15 +1764,30 @@ public abstract class Loader {
 				getEntityAliases()[i].getSuffixedPropertyAliases() :
 				getEntityAliases()[i].getSuffixedPropertyAliases(persister);
 
-		final Object[] values = persister.hydrate(
-				rs,
-				id,
-				object,
-				rootPersister,
-				cols,
-				eagerPropertyFetch,
-				session
+		final Object[] values;
+		if ( columnPositions != null && persister instanceof AbstractEntityPersister ) {
+			values = ( (AbstractEntityPersister) persister ).hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					columnPositions.getPropertyPositions( i, persister, cols ),
+					eagerPropertyFetch,
+					session
+			);
+		}
+		else {
+			values = persister.hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					eagerPropertyFetch,
+					session
 			);
+		}
 
 		final Object rowId = persister.hasRowId() ? rs.getObject(rowIdAlias) : null;
 
@@ -1724,18 +1836,22 @@ public abstract class Loader {
 	        final int i,
 	        final Loadable persister,
 	        final Serializable id,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 
 		if ( persister.hasSubclasses() ) {
 
 			// Code to handle subclasses of topClass
-			Object discriminatorValue = persister.getDiscriminatorType().nullSafeGet(
-					rs,
-					getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
-					session,
-					null
-				);
+			final int discriminatorPosition = columnPositions == null ? 0 : columnPositions.getDiscriminatorPosition( i );
+			Object discriminatorValue = discriminatorPosition > 0
+					? ( (AbstractStandardBasicType) persister.getDiscriminatorType() ).nullSafeGet( rs, discriminatorPosition, session )
+					: persister.getDiscriminatorType().nullSafeGet(
+							rs,
+							getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
+							session,
+							null
+					);
 
 			final String result = persister.getSubclassForDiscriminatorValue( discriminatorValue );
 
@@ -2057,9 +2173,7 @@ public abstract class Loader {
 
 	}
 
-	private synchronized ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
-		// synchronized to avoid multi-thread access issues; defined as method synch to avoid
-		// potential deadlock issues due to nature of code.
+	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
 		if ( session.getFactory().getSettings().isWrapResultSetsEnabled() ) {
 			try {
 			   if ( LOG.isDebugEnabled() )
@@ -2079,12 +2193,15 @@ public abstract class Loader {
 	}
 
 	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
-		if ( columnNameCache == null ) {
-			LOG.trace( "Building columnName->columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
-		}
-
-		return columnNameCache;
+		// loaders are shared between sessions, so rather than locking the whole loader the cache is published
+		// through a compare-and-set: threads racing on the first result set agree on the single winning instance
+		final ColumnNameCache cache = columnNameCache.get();
+		if ( cache != null ) {
+			return cache;
+		}
+		LOG.trace( "Building columnName->columnIndex cache" );
+		columnNameCache.compareAndSet( null, new ColumnNameCache( rs.getMetaData().getColumnCount() ) );
+		return columnNameCache.get();
 	}
 
 	/**
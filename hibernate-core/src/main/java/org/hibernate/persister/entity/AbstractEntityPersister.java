@@ -36,6 +36,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
@@ -129,6 +130,7 @@ import org.hibernate.sql.Template;
 import org.hibernate.sql.Update;
 import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.tuple.entity.EntityTuplizer;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
@@ -235,7 +237,7 @@ public abstract class AbstractEntityPersister
 
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
-	private final Map loaders = new HashMap();
+	private final ConcurrentHashMap loaders = new ConcurrentHashMap();
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -2846,6 +2848,25 @@ public abstract class AbstractEntityPersister
 	        final String[][] suffixedPropertyColumns,
 	        final boolean allProperties,
 	        final SessionImplementor session) throws SQLException, HibernateException {
+		return hydrate( rs, id, object, rootLoadable, suffixedPropertyColumns, null, allProperties, session );
+	}
+
+	/**
+	 * Unmarshall the fields of a persistent instance from a result set, reading the columns of single column basic
+	 * properties by position rather than by alias where their position is known.
+	 *
+	 * @param propertyColumnPositions The result set position of each property's column; {@code 0} for properties
+	 * to be read by alias.  May be {@code null}, meaning every property is read by alias.
+	 */
+	public Object[] hydrate(
+			final ResultSet rs,
+	        final Serializable id,
+	        final Object object,
+	        final Loadable rootLoadable,
+	        final String[][] suffixedPropertyColumns,
+	        final int[] propertyColumnPositions,
+	        final boolean allProperties,
+	        final SessionImplementor session) throws SQLException, HibernateException {
 
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Hydrating entity: {0}", MessageHelper.infoString( this, id, getFactory() ) );
@@ -2913,6 +2934,9 @@ public abstract class AbstractEntityPersister
 					if ( propertyIsDeferred && sequentialSelectEmpty ) {
 						values[i] = null;
 					}
+					else if ( !propertyIsDeferred && propertyColumnPositions != null && propertyColumnPositions[i] > 0 ) {
+						values[i] = ( (AbstractStandardBasicType) types[i] ).nullSafeGet( rs, propertyColumnPositions[i], session );
+					}
 					else {
 						final ResultSet propertyResultSet = propertyIsDeferred ? sequentialResultSet : rs;
 						final String[] cols = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
@@ -3848,68 +3872,62 @@ public abstract class AbstractEntityPersister
 	protected void createLoaders() {
 		final Map loaders = getLoaders();
 		loaders.put( LockMode.NONE, createEntityLoader( LockMode.NONE ) );
+		loaders.put( LockMode.READ, createEntityLoader( LockMode.READ ) );
+		// the loaders for the other lock modes and the cascade loaders are seldom used, so they are only
+		// created once first needed (see #getLoader)
+	}
 
-		UniqueEntityLoader readLoader = createEntityLoader( LockMode.READ );
-		loaders.put( LockMode.READ, readLoader );
-
-		//TODO: inexact, what we really need to know is: are any outer joins used?
-		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
-				hasSubclasses() &&
-				!getFactory().getDialect().supportsOuterJoinForUpdate();
-
-		loaders.put(
-				LockMode.UPGRADE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE )
-			);
-		loaders.put(
-				LockMode.UPGRADE_NOWAIT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_NOWAIT )
-			);
-		loaders.put(
-				LockMode.UPGRADE_SKIPLOCKED,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_SKIPLOCKED )
-			);
-		loaders.put(
-				LockMode.FORCE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.FORCE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_READ,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_READ )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_WRITE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_WRITE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_FORCE_INCREMENT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_FORCE_INCREMENT )
-			);
-		loaders.put( LockMode.OPTIMISTIC, createEntityLoader( LockMode.OPTIMISTIC) );
-		loaders.put( LockMode.OPTIMISTIC_FORCE_INCREMENT, createEntityLoader(LockMode.OPTIMISTIC_FORCE_INCREMENT) );
+	/**
+	 * Get the static loader for a lock mode or an internal fetch profile, creating the loaders which
+	 * {@link #createLoaders()} leaves out on first use.
+	 *
+	 * @param key The lock mode or internal fetch profile
+	 *
+	 * @return The loader, or {@code null} if there is no static loader for {@code key}
+	 */
+	private UniqueEntityLoader getLoader(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		UniqueEntityLoader loader = (UniqueEntityLoader) loaders.get( key );
+		if ( loader == null ) {
+			loader = createDeferredLoader( key );
+			if ( loader != null ) {
+				final Object previous = loaders.putIfAbsent( key, loader );
+				if ( previous != null ) {
+					loader = (UniqueEntityLoader) previous;
+				}
+			}
+		}
+		return loader;
+	}
 
-		loaders.put(
-				"merge",
-				new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() )
-			);
-		loaders.put(
-				"refresh",
-				new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() )
-			);
+	private UniqueEntityLoader createDeferredLoader(Object key) {
+		if ( "merge".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() );
+		}
+		else if ( "refresh".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() );
+		}
+		else if ( key == LockMode.OPTIMISTIC || key == LockMode.OPTIMISTIC_FORCE_INCREMENT ) {
+			return createEntityLoader( (LockMode) key );
+		}
+		else if ( key == LockMode.UPGRADE
+				|| key == LockMode.UPGRADE_NOWAIT
+				|| key == LockMode.UPGRADE_SKIPLOCKED
+				|| key == LockMode.FORCE
+				|| key == LockMode.PESSIMISTIC_READ
+				|| key == LockMode.PESSIMISTIC_WRITE
+				|| key == LockMode.PESSIMISTIC_FORCE_INCREMENT ) {
+			//TODO: inexact, what we really need to know is: are any outer joins used?
+			boolean disableForUpdate = getSubclassTableSpan() > 1 &&
+					hasSubclasses() &&
+					!getFactory().getDialect().supportsOuterJoinForUpdate();
+			return disableForUpdate
+					? getLoader( LockMode.READ )
+					: createEntityLoader( (LockMode) key );
+		}
+		return null;
 	}
 
 	protected void createQueryLoader() {
@@ -3975,7 +3993,7 @@ public abstract class AbstractEntityPersister
 			// Next, we consider whether an 'internal' fetch profile has been set.
 			// This indicates a special fetch profile Hibernate needs applied
 			// (for its merge loading process e.g.).
-			return ( UniqueEntityLoader ) getLoaders().get( session.getLoadQueryInfluencers().getInternalFetchProfile() );
+			return getLoader( session.getLoadQueryInfluencers().getInternalFetchProfile() );
 		}
 		else if ( isAffectedByEnabledFetchProfiles( session ) ) {
 			// If the session has associated influencers we need to adjust the
@@ -3986,7 +4004,7 @@ public abstract class AbstractEntityPersister
 			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
-			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
+			return getLoader( lockOptions.getLockMode() );
 		}
 	}
 
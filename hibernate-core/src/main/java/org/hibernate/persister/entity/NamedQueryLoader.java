@@ -80,7 +80,7 @@ public final class NamedQueryLoader implements UniqueEntityLoader {
 
 		// now look up the object we are really interested in!
 		// (this lets us correctly handle proxies and multi-row or multi-column queries)
-		return session.getPersistenceContext().getEntity( session.generateEntityKey( id, persister ) );
+		return session.getPersistenceContext().getEntity( id, persister );
 
 	}
 }
\ No newline at end of file
@@ -23,8 +23,10 @@
  */
 package org.hibernate.secure.internal;
 
+import org.hibernate.event.spi.OldStateAwareEventListener;
 import org.hibernate.event.spi.PreUpdateEvent;
 import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.secure.spi.PermissibleAction;
 
 /**
@@ -33,7 +35,8 @@ import org.hibernate.secure.spi.PermissibleAction;
  * @author <a href="mailto:kabir.khan@jboss.org">Kabir Khan</a>
  * @author Steve Ebersole
  */
-public class JaccPreUpdateEventListener extends AbstractJaccSecurableEventListener implements PreUpdateEventListener {
+public class JaccPreUpdateEventListener extends AbstractJaccSecurableEventListener
+		implements PreUpdateEventListener, OldStateAwareEventListener {
 	public JaccPreUpdateEventListener() {
 	}
 
@@ -41,4 +44,8 @@ public class JaccPreUpdateEventListener extends AbstractJaccSecurableEventListen
 		performSecurityCheck( event, PermissibleAction.UPDATE );
 		return false;
 	}
+
+	public boolean requiresOldState(EntityPersister persister) {
+		return false;
+	}
 }
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.hibernate.engine.spi.CacheInitiator;
+import org.hibernate.event.internal.ParallelDirtyCheckerInitiator;
 import org.hibernate.event.service.internal.EventListenerServiceInitiator;
 import org.hibernate.service.spi.SessionFactoryServiceInitiator;
 import org.hibernate.stat.internal.StatisticsInitiator;
@@ -47,6 +48,7 @@ public class StandardSessionFactoryServiceInitiators {
 		serviceInitiators.add( EventListenerServiceInitiator.INSTANCE );
 		serviceInitiators.add( StatisticsInitiator.INSTANCE );
 		serviceInitiators.add( CacheInitiator.INSTANCE );
+		serviceInitiators.add( ParallelDirtyCheckerInitiator.INSTANCE );
 
 		return Collections.unmodifiableList( serviceInitiators );
 	}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of the connection pool built into Hibernate (see
+ * {@link org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl}).
+ */
+public interface ConnectionPoolStatistics extends Serializable {
+	/**
+	 * The maximum number of connections the pool will hold open at once.
+	 */
+	public int getMaxSize();
+
+	/**
+	 * The number of pooled connections currently checked out.
+	 */
+	public int getActiveCount();
+
+	/**
+	 * The number of pooled connections currently idle.
+	 */
+	public int getIdleCount();
+
+	/**
+	 * The number of physical connections opened by the pool.
+	 */
+	public long getCreatedCount();
+
+	/**
+	 * The number of physical connections closed by the pool (evicted, failed validation, or pool shutdown).
+	 */
+	public long getDestroyedCount();
+
+	/**
+	 * The number of times a connection was handed out.
+	 */
+	public long getBorrowCount();
+
+	/**
+	 * The number of borrows that were satisfied by the connection last used by the same thread.
+	 */
+	public long getThreadAffinityHitCount();
+
+	/**
+	 * The number of borrows that had to wait for a connection to be returned.
+	 */
+	public long getWaitCount();
+
+	/**
+	 * The number of borrows that gave up waiting after the configured maximum wait time.
+	 */
+	public long getWaitTimeoutCount();
+
+	/**
+	 * The number of idle connections that failed validation on borrow and were discarded.
+	 */
+	public long getValidationFailureCount();
+
+	/**
+	 * The number of idle connections closed because they exceeded the idle timeout.
+	 */
+	public long getIdleEvictionCount();
+
+	/**
+	 * The number of times a connection was found checked out for longer than the leak detection threshold.
+	 */
+	public long getLeakCount();
+}
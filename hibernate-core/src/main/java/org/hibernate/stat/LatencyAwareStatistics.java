@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+/**
+ * {@link Statistics} that also track the latency distribution of entity loads, query executions and flushes.  The
+ * statistics returned by {@link org.hibernate.SessionFactory#getStatistics()} implement it when the built-in
+ * statistics implementation is used.
+ */
+public interface LatencyAwareStatistics extends Statistics {
+	/**
+	 * Latency distribution of the entities loaded by identifier from the database
+	 *
+	 * @return LatencyStatistics
+	 */
+	public LatencyStatistics getEntityLoadLatency();
+
+	/**
+	 * Latency distribution of the query executions.  Queries are timed in milliseconds, so their times are
+	 * multiples of 1000 microseconds.
+	 *
+	 * @return LatencyStatistics
+	 */
+	public LatencyStatistics getQueryExecutionLatency();
+
+	/**
+	 * Latency distribution of the flushes, automatic ones included
+	 *
+	 * @return LatencyStatistics
+	 */
+	public LatencyStatistics getFlushLatency();
+}
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Latency distribution of an operation (entity loads, query executions or flushes).  Times are in microseconds and
+ * percentiles are approximate: they are accurate to within about 3% of the reported value.
+ */
+public interface LatencyStatistics extends Serializable {
+	/**
+	 * The number of times the operation was recorded.
+	 */
+	public long getCount();
+
+	/**
+	 * The median time, in microseconds, the operation took.
+	 */
+	public long getMedianTime();
+
+	/**
+	 * The time, in microseconds, within which 99% of the operations completed.
+	 */
+	public long get99thPercentileTime();
+
+	/**
+	 * The time, in microseconds, within which the given percentage of the operations completed.
+	 *
+	 * @param percentile The percentage, between 0 and 100
+	 */
+	public long getPercentileTime(double percentile);
+
+	/**
+	 * The longest time, in microseconds, the operation took.
+	 */
+	public long getMaxTime();
+}
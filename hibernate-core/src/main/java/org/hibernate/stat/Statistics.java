@@ -75,6 +75,14 @@ public interface Statistics {
 	 */
 	public QueryStatistics getQueryStatistics(String queryString);
 
+	/**
+	 * Statistics of the built-in connection pool
+	 *
+	 * @return ConnectionPoolStatistics, or {@code null} if connections are not provided by Hibernate's
+	 * {@code pooled} connection provider
+	 */
+	public ConnectionPoolStatistics getConnectionPoolStatistics();
+
     /**
      * Get global number of entity deletes
 	 * @return entity deletion count
@@ -236,7 +244,9 @@ public interface Statistics {
 	public void setStatisticsEnabled(boolean b);
 
 	/**
-	 * Get all executed query strings
+	 * Get all executed query strings.  Statistics are kept for at most
+	 * {@value org.hibernate.cfg.AvailableSettings#QUERY_STATISTICS_MAX_SIZE} query strings, the most frequently
+	 * used ones.
 	 */
 	public String[] getQueries();
 	/**
@@ -267,6 +277,15 @@ public interface Statistics {
 	 * The number of prepared statements that were released
 	 */
 	public long getCloseStatementCount();
+	/**
+	 * The number of prepared statements that were reused from a Session's statement cache
+	 */
+	public long getPreparedStatementCacheHitCount();
+	/**
+	 * The number of prepared statements that were not found in a Session's statement cache,
+	 * and had to be prepared
+	 */
+	public long getPreparedStatementCacheMissCount();
 	/**
 	 * The number of <tt>StaleObjectStateException</tt>s 
 	 * that occurred
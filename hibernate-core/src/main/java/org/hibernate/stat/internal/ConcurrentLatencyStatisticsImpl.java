@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.LatencyStatistics;
+
+/**
+ * Lock-free latency histogram in the style of HdrHistogram.  Times are counted in log-linear buckets: each power of
+ * two range is split into {@value #SUB_BUCKET_COUNT} equal buckets, so a bucket is never wider than 1/32 of the
+ * values it holds.  Recording increments one bucket and, for a new maximum, compares-and-sets the maximum; reads walk
+ * the buckets without locking and may miss times recorded concurrently.
+ */
+public class ConcurrentLatencyStatisticsImpl implements LatencyStatistics {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Times up to 2^40 microseconds (about 12 days) get their own bucket; longer ones share the last.
+	 */
+	private static final int MAX_TIME_BITS = 40;
+	private static final int BUCKET_COUNT = ( MAX_TIME_BITS - SUB_BUCKET_BITS + 1 ) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray( BUCKET_COUNT );
+	private final AtomicLong maxTime = new AtomicLong();
+
+	/**
+	 * Record one operation.
+	 *
+	 * @param time The time the operation took, in microseconds
+	 */
+	void record(long time) {
+		if ( time < 0 ) {
+			time = 0;
+		}
+		buckets.incrementAndGet( bucketIndex( time ) );
+		for ( long old = maxTime.get(); time > old && !maxTime.compareAndSet( old, time ); old = maxTime.get() ) {
+			// retry until the maximum is at least time
+		}
+	}
+
+	void clear() {
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			buckets.set( i, 0 );
+		}
+		maxTime.set( 0 );
+	}
+
+	@Override
+	public long getCount() {
+		long count = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			count += buckets.get( i );
+		}
+		return count;
+	}
+
+	@Override
+	public long getMedianTime() {
+		return getPercentileTime( 50 );
+	}
+
+	@Override
+	public long get99thPercentileTime() {
+		return getPercentileTime( 99 );
+	}
+
+	@Override
+	public long getPercentileTime(double percentile) {
+		final long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counts[i] = buckets.get( i );
+			total += counts[i];
+		}
+		if ( total == 0 ) {
+			return 0;
+		}
+		final double clamped = Math.min( 100d, Math.max( 0d, percentile ) );
+		final long rank = Math.max( 1L, (long) Math.ceil( clamped / 100d * total ) );
+		final long max = maxTime.get();
+		long seen = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			seen += counts[i];
+			if ( seen >= rank ) {
+				return Math.min( highestTimeInBucket( i ), max );
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	static int bucketIndex(long time) {
+		if ( time < SUB_BUCKET_COUNT ) {
+			return (int) time;
+		}
+		final int highestBit = 63 - Long.numberOfLeadingZeros( time );
+		if ( highestBit >= MAX_TIME_BITS ) {
+			return BUCKET_COUNT - 1;
+		}
+		final int shift = highestBit - SUB_BUCKET_BITS;
+		final int subBucket = (int) ( time >>> shift ) - SUB_BUCKET_COUNT;
+		return ( shift + 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestTimeInBucket(int index) {
+		final int block = index >>> SUB_BUCKET_BITS;
+		if ( block == 0 ) {
+			return index;
+		}
+		if ( index == BUCKET_COUNT - 1 ) {
+			return Long.MAX_VALUE;
+		}
+		final long lowest = (long) ( ( index & ( SUB_BUCKET_COUNT - 1 ) ) + SUB_BUCKET_COUNT ) << ( block - 1 );
+		return lowest + ( 1L << ( block - 1 ) ) - 1;
+	}
+
+	public String toString() {
+		return new StringBuilder()
+				.append( "LatencyStatistics" )
+				.append( "[count=" ).append( getCount() )
+				.append( ",medianTime=" ).append( getMedianTime() )
+				.append( ",99thPercentileTime=" ).append( get99thPercentileTime() )
+				.append( ",maxTime=" ).append( getMaxTime() )
+				.append( ']' )
+				.toString();
+	}
+}
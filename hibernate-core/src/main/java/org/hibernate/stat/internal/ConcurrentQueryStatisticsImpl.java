@@ -24,9 +24,6 @@
 package org.hibernate.stat.internal;
 
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.hibernate.stat.QueryStatistics;
 
@@ -47,14 +44,11 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	private final AtomicLong executionMinTime = new AtomicLong(Long.MAX_VALUE);
 	private final AtomicLong totalExecutionTime = new AtomicLong();
 
-	private final Lock readLock;
-	private final Lock writeLock;
-
-	{
-		ReadWriteLock lock = new ReentrantReadWriteLock();
-		readLock = lock.readLock();
-		writeLock = lock.writeLock();
-	}
+	/**
+	 * Space-saving frequency estimate: the number of executions and cache lookups, plus the frequency of the
+	 * query this one replaced when the statistics were full.
+	 */
+	private final AtomicLong frequency = new AtomicLong();
 
 	ConcurrentQueryStatisticsImpl(String query) {
 		super(query);
@@ -99,19 +93,13 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * average time in ms taken by the excution of this query onto the DB
 	 */
 	public long getExecutionAvgTime() {
-		// We write lock here to be sure that we always calculate the average time
-		// with all updates from the executed applied: executionCount and totalExecutionTime
-		// both used in the calculation
-		writeLock.lock();
-		try {
-			long avgExecutionTime = 0;
-			if (executionCount.get() > 0) {
-				avgExecutionTime = totalExecutionTime.get() / executionCount.get();
-			}
-			return avgExecutionTime;
-		} finally {
-			writeLock.unlock();
+		// executed(long, long) adds to totalExecutionTime before incrementing executionCount, so reading the count
+		// first never divides a total by more executions than it includes
+		final long count = executionCount.get();
+		if ( count == 0 ) {
+			return 0;
 		}
+		return totalExecutionTime.get() / count;
 	}
 
 	/**
@@ -135,19 +123,12 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * @param time time taken
 	 */
 	void executed(long rows, long time) {
-		// read lock is enough, concurrent updates are supported by the underlying type AtomicLong
-		// this only guards executed(long, long) to be called, when another thread is executing getExecutionAvgTime()
-		readLock.lock();
-		try {
-			// Less chances for a context switch
-			for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get());
-			for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get());
-			executionCount.getAndIncrement();
-			executionRowCount.addAndGet(rows);
-			totalExecutionTime.addAndGet(time);
-		} finally {
-			readLock.unlock();
-		}
+		// Less chances for a context switch
+		for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get());
+		for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get());
+		executionRowCount.addAndGet(rows);
+		totalExecutionTime.addAndGet(time);
+		executionCount.getAndIncrement();
 	}
 
 	public String toString() {
@@ -176,4 +157,16 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	void incrementCachePutCount() {
 		cachePutCount.getAndIncrement();
 	}
+
+	void incrementFrequency() {
+		frequency.getAndIncrement();
+	}
+
+	void inheritFrequency(long inheritedFrequency) {
+		frequency.getAndAdd( inheritedFrequency );
+	}
+
+	long getFrequency() {
+		return frequency.get();
+	}
 }
@@ -23,23 +23,32 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.Service;
 import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.ConnectionPoolStatistics;
 import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.LatencyStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
-import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.stat.spi.LatencyStatisticsImplementor;
 
 /**
  * Implementation of {@link org.hibernate.stat.Statistics} based on the {@link java.util.concurrent} package.
@@ -47,7 +56,10 @@ import org.hibernate.stat.spi.StatisticsImplementor;
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl implements LatencyStatisticsImplementor, Service {
+
+	private static final int DEFAULT_QUERY_STATISTICS_MAX_SIZE = 1024;
+	private static final int QUERY_STATISTICS_EVICTION_SAMPLES = 8;
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
@@ -62,6 +74,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	private AtomicLong prepareStatementCount = new AtomicLong();
 	private AtomicLong closeStatementCount = new AtomicLong();
+	private AtomicLong preparedStatementCacheHitCount = new AtomicLong();
+	private AtomicLong preparedStatementCacheMissCount = new AtomicLong();
 
 	private AtomicLong entityLoadCount = new AtomicLong();
 	private AtomicLong entityUpdateCount = new AtomicLong();
@@ -121,13 +135,37 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * entity statistics per query string (HQL or SQL)
 	 */
 	private final ConcurrentMap queryStatistics = new ConcurrentHashMap();
+	/**
+	 * One slot per query string in queryStatistics, bounding their number; once all are taken, a new query replaces
+	 * the least frequent of a few sampled slots (an approximation of the space-saving algorithm), so the most
+	 * frequently used queries stay
+	 */
+	private final AtomicReferenceArray<ConcurrentQueryStatisticsImpl> queryStatisticsSlots;
+	private final AtomicInteger queryStatisticsSlotCount = new AtomicInteger();
+	private final Random queryStatisticsSampler = new Random();
+
+	private final ConcurrentLatencyStatisticsImpl entityLoadLatency = new ConcurrentLatencyStatisticsImpl();
+	private final ConcurrentLatencyStatisticsImpl queryExecutionLatency = new ConcurrentLatencyStatisticsImpl();
+	private final ConcurrentLatencyStatisticsImpl flushLatency = new ConcurrentLatencyStatisticsImpl();
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
-		clear();
+		this( null );
 	}
 
 	public ConcurrentStatisticsImpl(SessionFactoryImplementor sessionFactory) {
+		this.queryStatisticsSlots = new AtomicReferenceArray<ConcurrentQueryStatisticsImpl>(
+				sessionFactory == null || sessionFactory.getProperties() == null
+						? DEFAULT_QUERY_STATISTICS_MAX_SIZE
+						: Math.max(
+								1,
+								ConfigurationHelper.getInt(
+										AvailableSettings.QUERY_STATISTICS_MAX_SIZE,
+										sessionFactory.getProperties(),
+										DEFAULT_QUERY_STATISTICS_MAX_SIZE
+								)
+						)
+		);
 		clear();
 		this.sessionFactory = sessionFactory;
 	}
@@ -154,6 +192,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 		prepareStatementCount.set( 0 );
 		closeStatementCount.set( 0 );
+		preparedStatementCacheHitCount.set( 0 );
+		preparedStatementCacheMissCount.set( 0 );
 
 		entityDeleteCount.set( 0 );
 		entityInsertCount.set( 0 );
@@ -187,6 +227,14 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		entityStatistics.clear();
 		collectionStatistics.clear();
 		queryStatistics.clear();
+		for ( int i = 0; i < queryStatisticsSlots.length(); i++ ) {
+			queryStatisticsSlots.set( i, null );
+		}
+		queryStatisticsSlotCount.set( 0 );
+
+		entityLoadLatency.clear();
+		queryExecutionLatency.clear();
+		flushLatency.clear();
 
 		startTime = System.currentTimeMillis();
 	}
@@ -203,6 +251,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		flushCount.getAndIncrement();
 	}
 
+	public void flushTime(long time) {
+		flushLatency.record( time );
+	}
+
 	public void connect() {
 		connectCount.getAndIncrement();
 	}
@@ -217,6 +269,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementFetchCount();
 	}
 
+	public void entityLoadTime(long time) {
+		entityLoadLatency.record( time );
+	}
+
 	/**
 	 * find entity statistics per name
 	 *
@@ -356,6 +412,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return slcs;
 	}
 
+	public ConnectionPoolStatistics getConnectionPoolStatistics() {
+		if ( sessionFactory == null ) {
+			return null;
+		}
+		final ConnectionProvider connectionProvider = sessionFactory.getServiceRegistry()
+				.getService( ConnectionProvider.class );
+		if ( connectionProvider == null || !connectionProvider.isUnwrappableAs( PooledConnectionProviderImpl.class ) ) {
+			return null;
+		}
+		return connectionProvider.unwrap( PooledConnectionProviderImpl.class ).getStatistics();
+	}
+
 	public void secondLevelCachePut(String regionName) {
 		secondLevelCachePutCount.getAndIncrement();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementPutCount();
@@ -419,8 +487,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		if ( isLongestQuery ) {
 			queryExecutionMaxTimeQueryString = hql;
 		}
+		queryExecutionLatency.record( time * 1000 );
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			qs.incrementFrequency();
 			qs.executed( rows, time );
 		}
 	}
@@ -429,6 +499,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		queryCacheHitCount.getAndIncrement();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			qs.incrementFrequency();
 			qs.incrementCacheHitCount();
 		}
 		ConcurrentSecondLevelCacheStatisticsImpl slcs = (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics(
@@ -441,6 +512,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		queryCacheMissCount.getAndIncrement();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			qs.incrementFrequency();
 			qs.incrementCacheMissCount();
 		}
 		ConcurrentSecondLevelCacheStatisticsImpl slcs = (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics(
@@ -493,10 +565,64 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			) ) != null ) {
 				qs = previous;
 			}
+			else {
+				assignQueryStatisticsSlot( qs );
+			}
 		}
 		return qs;
 	}
 
+	/**
+	 * Gives the statistics of a newly used query a slot.  Once all slots are taken, the least frequent of a few slots
+	 * sampled at random (of all slots, if there are only a few) is evicted, and the new query starts from the evicted
+	 * frequency.  That overestimates the frequency of the new query, but means a query used much more often than
+	 * 1/max_size of all query uses is very unlikely to be evicted.  Slots are claimed by compare-and-set, so the cost
+	 * of a new query neither depends on the number of queries nor blocks other threads.
+	 */
+	private void assignQueryStatisticsSlot(ConcurrentQueryStatisticsImpl qs) {
+		final int slotCount = queryStatisticsSlots.length();
+		final int samples = Math.min( QUERY_STATISTICS_EVICTION_SAMPLES, slotCount );
+		while ( true ) {
+			final int usedSlots = queryStatisticsSlotCount.get();
+			if ( usedSlots < slotCount ) {
+				if ( queryStatisticsSlotCount.compareAndSet( usedSlots, usedSlots + 1 ) ) {
+					queryStatisticsSlots.set( usedSlots, qs );
+					return;
+				}
+				continue;
+			}
+
+			int victimSlot = -1;
+			ConcurrentQueryStatisticsImpl victim = null;
+			for ( int i = 0; i < samples; i++ ) {
+				final int slot = samples == slotCount ? i : queryStatisticsSampler.nextInt( slotCount );
+				final ConcurrentQueryStatisticsImpl candidate = queryStatisticsSlots.get( slot );
+				if ( candidate != null && ( victim == null || candidate.getFrequency() < victim.getFrequency() ) ) {
+					victimSlot = slot;
+					victim = candidate;
+				}
+			}
+			// no victim when the sampled slots were claimed but not filled yet
+			if ( victim != null && queryStatisticsSlots.compareAndSet( victimSlot, victim, qs ) ) {
+				qs.inheritFrequency( victim.getFrequency() );
+				queryStatistics.remove( victim.getCategoryName(), victim );
+				return;
+			}
+		}
+	}
+
+	public LatencyStatistics getEntityLoadLatency() {
+		return entityLoadLatency;
+	}
+
+	public LatencyStatistics getQueryExecutionLatency() {
+		return queryExecutionLatency;
+	}
+
+	public LatencyStatistics getFlushLatency() {
+		return flushLatency;
+	}
+
 	/**
 	 * @return entity deletion count
 	 */
@@ -695,8 +821,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		LOG.optimisticLockFailures( optimisticFailureCount.get() );
 		LOG.flushes( flushCount.get() );
 		LOG.connectionsObtained( connectCount.get() );
+		final ConnectionPoolStatistics connectionPoolStatistics = getConnectionPoolStatistics();
+		if ( connectionPoolStatistics != null ) {
+			LOG.connectionPoolStatistics(
+					connectionPoolStatistics.getActiveCount(),
+					connectionPoolStatistics.getIdleCount(),
+					connectionPoolStatistics.getWaitCount(),
+					connectionPoolStatistics.getWaitTimeoutCount()
+			);
+		}
 		LOG.statementsPrepared( prepareStatementCount.get() );
 		LOG.statementsClosed( closeStatementCount.get() );
+		LOG.preparedStatementCacheHits( preparedStatementCacheHitCount.get() );
+		LOG.preparedStatementCacheMisses( preparedStatementCacheMissCount.get() );
 		LOG.secondLevelCachePuts( secondLevelCachePutCount.get() );
 		LOG.secondLevelCacheHits( secondLevelCacheHitCount.get() );
 		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.get() );
@@ -723,6 +860,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		LOG.queryCacheHits( queryCacheHitCount.get() );
 		LOG.queryCacheMisses( queryCacheMissCount.get() );
 		LOG.maxQueryTime( queryExecutionMaxTime.get() );
+		logLatency( "Entity load", entityLoadLatency );
+		logLatency( "Query execution", queryExecutionLatency );
+		logLatency( "Flush", flushLatency );
+	}
+
+	private static void logLatency(String operation, LatencyStatistics latency) {
+		LOG.latencyStatistics(
+				operation,
+				latency.getCount(),
+				latency.getMedianTime(),
+				latency.get99thPercentileTime(),
+				latency.getMaxTime()
+		);
 	}
 
 	/**
@@ -821,6 +971,26 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return prepareStatementCount.get();
 	}
 
+	@Override
+	public void preparedStatementCacheHit() {
+		preparedStatementCacheHitCount.getAndIncrement();
+	}
+
+	@Override
+	public void preparedStatementCacheMiss() {
+		preparedStatementCacheMissCount.getAndIncrement();
+	}
+
+	@Override
+	public long getPreparedStatementCacheHitCount() {
+		return preparedStatementCacheHitCount.get();
+	}
+
+	@Override
+	public long getPreparedStatementCacheMissCount() {
+		return preparedStatementCacheMissCount.get();
+	}
+
 	public void optimisticFailure(String entityName) {
 		optimisticFailureCount.getAndIncrement();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
@@ -844,6 +1014,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",connections obtained=" ).append( connectCount )
 				.append( ",statements prepared=" ).append( prepareStatementCount )
 				.append( ",statements closed=" ).append( closeStatementCount )
+				.append( ",statement cache hits=" ).append( preparedStatementCacheHitCount )
+				.append( ",statement cache misses=" ).append( preparedStatementCacheMissCount )
 				.append( ",second level cache puts=" ).append( secondLevelCachePutCount )
 				.append( ",second level cache hits=" ).append( secondLevelCacheHitCount )
 				.append( ",second level cache misses=" ).append( secondLevelCacheMissCount )
@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.LatencyAwareStatistics;
+
+/**
+ * Statistics SPI for collectors that also record latencies.  Callers check for it, so a plain
+ * {@link StatisticsImplementor} keeps working without latency tracking.
+ */
+public interface LatencyStatisticsImplementor extends StatisticsImplementor, LatencyAwareStatistics {
+	/**
+	 * Callback about the time a flush took.
+	 *
+	 * @param time The time, in microseconds.
+	 */
+	public void flushTime(long time);
+
+	/**
+	 * Callback about the time loading an entity by identifier from the database took.
+	 *
+	 * @param time The time, in microseconds.
+	 */
+	public void entityLoadTime(long time);
+}
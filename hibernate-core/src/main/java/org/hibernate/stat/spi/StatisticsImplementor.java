@@ -63,6 +63,16 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void closeStatement();
 
+	/**
+	 * Callback about a prepared statement being reused from the statement cache.
+	 */
+	public void preparedStatementCacheHit();
+
+	/**
+	 * Callback about a prepared statement not being found in the statement cache.
+	 */
+	public void preparedStatementCacheMiss();
+
 	/**
 	 * Callback about a transaction completing.
 	 *
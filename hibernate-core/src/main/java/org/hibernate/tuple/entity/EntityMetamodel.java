@@ -43,8 +43,13 @@ import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.CascadeStyles;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.ValueInclusion;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.OldStateAwareEventListener;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
@@ -112,6 +117,7 @@ public class EntityMetamodel implements Serializable {
 	private final boolean hasCollections;
 	private final boolean hasMutableProperties;
 	private final boolean hasLazyProperties;
+	private final boolean selfDirtinessTracking;
 	private final boolean hasNonIdentifierPropertyNamedId;
 
 	private final int[] naturalIdPropertyNumbers;
@@ -338,6 +344,9 @@ public class EntityMetamodel implements Serializable {
 
 		hasCollections = foundCollection;
 		hasMutableProperties = foundMutable;
+		selfDirtinessTracking = determineSelfDirtinessTracking(
+				persistentClass.hasPojoRepresentation() ? persistentClass.getMappedClass() : null
+		);
 
 		iter = persistentClass.getSubclassIterator();
 		while ( iter.hasNext() ) {
@@ -576,6 +585,7 @@ public class EntityMetamodel implements Serializable {
 
 		hasCollections = foundCollection;
 		hasMutableProperties = foundMutable;
+		selfDirtinessTracking = determineSelfDirtinessTracking( hasPojoRepresentation ? mappedClass : null );
 
 		for ( EntityBinding subEntityBinding : entityBinding.getPostOrderSubEntityBindingClosure() ) {
 			subclassEntityNames.add( subEntityBinding.getEntity().getName() );
@@ -821,6 +831,57 @@ public class EntityMetamodel implements Serializable {
 		return hasLazyProperties;
 	}
 
+	/**
+	 * Can instances be dirty checked purely from the changes they track themselves (see
+	 * {@link SelfDirtinessTracker}), so that no snapshot of their loaded state needs to be kept?
+	 * <p/>
+	 * Only the case when the entity class tracks its changes and nothing else needs the loaded state: no
+	 * mutable (in-place modifiable) properties, no lazy properties, no natural id, no orphan removal, no
+	 * optimistic locking against the loaded values and no update listener reading the old state (see
+	 * {@link OldStateAwareEventListener}).
+	 *
+	 * @return {@code true} if the snapshot can be dropped
+	 */
+	public boolean isSelfDirtinessTracking() {
+		return selfDirtinessTracking && !isOldStateRequiredByUpdateListeners();
+	}
+
+	private boolean isOldStateRequiredByUpdateListeners() {
+		final EventListenerRegistry listenerRegistry = sessionFactory.getServiceRegistry()
+				.getService( EventListenerRegistry.class );
+		return isOldStateRequired( listenerRegistry.getEventListenerGroup( EventType.PRE_UPDATE ) )
+				|| isOldStateRequired( listenerRegistry.getEventListenerGroup( EventType.POST_UPDATE ) )
+				|| isOldStateRequired( listenerRegistry.getEventListenerGroup( EventType.POST_COMMIT_UPDATE ) );
+	}
+
+	private boolean isOldStateRequired(EventListenerGroup<?> listenerGroup) {
+		for ( Object listener : listenerGroup.listeners() ) {
+			if ( !( listener instanceof OldStateAwareEventListener )
+					|| ( (OldStateAwareEventListener) listener ).requiresOldState( persister ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean determineSelfDirtinessTracking(Class mappedClass) {
+		if ( mappedClass == null || !SelfDirtinessTracker.class.isAssignableFrom( mappedClass ) ) {
+			return false;
+		}
+		if ( hasMutableProperties || hasLazyProperties || naturalIdPropertyNumbers != null ) {
+			return false;
+		}
+		if ( optimisticLockStyle == OptimisticLockStyle.ALL || optimisticLockStyle == OptimisticLockStyle.DIRTY ) {
+			return false;
+		}
+		for ( CascadeStyle cascadeStyle : cascadeStyles ) {
+			if ( cascadeStyle != null && cascadeStyle.hasOrphanDelete() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public boolean hasCascades() {
 		return hasCascades;
 	}
@@ -42,9 +42,11 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.relational.Size;
+import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 import org.hibernate.type.descriptor.java.MutabilityPlan;
+import org.hibernate.type.descriptor.sql.BasicExtractor;
 import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
 
 /**
@@ -262,6 +264,27 @@ public abstract class AbstractStandardBasicType<T>
 		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
 	}
 
+	/**
+	 * Get a column value from a result set by the column position, rather than by its name/alias.
+	 *
+	 * @param rs The result set from which to extract the value.
+	 * @param position The position of the column in the result set
+	 * @param session The session from which the request originates
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates problem making the JDBC call(s).
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public final T nullSafeGet(ResultSet rs, int position, final SessionImplementor session) throws SQLException {
+		final WrapperOptions options = getOptions(session);
+		final ValueExtractor<T> extractor = remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor );
+		if ( extractor instanceof BasicExtractor ) {
+			return ( (BasicExtractor<T>) extractor ).extract( rs, position, options );
+		}
+		return extractor.extract( rs, rs.getMetaData().getColumnLabel( position ), options );
+	}
+
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
 		return nullSafeGet( rs, name, session );
 	}
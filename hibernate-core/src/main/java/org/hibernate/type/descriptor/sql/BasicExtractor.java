@@ -93,6 +93,54 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 */
 	protected abstract J doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
 
+	/**
+	 * Extract the value from the result set column at the given position.  Locating columns by position avoids the
+	 * driver's resolution of the column name on every read.
+	 *
+	 * @param rs The result set
+	 * @param position The position of the column in the result set
+	 * @param options The options
+	 *
+	 * @return The extracted value
+	 *
+	 * @throws SQLException Indicates a JDBC error occurred.
+	 */
+	public J extract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, position, options );
+		final boolean traceEnabled = LOG.isTraceEnabled();
+		if ( value == null || rs.wasNull() ) {
+			if ( traceEnabled ) {
+				LOG.tracev( "Found [null] as column at position [{0}]", position );
+			}
+			return null;
+		}
+		else {
+			if ( traceEnabled ) {
+				LOG.tracev( "Found [{0}] as column at position [{1}]", getJavaDescriptor().extractLoggableRepresentation( value ), position );
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Perform the extraction by column position.
+	 * <p/>
+	 * Called from {@link #extract(ResultSet, int, WrapperOptions)}.  Null checking of the value (as well as consulting
+	 * {@link ResultSet#wasNull}) is done there.  The default implementation resolves the column label and delegates
+	 * to {@link #doExtract(ResultSet, String, WrapperOptions)}; subclasses should override it to read by position.
+	 *
+	 * @param rs The result set
+	 * @param position The position of the column in the result set
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	protected J doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		return doExtract( rs, rs.getMetaData().getColumnLabel( position ), options );
+	}
+
 	@Override
 	public J extract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 		final J value = doExtract( statement, index, options );
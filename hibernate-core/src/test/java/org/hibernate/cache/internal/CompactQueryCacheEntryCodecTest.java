@@ -0,0 +1,138 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.BooleanType;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactQueryCacheEntryCodec}
+ */
+public class CompactQueryCacheEntryCodecTest extends BaseUnitTestCase {
+	private static final Type[] TUPLE_TYPES = new Type[] {
+			LongType.INSTANCE, IntegerType.INSTANCE, DoubleType.INSTANCE, BooleanType.INSTANCE, StringType.INSTANCE
+	};
+
+	@Test
+	public void testTupleRoundTrip() throws Exception {
+		final List rows = new ArrayList();
+		for ( int i = 0; i < 20; i++ ) {
+			rows.add(
+					new Serializable[] {
+							(long) i,
+							i % 3 == 0 ? null : i,
+							i * 1.5D,
+							i % 2 == 0,
+							i % 5 == 0 ? null : "name é" + i
+					}
+			);
+		}
+
+		final Object entry = roundTrip( CompactQueryCacheEntryCodec.INSTANCE.encode( 42L, TUPLE_TYPES, rows ) );
+		assertEquals( 42L, CompactQueryCacheEntryCodec.INSTANCE.getTimestamp( entry ) );
+
+		final List decoded = CompactQueryCacheEntryCodec.INSTANCE.decodeRows( entry, TUPLE_TYPES );
+		assertEquals( rows.size(), decoded.size() );
+		for ( int i = 0; i < rows.size(); i++ ) {
+			assertArrayEquals( (Object[]) rows.get( i ), (Object[]) decoded.get( i ) );
+		}
+	}
+
+	@Test
+	public void testSingleColumnRoundTrip() throws Exception {
+		final Type[] types = new Type[] { LongType.INSTANCE };
+		final List rows = Arrays.asList( 1L, null, 3L );
+
+		final Object entry = roundTrip( CompactQueryCacheEntryCodec.INSTANCE.encode( 7L, types, rows ) );
+		assertEquals( 7L, CompactQueryCacheEntryCodec.INSTANCE.getTimestamp( entry ) );
+		assertEquals( rows, CompactQueryCacheEntryCodec.INSTANCE.decodeRows( entry, types ) );
+	}
+
+	@Test
+	public void testEmptyAndAllNullColumns() throws Exception {
+		final Type[] types = new Type[] { StringType.INSTANCE, LongType.INSTANCE };
+
+		Object entry = CompactQueryCacheEntryCodec.INSTANCE.encode( 1L, types, new ArrayList() );
+		assertTrue( CompactQueryCacheEntryCodec.INSTANCE.decodeRows( entry, types ).isEmpty() );
+
+		final List rows = new ArrayList();
+		rows.add( new Serializable[] { null, 1L } );
+		entry = CompactQueryCacheEntryCodec.INSTANCE.encode( 1L, types, rows );
+		final Object[] row = (Object[]) CompactQueryCacheEntryCodec.INSTANCE.decodeRows( entry, types ).get( 0 );
+		assertNull( row[0] );
+		assertEquals( 1L, row[1] );
+	}
+
+	@Test
+	public void testUnsupportedColumnFallsBackToStandardLayout() {
+		final Type[] types = new Type[] { BigDecimalType.INSTANCE };
+		final List rows = Arrays.asList( BigDecimal.ONE, BigDecimal.TEN );
+
+		final Object entry = CompactQueryCacheEntryCodec.INSTANCE.encode( 3L, types, rows );
+		assertTrue( entry instanceof List );
+		assertEquals( 3L, CompactQueryCacheEntryCodec.INSTANCE.getTimestamp( entry ) );
+		assertEquals( rows, CompactQueryCacheEntryCodec.INSTANCE.decodeRows( entry, types ) );
+	}
+
+	@Test
+	public void testSerializedSizeIsSmallerThanStandardLayout() {
+		final Type[] types = new Type[] { LongType.INSTANCE, StringType.INSTANCE };
+		final List rows = new ArrayList();
+		for ( int i = 0; i < 100; i++ ) {
+			rows.add( new Serializable[] { (long) i, "value" + i } );
+		}
+
+		final int standardSize = SerializationHelper.serialize(
+				(Serializable) StandardQueryCacheEntryCodec.INSTANCE.encode( 1L, types, rows )
+		).length;
+		final int compactSize = SerializationHelper.serialize(
+				(Serializable) CompactQueryCacheEntryCodec.INSTANCE.encode( 1L, types, rows )
+		).length;
+		assertTrue( "compact=" + compactSize + ", standard=" + standardSize, compactSize < standardSize );
+	}
+
+	private static Object roundTrip(Object entry) {
+		return SerializationHelper.deserialize( SerializationHelper.serialize( (Serializable) entry ) );
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link EntityKeyMap}, checked against a plain {@link HashMap}
+ */
+public class EntityKeyMapTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { LongKeyed.class, StringKeyed.class };
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		final EntityPersister longPersister = sessionFactory().getEntityPersister( LongKeyed.class.getName() );
+		final EntityPersister stringPersister = sessionFactory().getEntityPersister( StringKeyed.class.getName() );
+
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>( 8 );
+		final Map<EntityKey, Object> expected = new HashMap<EntityKey, Object>();
+		final Random random = new Random( 17 );
+		for ( int i = 0; i < 20000; i++ ) {
+			final long id = random.nextInt( 2000 ) - 1000;
+			final EntityKey key = random.nextInt( 4 ) == 0
+					? new EntityKey( "s" + id, stringPersister, null )
+					: new EntityKey( id, longPersister, null );
+			switch ( random.nextInt( 3 ) ) {
+				case 0: {
+					assertEquals( expected.remove( key ), map.remove( key ) );
+					break;
+				}
+				default: {
+					final Object value = new Object();
+					assertEquals( expected.put( key, value ), map.put( key, value ) );
+				}
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+
+		for ( Map.Entry<EntityKey, Object> entry : expected.entrySet() ) {
+			assertTrue( map.containsKey( entry.getKey() ) );
+			assertEquals( entry.getValue(), map.get( entry.getKey() ) );
+		}
+		for ( long id = -1000; id < 1000; id++ ) {
+			assertEquals( expected.get( new EntityKey( id, longPersister, null ) ), map.get( id, longPersister, null ) );
+			assertEquals(
+					expected.get( new EntityKey( "s" + id, stringPersister, null ) ),
+					map.get( "s" + id, stringPersister, null )
+			);
+		}
+		assertEquals( expected, new HashMap<EntityKey, Object>( map ) );
+
+		map.clear();
+		assertEquals( 0, map.size() );
+		assertNull( map.get( new EntityKey( 1L, longPersister, null ) ) );
+		assertNull( map.get( 1L, longPersister, null ) );
+		assertTrue( map.entrySet().isEmpty() );
+	}
+
+	@Entity(name = "LongKeyed")
+	public static class LongKeyed {
+		@Id
+		private Long id;
+	}
+
+	@Entity(name = "StringKeyed")
+	public static class StringKeyed {
+		@Id
+		private String id;
+	}
+}
@@ -23,6 +23,10 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.Test;
 
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -30,6 +34,7 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -254,6 +259,178 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicConcurrentPooledLoOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 3 );
+		final Optimizer optimizer = buildConcurrentPooledLoOptimizer( 1, 3 );
+
+		assertEquals( 0, sequence.getTimesCalled() );
+		assertEquals( -1, sequence.getCurrentValue() );
+
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+		assertEquals( 1, sequence.getCurrentValue() );
+
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 2, next.intValue() );
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 3, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 4, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( (1+3), sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testPrefetchingPooledLoOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 4 );
+		final Optimizer optimizer = buildPrefetchingPooledLoOptimizer( 1, 4 );
+
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 2, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+
+		// handing out the midpoint of the range reads the next range ahead of time
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 3, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( (1+4), sequence.getCurrentValue() );
+
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 4, next.intValue() );
+
+		// the prefetched value does not back the range in use yet
+		assertEquals( 1, optimizer.getLastSourceValue().makeValue().intValue() );
+
+		// the clock over uses the prefetched range without consulting the source
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 5, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 5, optimizer.getLastSourceValue().makeValue().intValue() );
+	}
+
+	@Test
+	public void testBasicConcurrentHiLoOptimizerUsage() {
+		int increment = 10;
+		Long next;
+
+		// test historic sequence behavior, where the initial values start at 1...
+		SourceMock sequence = new SourceMock( 1 );
+		Optimizer optimizer = buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.HILO_CONCURRENT, -1, increment );
+		for ( int i = 1; i <= increment; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 1, sequence.getTimesCalled() );
+		assertEquals( 1, optimizer.getLastSourceValue().makeValue().intValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 2, optimizer.getLastSourceValue().makeValue().intValue() );
+
+		// test historic table behavior, where the initial values started at 0 (we now force 1 to be the first used id value)
+		sequence = new SourceMock( 0 );
+		optimizer = buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.HILO_CONCURRENT, -1, increment );
+		for ( int i = 1; i <= increment; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // here have have an extra call to get to 1 initially
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+	}
+
+	@Test
+	public void testBasicConcurrentPooledOptimizerUsage() {
+		Long next;
+		// test historic sequence behavior, where the initial values start at 1...
+		SourceMock sequence = new SourceMock( 1, 10 );
+		Optimizer optimizer = buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.POOLED_CONCURRENT, -1, 10 );
+		for ( int i = 1; i < 11; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, optimizer.getLastSourceValue().makeValue().intValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testSubsequentConcurrentPooledOptimizerUsage() {
+		// the sequence is already beyond its initial value on init
+		final SourceMock sequence = new SourceMock( 1001, 3, 5 );
+		final Optimizer optimizer = buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.POOLED_CONCURRENT, 1, 3 );
+
+		Long next = (Long) optimizer.generate( sequence );
+		assertEquals( 1001, next.intValue() );
+		assertEquals( (5+1), sequence.getTimesCalled() );
+		assertEquals( (1001+3), sequence.getCurrentValue() );
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+1), next.intValue() );
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+2), next.intValue() );
+		assertEquals( (5+1), sequence.getTimesCalled() );
+
+		// force a "clock over"
+		next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+3), next.intValue() );
+		assertEquals( (5+2), sequence.getTimesCalled() );
+		assertEquals( (1001+6), sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentOptimizersGenerateUniqueValues() throws Exception {
+		assertUniqueValues( new SourceMock( 1 ), OptimizerFactory.StandardOptimizerDescriptor.HILO_CONCURRENT );
+		assertUniqueValues( new SourceMock( 1 ), OptimizerFactory.StandardOptimizerDescriptor.HILO_PREFETCH );
+		assertUniqueValues( new SourceMock( 1, 10 ), OptimizerFactory.StandardOptimizerDescriptor.POOLED_CONCURRENT );
+		assertUniqueValues( new SourceMock( 1, 10 ), OptimizerFactory.StandardOptimizerDescriptor.POOLED_PREFETCH );
+		assertUniqueValues( new SourceMock( 1, 10 ), OptimizerFactory.StandardOptimizerDescriptor.POOLED_LO_CONCURRENT );
+		assertUniqueValues( new SourceMock( 1, 10 ), OptimizerFactory.StandardOptimizerDescriptor.POOLED_LO_PREFETCH );
+	}
+
+	private static void assertUniqueValues(
+			final SourceMock sequence,
+			OptimizerFactory.StandardOptimizerDescriptor descriptor) throws Exception {
+		final Optimizer optimizer = buildOptimizer( descriptor, 1, 10 );
+		final Set<Long> generated = Collections.synchronizedSet( new HashSet<Long>() );
+		final int threadCount = 8;
+		final int valuesPerThread = 1000;
+
+		Thread[] threads = new Thread[threadCount];
+		for ( int i = 0; i < threadCount; i++ ) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for ( int j = 0; j < valuesPerThread; j++ ) {
+						generated.add( (Long) optimizer.generate( sequence ) );
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		assertEquals( threadCount * valuesPerThread, generated.size() );
+		for ( long i = 1; i <= threadCount * valuesPerThread; i++ ) {
+			assertTrue( generated.contains( i ) );
+		}
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -270,6 +447,14 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.POOLED_LO, initial, increment );
 	}
 
+	private static Optimizer buildConcurrentPooledLoOptimizer(long initial, int increment) {
+		return buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.POOLED_LO_CONCURRENT, initial, increment );
+	}
+
+	private static Optimizer buildPrefetchingPooledLoOptimizer(long initial, int increment) {
+		return buildOptimizer( OptimizerFactory.StandardOptimizerDescriptor.POOLED_LO_PREFETCH, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			OptimizerFactory.StandardOptimizerDescriptor descriptor,
 			long initial,
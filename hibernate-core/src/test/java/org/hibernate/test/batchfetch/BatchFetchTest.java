@@ -33,6 +33,8 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.loader.BatchFetchStyle;
 
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
@@ -200,5 +202,53 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		s.getTransaction().commit();
 		s.close();
 	}
-}
 
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testBatchFetchWindowAroundRequestedId() {
+		Session s = openSession();
+		s.beginTransaction();
+		int size = 100;
+		for ( int i = 0; i < size; i++ ) {
+			s.save( new BatchLoadableEntity( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		List<BatchLoadableEntity> proxies = new ArrayList<BatchLoadableEntity>();
+		for ( int i = 0; i < size; i++ ) {
+			proxies.add( (BatchLoadableEntity) s.load( BatchLoadableEntity.class, i ) );
+		}
+
+		// the batch is taken from the keys registered right after the requested one...
+		Hibernate.initialize( proxies.get( 50 ) );
+		for ( int i = 0; i < size; i++ ) {
+			assertEquals( "entity " + i, i >= 50 && i <= 81, isLoaded( s, i ) );
+		}
+
+		// ...topped up with those registered right before it when the queue runs out
+		Hibernate.initialize( proxies.get( 99 ) );
+		for ( int i = 0; i < size; i++ ) {
+			assertEquals( "entity " + i, i >= 36, isLoaded( s, i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete BatchLoadableEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private boolean isLoaded(Session s, int id) {
+		SessionImplementor session = (SessionImplementor) s;
+		EntityKey key = session.generateEntityKey(
+				id,
+				sessionFactory().getEntityPersister( BatchLoadableEntity.class.getName() )
+		);
+		return session.getPersistenceContext().getEntity( key ) != null;
+	}
+}
@@ -26,6 +26,7 @@ package org.hibernate.test.bytecode.enhancement;
 import java.io.ByteArrayInputStream;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashSet;
 
 import javassist.ClassPool;
 import javassist.CtClass;
@@ -40,6 +41,7 @@ import org.hibernate.bytecode.enhance.spi.EnhancerConstants;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.Status;
 
 import org.junit.Test;
@@ -47,10 +49,13 @@ import org.junit.Test;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.hibernate.testing.junit4.ExtraAssertions.assertTyping;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -153,9 +158,15 @@ public class EnhancerTest extends BaseUnitTestCase {
 		interceptorSetter.invoke( entityInstance, new LocalPersistentAttributeInterceptor() );
 		assertNotNull( interceptorGetter.invoke( entityInstance ) );
 
-		// dirty checking is unfortunately just printlns for now... just verify the test output
+		// in-line dirty checking
+		assertTyping( SelfDirtinessTracker.class, entityInstance );
+		final SelfDirtinessTracker tracker = (SelfDirtinessTracker) entityInstance;
+		assertFalse( tracker.$$_hibernate_hasDirtyAttributes() );
+		assertEquals( 0, tracker.$$_hibernate_getDirtyAttributes().length );
+
 		entityClass.getMethod( "getId" ).invoke( entityInstance );
 		entityClass.getMethod( "setId", Long.class ).invoke( entityInstance, entityClass.getMethod( "getId" ).invoke( entityInstance ) );
+		assertFalse( tracker.$$_hibernate_hasDirtyAttributes() );
 		entityClass.getMethod( "setId", Long.class ).invoke( entityInstance, 1L );
 
 		entityClass.getMethod( "isActive" ).invoke( entityInstance );
@@ -165,6 +176,18 @@ public class EnhancerTest extends BaseUnitTestCase {
 		entityClass.getMethod( "getSomeNumber" ).invoke( entityInstance );
 		entityClass.getMethod( "setSomeNumber", long.class ).invoke( entityInstance, entityClass.getMethod( "getSomeNumber" ).invoke( entityInstance ) );
 		entityClass.getMethod( "setSomeNumber", long.class ).invoke( entityInstance, 1L );
+
+		assertTrue( tracker.$$_hibernate_hasDirtyAttributes() );
+		assertEquals(
+				new HashSet<String>( Arrays.asList( "id", "active", "someNumber" ) ),
+				new HashSet<String>( Arrays.asList( tracker.$$_hibernate_getDirtyAttributes() ) )
+		);
+
+		tracker.$$_hibernate_clearDirtyAttributes();
+		assertFalse( tracker.$$_hibernate_hasDirtyAttributes() );
+		tracker.$$_hibernate_trackChange( "name" );
+		tracker.$$_hibernate_trackChange( "unknown" );
+		assertArrayEquals( new String[] { "name" }, tracker.$$_hibernate_getDirtyAttributes() );
 	}
 
 	private CtClass generateCtClassForAnEntity(Class entityClassToEnhance) throws Exception {
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cache.internal.bounded.BoundedRegionFactory;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the second-level cache kept by {@link BoundedRegionFactory}.
+ */
+public class BoundedRegionFactoryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_FACTORY, BoundedRegionFactory.class.getName() );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( "hibernate.cache.bounded.item.max_entries", "4" );
+	}
+
+	@Test
+	public void testReadWriteCaching() {
+		sessionFactory().getCache().evictEntityRegions();
+		sessionFactory().getStatistics().clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		SecondLevelCacheStatistics statistics = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" );
+		assertEquals( 1, statistics.getElementCountInMemory() );
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "data", item.getName() );
+		item.setName( "new data" );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, statistics.getHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "new data", item.getName() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, statistics.getHitCount() );
+		assertEquals( 0, statistics.getMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testRegionSizeIsBounded() {
+		sessionFactory().getCache().evictEntityRegions();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 50; i++ ) {
+			s.save( new CacheableItem( "data" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		long count = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" ).getElementCountInMemory();
+		assertTrue( "region holds " + count + " entries", count > 0 && count <= 4 );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty( BoundedRegionFactory.TIME_TO_LIVE, "50" );
+		BoundedRegionFactory regionFactory = new BoundedRegionFactory();
+		regionFactory.start( null, properties );
+		try {
+			QueryResultsRegion region = regionFactory.buildQueryResultsRegion( "query", properties );
+			region.put( "key", "value" );
+			assertNotNull( region.get( "key" ) );
+			Thread.sleep( 100 );
+			assertNull( region.get( "key" ) );
+		}
+		finally {
+			regionFactory.stop();
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.internal.bounded.BoundedRegionFactory;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.internal.util.compare.ComparableComparator;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the off-heap tier of the regions of {@link BoundedRegionFactory}.
+ */
+public class BoundedRegionOffHeapTest extends BaseUnitTestCase {
+	private static final int ENTRY_COUNT = 200;
+
+	private BoundedRegionFactory regionFactory;
+	private EntityRegion region;
+
+	@Before
+	public void startRegion() {
+		Properties properties = new Properties();
+		properties.setProperty( BoundedRegionFactory.MAX_ENTRIES, "1" );
+		properties.setProperty( BoundedRegionFactory.OFF_HEAP_SIZE, Integer.toString( 4 * 1024 * 1024 ) );
+		regionFactory = new BoundedRegionFactory();
+		regionFactory.start( null, properties );
+		region = regionFactory.buildEntityRegion(
+				"entity",
+				properties,
+				new CacheDataDescriptionImpl( true, true, ComparableComparator.INSTANCE )
+		);
+	}
+
+	@After
+	public void stopRegion() {
+		region.destroy();
+		regionFactory.stop();
+	}
+
+	@Test
+	public void testEntriesAreReadBackFromOffHeap() {
+		EntityRegionAccessStrategy access = region.buildAccessStrategy( AccessType.READ_WRITE );
+		long txTimestamp = region.nextTimestamp();
+		for ( int i = 0; i < ENTRY_COUNT; i++ ) {
+			assertTrue( access.putFromLoad( i, entry( i ), txTimestamp, i, false ) );
+		}
+		assertEquals( ENTRY_COUNT, region.getElementCountInMemory() );
+		assertTrue( region.getSizeInMemory() > 0 );
+
+		txTimestamp = region.nextTimestamp();
+		for ( int i = 0; i < ENTRY_COUNT; i++ ) {
+			CacheEntry cached = (CacheEntry) access.get( i, txTimestamp );
+			CacheEntry expected = entry( i );
+			assertEquals( expected.getSubclass(), cached.getSubclass() );
+			assertEquals( expected.getVersion(), cached.getVersion() );
+			assertEquals( expected.areLazyPropertiesUnfetched(), cached.areLazyPropertiesUnfetched() );
+			assertEquals(
+					Arrays.deepToString( expected.getDisassembledState() ),
+					Arrays.deepToString( cached.getDisassembledState() )
+			);
+		}
+	}
+
+	@Test
+	public void testStringsAreReadBackUnchanged() {
+		EntityRegionAccessStrategy access = region.buildAccessStrategy( AccessType.READ_WRITE );
+		String[] strings = new String[] {
+				"lone high surrogate \uD800",
+				"\uDC00 lone low surrogate",
+				"pair \uD83D\uDE00 and swapped pair \uDE00\uD83D",
+				"nul \u0000, latin \u00E9, euro \u20AC"
+		};
+		long txTimestamp = region.nextTimestamp();
+		access.putFromLoad( 0, new StandardCacheEntryImpl( strings, "Entity\uD800", false, null ), txTimestamp, null, false );
+		// push the entry out of the on-heap tier, so it is decoded from off-heap
+		access.putFromLoad( 1, entry( 1 ), txTimestamp, 1, false );
+
+		CacheEntry cached = (CacheEntry) access.get( 0, region.nextTimestamp() );
+		assertEquals( "Entity\uD800", cached.getSubclass() );
+		assertArrayEquals( strings, cached.getDisassembledState() );
+	}
+
+	@Test
+	public void testEvictedEntriesAreRemovedFromOffHeap() {
+		EntityRegionAccessStrategy access = region.buildAccessStrategy( AccessType.NONSTRICT_READ_WRITE );
+		long txTimestamp = region.nextTimestamp();
+		for ( int i = 0; i < ENTRY_COUNT; i++ ) {
+			access.putFromLoad( i, entry( i ), txTimestamp, i, false );
+		}
+		access.evict( 7 );
+		assertNull( access.get( 7, region.nextTimestamp() ) );
+		assertEquals( ENTRY_COUNT - 1, region.getElementCountInMemory() );
+
+		access.evictAll();
+		assertNull( access.get( 8, region.nextTimestamp() ) );
+		assertEquals( 0, region.getElementCountInMemory() );
+	}
+
+	private static CacheEntry entry(int i) {
+		Serializable[] state = new Serializable[] {
+				"name " + i,
+				(long) i,
+				i % 2 == 0,
+				new BigDecimal( i ).movePointLeft( 2 ),
+				new Date( 1000L * i ),
+				new Timestamp( 1000L * i ),
+				null,
+				new Object[] { i, "component " + i },
+				new byte[] { (byte) i }
+		};
+		return new StandardCacheEntryImpl( state, "org.hibernate.test.Entity", false, i );
+	}
+}
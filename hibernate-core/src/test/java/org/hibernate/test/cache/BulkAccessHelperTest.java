@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.cache.spi.access.BulkAccessHelper;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@link BulkAccessHelper} uses the native bulk operations of a {@link BulkRegionAccessStrategy} and
+ * falls back to the single-key operations of any other strategy.
+ */
+public class BulkAccessHelperTest extends BaseUnitTestCase {
+	@Test
+	public void testGetAllLoopsOverSingleKeyStrategy() {
+		final Map<String,Integer> calls = new HashMap<String,Integer>();
+		final RegionAccessStrategy strategy = strategy( RegionAccessStrategy.class, calls );
+
+		final Map<Object,Object> cached = BulkAccessHelper.getAll( strategy, Arrays.asList( "a", "b", "c" ), 0 );
+		assertEquals( Collections.<Object,Object>singletonMap( "a", "A" ), cached );
+		assertEquals( Integer.valueOf( 3 ), calls.get( "get" ) );
+		assertEquals( Collections.singleton( "a" ), BulkAccessHelper.putAllFromLoad(
+				strategy,
+				Collections.singletonMap( "a", "A" ),
+				null,
+				0,
+				false
+		) );
+		assertEquals( Integer.valueOf( 1 ), calls.get( "putFromLoad" ) );
+	}
+
+	@Test
+	public void testGetAllUsesBulkStrategy() {
+		final Map<String,Integer> calls = new HashMap<String,Integer>();
+		final RegionAccessStrategy strategy = strategy( BulkRegionAccessStrategy.class, calls );
+
+		final Map<Object,Object> cached = BulkAccessHelper.getAll( strategy, Arrays.asList( "a", "b", "c" ), 0 );
+		assertEquals( Collections.<Object,Object>singletonMap( "a", "A" ), cached );
+		assertEquals( Integer.valueOf( 1 ), calls.get( "getAll" ) );
+		assertTrue( !calls.containsKey( "get" ) );
+	}
+
+	/**
+	 * Builds a strategy caching just "a" -> "A", counting the calls made to each of its methods.
+	 */
+	private static RegionAccessStrategy strategy(Class<? extends RegionAccessStrategy> contract, final Map<String,Integer> calls) {
+		return (RegionAccessStrategy) Proxy.newProxyInstance(
+				BulkAccessHelperTest.class.getClassLoader(),
+				new Class[] { contract },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						final Integer count = calls.get( method.getName() );
+						calls.put( method.getName(), count == null ? 1 : count + 1 );
+						if ( "get".equals( method.getName() ) ) {
+							return "a".equals( args[0] ) ? "A" : null;
+						}
+						else if ( "getAll".equals( method.getName() ) ) {
+							return Collections.<Object,Object>singletonMap( "a", "A" );
+						}
+						else if ( "putFromLoad".equals( method.getName() ) ) {
+							return Boolean.TRUE;
+						}
+						throw new UnsupportedOperationException( method.getName() );
+					}
+				}
+		);
+	}
+}
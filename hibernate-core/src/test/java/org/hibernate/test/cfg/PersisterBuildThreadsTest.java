@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.junit.Test;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests a SessionFactory whose persisters were built with {@link AvailableSettings#PERSISTER_BUILD_THREADS} in
+ * effect, along with the loaders the entity persisters only create once needed.
+ */
+public class PersisterBuildThreadsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.PERSISTER_BUILD_THREADS, "4" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Shelf.class, Volume.class };
+	}
+
+	@Test
+	public void testPersistersAreBuilt() {
+		for ( Class<?> entityClass : getAnnotatedClasses() ) {
+			assertNotNull( sessionFactory().getEntityPersister( entityClass.getName() ) );
+		}
+		assertNotNull( sessionFactory().getCollectionPersister( Shelf.class.getName() + ".volumes" ) );
+	}
+
+	@Test
+	public void testLoadLockMergeAndRefresh() {
+		Session s = openSession();
+		s.beginTransaction();
+		Shelf shelf = new Shelf( "fiction" );
+		shelf.addVolume( new Volume( "first" ) );
+		shelf.addVolume( new Volume( "second" ) );
+		s.persist( shelf );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Shelf loaded = (Shelf) s.get( Shelf.class, shelf.id, LockOptions.UPGRADE );
+		assertEquals( 2, loaded.volumes.size() );
+		s.buildLockRequest( new LockOptions( LockMode.PESSIMISTIC_WRITE ) ).lock( loaded );
+		s.getTransaction().commit();
+		s.close();
+
+		shelf.name = "poetry";
+		s = openSession();
+		s.beginTransaction();
+		Shelf merged = (Shelf) s.merge( shelf );
+		assertEquals( "poetry", merged.name );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		loaded = (Shelf) s.get( Shelf.class, shelf.id );
+		loaded.name = "drama";
+		s.refresh( loaded );
+		assertEquals( "poetry", loaded.name );
+		assertEquals( 2, loaded.volumes.size() );
+		s.delete( loaded );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity
+	public static class Shelf {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String name;
+		@OneToMany(mappedBy = "shelf", cascade = CascadeType.ALL)
+		private Set<Volume> volumes = new HashSet<Volume>();
+
+		public Shelf() {
+		}
+
+		public Shelf(String name) {
+			this.name = name;
+		}
+
+		void addVolume(Volume volume) {
+			volume.shelf = this;
+			volumes.add( volume );
+		}
+	}
+
+	@Entity
+	public static class Volume {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String title;
+		@ManyToOne
+		private Shelf shelf;
+
+		public Volume() {
+		}
+
+		public Volume(String title) {
+			this.title = title;
+		}
+	}
+}
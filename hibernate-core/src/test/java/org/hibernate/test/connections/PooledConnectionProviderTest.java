@@ -0,0 +1,211 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.internal.StandardServiceRegistryImpl;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.connections.internal.PooledConnectionProviderImpl;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.stat.ConnectionPoolStatistics;
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RequiresDialect( H2Dialect.class )
+public class PooledConnectionProviderTest extends BaseUnitTestCase {
+	private PooledConnectionProviderImpl connectionProvider;
+
+	@Before
+	public void setUp() {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties();
+		props.put( Environment.POOL_SIZE, "2" );
+		props.put( Environment.POOL_MAX_WAIT, "100" );
+		props.put( Environment.POOL_VALIDATE_ON_BORROW, "true" );
+		connectionProvider = new PooledConnectionProviderImpl();
+		connectionProvider.configure( props );
+	}
+
+	@After
+	public void tearDown() {
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testReturnedConnectionIsReusedBySameThread() throws SQLException {
+		Connection first = connectionProvider.getConnection();
+		connectionProvider.closeConnection( first );
+		Connection second = connectionProvider.getConnection();
+		assertSame( first, second );
+		connectionProvider.closeConnection( second );
+
+		ConnectionPoolStatistics statistics = connectionProvider.getStatistics();
+		assertEquals( 1, statistics.getCreatedCount() );
+		assertEquals( 2, statistics.getBorrowCount() );
+		assertEquals( 1, statistics.getThreadAffinityHitCount() );
+		assertEquals( 0, statistics.getActiveCount() );
+		assertEquals( 1, statistics.getIdleCount() );
+	}
+
+	@Test
+	public void testBorrowTimesOutWhenPoolExhausted() throws SQLException {
+		Connection first = connectionProvider.getConnection();
+		Connection second = connectionProvider.getConnection();
+		assertNotSame( first, second );
+		try {
+			connectionProvider.getConnection();
+			fail( "expecting the borrow to time out" );
+		}
+		catch ( SQLException expected ) {
+		}
+
+		ConnectionPoolStatistics statistics = connectionProvider.getStatistics();
+		assertEquals( 2, statistics.getActiveCount() );
+		assertEquals( 1, statistics.getWaitCount() );
+		assertEquals( 1, statistics.getWaitTimeoutCount() );
+
+		connectionProvider.closeConnection( first );
+		Connection third = connectionProvider.getConnection();
+		assertSame( first, third );
+		connectionProvider.closeConnection( third );
+		connectionProvider.closeConnection( second );
+	}
+
+	@Test
+	public void testWaitingBorrowIsHandedReturnedConnection() throws Exception {
+		final Connection first = connectionProvider.getConnection();
+		final Connection second = connectionProvider.getConnection();
+
+		final Connection[] borrowed = new Connection[1];
+		Thread waiter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					borrowed[0] = connectionProvider.getConnection();
+				}
+				catch ( SQLException ignore ) {
+				}
+			}
+		};
+		waiter.start();
+		connectionProvider.closeConnection( first );
+		waiter.join();
+
+		assertSame( first, borrowed[0] );
+		connectionProvider.closeConnection( borrowed[0] );
+		connectionProvider.closeConnection( second );
+		assertEquals( 2, connectionProvider.getStatistics().getCreatedCount() );
+	}
+
+	@Test
+	public void testInvalidConnectionIsDiscardedOnBorrow() throws SQLException {
+		Connection first = connectionProvider.getConnection();
+		connectionProvider.closeConnection( first );
+		// closing the physical connection behind the pool's back makes it fail validation
+		first.close();
+
+		Connection second = connectionProvider.getConnection();
+		assertNotSame( first, second );
+		assertFalse( second.isClosed() );
+		connectionProvider.closeConnection( second );
+
+		ConnectionPoolStatistics statistics = connectionProvider.getStatistics();
+		assertEquals( 1, statistics.getValidationFailureCount() );
+		assertEquals( 1, statistics.getDestroyedCount() );
+	}
+
+	@Test
+	public void testStopClosesIdleConnections() throws SQLException {
+		Connection connection = connectionProvider.getConnection();
+		connectionProvider.closeConnection( connection );
+		connectionProvider.stop();
+		assertTrue( connection.isClosed() );
+		try {
+			connectionProvider.getConnection();
+			fail( "expecting a stopped pool to refuse connections" );
+		}
+		catch ( SQLException expected ) {
+		}
+	}
+
+	@Test
+	public void testMinSizeIsOpenedUpFrontAndRestoredAfterEviction() throws Exception {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties();
+		props.put( Environment.POOL_SIZE, "3" );
+		props.put( Environment.POOL_MIN_SIZE, "2" );
+		props.put( Environment.POOL_IDLE_TIMEOUT, "50" );
+		PooledConnectionProviderImpl provider = new PooledConnectionProviderImpl();
+		provider.configure( props );
+		try {
+			ConnectionPoolStatistics statistics = provider.getStatistics();
+			assertEquals( 2, statistics.getCreatedCount() );
+			assertEquals( 2, statistics.getIdleCount() );
+
+			// let both idle connections expire; the borrow discards them and returning triggers housekeeping
+			Thread.sleep( 100 );
+			Connection connection = provider.getConnection();
+			provider.closeConnection( connection );
+
+			statistics = provider.getStatistics();
+			assertEquals( 2, statistics.getIdleEvictionCount() );
+			assertEquals( 0, statistics.getActiveCount() );
+			assertEquals( 2, statistics.getIdleCount() );
+		}
+		finally {
+			provider.stop();
+		}
+	}
+
+	@Test
+	public void testSelectionByShortName() {
+		Properties props = ConnectionProviderBuilder.getConnectionProviderProperties();
+		props.put( Environment.CONNECTION_PROVIDER, PooledConnectionProviderImpl.SHORT_NAME );
+		StandardServiceRegistryImpl serviceRegistry = (StandardServiceRegistryImpl) new StandardServiceRegistryBuilder()
+				.applySettings( props )
+				.build();
+		try {
+			ConnectionProvider provider = serviceRegistry.getService( ConnectionProvider.class );
+			assertTrue( provider.isUnwrappableAs( PooledConnectionProviderImpl.class ) );
+		}
+		finally {
+			serviceRegistry.destroy();
+		}
+	}
+}
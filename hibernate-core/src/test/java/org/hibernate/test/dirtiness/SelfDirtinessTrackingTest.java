@@ -0,0 +1,169 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.dirtiness;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.OldStateAwareEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests dirty checking of entities which track their own changes, instead of being compared against a snapshot.
+ */
+public class SelfDirtinessTrackingTest extends BaseCoreFunctionalTestCase {
+	private final UpdateCountingListener updateCountingListener = new UpdateCountingListener();
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { TrackedThing.class };
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		// an update listener not reading the old state leaves the entities tracking their own changes
+		sessionFactory().getServiceRegistry()
+				.getService( EventListenerRegistry.class )
+				.appendListeners( EventType.POST_UPDATE, updateCountingListener );
+	}
+
+	@Test
+	public void testTrackedChangesAreFlushed() {
+		Session session = openSession();
+		session.beginTransaction();
+		Long id = (Long) session.save( new TrackedThing( "thing 1", 1 ) );
+		session.getTransaction().commit();
+		session.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		updateCountingListener.updates.set( 0 );
+
+		session = openSession();
+		session.beginTransaction();
+		TrackedThing thing = (TrackedThing) session.get( TrackedThing.class, id );
+		EntityEntry entry = ( (SessionImplementor) session ).getPersistenceContext().getEntry( thing );
+		assertTrue( entry.isSelfDirtinessTracked() );
+		assertNull( entry.getLoadedState() );
+
+		session.flush();
+		assertEquals( 0, statistics.getEntityUpdateCount() );
+
+		thing.setName( "thing 2" );
+		session.flush();
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+		assertEquals( 1, updateCountingListener.updates.get() );
+		assertEquals( Integer.valueOf( 1 ), thing.getVersion() );
+		assertFalse( thing.$$_hibernate_hasDirtyAttributes() );
+		assertNull( entry.getLoadedState() );
+
+		session.flush();
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		thing = (TrackedThing) session.get( TrackedThing.class, id );
+		assertEquals( "thing 2", thing.getName() );
+		assertEquals( 1, thing.getQuantity() );
+		session.delete( thing );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testMergeTracksCopiedValues() {
+		Session session = openSession();
+		session.beginTransaction();
+		Long id = (Long) session.save( new TrackedThing( "thing 1", 1 ) );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		TrackedThing detached = (TrackedThing) session.get( TrackedThing.class, id );
+		session.getTransaction().commit();
+		session.close();
+
+		detached.setQuantity( 5 );
+
+		session = openSession();
+		session.beginTransaction();
+		session.merge( detached );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		TrackedThing thing = (TrackedThing) session.get( TrackedThing.class, id );
+		assertEquals( 5, thing.getQuantity() );
+		assertEquals( "thing 1", thing.getName() );
+		session.delete( thing );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	private static class UpdateCountingListener implements PostUpdateEventListener, OldStateAwareEventListener {
+		private final AtomicInteger updates = new AtomicInteger();
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			updates.incrementAndGet();
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			return false;
+		}
+
+		@Override
+		public boolean requiresOldState(EntityPersister persister) {
+			return false;
+		}
+	}
+}
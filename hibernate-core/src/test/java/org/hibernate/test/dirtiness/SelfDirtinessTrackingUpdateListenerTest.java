@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.dirtiness;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests that entities which track their own changes keep their loaded state when update listeners need it.
+ */
+public class SelfDirtinessTrackingUpdateListenerTest extends BaseCoreFunctionalTestCase {
+	private final OldNameRecordingListener listener = new OldNameRecordingListener();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { TrackedThing.class };
+	}
+
+	@Override
+	protected void afterSessionFactoryBuilt() {
+		final EventListenerRegistry listenerRegistry = sessionFactory().getServiceRegistry()
+				.getService( EventListenerRegistry.class );
+		listenerRegistry.appendListeners( EventType.PRE_UPDATE, listener );
+		listenerRegistry.appendListeners( EventType.POST_UPDATE, listener );
+	}
+
+	@Test
+	public void testUpdateListenersSeeOldState() {
+		Session session = openSession();
+		session.beginTransaction();
+		Long id = (Long) session.save( new TrackedThing( "thing 1", 1 ) );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.beginTransaction();
+		TrackedThing thing = (TrackedThing) session.get( TrackedThing.class, id );
+		EntityEntry entry = ( (SessionImplementor) session ).getPersistenceContext().getEntry( thing );
+		assertFalse( entry.isSelfDirtinessTracked() );
+		assertNotNull( entry.getLoadedState() );
+
+		thing.setName( "thing 2" );
+		session.flush();
+		assertEquals( "thing 1", listener.preUpdateOldName );
+		assertEquals( "thing 1", listener.postUpdateOldName );
+
+		thing.setName( "thing 3" );
+		session.flush();
+		assertEquals( "thing 2", listener.preUpdateOldName );
+		assertEquals( "thing 2", listener.postUpdateOldName );
+
+		session.delete( thing );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	private static class OldNameRecordingListener implements PreUpdateEventListener, PostUpdateEventListener {
+		private String preUpdateOldName;
+		private String postUpdateOldName;
+
+		@Override
+		public boolean onPreUpdate(PreUpdateEvent event) {
+			preUpdateOldName = oldName( event.getPersister(), event.getOldState() );
+			return false;
+		}
+
+		@Override
+		public void onPostUpdate(PostUpdateEvent event) {
+			postUpdateOldName = oldName( event.getPersister(), event.getOldState() );
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			return false;
+		}
+
+		private String oldName(EntityPersister persister, Object[] oldState) {
+			return (String) oldState[ persister.getEntityMetamodel().getPropertyIndex( "name" ) ];
+		}
+	}
+}
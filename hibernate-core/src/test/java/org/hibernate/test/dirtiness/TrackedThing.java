@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.dirtiness;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.internal.util.compare.EqualsHelper;
+
+/**
+ * Hand-written equivalent of an entity enhanced for in-line dirty checking.
+ */
+@Entity
+public class TrackedThing implements SelfDirtinessTracker {
+	private static final String[] ATTRIBUTE_NAMES = { "id", "version", "name", "quantity" };
+
+	@Id
+	@GeneratedValue( generator = "increment" )
+	@GenericGenerator( strategy = "increment", name = "increment" )
+	private Long id;
+
+	@Version
+	private Integer version;
+
+	private String name;
+	private int quantity;
+
+	@Transient
+	private long dirtyAttributes;
+
+	public TrackedThing() {
+	}
+
+	public TrackedThing(String name, int quantity) {
+		this.name = name;
+		this.quantity = quantity;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		if ( !EqualsHelper.equals( this.name, name ) ) {
+			dirtyAttributes |= 1L << 2;
+		}
+		this.name = name;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		if ( this.quantity != quantity ) {
+			dirtyAttributes |= 1L << 3;
+		}
+		this.quantity = quantity;
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return dirtyAttributes != 0L;
+	}
+
+	@Override
+	public String[] $$_hibernate_getDirtyAttributes() {
+		final String[] dirty = new String[ Long.bitCount( dirtyAttributes ) ];
+		int j = 0;
+		for ( int i = 0; i < ATTRIBUTE_NAMES.length; i++ ) {
+			if ( ( dirtyAttributes & ( 1L << i ) ) != 0L ) {
+				dirty[j++] = ATTRIBUTE_NAMES[i];
+			}
+		}
+		return dirty;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		dirtyAttributes = 0L;
+	}
+
+	@Override
+	public void $$_hibernate_trackChange(String attributeName) {
+		for ( int i = 0; i < ATTRIBUTE_NAMES.length; i++ ) {
+			if ( ATTRIBUTE_NAMES[i].equals( attributeName ) ) {
+				dirtyAttributes |= 1L << i;
+			}
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.type.Type;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests flushing with {@link AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD} in effect.
+ */
+public class ParallelDirtyCheckTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 500;
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, "10" );
+		cfg.setProperty( AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THREADS, "4" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Counter.class };
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnlyModifiedEntitiesAreUpdated() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			s.persist( new Counter( "counter " + i, i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<Counter> counters = s.createQuery( "from Counter" ).list();
+		for ( Counter counter : counters ) {
+			if ( counter.value % 3 == 0 ) {
+				counter.value += COUNT;
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( ( COUNT + 2 ) / 3, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				Long.valueOf( ( COUNT + 2 ) / 3 ),
+				s.createQuery( "select count(*) from Counter where value >= " + COUNT ).uniqueResult()
+		);
+		s.createQuery( "delete from Counter" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testChangesMadeByInterceptorToLaterEntitiesAreFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			s.persist( new Counter( "counter " + i, i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final TouchingInterceptor interceptor = new TouchingInterceptor();
+		s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		List<Counter> counters = s.createQuery( "from Counter order by id" ).list();
+		// only the first counter is modified; flushing it modifies the last one
+		counters.get( 0 ).value += COUNT;
+		interceptor.toTouch = counters.get( COUNT - 1 );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				Long.valueOf( 1 ),
+				s.createQuery( "select count(*) from Counter where name = 'touched'" ).uniqueResult()
+		);
+		s.createQuery( "delete from Counter" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class TouchingInterceptor extends EmptyInterceptor {
+		private Counter toTouch;
+
+		@Override
+		public boolean onFlushDirty(
+				Object entity,
+				Serializable id,
+				Object[] currentState,
+				Object[] previousState,
+				String[] propertyNames,
+				Type[] types) {
+			if ( entity != toTouch ) {
+				toTouch.name = "touched";
+			}
+			return false;
+		}
+	}
+
+	@Entity(name = "Counter")
+	public static class Counter {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String name;
+		private int value;
+
+		public Counter() {
+		}
+
+		public Counter(String name, int value) {
+			this.name = name;
+			this.value = value;
+		}
+	}
+}
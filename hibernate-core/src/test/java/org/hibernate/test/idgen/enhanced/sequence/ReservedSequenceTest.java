@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.idgen.enhanced.sequence;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.hibernate.testing.junit4.ExtraAssertions.assertClassAssignability;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests reserving several sequence values per database access through the {@code fetch_size} parameter.
+ */
+public class ReservedSequenceTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "idgen/enhanced/sequence/Reserved.hbm.xml" };
+	}
+
+	@Test
+	public void testReservedValuesAreHandedOutInOrder() {
+		final DatabaseStructure structure = saveAndDelete( Entity.class.getName() );
+		if ( structure instanceof SequenceStructure && !getDialect().supportsSequenceNextValues() ) {
+			// the sequence is read once per reserved value
+			assertEquals( 10, structure.getTimesAccessed() );
+		}
+		else {
+			// one access for values 1-5, another for 6-10; a table reserves a whole block per access as well
+			assertEquals( 2, structure.getTimesAccessed() );
+		}
+	}
+
+	@Test
+	public void testReservedTableValuesAreHandedOutInOrder() {
+		final DatabaseStructure structure = saveAndDelete( "TableEntity" );
+		assertClassAssignability( TableStructure.class, structure.getClass() );
+		// the table is advanced past a whole block per access: one access for values 1-5, another for 6-10
+		assertEquals( 2, structure.getTimesAccessed() );
+	}
+
+	private DatabaseStructure saveAndDelete(String entityName) {
+		EntityPersister persister = sessionFactory().getEntityPersister( entityName );
+		assertClassAssignability( SequenceStyleGenerator.class, persister.getIdentifierGenerator().getClass() );
+		SequenceStyleGenerator generator = ( SequenceStyleGenerator ) persister.getIdentifierGenerator();
+
+		int count = 7;
+		Entity[] entities = new Entity[count];
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			entities[i] = new Entity( "" + ( i + 1 ) );
+			s.save( entityName, entities[i] );
+			assertEquals( i + 1, entities[i].getId().longValue() );
+		}
+		s.getTransaction().commit();
+
+		s.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			s.delete( entityName, entities[i] );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		return generator.getDatabaseStructure();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.sql.PreparedStatement;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+/**
+ * Tests reuse of prepared statements through the per-connection statement cache.
+ */
+public class PreparedStatementCacheTest extends BaseCoreFunctionalTestCase {
+	private static final String SELECT_ID = "select ID from T_JDBC_PERSON where ID = ?";
+	private static final String SELECT_FIRST_NAME = "select firstName from T_JDBC_PERSON where ID = ?";
+	private static final String SELECT_LAST_NAME = "select lastName from T_JDBC_PERSON where ID = ?";
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "jdbc/Mappings.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.STATEMENT_CACHE_SIZE, "2" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testReleasedStatementIsReused() throws Exception {
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session session = openSession();
+		JdbcCoordinator jdbcCoord = ( (SessionImplementor) session ).getTransactionCoordinator().getJdbcCoordinator();
+		try {
+			PreparedStatement first = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID );
+			first.setLong( 1, 1 );
+			jdbcCoord.getResultSetReturn().extract( first );
+			jdbcCoord.release( first );
+
+			PreparedStatement second = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID );
+			assertSame( first, second );
+
+			// a statement still in use is never handed out twice
+			PreparedStatement third = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID );
+			assertNotSame( second, third );
+			jdbcCoord.release( second );
+			jdbcCoord.release( third );
+		}
+		finally {
+			session.close();
+		}
+
+		assertEquals( 1, statistics.getPreparedStatementCacheHitCount() );
+		assertEquals( 2, statistics.getPreparedStatementCacheMissCount() );
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+
+		// the cache is bound to the physical connection, so a new session starts empty
+		session = openSession();
+		jdbcCoord = ( (SessionImplementor) session ).getTransactionCoordinator().getJdbcCoordinator();
+		try {
+			PreparedStatement statement = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID );
+			jdbcCoord.release( statement );
+		}
+		finally {
+			session.close();
+		}
+		assertEquals( 1, statistics.getPreparedStatementCacheHitCount() );
+		assertEquals( 3, statistics.getPreparedStatementCacheMissCount() );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStatementIsEvicted() throws Exception {
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session session = openSession();
+		JdbcCoordinator jdbcCoord = ( (SessionImplementor) session ).getTransactionCoordinator().getJdbcCoordinator();
+		try {
+			PreparedStatement byId = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID );
+			jdbcCoord.release( byId );
+			PreparedStatement byFirstName = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_FIRST_NAME );
+			jdbcCoord.release( byFirstName );
+			PreparedStatement byLastName = jdbcCoord.getStatementPreparer().prepareStatement( SELECT_LAST_NAME );
+			jdbcCoord.release( byLastName );
+
+			assertSame( byLastName, jdbcCoord.getStatementPreparer().prepareStatement( SELECT_LAST_NAME ) );
+			assertSame( byFirstName, jdbcCoord.getStatementPreparer().prepareStatement( SELECT_FIRST_NAME ) );
+			assertNotSame( byId, jdbcCoord.getStatementPreparer().prepareStatement( SELECT_ID ) );
+		}
+		finally {
+			session.close();
+		}
+
+		assertEquals( 2, statistics.getPreparedStatementCacheHitCount() );
+		assertEquals( 4, statistics.getPreparedStatementCacheMissCount() );
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.loader;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests hydrating entities with columns read by their result set position, rather than by alias.
+ */
+public class ColumnPositionsTest extends BaseCoreFunctionalTestCase {
+	/**
+	 * The labels of the columns read by label (rather than by position) since last cleared.
+	 */
+	private static final List<String> LABEL_READS = new ArrayList<String>();
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CONNECTION_PROVIDER, ResultSetSpyingConnectionProvider.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Document.class, Report.class };
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPolymorphicQuery() {
+		final Date created = new Date( 1000000000000L );
+		Session s = openSession();
+		s.beginTransaction();
+		final Document manual = new Document( 1L, "Manual", 120, 3, true, created, Document.Status.PUBLISHED );
+		s.persist( manual );
+		s.persist( new Report( 2L, "Review", "Short", 4.5d, manual ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// executed twice, so the second execution reuses the positions resolved by the first
+		for ( int i = 0; i < 2; i++ ) {
+			s = openSession();
+			s.beginTransaction();
+			LABEL_READS.clear();
+			final List<Document> documents = s.createQuery( "from Document d order by d.id" ).list();
+			assertEquals( 2, documents.size() );
+			// only the enum (a custom type) and the association are still read by label
+			for ( String label : LABEL_READS ) {
+				assertTrue( label, label.startsWith( "status" ) || label.startsWith( "source" ) );
+			}
+
+			final Document document = documents.get( 0 );
+			assertFalse( document instanceof Report );
+			assertEquals( "Manual", document.getTitle() );
+			assertEquals( 120, document.getPageCount() );
+			assertEquals( Integer.valueOf( 3 ), document.getRevision() );
+			assertTrue( document.isArchived() );
+			assertEquals( created.getTime(), document.getCreated().getTime() );
+			assertEquals( Document.Status.PUBLISHED, document.getStatus() );
+
+			final Report report = (Report) documents.get( 1 );
+			assertEquals( "Review", report.getTitle() );
+			assertNull( report.getRevision() );
+			assertEquals( "Short", report.getSummary() );
+			assertEquals( 4.5d, report.getScore(), 0d );
+			assertSame( document, report.getSource() );
+			s.getTransaction().commit();
+			s.close();
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		final List<Document> page = s.createQuery( "from Document d order by d.id" )
+				.setFirstResult( 1 )
+				.setMaxResults( 1 )
+				.list();
+		assertEquals( 1, page.size() );
+		assertEquals( "Short", ( (Report) page.get( 0 ) ).getSummary() );
+
+		final Report report = (Report) s.get( Report.class, 2L );
+		assertEquals( "Manual", report.getSource().getTitle() );
+
+		s.createQuery( "delete from Report" ).executeUpdate();
+		s.createQuery( "delete from Document" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Records the result set reads made by column label.
+	 */
+	public static class ResultSetSpyingConnectionProvider extends DriverManagerConnectionProviderImpl {
+		@Override
+		public Connection getConnection() throws SQLException {
+			return spy( super.getConnection(), Connection.class );
+		}
+
+		@Override
+		public void closeConnection(Connection conn) throws SQLException {
+			super.closeConnection( (Connection) ( (Spy) Proxy.getInvocationHandler( conn ) ).target );
+		}
+
+		private static <T> T spy(T target, Class<T> type) {
+			return type.cast(
+					Proxy.newProxyInstance( type.getClassLoader(), new Class[] { type }, new Spy( target ) )
+			);
+		}
+
+		private static class Spy implements InvocationHandler {
+			private final Object target;
+
+			private Spy(Object target) {
+				this.target = target;
+			}
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ( target instanceof ResultSet
+						&& args != null
+						&& args.length > 0
+						&& args[0] instanceof String
+						&& ( method.getName().startsWith( "get" ) || method.getName().equals( "findColumn" ) ) ) {
+					LABEL_READS.add( ( (String) args[0] ).toLowerCase( Locale.ENGLISH ) );
+				}
+
+				final Object result;
+				try {
+					result = method.invoke( target, args );
+				}
+				catch ( InvocationTargetException e ) {
+					throw e.getCause();
+				}
+
+				if ( result instanceof ResultSet ) {
+					return spy( (ResultSet) result, ResultSet.class );
+				}
+				if ( result instanceof PreparedStatement ) {
+					return spy( (PreparedStatement) result, PreparedStatement.class );
+				}
+				if ( result instanceof Statement && !( result instanceof PreparedStatement ) ) {
+					return spy( (Statement) result, Statement.class );
+				}
+				return result;
+			}
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.loader;
+
+import java.util.Date;
+import javax.persistence.DiscriminatorColumn;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+@Entity
+@DiscriminatorColumn(name = "DOC_TYPE")
+public class Document {
+	public enum Status { DRAFT, PUBLISHED }
+
+	@Id
+	private Long id;
+	private String title;
+	private int pageCount;
+	private Integer revision;
+	private boolean archived;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date created;
+	@Enumerated(EnumType.STRING)
+	private Status status;
+
+	public Document() {
+	}
+
+	public Document(Long id, String title, int pageCount, Integer revision, boolean archived, Date created, Status status) {
+		this.id = id;
+		this.title = title;
+		this.pageCount = pageCount;
+		this.revision = revision;
+		this.archived = archived;
+		this.created = created;
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getPageCount() {
+		return pageCount;
+	}
+
+	public Integer getRevision() {
+		return revision;
+	}
+
+	public boolean isArchived() {
+		return archived;
+	}
+
+	public Date getCreated() {
+		return created;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+}
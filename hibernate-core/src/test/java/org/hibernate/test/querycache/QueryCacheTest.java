@@ -128,6 +128,44 @@ public class QueryCacheTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	@Test
+	public void testCachedEntityResultsAssembledFromSecondLevelCache() {
+		sessionFactory().evictQueries();
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			Item a = new Item();
+			a.setName( "a" + i );
+			a.setDescription( "a" + i );
+			s.persist( a );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 5, s.createQuery( "from Item" ).setCacheable( true ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		List result = s.createQuery( "from Item" ).setCacheable( true ).list();
+		assertEquals( 5, result.size() );
+		for ( Object item : result ) {
+			assertTrue( Hibernate.isInitialized( item ) );
+		}
+		// every entity is assembled from its prefetched second-level cache entry
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertEquals( 5, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCacheMissCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+		s.createQuery( "delete from Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
 	@Test
 	@TestForIssue( jiraKey = "JBPAPP-4224" )
 	public void testHitCacheInSameSession() {
@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.LatencyAwareStatistics;
+import org.hibernate.stat.LatencyStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the bound on the number of query statistics and the latency statistics.
+ */
+public class BoundedStatisticsTest extends BaseCoreFunctionalTestCase {
+	public String[] getMappings() {
+		return new String[] { "stats/Continent.hbm.xml" };
+	}
+
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.QUERY_STATISTICS_MAX_SIZE, "4" );
+	}
+
+	@Test
+	public void testQueryStatisticsKeepMostFrequentQueries() {
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		final String continents = "from Continent";
+		for ( int i = 0; i < 10; i++ ) {
+			s.createQuery( continents ).list();
+		}
+		for ( int i = 0; i < 20; i++ ) {
+			s.createQuery( "from Continent where id = " + i ).list();
+		}
+		s.close();
+
+		List<String> queries = Arrays.asList( stats.getQueries() );
+		assertTrue( "query statistics not bounded: " + queries, queries.size() <= 4 );
+		assertTrue( "most frequent query evicted: " + queries, queries.contains( continents ) );
+		assertEquals( 10, stats.getQueryStatistics( continents ).getExecutionCount() );
+		assertEquals( 30, stats.getQueryExecutionCount() );
+		assertEquals( 30, ( (LatencyAwareStatistics) stats ).getQueryExecutionLatency().getCount() );
+	}
+
+	@Test
+	public void testQueryStatisticsEvictionBySampling() throws Exception {
+		final ConcurrentStatisticsImpl stats = new ConcurrentStatisticsImpl( sessionFactoryWithQueryStatisticsMaxSize( 64 ) );
+		final String hotQuery = "from Continent";
+		for ( int i = 0; i < 1000; i++ ) {
+			stats.queryExecuted( hotQuery, 1, 1 );
+		}
+
+		Thread[] threads = new Thread[4];
+		for ( int t = 0; t < threads.length; t++ ) {
+			final int thread = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for ( int i = 0; i < 500; i++ ) {
+						stats.queryExecuted( "from Continent where id = " + thread + "_" + i, 1, 1 );
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		List<String> queries = Arrays.asList( stats.getQueries() );
+		assertTrue( "query statistics not bounded: " + queries.size(), queries.size() <= 64 );
+		assertTrue( "most frequent query evicted", queries.contains( hotQuery ) );
+		assertEquals( 1000, stats.getQueryStatistics( hotQuery ).getExecutionCount() );
+		assertEquals( 3000, stats.getQueryExecutionCount() );
+	}
+
+	@Test
+	public void testEntityLoadAndFlushLatency() {
+		LatencyAwareStatistics stats = (LatencyAwareStatistics) sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Continent europe = new Continent();
+		europe.setName( "Europe" );
+		s.persist( europe );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, stats.getFlushLatency().getCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.get( Continent.class, europe.getId() );
+		assertEquals( 1, stats.getEntityLoadLatency().getCount() );
+		s.delete( s.get( Continent.class, europe.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, stats.getEntityLoadLatency().getCount() );
+		assertEquals( 2, stats.getFlushLatency().getCount() );
+
+		LatencyStatistics flushLatency = stats.getFlushLatency();
+		assertTrue( flushLatency.getMedianTime() <= flushLatency.get99thPercentileTime() );
+		assertTrue( flushLatency.get99thPercentileTime() <= flushLatency.getMaxTime() );
+	}
+
+	@Test
+	public void testLatencyPercentiles() {
+		ConcurrentStatisticsImpl stats = new ConcurrentStatisticsImpl();
+		for ( long time = 1; time <= 10000; time++ ) {
+			stats.flushTime( time );
+		}
+		LatencyStatistics latency = stats.getFlushLatency();
+		assertEquals( 10000, latency.getCount() );
+		assertEquals( 10000, latency.getMaxTime() );
+		assertEquals( 10000, latency.getPercentileTime( 100 ) );
+		assertWithinPrecision( 5000, latency.getMedianTime() );
+		assertWithinPrecision( 9900, latency.get99thPercentileTime() );
+		assertWithinPrecision( 1000, latency.getPercentileTime( 10 ) );
+		assertEquals( 1, latency.getPercentileTime( 0 ) );
+
+		stats.clear();
+		assertEquals( 0, latency.getCount() );
+		assertEquals( 0, latency.getMedianTime() );
+		assertEquals( 0, latency.getMaxTime() );
+	}
+
+	private static SessionFactoryImplementor sessionFactoryWithQueryStatisticsMaxSize(int maxSize) {
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.QUERY_STATISTICS_MAX_SIZE, Integer.toString( maxSize ) );
+		return (SessionFactoryImplementor) Proxy.newProxyInstance(
+				SessionFactoryImplementor.class.getClassLoader(),
+				new Class[] { SessionFactoryImplementor.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						if ( "getProperties".equals( method.getName() ) ) {
+							return properties;
+						}
+						throw new UnsupportedOperationException( method.getName() );
+					}
+				}
+		);
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue( "expected about " + expected + " but was " + actual, actual >= expected && actual <= expected * 33 / 32 );
+	}
+}
@@ -23,10 +23,17 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkAccessHelper;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +44,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy {
+public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 	private final CollectionRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -79,6 +86,29 @@ public class NonstopAwareCollectionRegionAccessStrategy implements CollectionReg
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			return BulkAccessHelper.getAll( actualStrategy, keys, txTimestamp );
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptyMap();
+		}
+	}
+
+	@Override
+	public Set<Object> putAllFromLoad(Map<?, ?> values, Map<?, ?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		try {
+			return BulkAccessHelper.putAllFromLoad( actualStrategy, values, versions, txTimestamp, minimalPutOverride );
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptySet();
+		}
+	}
+
 	@Override
 	public Object get(Object key, long txTimestamp) throws CacheException {
 		try {
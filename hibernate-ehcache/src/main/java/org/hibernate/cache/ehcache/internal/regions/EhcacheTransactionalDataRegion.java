@@ -23,6 +23,9 @@
  */
 package org.hibernate.cache.ehcache.internal.regions;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import net.sf.ehcache.Ehcache;
@@ -51,6 +54,12 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements TransactionalDataRegion {
+	/**
+	 * Whether the read/write access strategies of the region update its entries with compare-and-swap operations
+	 * instead of holding the region's key locks.  Default is false.
+	 */
+	public static final String READ_WRITE_CAS_PROPERTY = "net.sf.ehcache.hibernate.read_write_cas";
+
 	private static final int LOCAL_LOCK_PROVIDER_CONCURRENCY = 128;
 
 	private final Settings settings;
@@ -62,6 +71,8 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 
 	private final CacheLockProvider lockProvider;
 
+	private final boolean readWriteCasEnabled;
+
 	/**
 	 * Construct an transactional Hibernate cache region around the given Ehcache instance.
 	 */
@@ -79,6 +90,7 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		else {
 			this.lockProvider = new StripedReadWriteLockSync( LOCAL_LOCK_PROVIDER_CONCURRENCY );
 		}
+		this.readWriteCasEnabled = Boolean.valueOf( properties.getProperty( READ_WRITE_CAS_PROPERTY, "false" ) );
 	}
 
 	/**
@@ -90,6 +102,16 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		return settings;
 	}
 
+	/**
+	 * Whether the read/write access strategies of the region should use compare-and-swap operations rather than
+	 * locks.  See {@link #READ_WRITE_CAS_PROPERTY}.
+	 *
+	 * @return true/false
+	 */
+	public boolean isReadWriteCasEnabled() {
+		return readWriteCasEnabled;
+	}
+
 	@Override
 	public boolean isTransactionAware() {
 		return false;
@@ -129,6 +151,37 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Get the values mapped to several keys.  Should the cache become unreachable part way (a nonstop cache timing
+	 * out, for example) the remaining keys are reported as unmapped, rather than each of them waiting on the cache in
+	 * turn.
+	 *
+	 * @param keys The cache keys
+	 *
+	 * @return The cached data, keyed by cache key; keys with no mapping are absent
+	 */
+	public final Map<Object, Object> getAll(Collection<?> keys) {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		try {
+			for ( Object key : keys ) {
+				final Element element = getCache().get( key );
+				if ( element != null && element.getObjectValue() != null ) {
+					values.put( key, element.getObjectValue() );
+				}
+			}
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Map the given value to the given key, replacing any existing mapping for this key
 	 *
@@ -159,6 +212,68 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Map the given value to the given key, unless a value is already mapped to it.
+	 * <p/>
+	 * Unlike the other methods of the region, a nonstop cache timing out is not handled here but propagated, since
+	 * callers retrying until their update succeeds would otherwise never stop.
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @return true if the value was mapped
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final boolean putIfAbsent(Object key, Object value) throws CacheException {
+		try {
+			return getCache().putIfAbsent( new Element( key, value ) ) == null;
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (NonStopCacheException e) {
+			throw e;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			throw new CacheException( e );
+		}
+	}
+
+	/**
+	 * Map the given value to the given key, provided the key is still mapped to a value equal to the expected one.
+	 * <p/>
+	 * As for {@link #putIfAbsent}, a nonstop cache timing out is propagated.
+	 *
+	 * @param key The cache key
+	 * @param expected The data expected to be cached
+	 * @param value The data to cache instead
+	 *
+	 * @return true if the value was mapped
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final boolean replace(Object key, Object expected, Object value) throws CacheException {
+		try {
+			return getCache().replace( new Element( key, expected ), new Element( key, value ) );
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (NonStopCacheException e) {
+			throw e;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			throw new CacheException( e );
+		}
+	}
+
 	/**
 	 * Remove the mapping for this key (if any exists).
 	 *
@@ -0,0 +1,428 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.EhCacheMessageLogger;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Superclass for the Ehcache specific read/write AccessStrategy implementations which take no key locks.
+ * <p/>
+ * Every cached value is an immutable state, either an item or a soft lock, stamped with an identifier unique to the
+ * write that created it.  Writes read the current state and swap it for the next one with
+ * {@link EhcacheTransactionalDataRegion#replace} or {@link EhcacheTransactionalDataRegion#putIfAbsent}, retrying
+ * should another write have come first; since states are compared by stamp, the swap succeeds only if the state is
+ * unchanged since it was read.  Reads just read the current state.
+ *
+ * @param <T> the type of the enclosed cache region
+ *
+ * @see EhcacheTransactionalDataRegion#READ_WRITE_CAS_PROPERTY
+ */
+abstract class AbstractCasReadWriteEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion>
+		extends AbstractEhcacheAccessStrategy<T> {
+
+	private static final EhCacheMessageLogger LOG = Logger.getMessageLogger(
+			EhCacheMessageLogger.class,
+			AbstractCasReadWriteEhcacheAccessStrategy.class.getName()
+	);
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextLockId = new AtomicLong();
+	private final AtomicLong nextStamp = new AtomicLong();
+
+	private final Comparator versionComparator;
+
+	/**
+	 * Creates a read/write cache access strategy around the given cache region.
+	 */
+	public AbstractCasReadWriteEhcacheAccessStrategy(T region, Settings settings) {
+		super( region, settings );
+		this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+	}
+
+	/**
+	 * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+	 * after the start of this transaction.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public final Object get(Object key, long txTimestamp) throws CacheException {
+		final State state = (State) region().get( key );
+		return state != null && state.isReadable( txTimestamp ) ? state.getValue() : null;
+	}
+
+	/**
+	 * Returns only the readable items, as {@link #get} does.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	@Override
+	public final Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		for ( Map.Entry<Object, Object> entry : region().getAll( keys ).entrySet() ) {
+			final State state = (State) entry.getValue();
+			if ( state.isReadable( txTimestamp ) ) {
+				values.put( entry.getKey(), state.getValue() );
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+	 * key.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 */
+	@Override
+	public final boolean putFromLoad(
+			Object key,
+			Object value,
+			long txTimestamp,
+			Object version,
+			boolean minimalPutOverride)
+			throws CacheException {
+		while ( true ) {
+			final State state = (State) region().get( key );
+			if ( state != null && !state.isWriteable( txTimestamp, version, versionComparator ) ) {
+				return false;
+			}
+			if ( swap( key, state, newItem( value, version ) ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Soft-lock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 */
+	public final SoftLock lockItem(Object key, Object version) throws CacheException {
+		while ( true ) {
+			final State state = (State) region().get( key );
+			final long timeout = region().nextTimestamp() + region().getTimeout();
+			final Lock lock = state == null
+					? new Lock( uuid, nextLockId.getAndIncrement(), version, timeout, nextStamp() )
+					: state.lock( timeout, uuid, nextLockId.getAndIncrement(), nextStamp() );
+			if ( swap( key, state, lock ) ) {
+				return lock;
+			}
+		}
+	}
+
+	/**
+	 * Soft-unlock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 */
+	public final void unlockItem(Object key, SoftLock softLock) throws CacheException {
+		while ( true ) {
+			final State state = (State) region().get( key );
+			if ( state == null || !state.isUnlockable( softLock ) ) {
+				handleLockExpiry( key, state );
+				return;
+			}
+			if ( swap( key, state, ( (Lock) state ).unlock( region().nextTimestamp(), uuid, nextStamp() ) ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Caches a newly inserted value, provided nothing is mapped to its key yet.
+	 */
+	protected final boolean casAfterInsert(Object key, Object value, Object version) {
+		return region().putIfAbsent( key, newItem( value, version ) );
+	}
+
+	/**
+	 * Caches an updated value, provided its key is still locked by this transaction, and by this transaction only.
+	 */
+	protected final boolean casAfterUpdate(Object key, Object value, Object version, SoftLock softLock) {
+		while ( true ) {
+			final State state = (State) region().get( key );
+			if ( state == null || !state.isUnlockable( softLock ) ) {
+				handleLockExpiry( key, state );
+				return false;
+			}
+			final Lock lock = (Lock) state;
+			if ( lock.wasLockedConcurrently() ) {
+				if ( swap( key, lock, lock.unlock( region().nextTimestamp(), uuid, nextStamp() ) ) ) {
+					return false;
+				}
+			}
+			else if ( swap( key, lock, newItem( value, version ) ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Handle the timeout of a previous lock mapped to this key, by mapping a lock which times out immediately.
+	 */
+	private void handleLockExpiry(Object key, State state) {
+		LOG.softLockedCacheExpired( region().getName(), key, state == null ? "(null)" : state.toString() );
+
+		final long ts = region().nextTimestamp() + region().getTimeout();
+		State current = state;
+		while ( true ) {
+			final Lock expired = new Lock( uuid, nextLockId.getAndIncrement(), null, ts, false, 0, ts, uuid, nextStamp() );
+			if ( swap( key, current, expired ) ) {
+				return;
+			}
+			current = (State) region().get( key );
+		}
+	}
+
+	private boolean swap(Object key, State expected, State next) {
+		return expected == null ? region().putIfAbsent( key, next ) : region().replace( key, expected, next );
+	}
+
+	private Item newItem(Object value, Object version) {
+		return new Item( uuid, value, version, region().nextTimestamp(), nextStamp() );
+	}
+
+	private long nextStamp() {
+		return nextStamp.getAndIncrement();
+	}
+
+	/**
+	 * A cached state, equal only to the states created by the same write.
+	 */
+	protected abstract static class State implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final UUID sourceUuid;
+		private final long stamp;
+
+		State(UUID sourceUuid, long stamp) {
+			this.sourceUuid = sourceUuid;
+			this.stamp = stamp;
+		}
+
+		abstract boolean isReadable(long txTimestamp);
+
+		abstract boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+		abstract Object getValue();
+
+		abstract boolean isUnlockable(SoftLock lock);
+
+		/**
+		 * Creates the state of this item locked, with the lock timeout occuring at the specified time.  An item already
+		 * locked keeps its lock identifier, so that the soft lock first handed out still unlocks it.
+		 */
+		abstract Lock lock(long timeout, UUID uuid, long lockId, long stamp);
+
+		@Override
+		public final boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof State ) {
+				return stamp == ( (State) o ).stamp && sourceUuid.equals( ( (State) o ).sourceUuid );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public final int hashCode() {
+			return sourceUuid.hashCode() ^ (int) ( stamp ^ ( stamp >>> 32 ) );
+		}
+	}
+
+	/**
+	 * State of an unlocked item.
+	 */
+	protected static final class Item extends State {
+		private static final long serialVersionUID = 1L;
+
+		private final Object value;
+		private final Object version;
+		private final long timestamp;
+
+		Item(UUID sourceUuid, Object value, Object version, long timestamp, long stamp) {
+			super( sourceUuid, stamp );
+			this.value = value;
+			this.version = version;
+			this.timestamp = timestamp;
+		}
+
+		@Override
+		boolean isReadable(long txTimestamp) {
+			return txTimestamp > timestamp;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			return version != null && versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		@Override
+		Object getValue() {
+			return value;
+		}
+
+		@Override
+		boolean isUnlockable(SoftLock lock) {
+			return false;
+		}
+
+		@Override
+		Lock lock(long timeout, UUID uuid, long lockId, long stamp) {
+			return new Lock( uuid, lockId, version, timeout, stamp );
+		}
+	}
+
+	/**
+	 * State of a locked item.  Locking it again or unlocking it creates a new state, which can still be unlocked
+	 * with the soft lock returned when it was first locked.
+	 */
+	protected static final class Lock extends State implements SoftLock {
+		private static final long serialVersionUID = 1L;
+
+		private final UUID lockUuid;
+		private final long lockId;
+		private final Object version;
+		private final long timeout;
+		private final boolean concurrent;
+		private final int multiplicity;
+		private final long unlockTimestamp;
+
+		Lock(UUID sourceUuid, long lockId, Object version, long timeout, long stamp) {
+			this( sourceUuid, lockId, version, timeout, false, 1, 0, sourceUuid, stamp );
+		}
+
+		private Lock(
+				UUID lockUuid,
+				long lockId,
+				Object version,
+				long timeout,
+				boolean concurrent,
+				int multiplicity,
+				long unlockTimestamp,
+				UUID sourceUuid,
+				long stamp) {
+			super( sourceUuid, stamp );
+			this.lockUuid = lockUuid;
+			this.lockId = lockId;
+			this.version = version;
+			this.timeout = timeout;
+			this.concurrent = concurrent;
+			this.multiplicity = multiplicity;
+			this.unlockTimestamp = unlockTimestamp;
+		}
+
+		@Override
+		boolean isReadable(long txTimestamp) {
+			return false;
+		}
+
+		@Override
+		@SuppressWarnings({"SimplifiableIfStatement", "unchecked"})
+		boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			if ( txTimestamp > timeout ) {
+				// if timedout then allow write
+				return true;
+			}
+			if ( multiplicity > 0 ) {
+				// if still locked then disallow write
+				return false;
+			}
+			return version == null
+					? txTimestamp > unlockTimestamp
+					: versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		@Override
+		Object getValue() {
+			return null;
+		}
+
+		@Override
+		boolean isUnlockable(SoftLock lock) {
+			if ( !( lock instanceof Lock ) ) {
+				return false;
+			}
+			final Lock other = (Lock) lock;
+			return lockId == other.lockId && lockUuid.equals( other.lockUuid );
+		}
+
+		@Override
+		Lock lock(long timeout, UUID uuid, long lockId, long stamp) {
+			return new Lock( lockUuid, this.lockId, version, timeout, true, multiplicity + 1, unlockTimestamp, uuid, stamp );
+		}
+
+		/**
+		 * Returns true if this Lock has been concurrently locked by more than one transaction.
+		 */
+		boolean wasLockedConcurrently() {
+			return concurrent;
+		}
+
+		/**
+		 * Creates the state of this Lock unlocked once, timestamping the unlock event if it was the last holder.
+		 */
+		Lock unlock(long timestamp, UUID uuid, long stamp) {
+			final int remaining = multiplicity - 1;
+			return new Lock(
+					lockUuid,
+					lockId,
+					version,
+					timeout,
+					concurrent,
+					remaining,
+					remaining == 0 ? timestamp : unlockTimestamp,
+					uuid,
+					stamp
+			);
+		}
+
+		@Override
+		public String toString() {
+			return "Lock Source-UUID:" + lockUuid + " Lock-ID:" + lockId;
+		}
+	}
+}
@@ -23,8 +23,14 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
 
@@ -36,7 +42,8 @@ import org.hibernate.cfg.Settings;
  * @author Chris Dennis
  * @author Alex Snaps
  */
-abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion> {
+abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion>
+		implements BulkRegionAccessStrategy {
 	private final T region;
 	private final Settings settings;
 
@@ -86,6 +93,38 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
 	public abstract boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
 			throws CacheException;
 
+	/**
+	 * Reads all the keys from the region in one pass.  Subclasses whose cached values are not the plain cached data
+	 * must override this.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return region.getAll( keys );
+	}
+
+	/**
+	 * Ehcache has no bulk put, so this puts each item in turn.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#putAllFromLoad(java.util.Map, java.util.Map, long, boolean)
+	 */
+	@Override
+	public final Set<Object> putAllFromLoad(
+			Map<?, ?> values,
+			Map<?, ?> versions,
+			long txTimestamp,
+			boolean minimalPutOverride) throws CacheException {
+		final Set<Object> cached = new HashSet<Object>();
+		for ( Map.Entry<?, ?> entry : values.entrySet() ) {
+			final Object version = versions == null ? null : versions.get( entry.getKey() );
+			if ( putFromLoad( entry.getKey(), entry.getValue(), txTimestamp, version, minimalPutOverride ) ) {
+				cached.add( entry.getKey() );
+			}
+		}
+		return cached;
+	}
+
 	/**
 	 * Region locks are not supported.
 	 *
@@ -24,7 +24,10 @@
 package org.hibernate.cache.ehcache.internal.strategy;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -91,6 +94,34 @@ abstract class AbstractReadWriteEhcacheAccessStrategy<T
 		}
 	}
 
+	/**
+	 * Returns only the readable items, as {@link #get} does.  Where the region's locks are independent of the
+	 * cache each key has to be read under its own read lock, so the keys are then read one at a time.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	@Override
+	public final Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		if ( region().locksAreIndependentOfCache() ) {
+			for ( Object key : keys ) {
+				final Object value = get( key, txTimestamp );
+				if ( value != null ) {
+					values.put( key, value );
+				}
+			}
+		}
+		else {
+			for ( Map.Entry<Object, Object> entry : region().getAll( keys ).entrySet() ) {
+				final Lockable item = (Lockable) entry.getValue();
+				if ( item.isReadable( txTimestamp ) ) {
+					values.put( entry.getKey(), item.getValue() );
+				}
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
 	 * key.
@@ -58,6 +58,9 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 				}
 				return new ReadOnlyEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 			case READ_WRITE:
+				if ( entityRegion.isReadWriteCasEnabled() ) {
+					return new CasReadWriteEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
+				}
 				return new ReadWriteEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 
 			case NONSTRICT_READ_WRITE:
@@ -93,6 +96,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 						collectionRegion.getSettings()
 				);
 			case READ_WRITE:
+				if ( collectionRegion.isReadWriteCasEnabled() ) {
+					return new CasReadWriteEhcacheCollectionRegionAccessStrategy(
+							collectionRegion,
+							collectionRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheCollectionRegionAccessStrategy(
 						collectionRegion,
 						collectionRegion.getSettings()
@@ -126,6 +135,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 						naturalIdRegion.getSettings()
 				);
 			case READ_WRITE:
+				if ( naturalIdRegion.isReadWriteCasEnabled() ) {
+					return new CasReadWriteEhcacheNaturalIdRegionAccessStrategy(
+							naturalIdRegion,
+							naturalIdRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheNaturalIdRegionAccessStrategy(
 						naturalIdRegion,
 						naturalIdRegion.getSettings()
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.ehcache;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the {@link EhCacheTest} tests with the read/write access strategies using compare-and-swap operations.
+ */
+public class EhCacheCasRegionTest extends EhCacheTest {
+	@Override
+	protected void configCache(final Configuration cfg) {
+		cfg.setProperty( Environment.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		cfg.setProperty( Environment.CACHE_PROVIDER_CONFIG, "ehcache.xml" );
+		cfg.setProperty( EhcacheTransactionalDataRegion.READ_WRITE_CAS_PROPERTY, "true" );
+	}
+
+	@Override
+	protected Map getMapFromCacheEntry(final Object entry) {
+		assertEquals(
+				"org.hibernate.cache.ehcache.internal.strategy.AbstractCasReadWriteEhcacheAccessStrategy$Item",
+				entry.getClass().getName()
+		);
+		try {
+			Field field = entry.getClass().getDeclaredField( "value" );
+			field.setAccessible( true );
+			return (Map) field.get( entry );
+		}
+		catch ( NoSuchFieldException e ) {
+			throw new RuntimeException( e );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new RuntimeException( e );
+		}
+	}
+}
@@ -509,6 +509,13 @@ public interface AvailableSettings {
 	 */
 	public static final String JPA_METAMODEL_POPULATION = "hibernate.ejb.metamodel.population";
 
+	/**
+	 * Directory in which to keep a serialized copy of the bound mappings of each persistence unit.  A later boot of
+	 * the persistence unit with the same class path, persistence unit definition and settings reads the mappings back
+	 * instead of scanning for and binding them again.  Not set by default, which disables the cache.
+	 */
+	public static final String METADATA_CACHE_DIR = "hibernate.ejb.metadata_cache_dir";
+
 
 	/**
 	 * List of classes names
@@ -172,6 +172,10 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 	private MetadataSources metadataSources;
 	private Configuration hibernateConfiguration;
 
+	private MetadataCache metadataCache;
+	private MetadataCache.CachedMetadata cachedMetadata;
+	private boolean hasTypeContributors;
+
 	private static EntityNotFoundDelegate jpaEntityNotFoundDelegate = new JpaEntityNotFoundDelegate();
 	
 	private ClassLoader providedClassLoader;
@@ -214,14 +218,32 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 		this.serviceRegistryBuilder.applySettings( configurationValues );
 
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
-		// Next we do a preliminary pass at metadata processing, which involves:
-		//		1) scanning
-		final ScanResult scanResult = scan( bootstrapServiceRegistry );
-		final DeploymentResources deploymentResources = buildDeploymentResources( scanResult, bootstrapServiceRegistry );
-		//		2) building a Jandex index
-		final IndexView jandexIndex = locateOrBuildJandexIndex( deploymentResources );
-		//		3) building "metadata sources" to keep for later to use in building the SessionFactory
-		metadataSources = prepareMetadataSources( jandexIndex, deploymentResources, bootstrapServiceRegistry );
+		// Next we see whether the mappings were cached by a previous boot with the same inputs, in which case there
+		// is no metadata to process
+		metadataCache = MetadataCache.locate( persistenceUnit, configurationValues );
+		if ( metadataCache != null ) {
+			cachedMetadata = metadataCache.read( bootstrapServiceRegistry.getService( ClassLoaderService.class ) );
+		}
+
+		if ( cachedMetadata != null ) {
+			metadataSources = new MetadataSources();
+			metadataSources.annotatedMappingClassNames.addAll( cachedMetadata.getMappingClassNames() );
+			// the settings otherwise consumed while processing the metadata
+			configurationValues.remove( AvailableSettings.SCANNER );
+			configurationValues.remove( AvailableSettings.HBXML_FILES );
+			configurationValues.remove( AvailableSettings.XML_FILE_NAMES );
+		}
+		else {
+			// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+			// Otherwise we do a preliminary pass at metadata processing, which involves:
+			//		1) scanning
+			final ScanResult scanResult = scan( bootstrapServiceRegistry );
+			final DeploymentResources deploymentResources = buildDeploymentResources( scanResult, bootstrapServiceRegistry );
+			//		2) building a Jandex index
+			final IndexView jandexIndex = locateOrBuildJandexIndex( deploymentResources );
+			//		3) building "metadata sources" to keep for later to use in building the SessionFactory
+			metadataSources = prepareMetadataSources( jandexIndex, deploymentResources, bootstrapServiceRegistry );
+		}
 
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		withValidatorFactory( configurationValues.get( AvailableSettings.VALIDATION_FACTORY ) );
@@ -837,6 +859,9 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 					@Override
 					public EntityManagerFactoryImpl perform() {
 						hibernateConfiguration = buildHibernateConfiguration( serviceRegistry );
+						if ( metadataCache != null && cachedMetadata == null ) {
+							writeMetadataCache( classLoaderService );
+						}
 						JpaSchemaGenerator.performGeneration( hibernateConfiguration, serviceRegistry );
 
 						SessionFactoryImplementor sessionFactory;
@@ -865,6 +890,17 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 		);
 	}
 
+	private void writeMetadataCache(ClassLoaderService classLoaderService) {
+		// the mappings are cached before the SessionFactory is built, as the configuration refers to it afterwards;
+		// contributed types are only registered while building the SessionFactory though, too late for binding
+		if ( hasTypeContributors || !classLoaderService.loadJavaServices( TypeContributor.class ).isEmpty() ) {
+			LOG.debug( "Not caching mapping metadata, as types are contributed" );
+			return;
+		}
+		hibernateConfiguration.buildMappings();
+		metadataCache.write( hibernateConfiguration, metadataSources.collectMappingClassNames() );
+	}
+
 	private void processProperties() {
 		applyJdbcConnectionProperties();
 		applyTransactionProperties();
@@ -1013,7 +1049,8 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 	public Configuration buildHibernateConfiguration(ServiceRegistry serviceRegistry) {
 		Properties props = new Properties();
 		props.putAll( configurationValues );
-		Configuration cfg = new Configuration().setProperties( props );
+		Configuration cfg = cachedMetadata == null ? new Configuration() : cachedMetadata.getConfiguration();
+		cfg.setProperties( props );
 
 		cfg.setEntityNotFoundDelegate( jpaEntityNotFoundDelegate );
 
@@ -1045,6 +1082,13 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 			}
 		}
 
+		if ( cachedMetadata != null ) {
+			// the mappings, with the cache settings applied, were completely bound when they were cached
+			configurationValues.remove( AvailableSettings.LOADED_CLASSES );
+			configurationValues.remove( TYPE_CONTRIBUTORS );
+			return cfg;
+		}
+
 		if ( cacheRegionDefinitions != null ) {
 			for ( CacheRegionDefinition cacheRegionDefinition : cacheRegionDefinitions ) {
 				if ( cacheRegionDefinition.cacheType == CacheRegionDefinition.CacheType.ENTITY ) {
@@ -1177,6 +1221,7 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 		final TypeContributorList typeContributorList
 				= (TypeContributorList) configurationValues.get( TYPE_CONTRIBUTORS );
 		if ( typeContributorList != null ) {
+			hasTypeContributors = true;
 			configurationValues.remove( TYPE_CONTRIBUTORS );
 			for ( TypeContributor typeContributor : typeContributorList.getTypeContributors() ) {
 				cfg.registerTypeContributor( typeContributor );
@@ -0,0 +1,413 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.boot.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.HibernateException;
+import org.hibernate.Interceptor;
+import org.hibernate.Version;
+import org.hibernate.boot.registry.classloading.internal.ClassLoaderServiceImpl;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.jpa.AvailableSettings;
+import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
+import org.hibernate.jpa.internal.EntityManagerMessageLogger;
+import org.hibernate.type.SerializationException;
+
+/**
+ * A file holding the bound mappings of a persistence unit, along with a key identifying the inputs they were bound
+ * from: the persistence unit definition, the contents of its class path roots and of the application class path,
+ * and the settings.  A boot finding a file with the same key may use the mappings instead of scanning for and
+ * binding them.
+ *
+ * @see AvailableSettings#METADATA_CACHE_DIR
+ */
+final class MetadataCache {
+	private static final EntityManagerMessageLogger LOG = Logger.getMessageLogger(
+			EntityManagerMessageLogger.class,
+			MetadataCache.class.getName()
+	);
+
+	private final File file;
+	private final String key;
+
+	private MetadataCache(File file, String key) {
+		this.file = file;
+		this.key = key;
+	}
+
+	/**
+	 * Locate the cache of a persistence unit.
+	 *
+	 * @param persistenceUnit The persistence unit
+	 * @param configurationValues The merged settings of the persistence unit
+	 *
+	 * @return The cache, or {@code null} if the cache is not enabled, or cannot tell whether the persistence unit
+	 * changed
+	 */
+	static MetadataCache locate(PersistenceUnitDescriptor persistenceUnit, Map configurationValues) {
+		final Object directory = configurationValues.get( AvailableSettings.METADATA_CACHE_DIR );
+		if ( directory == null || StringHelper.isEmpty( directory.toString() ) ) {
+			return null;
+		}
+		final String key = computeKey( persistenceUnit, configurationValues );
+		if ( key == null ) {
+			return null;
+		}
+		final File file = new File(
+				directory.toString(),
+				persistenceUnit.getName().replaceAll( "[^A-Za-z0-9_.-]", "_" ) + ".metadata"
+		);
+		return new MetadataCache( file, key );
+	}
+
+	/**
+	 * Read the cached mappings, if they were bound from the same inputs.
+	 *
+	 * @param classLoaderService The service used to load the mapped classes
+	 *
+	 * @return The cached mappings, or {@code null}
+	 */
+	CachedMetadata read(ClassLoaderService classLoaderService) {
+		if ( !file.isFile() || !key.equals( readKey() ) ) {
+			LOG.debugf( "No usable mapping metadata cached in %s", file );
+			return null;
+		}
+		try {
+			final RandomAccessFile input = new RandomAccessFile( file, "r" );
+			try {
+				final ByteBuffer content = input.getChannel().map( FileChannel.MapMode.READ_ONLY, 0, input.length() );
+				final InputStream stream = new ByteBufferInputStream( content );
+				new DataInputStream( stream ).readUTF();
+				// Configuration and commons-annotations resolve the mapped classes through the TCCL
+				final CachedMetadata metadata = ( (ClassLoaderServiceImpl) classLoaderService ).withTccl(
+						new ClassLoaderServiceImpl.Work<CachedMetadata>() {
+							@Override
+							public CachedMetadata perform() {
+								return (CachedMetadata) SerializationHelper.deserialize( stream );
+							}
+						}
+				);
+				LOG.debugf( "Using the mapping metadata cached in %s", file );
+				return metadata;
+			}
+			finally {
+				input.close();
+			}
+		}
+		catch (IOException e) {
+			LOG.unableToReadMetadataCache( file, e );
+		}
+		catch (SerializationException e) {
+			LOG.unableToReadMetadataCache( file, e );
+		}
+		catch (ClassCastException e) {
+			LOG.unableToReadMetadataCache( file, e );
+		}
+		return null;
+	}
+
+	private String readKey() {
+		try {
+			final DataInputStream input = new DataInputStream( new FileInputStream( file ) );
+			try {
+				return input.readUTF();
+			}
+			finally {
+				input.close();
+			}
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Write the mappings to the cache, replacing any previous content.  Failing to write is only logged.
+	 *
+	 * @param cfg The configuration, once its mappings are completely bound
+	 * @param mappingClassNames The names of the mapped classes, as pushed to a class transformer
+	 */
+	void write(Configuration cfg, List<String> mappingClassNames) {
+		// the settings and the interceptor are applied anew on each boot, and may well not be serializable
+		final Properties properties = cfg.getProperties();
+		final Interceptor interceptor = cfg.getInterceptor();
+		final byte[] content;
+		cfg.setProperties( new Properties() );
+		cfg.setInterceptor( EmptyInterceptor.INSTANCE );
+		try {
+			content = SerializationHelper.serialize( new CachedMetadata( cfg, mappingClassNames ) );
+		}
+		catch (SerializationException e) {
+			LOG.unableToWriteMetadataCache( file, e );
+			return;
+		}
+		finally {
+			cfg.setProperties( properties );
+			cfg.setInterceptor( interceptor );
+		}
+
+		try {
+			final File directory = file.getAbsoluteFile().getParentFile();
+			directory.mkdirs();
+			// write aside then rename, so that a concurrent boot never reads a partially written file
+			final File temporaryFile = File.createTempFile( file.getName(), ".tmp", directory );
+			try {
+				final DataOutputStream output = new DataOutputStream( new FileOutputStream( temporaryFile ) );
+				try {
+					output.writeUTF( key );
+					output.write( content );
+				}
+				finally {
+					output.close();
+				}
+				if ( !temporaryFile.renameTo( file ) ) {
+					file.delete();
+					if ( !temporaryFile.renameTo( file ) ) {
+						throw new IOException( "Unable to rename " + temporaryFile + " to " + file );
+					}
+				}
+			}
+			finally {
+				temporaryFile.delete();
+			}
+			LOG.debugf( "Cached mapping metadata in %s", file );
+		}
+		catch (IOException e) {
+			LOG.unableToWriteMetadataCache( file, e );
+		}
+	}
+
+	private static String computeKey(PersistenceUnitDescriptor persistenceUnit, Map configurationValues) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance( "SHA-1" );
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new HibernateException( "Unable to compute the mapping metadata cache key", e );
+		}
+
+		update( digest, Version.getVersionString() );
+
+		update( digest, persistenceUnit.getName() );
+		update( digest, persistenceUnit.getProviderClassName() );
+		update( digest, persistenceUnit.isUseQuotedIdentifiers() );
+		update( digest, persistenceUnit.isExcludeUnlistedClasses() );
+		update( digest, persistenceUnit.getTransactionType() );
+		update( digest, persistenceUnit.getValidationMode() );
+		update( digest, persistenceUnit.getSharedCacheMode() );
+		update( digest, persistenceUnit.getManagedClassNames() );
+		update( digest, persistenceUnit.getMappingFileNames() );
+
+		final List<URL> roots = new ArrayList<URL>();
+		if ( persistenceUnit.getPersistenceUnitRootUrl() != null ) {
+			roots.add( persistenceUnit.getPersistenceUnitRootUrl() );
+		}
+		if ( persistenceUnit.getJarFileUrls() != null ) {
+			roots.addAll( persistenceUnit.getJarFileUrls() );
+		}
+		for ( URL root : roots ) {
+			final File file = toFile( root );
+			if ( file == null ) {
+				LOG.debugf( "Not caching mapping metadata, as %s is not on the local file system", root );
+				return null;
+			}
+			update( digest, file );
+		}
+		final String classPath = System.getProperty( "java.class.path" );
+		if ( classPath != null ) {
+			for ( String entry : classPath.split( File.pathSeparator ) ) {
+				update( digest, new File( entry ) );
+			}
+		}
+
+		final Map<String,Object> sortedValues = new TreeMap<String,Object>();
+		for ( Object entry : configurationValues.entrySet() ) {
+			sortedValues.put( String.valueOf( ( (Map.Entry) entry ).getKey() ), ( (Map.Entry) entry ).getValue() );
+		}
+		for ( Map.Entry<String,Object> entry : sortedValues.entrySet() ) {
+			update( digest, entry.getKey() );
+			update( digest, entry.getValue() );
+		}
+
+		final StringBuilder key = new StringBuilder();
+		for ( byte b : digest.digest() ) {
+			key.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+		}
+		return key.toString();
+	}
+
+	private static File toFile(URL url) {
+		if ( "file".equals( url.getProtocol() ) ) {
+			try {
+				return new File( url.toURI() );
+			}
+			catch (URISyntaxException e) {
+				return new File( url.getPath() );
+			}
+			catch (IllegalArgumentException e) {
+				return new File( url.getPath() );
+			}
+		}
+		if ( "jar".equals( url.getProtocol() ) ) {
+			final String file = url.getFile();
+			final int separator = file.indexOf( "!/" );
+			try {
+				return toFile( new URL( separator < 0 ? file : file.substring( 0, separator ) ) );
+			}
+			catch (IOException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private static void update(MessageDigest digest, File file) {
+		update( digest, file.getAbsolutePath() );
+		if ( file.isDirectory() ) {
+			final File[] children = file.listFiles();
+			if ( children != null ) {
+				Arrays.sort( children );
+				for ( File child : children ) {
+					update( digest, child );
+				}
+			}
+		}
+		else {
+			update( digest, file.length() + "@" + file.lastModified() );
+		}
+	}
+
+	private static void update(MessageDigest digest, Object value) {
+		final String text;
+		if ( value == null ) {
+			text = "<null>";
+		}
+		else if ( value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum ) {
+			text = value.toString();
+		}
+		else if ( value instanceof Class ) {
+			text = ( (Class) value ).getName();
+		}
+		else if ( value instanceof Collection ) {
+			update( digest, "[" );
+			for ( Object element : (Collection) value ) {
+				update( digest, element );
+			}
+			text = "]";
+		}
+		else {
+			// instances (data sources, interceptors...) cannot be compared from one boot to the next, only their type
+			text = value.getClass().getName();
+		}
+		try {
+			digest.update( text.getBytes( "UTF-8" ) );
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new HibernateException( e );
+		}
+		digest.update( (byte) 0 );
+	}
+
+	/**
+	 * The content of the cache.
+	 */
+	static final class CachedMetadata implements Serializable {
+		private final Configuration configuration;
+		private final ArrayList<String> mappingClassNames;
+
+		private CachedMetadata(Configuration configuration, List<String> mappingClassNames) {
+			this.configuration = configuration;
+			this.mappingClassNames = new ArrayList<String>( mappingClassNames );
+		}
+
+		Configuration getConfiguration() {
+			return configuration;
+		}
+
+		List<String> getMappingClassNames() {
+			return mappingClassNames;
+		}
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if ( length == 0 ) {
+				return 0;
+			}
+			if ( !buffer.hasRemaining() ) {
+				return -1;
+			}
+			final int count = Math.min( length, buffer.remaining() );
+			buffer.get( bytes, offset, count );
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
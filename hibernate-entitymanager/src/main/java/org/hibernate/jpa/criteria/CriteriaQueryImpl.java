@@ -44,8 +44,13 @@ import javax.persistence.metamodel.EntityType;
 import org.jboss.logging.Logger;
 
 import org.hibernate.jpa.internal.QueryImpl;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.jpa.criteria.compile.CompilableCriteria;
+import org.hibernate.jpa.criteria.compile.CompiledCriteria;
+import org.hibernate.jpa.criteria.compile.CompiledCriteriaCache;
+import org.hibernate.jpa.criteria.compile.CriteriaFingerprint;
 import org.hibernate.jpa.criteria.compile.CriteriaInterpretation;
+import org.hibernate.jpa.criteria.compile.CriteriaParseTreeBuilder;
 import org.hibernate.jpa.criteria.compile.CriteriaQueryTypeQueryAdapter;
 import org.hibernate.jpa.criteria.compile.ImplicitParameterBinding;
 import org.hibernate.jpa.criteria.compile.InterpretedParameterMetadata;
@@ -350,6 +355,26 @@ public class CriteriaQueryImpl<T> extends AbstractNode implements CriteriaQuery<
 
 	@Override
 	public CriteriaInterpretation interpret(RenderingContext renderingContext) {
+		// the fingerprint is taken before rendering, which assigns the generated aliases
+		final CompiledCriteriaCache compiledCriteriaCache =
+				criteriaBuilder().getEntityManagerFactory().getCompiledCriteriaCache();
+		final CriteriaFingerprint fingerprint = CriteriaFingerprint.of( queryStructure, getOrderList() );
+		if ( fingerprint != null ) {
+			final CompiledCriteria compiled = compiledCriteriaCache.get( fingerprint );
+			if ( compiled != null ) {
+				log.debugf( "Reusing compiled criteria query -> %s", compiled.getJpaql() );
+				return new CriteriaInterpretation() {
+					@Override
+					public Query buildCompiledQuery(
+							HibernateEntityManagerImplementor entityManager,
+							InterpretedParameterMetadata parameterMetadata) {
+						// nothing was rendered, so nothing was registered; bind as rendering would have
+						return createCompiledQuery( entityManager, compiled.getJpaql(), compiled.bind( fingerprint ), null );
+					}
+				};
+			}
+		}
+
 		final StringBuilder jpaqlBuffer = new StringBuilder();
 
 		queryStructure.render( jpaqlBuffer, renderingContext );
@@ -371,68 +396,87 @@ public class CriteriaQueryImpl<T> extends AbstractNode implements CriteriaQuery<
 
 		return new CriteriaInterpretation() {
 			@Override
-			@SuppressWarnings("unchecked")
-			public Query buildCompiledQuery(HibernateEntityManagerImplementor entityManager, final InterpretedParameterMetadata parameterMetadata) {
-
-				QueryImpl jpaqlQuery = entityManager.createQuery(
+			public Query buildCompiledQuery(
+					HibernateEntityManagerImplementor entityManager,
+					InterpretedParameterMetadata parameterMetadata) {
+				if ( fingerprint != null ) {
+					compiledCriteriaCache.put( fingerprint, jpaqlString, parameterMetadata );
+				}
+				return createCompiledQuery(
+						entityManager,
 						jpaqlString,
-						getResultType(),
-						getSelection(),
-						new HibernateEntityManagerImplementor.Options() {
-							@Override
-							public List<ValueHandlerFactory.ValueHandler> getValueHandlers() {
-								SelectionImplementor selection = (SelectionImplementor) queryStructure.getSelection();
-								return selection == null
-										? null
-										: selection.getValueHandlers();
-							}
-
-							@Override
-							public Map<String, Class> getNamedParameterExplicitTypes() {
-								return parameterMetadata.implicitParameterTypes();
-							}
+						parameterMetadata,
+						// an interpretation is used once, right after rendering, so the tree still matches jpaqlString
+						new CriteriaParseTreeBuilder( queryStructure, getOrderList(), parameterMetadata )
+				);
+			}
+		};
+	}
 
+	@SuppressWarnings("unchecked")
+	private Query createCompiledQuery(
+			HibernateEntityManagerImplementor entityManager,
+			String jpaqlString,
+			final InterpretedParameterMetadata parameterMetadata,
+			HqlParseTreeBuilder parseTreeBuilder) {
+		QueryImpl jpaqlQuery = entityManager.createQuery(
+				jpaqlString,
+				getResultType(),
+				getSelection(),
+				new HibernateEntityManagerImplementor.Options() {
+					@Override
+					public List<ValueHandlerFactory.ValueHandler> getValueHandlers() {
+						SelectionImplementor selection = (SelectionImplementor) queryStructure.getSelection();
+						return selection == null
+								? null
+								: selection.getValueHandlers();
+					}
+
+					@Override
+					public Map<String, Class> getNamedParameterExplicitTypes() {
+						return parameterMetadata.implicitParameterTypes();
+					}
+
+					@Override
+					public ResultMetadataValidator getResultMetadataValidator() {
+						return new HibernateEntityManagerImplementor.Options.ResultMetadataValidator() {
 							@Override
-							public ResultMetadataValidator getResultMetadataValidator() {
-								return new HibernateEntityManagerImplementor.Options.ResultMetadataValidator() {
-									@Override
-									public void validate(Type[] returnTypes) {
-										SelectionImplementor selection = (SelectionImplementor) queryStructure.getSelection();
-										if ( selection != null ) {
-											if ( selection.isCompoundSelection() ) {
-												if ( returnTypes.length != selection.getCompoundSelectionItems().size() ) {
-													throw new IllegalStateException(
-															"Number of return values [" + returnTypes.length +
-																	"] did not match expected [" +
-																	selection.getCompoundSelectionItems().size() + "]"
-													);
-												}
-											}
-											else {
-												if ( returnTypes.length > 1 ) {
-													throw new IllegalStateException(
-															"Number of return values [" + returnTypes.length +
-																	"] did not match expected [1]"
-													);
-												}
-											}
+							public void validate(Type[] returnTypes) {
+								SelectionImplementor selection = (SelectionImplementor) queryStructure.getSelection();
+								if ( selection != null ) {
+									if ( selection.isCompoundSelection() ) {
+										if ( returnTypes.length != selection.getCompoundSelectionItems().size() ) {
+											throw new IllegalStateException(
+													"Number of return values [" + returnTypes.length +
+															"] did not match expected [" +
+															selection.getCompoundSelectionItems().size() + "]"
+											);
 										}
 									}
-								};							}
-						}
-				);
+									else {
+										if ( returnTypes.length > 1 ) {
+											throw new IllegalStateException(
+													"Number of return values [" + returnTypes.length +
+															"] did not match expected [1]"
+											);
+										}
+									}
+								}
+							}
+						};							}
+				},
+				parseTreeBuilder
+		);
 
-				for ( ImplicitParameterBinding implicitParameterBinding : parameterMetadata.implicitParameterBindings() ) {
-					implicitParameterBinding.bind( jpaqlQuery );
-				}
+		for ( ImplicitParameterBinding implicitParameterBinding : parameterMetadata.implicitParameterBindings() ) {
+			implicitParameterBinding.bind( jpaqlQuery );
+		}
 
-				return new CriteriaQueryTypeQueryAdapter(
-						entityManager,
-						jpaqlQuery,
-						parameterMetadata.explicitParameterMapping(),
-						parameterMetadata.explicitParameterNameMapping()
-				);
-			}
-		};
+		return new CriteriaQueryTypeQueryAdapter(
+				entityManager,
+				jpaqlQuery,
+				parameterMetadata.explicitParameterMapping(),
+				parameterMetadata.explicitParameterNameMapping()
+		);
 	}
 }
@@ -0,0 +1,184 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria.compile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.ParameterExpression;
+
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.jpa.criteria.expression.LiteralExpression;
+
+/**
+ * A criteria query compiled once for all queries of the same {@link CriteriaFingerprint}: the rendered JPQL and the
+ * recipe for binding the literals and parameters of any of those queries to it.
+ */
+public class CompiledCriteria {
+	private final String jpaql;
+	private final String[] literalParameterNames;
+	private final String[] explicitParameterNames;
+	private final Map<String, Class> implicitParameterTypes;
+
+	private CompiledCriteria(
+			String jpaql,
+			String[] literalParameterNames,
+			String[] explicitParameterNames,
+			Map<String, Class> implicitParameterTypes) {
+		this.jpaql = jpaql;
+		this.literalParameterNames = literalParameterNames;
+		this.explicitParameterNames = explicitParameterNames;
+		this.implicitParameterTypes = implicitParameterTypes;
+	}
+
+	/**
+	 * Build the compiled form of a just rendered criteria query.
+	 *
+	 * @param jpaql The rendered JPQL
+	 * @param fingerprint The fingerprint taken from the query before rendering it
+	 * @param parameterMetadata The parameters registered while rendering it
+	 *
+	 * @return The compiled criteria, or {@code null} if the parameters registered do not correspond to the literals
+	 * and parameters of the fingerprint
+	 */
+	public static CompiledCriteria from(
+			String jpaql,
+			CriteriaFingerprint fingerprint,
+			InterpretedParameterMetadata parameterMetadata) {
+		final List<LiteralExpression<?>> literals = fingerprint.getLiterals();
+		final List<ImplicitParameterBinding> implicitParameterBindings = parameterMetadata.implicitParameterBindings();
+		if ( literals.size() != implicitParameterBindings.size() ) {
+			return null;
+		}
+		final String[] literalParameterNames = new String[ literals.size() ];
+		for ( int i = 0; i < literalParameterNames.length; i++ ) {
+			final ImplicitParameterBinding binding = implicitParameterBindings.get( i );
+			if ( binding.getJavaType() != literals.get( i ).getJavaType() ) {
+				return null;
+			}
+			literalParameterNames[i] = binding.getParameterName();
+		}
+
+		final List<ParameterExpression<?>> parameters = fingerprint.getParameters();
+		if ( parameters.size() != parameterMetadata.explicitParameterMapping().size() ) {
+			return null;
+		}
+		final String[] explicitParameterNames = new String[ parameters.size() ];
+		for ( int i = 0; i < explicitParameterNames.length; i++ ) {
+			explicitParameterNames[i] = parameterMetadata.explicitParameterMapping().get( parameters.get( i ) );
+			if ( explicitParameterNames[i] == null ) {
+				return null;
+			}
+		}
+
+		return new CompiledCriteria(
+				jpaql,
+				literalParameterNames,
+				explicitParameterNames,
+				Collections.unmodifiableMap( new HashMap<String, Class>( parameterMetadata.implicitParameterTypes() ) )
+		);
+	}
+
+	public String getJpaql() {
+		return jpaql;
+	}
+
+	/**
+	 * Bind the literals and parameters of a query to the compiled JPQL.
+	 *
+	 * @param fingerprint The fingerprint of the query, equal to the one this was compiled for
+	 *
+	 * @return The parameter metadata of the query, as rendering it would have registered it
+	 */
+	public InterpretedParameterMetadata bind(CriteriaFingerprint fingerprint) {
+		final Map<ParameterExpression<?>, String> explicitParameterMapping = new HashMap<ParameterExpression<?>, String>();
+		final Map<String, ParameterExpression<?>> explicitParameterNameMapping = new HashMap<String, ParameterExpression<?>>();
+		final List<ParameterExpression<?>> parameters = fingerprint.getParameters();
+		for ( int i = 0; i < explicitParameterNames.length; i++ ) {
+			final ParameterExpression<?> parameter = parameters.get( i );
+			explicitParameterMapping.put( parameter, explicitParameterNames[i] );
+			if ( StringHelper.isNotEmpty( parameter.getName() ) ) {
+				explicitParameterNameMapping.put( parameter.getName(), parameter );
+			}
+		}
+
+		final List<ImplicitParameterBinding> implicitParameterBindings =
+				new ArrayList<ImplicitParameterBinding>( literalParameterNames.length );
+		final List<LiteralExpression<?>> literals = fingerprint.getLiterals();
+		for ( int i = 0; i < literalParameterNames.length; i++ ) {
+			implicitParameterBindings.add( new LiteralParameterBinding( literalParameterNames[i], literals.get( i ) ) );
+		}
+
+		return new InterpretedParameterMetadata() {
+			@Override
+			public Map<ParameterExpression<?>, String> explicitParameterMapping() {
+				return explicitParameterMapping;
+			}
+
+			@Override
+			public Map<String, ParameterExpression<?>> explicitParameterNameMapping() {
+				return explicitParameterNameMapping;
+			}
+
+			@Override
+			public List<ImplicitParameterBinding> implicitParameterBindings() {
+				return implicitParameterBindings;
+			}
+
+			@Override
+			public Map<String, Class> implicitParameterTypes() {
+				return implicitParameterTypes;
+			}
+		};
+	}
+
+	private static class LiteralParameterBinding implements ImplicitParameterBinding {
+		private final String parameterName;
+		private final LiteralExpression<?> literal;
+
+		private LiteralParameterBinding(String parameterName, LiteralExpression<?> literal) {
+			this.parameterName = parameterName;
+			this.literal = literal;
+		}
+
+		@Override
+		public String getParameterName() {
+			return parameterName;
+		}
+
+		@Override
+		public Class getJavaType() {
+			return literal.getJavaType();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void bind(TypedQuery typedQuery) {
+			typedQuery.setParameter( parameterName, literal.getLiteral() );
+		}
+	}
+}
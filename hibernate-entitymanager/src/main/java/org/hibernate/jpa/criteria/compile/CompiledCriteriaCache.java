@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria.compile;
+
+import java.util.Map;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * Caches the {@link CompiledCriteria} of the criteria queries of an entity manager factory by their
+ * {@link CriteriaFingerprint}, so that executing a criteria query of an already compiled structure does not render
+ * it again.  Sized like the query plan cache (see {@link Environment#QUERY_PLAN_CACHE_MAX_SIZE}), whose plans are
+ * then looked up with the same JPQL string instances.
+ */
+public class CompiledCriteriaCache {
+	private final BoundedConcurrentHashMap<CriteriaFingerprint, CompiledCriteria> compiledCriteria;
+
+	public CompiledCriteriaCache(Map properties) {
+		final int maxCount = ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_MAX_SIZE,
+				properties,
+				QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT
+		);
+		compiledCriteria = new BoundedConcurrentHashMap<CriteriaFingerprint, CompiledCriteria>(
+				maxCount,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
+	}
+
+	public CompiledCriteria get(CriteriaFingerprint fingerprint) {
+		return compiledCriteria.get( fingerprint );
+	}
+
+	/**
+	 * Cache the compiled form of a just rendered criteria query, if its parameters can be bound by fingerprint.
+	 *
+	 * @param fingerprint The fingerprint taken from the query before rendering it
+	 * @param jpaql The rendered JPQL
+	 * @param parameterMetadata The parameters registered while rendering it
+	 */
+	public void put(CriteriaFingerprint fingerprint, String jpaql, InterpretedParameterMetadata parameterMetadata) {
+		final CompiledCriteria compiled = CompiledCriteria.from( jpaql, fingerprint, parameterMetadata );
+		if ( compiled != null ) {
+			compiledCriteria.putIfAbsent( fingerprint.withoutArguments(), compiled );
+		}
+	}
+}
@@ -0,0 +1,554 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria.compile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.jpa.criteria.PathSource;
+import org.hibernate.jpa.criteria.QueryStructure;
+import org.hibernate.jpa.criteria.ValueHandlerFactory;
+import org.hibernate.jpa.criteria.expression.BinaryArithmeticOperation;
+import org.hibernate.jpa.criteria.expression.CompoundSelectionImpl;
+import org.hibernate.jpa.criteria.expression.ConcatExpression;
+import org.hibernate.jpa.criteria.expression.LiteralExpression;
+import org.hibernate.jpa.criteria.expression.ParameterExpressionImpl;
+import org.hibernate.jpa.criteria.expression.function.AbsFunction;
+import org.hibernate.jpa.criteria.expression.function.AggregationFunction;
+import org.hibernate.jpa.criteria.expression.function.LengthFunction;
+import org.hibernate.jpa.criteria.expression.function.LowerFunction;
+import org.hibernate.jpa.criteria.expression.function.ParameterizedFunctionExpression;
+import org.hibernate.jpa.criteria.expression.function.SqrtFunction;
+import org.hibernate.jpa.criteria.expression.function.UpperFunction;
+import org.hibernate.jpa.criteria.path.AbstractJoinImpl;
+import org.hibernate.jpa.criteria.path.CollectionAttributeJoin;
+import org.hibernate.jpa.criteria.path.ListAttributeJoin;
+import org.hibernate.jpa.criteria.path.MapAttributeJoin;
+import org.hibernate.jpa.criteria.path.RootImpl;
+import org.hibernate.jpa.criteria.path.SetAttributeJoin;
+import org.hibernate.jpa.criteria.path.SingularAttributeJoin;
+import org.hibernate.jpa.criteria.path.SingularAttributePath;
+import org.hibernate.jpa.criteria.predicate.BetweenPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanAssertionPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanExpressionPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanStaticAssertionPredicate;
+import org.hibernate.jpa.criteria.predicate.ComparisonPredicate;
+import org.hibernate.jpa.criteria.predicate.CompoundPredicate;
+import org.hibernate.jpa.criteria.predicate.ExplicitTruthValueCheck;
+import org.hibernate.jpa.criteria.predicate.InPredicate;
+import org.hibernate.jpa.criteria.predicate.LikePredicate;
+import org.hibernate.jpa.criteria.predicate.NullnessPredicate;
+
+/**
+ * The structure of a criteria query, taken from its current tree: everything its rendered JPQL depends on, with
+ * the values of literals rendered as parameters and the parameters themselves left out.  Two criteria queries with
+ * equal fingerprints render the same JPQL, so a query compiled for one (see {@link CompiledCriteria}) can be executed
+ * for the other, binding the literals and parameters collected here.
+ * <p/>
+ * A fingerprint is taken from the tree as it is when the query is compiled, so changing a criteria query in place
+ * simply gives it a different fingerprint.  Node types are handled as in {@link CriteriaParseTreeBuilder}; a query
+ * containing anything else has no fingerprint and is always rendered.
+ */
+public final class CriteriaFingerprint {
+	private static final Logger log = Logger.getLogger( CriteriaFingerprint.class );
+
+	private final List<Object> shape;
+	private final int hashCode;
+	private final List<LiteralExpression<?>> literals;
+	private final List<ParameterExpression<?>> parameters;
+
+	private CriteriaFingerprint(
+			List<Object> shape,
+			int hashCode,
+			List<LiteralExpression<?>> literals,
+			List<ParameterExpression<?>> parameters) {
+		this.shape = shape;
+		this.hashCode = hashCode;
+		this.literals = literals;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Take the fingerprint of a (non-sub) query.
+	 *
+	 * @param queryStructure The query structure
+	 * @param orderList The query ordering
+	 *
+	 * @return The fingerprint, or {@code null} if the query contains nodes which are not handled
+	 */
+	public static CriteriaFingerprint of(QueryStructure<?> queryStructure, List<Order> orderList) {
+		try {
+			return new Walker( queryStructure ).fingerprint( orderList );
+		}
+		catch (UnsupportedCriteriaException e) {
+			log.debugf( "Criteria query has no fingerprint : %s", e.getMessage() );
+			return null;
+		}
+	}
+
+	/**
+	 * The literals rendered as parameters, in rendering order.
+	 *
+	 * @return The literals
+	 */
+	public List<LiteralExpression<?>> getLiterals() {
+		return literals;
+	}
+
+	/**
+	 * The explicit parameters, in the order of their first occurrence in rendering order.
+	 *
+	 * @return The parameters
+	 */
+	public List<ParameterExpression<?>> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * An equal fingerprint which does not hold on to the literals and parameters of the query, to be kept as a key.
+	 *
+	 * @return The fingerprint without literals and parameters
+	 */
+	CriteriaFingerprint withoutArguments() {
+		return new CriteriaFingerprint(
+				shape,
+				hashCode,
+				Collections.<LiteralExpression<?>>emptyList(),
+				Collections.<ParameterExpression<?>>emptyList()
+		);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof CriteriaFingerprint ) ) {
+			return false;
+		}
+		final CriteriaFingerprint that = (CriteriaFingerprint) o;
+		return hashCode == that.hashCode && shape.equals( that.shape );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	private static class UnsupportedCriteriaException extends RuntimeException {
+		private UnsupportedCriteriaException(String message) {
+			super( message );
+		}
+	}
+
+	private static UnsupportedCriteriaException unsupported(Object node) {
+		return new UnsupportedCriteriaException( "no fingerprint for " + node );
+	}
+
+	/**
+	 * The state of taking one fingerprint.  The shape is a sequence in which every node contributes its type first,
+	 * then its own properties, then the counts and shapes of its children, so that equal sequences describe equal
+	 * trees.  Aliases are part of the shape; the froms themselves are referenced by their position in the from
+	 * clause, which also tells apart froms still to be given a generated alias.
+	 */
+	private static class Walker {
+		private final QueryStructure<?> queryStructure;
+		private final List<Object> shape = new ArrayList<Object>();
+		private final List<LiteralExpression<?>> literals = new ArrayList<LiteralExpression<?>>();
+		private final Map<ParameterExpression<?>, Integer> parameterPositions = new IdentityHashMap<ParameterExpression<?>, Integer>();
+		private final List<ParameterExpression<?>> parameters = new ArrayList<ParameterExpression<?>>();
+		private final Map<Object, Integer> fromPositions = new IdentityHashMap<Object, Integer>();
+
+		private Walker(QueryStructure<?> queryStructure) {
+			this.queryStructure = queryStructure;
+		}
+
+		private CriteriaFingerprint fingerprint(List<Order> orderList) {
+			// the froms are numbered up front, since the select clause may refer to them
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				if ( root.getClass() != RootImpl.class ) {
+					throw unsupported( root );
+				}
+				fromPositions.put( root, fromPositions.size() );
+			}
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				numberJoins( root.getJoins() );
+				numberFetches( root.getFetches() );
+			}
+
+			// the rest is walked in rendering order (see QueryStructure#render and CriteriaQueryImpl#interpret), so
+			// that the literals are collected in the order rendering generates their parameters
+			selectClause();
+			fromClause();
+			if ( queryStructure.getRestriction() == null ) {
+				shape.add( null );
+			}
+			else {
+				condition( queryStructure.getRestriction() );
+			}
+			groupByClause();
+			shape.add( orderList.size() );
+			for ( Order order : orderList ) {
+				expression( order.getExpression() );
+				shape.add( order.isAscending() );
+			}
+
+			return new CriteriaFingerprint( shape, shape.hashCode(), literals, parameters );
+		}
+
+		private void numberJoins(Collection<? extends Join<?, ?>> joins) {
+			for ( Join<?, ?> join : joins ) {
+				if ( !isJoin( join ) ) {
+					throw unsupported( join );
+				}
+				fromPositions.put( join, fromPositions.size() );
+				numberJoins( join.getJoins() );
+				numberFetches( join.getFetches() );
+			}
+		}
+
+		private void numberFetches(Collection<? extends Fetch<?, ?>> fetches) {
+			for ( Fetch<?, ?> fetch : fetches ) {
+				if ( !isJoin( fetch ) ) {
+					throw unsupported( fetch );
+				}
+				fromPositions.put( fetch, fromPositions.size() );
+				numberFetches( fetch.getFetches() );
+			}
+		}
+
+		// query structure ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private void selectClause() {
+			shape.add( queryStructure.isDistinct() );
+
+			final Selection<?> selection = queryStructure.getSelection();
+			if ( selection == null ) {
+				// the implicit selection of a (non-sub) query is its single root
+				shape.add( null );
+			}
+			else if ( selection.getClass() == CompoundSelectionImpl.class ) {
+				final CompoundSelectionImpl<?> compoundSelection = (CompoundSelectionImpl<?>) selection;
+				shape.add( CompoundSelectionImpl.class );
+				shape.add( compoundSelection.isConstructor() ? compoundSelection.getJavaType() : null );
+				shape.add( compoundSelection.getCompoundSelectionItems().size() );
+				for ( Selection<?> item : compoundSelection.getCompoundSelectionItems() ) {
+					projection( item );
+				}
+			}
+			else {
+				projection( selection );
+			}
+		}
+
+		private void projection(Selection<?> selection) {
+			// literals are rendered in-line in the select clause, and compound selections do not nest
+			if ( selection.getClass() == LiteralExpression.class || !Expression.class.isInstance( selection ) ) {
+				throw unsupported( selection );
+			}
+			expression( (Expression<?>) selection );
+		}
+
+		private void fromClause() {
+			shape.add( queryStructure.getRoots().size() );
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				shape.add( root.getModel() );
+				shape.add( root.getAlias() );
+			}
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				joins( root.getJoins() );
+				fetches( root.getFetches() );
+			}
+		}
+
+		private void joins(Collection<? extends Join<?, ?>> joins) {
+			shape.add( joins.size() );
+			for ( Join<?, ?> join : joins ) {
+				join( join );
+				joins( join.getJoins() );
+				fetches( join.getFetches() );
+			}
+		}
+
+		private void fetches(Collection<? extends Fetch<?, ?>> fetches) {
+			shape.add( fetches.size() );
+			for ( Fetch<?, ?> fetch : fetches ) {
+				join( fetch );
+				fetches( fetch.getFetches() );
+			}
+		}
+
+		private void join(Object node) {
+			final AbstractJoinImpl<?, ?> join = (AbstractJoinImpl<?, ?>) node;
+			shape.add( join.getClass() );
+			shape.add( join.getJoinType() );
+			fromReference( join.getParent() );
+			shape.add( join.getAttribute() );
+			shape.add( join.getAlias() );
+			if ( join.getOn() == null ) {
+				shape.add( null );
+			}
+			else {
+				condition( join.getOn() );
+			}
+		}
+
+		private void groupByClause() {
+			shape.add( queryStructure.getGroupings().size() );
+			if ( queryStructure.getGroupings().isEmpty() ) {
+				// having is only rendered along with a group by
+				return;
+			}
+			for ( Expression<?> grouping : queryStructure.getGroupings() ) {
+				expression( grouping );
+			}
+			if ( queryStructure.getHaving() == null ) {
+				shape.add( null );
+			}
+			else {
+				condition( queryStructure.getHaving() );
+			}
+		}
+
+		// predicates ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private void condition(Expression<?> condition) {
+			final Class<?> type = condition.getClass();
+			if ( type == CompoundPredicate.class ) {
+				final CompoundPredicate compoundPredicate = (CompoundPredicate) condition;
+				shape.add( type );
+				shape.add( compoundPredicate.getOperator() );
+				shape.add( compoundPredicate.isNegated() );
+				shape.add( compoundPredicate.getExpressions().size() );
+				for ( Expression<Boolean> expression : compoundPredicate.getExpressions() ) {
+					condition( expression );
+				}
+			}
+			else if ( type == ComparisonPredicate.class ) {
+				final ComparisonPredicate comparison = (ComparisonPredicate) condition;
+				shape.add( type );
+				shape.add( comparison.getComparisonOperator() );
+				expression( comparison.getLeftHandOperand() );
+				expression( comparison.getRightHandOperand() );
+			}
+			else if ( type == LikePredicate.class ) {
+				final LikePredicate like = (LikePredicate) condition;
+				shape.add( type );
+				shape.add( like.isNegated() );
+				expression( like.getMatchExpression() );
+				expression( like.getPattern() );
+				if ( like.getEscapeCharacter() == null ) {
+					shape.add( null );
+				}
+				else {
+					expression( like.getEscapeCharacter() );
+				}
+			}
+			else if ( type == NullnessPredicate.class ) {
+				final NullnessPredicate nullness = (NullnessPredicate) condition;
+				shape.add( type );
+				shape.add( nullness.isNegated() );
+				expression( nullness.getOperand() );
+			}
+			else if ( type == InPredicate.class ) {
+				final InPredicate<?> in = (InPredicate<?>) condition;
+				shape.add( type );
+				shape.add( in.isNegated() );
+				expression( in.getExpression() );
+				shape.add( in.getValues().size() );
+				for ( Expression<?> value : in.getValues() ) {
+					expression( value );
+				}
+			}
+			else if ( type == BetweenPredicate.class ) {
+				final BetweenPredicate<?> between = (BetweenPredicate<?>) condition;
+				shape.add( type );
+				shape.add( between.isNegated() );
+				expression( between.getExpression() );
+				expression( between.getLowerBound() );
+				expression( between.getUpperBound() );
+			}
+			else if ( type == BooleanStaticAssertionPredicate.class ) {
+				final BooleanStaticAssertionPredicate assertion = (BooleanStaticAssertionPredicate) condition;
+				shape.add( type );
+				shape.add( assertion.getAssertedValue() != assertion.isNegated() );
+			}
+			else if ( type == BooleanAssertionPredicate.class ) {
+				final BooleanAssertionPredicate assertion = (BooleanAssertionPredicate) condition;
+				shape.add( type );
+				shape.add( assertion.isNegated() );
+				shape.add( assertion.getAssertedValue() );
+				expression( assertion.getExpression() );
+			}
+			else if ( type == ExplicitTruthValueCheck.class ) {
+				final ExplicitTruthValueCheck check = (ExplicitTruthValueCheck) condition;
+				shape.add( type );
+				shape.add( check.getTruthValue() );
+				expression( check.getBooleanExpression() );
+			}
+			else if ( type == BooleanExpressionPredicate.class ) {
+				shape.add( type );
+				condition( ( (BooleanExpressionPredicate) condition ).getExpression() );
+			}
+			else {
+				// possibly a boolean valued expression rather than a predicate
+				expression( condition );
+			}
+		}
+
+		// expressions ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private void expression(Expression<?> expression) {
+			final Class<?> type = expression.getClass();
+			if ( type == SingularAttributePath.class ) {
+				path( (SingularAttributePath<?>) expression );
+			}
+			else if ( type == RootImpl.class || isJoin( expression ) ) {
+				fromReference( expression );
+			}
+			else if ( type == ParameterExpressionImpl.class ) {
+				final ParameterExpression<?> parameter = (ParameterExpression<?>) expression;
+				Integer position = parameterPositions.get( parameter );
+				if ( position == null ) {
+					position = parameters.size();
+					parameterPositions.put( parameter, position );
+					parameters.add( parameter );
+				}
+				shape.add( type );
+				shape.add( position );
+			}
+			else if ( type == LiteralExpression.class ) {
+				literal( (LiteralExpression<?>) expression );
+			}
+			else if ( type == LowerFunction.class
+					|| type == UpperFunction.class
+					|| type == LengthFunction.class
+					|| type == AbsFunction.class
+					|| type == SqrtFunction.class
+					|| type == AggregationFunction.AVG.class
+					|| type == AggregationFunction.SUM.class
+					|| type == AggregationFunction.MIN.class
+					|| type == AggregationFunction.MAX.class
+					|| type == AggregationFunction.LEAST.class
+					|| type == AggregationFunction.GREATEST.class ) {
+				shape.add( type );
+				arguments( (ParameterizedFunctionExpression<?>) expression );
+			}
+			else if ( type == AggregationFunction.COUNT.class ) {
+				shape.add( type );
+				shape.add( ( (AggregationFunction.COUNT) expression ).isDistinct() );
+				arguments( (ParameterizedFunctionExpression<?>) expression );
+			}
+			else if ( type == ConcatExpression.class ) {
+				final ConcatExpression concat = (ConcatExpression) expression;
+				shape.add( type );
+				expression( concat.getString1() );
+				expression( concat.getString2() );
+			}
+			else if ( type == BinaryArithmeticOperation.class ) {
+				final BinaryArithmeticOperation<?> operation = (BinaryArithmeticOperation<?>) expression;
+				shape.add( type );
+				shape.add( operation.getOperator() );
+				expression( operation.getLeftHandOperand() );
+				expression( operation.getRightHandOperand() );
+			}
+			else {
+				throw unsupported( expression );
+			}
+		}
+
+		private void path(SingularAttributePath<?> path) {
+			shape.add( SingularAttributePath.class );
+			shape.add( path.getAttribute() );
+			final PathSource<?> source = path.getPathSource();
+			if ( source == null ) {
+				shape.add( null );
+			}
+			else if ( source.getClass() == SingularAttributePath.class ) {
+				path( (SingularAttributePath<?>) source );
+			}
+			else {
+				fromReference( source );
+			}
+		}
+
+		private void fromReference(Object from) {
+			final Integer position = fromPositions.get( from );
+			if ( position == null ) {
+				// not one of the froms of this query
+				throw unsupported( from );
+			}
+			shape.add( RootImpl.class );
+			shape.add( position );
+		}
+
+		private void literal(LiteralExpression<?> literal) {
+			final Object value = literal.getLiteral();
+			if ( value == null ) {
+				throw unsupported( literal );
+			}
+			shape.add( LiteralExpression.class );
+			if ( ValueHandlerFactory.isNumeric( value ) ) {
+				// rendered in-line
+				shape.add( Boolean.TRUE );
+				shape.add( value.getClass() );
+				shape.add( value );
+			}
+			else {
+				shape.add( Boolean.FALSE );
+				shape.add( literal.getJavaType() );
+				literals.add( literal );
+			}
+		}
+
+		private void arguments(ParameterizedFunctionExpression<?> function) {
+			shape.add( function.getArgumentExpressions().size() );
+			for ( Expression<?> argument : function.getArgumentExpressions() ) {
+				expression( argument );
+			}
+		}
+	}
+
+	private static boolean isJoin(Object node) {
+		final Class<?> type = node.getClass();
+		return type == SingularAttributeJoin.class
+				|| type == SetAttributeJoin.class
+				|| type == ListAttributeJoin.class
+				|| type == CollectionAttributeJoin.class
+				|| type == MapAttributeJoin.class;
+	}
+}
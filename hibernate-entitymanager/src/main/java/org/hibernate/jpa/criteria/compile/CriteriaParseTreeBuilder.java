@@ -0,0 +1,745 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria.compile;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import antlr.ASTFactory;
+import antlr.collections.AST;
+import org.jboss.logging.Logger;
+
+import org.hibernate.hql.internal.antlr.HqlTokenTypes;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
+import org.hibernate.jpa.criteria.PathSource;
+import org.hibernate.jpa.criteria.QueryStructure;
+import org.hibernate.jpa.criteria.expression.BinaryArithmeticOperation;
+import org.hibernate.jpa.criteria.expression.CompoundSelectionImpl;
+import org.hibernate.jpa.criteria.expression.ConcatExpression;
+import org.hibernate.jpa.criteria.expression.LiteralExpression;
+import org.hibernate.jpa.criteria.expression.ParameterExpressionImpl;
+import org.hibernate.jpa.criteria.expression.function.AbsFunction;
+import org.hibernate.jpa.criteria.expression.function.AggregationFunction;
+import org.hibernate.jpa.criteria.expression.function.LengthFunction;
+import org.hibernate.jpa.criteria.expression.function.LowerFunction;
+import org.hibernate.jpa.criteria.expression.function.ParameterizedFunctionExpression;
+import org.hibernate.jpa.criteria.expression.function.SqrtFunction;
+import org.hibernate.jpa.criteria.expression.function.UpperFunction;
+import org.hibernate.jpa.criteria.path.AbstractFromImpl;
+import org.hibernate.jpa.criteria.path.AbstractJoinImpl;
+import org.hibernate.jpa.criteria.path.CollectionAttributeJoin;
+import org.hibernate.jpa.criteria.path.ListAttributeJoin;
+import org.hibernate.jpa.criteria.path.MapAttributeJoin;
+import org.hibernate.jpa.criteria.path.RootImpl;
+import org.hibernate.jpa.criteria.path.SetAttributeJoin;
+import org.hibernate.jpa.criteria.path.SingularAttributeJoin;
+import org.hibernate.jpa.criteria.path.SingularAttributePath;
+import org.hibernate.jpa.criteria.predicate.BetweenPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanAssertionPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanExpressionPredicate;
+import org.hibernate.jpa.criteria.predicate.BooleanStaticAssertionPredicate;
+import org.hibernate.jpa.criteria.predicate.ComparisonPredicate;
+import org.hibernate.jpa.criteria.predicate.CompoundPredicate;
+import org.hibernate.jpa.criteria.predicate.ExplicitTruthValueCheck;
+import org.hibernate.jpa.criteria.predicate.InPredicate;
+import org.hibernate.jpa.criteria.predicate.LikePredicate;
+import org.hibernate.jpa.criteria.predicate.NullnessPredicate;
+import org.hibernate.jpa.criteria.predicate.TruthValue;
+import org.hibernate.jpa.internal.metamodel.EntityTypeImpl;
+
+/**
+ * Builds the HQL AST of a rendered criteria query directly from its criteria tree, so that creating the query plan
+ * does not have to lex and parse the rendered JPQL string again.
+ * <p/>
+ * The tree built is the one {@link org.hibernate.hql.internal.ast.HqlParser} produces from the rendered string, so
+ * the walk here mirrors the {@code render} methods of the criteria nodes, in the same order: the names of the
+ * parameters generated for literals are taken from the {@link ImplicitParameterBinding}s in the order rendering
+ * registered them.  Only the node types common in dynamically built queries (paths, joins, simple predicates,
+ * parameters, literals, aggregates and a few functions) are handled; for a query containing anything else no tree
+ * is built and the rendered string is parsed as usual.
+ */
+public class CriteriaParseTreeBuilder implements HqlParseTreeBuilder {
+	private static final Logger log = Logger.getLogger( CriteriaParseTreeBuilder.class );
+
+	/**
+	 * Identifiers the HQL lexer treats as keywords; the parser handles these specially in some positions, so
+	 * aliases and names equal to any of them are not built directly.
+	 */
+	private static final Set<String> KEYWORDS = new HashSet<String>(
+			Arrays.asList(
+					"all", "any", "and", "as", "asc", "avg", "between", "class", "count", "delete", "desc",
+					"distinct", "elements", "escape", "exists", "false", "fetch", "from", "full", "group", "having",
+					"in", "indices", "inner", "insert", "into", "is", "join", "left", "like", "max", "min", "new",
+					"not", "null", "or", "order", "outer", "properties", "right", "select", "set", "some", "sum",
+					"true", "union", "update", "versioned", "where", "nulls", "case", "end", "else", "then", "when",
+					"on", "with", "both", "empty", "leading", "member", "object", "of", "trailing"
+			)
+	);
+
+	private static final Set<String> DOT_IDENTIFIER_KEYWORDS = new HashSet<String>( Arrays.asList( "group", "order" ) );
+
+	private final QueryStructure<?> queryStructure;
+	private final List<Order> orderList;
+	private final InterpretedParameterMetadata parameterMetadata;
+
+	public CriteriaParseTreeBuilder(
+			QueryStructure<?> queryStructure,
+			List<Order> orderList,
+			InterpretedParameterMetadata parameterMetadata) {
+		this.queryStructure = queryStructure;
+		this.orderList = orderList;
+		this.parameterMetadata = parameterMetadata;
+	}
+
+	@Override
+	public AST buildParseTree(ASTFactory astFactory) {
+		try {
+			return new TreeBuilder( astFactory ).query();
+		}
+		catch (UnsupportedCriteriaException e) {
+			log.debugf( "Criteria query will be parsed from its rendered form : %s", e.getMessage() );
+			return null;
+		}
+	}
+
+	private static class UnsupportedCriteriaException extends RuntimeException {
+		private UnsupportedCriteriaException(String message) {
+			super( message );
+		}
+	}
+
+	private static UnsupportedCriteriaException unsupported(Object node) {
+		return new UnsupportedCriteriaException( "no direct translation for " + node );
+	}
+
+	/**
+	 * The state of building one tree.
+	 */
+	private class TreeBuilder {
+		private final ASTFactory astFactory;
+		private final Iterator<ImplicitParameterBinding> implicitParameterBindings;
+
+		private TreeBuilder(ASTFactory astFactory) {
+			this.astFactory = astFactory;
+			this.implicitParameterBindings = parameterMetadata.implicitParameterBindings().iterator();
+		}
+
+		private AST node(int type, String text) {
+			return astFactory.create( type, text );
+		}
+
+		private AST node(int type, String text, AST... children) {
+			final AST node = astFactory.create( type, text );
+			for ( AST child : children ) {
+				node.addChild( child );
+			}
+			return node;
+		}
+
+		private AST identifier(int type, String name) {
+			if ( !isIdentifier( name ) || KEYWORDS.contains( name.toLowerCase( Locale.ENGLISH ) ) ) {
+				throw new UnsupportedCriteriaException( "not a plain identifier : " + name );
+			}
+			return node( type, name );
+		}
+
+		private AST dotIdentifier(String name) {
+			// following a dot, "order" and "group" (say an entity named Order) are identifiers to the parser too
+			if ( !isIdentifier( name ) || ( KEYWORDS.contains( name.toLowerCase( Locale.ENGLISH ) )
+					&& !DOT_IDENTIFIER_KEYWORDS.contains( name.toLowerCase( Locale.ENGLISH ) ) ) ) {
+				throw new UnsupportedCriteriaException( "not a plain identifier : " + name );
+			}
+			return node( HqlTokenTypes.IDENT, name );
+		}
+
+		// query structure ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private AST query() {
+			// built in rendering order (see QueryStructure#render and CriteriaQueryImpl#interpret)
+			final AST selectClause = selectClause();
+			final AST fromClause = fromClause();
+			final AST whereClause = queryStructure.getRestriction() == null
+					? null
+					: node( HqlTokenTypes.WHERE, "where", condition( queryStructure.getRestriction() ) );
+			final AST groupByClause = groupByClause();
+			final AST orderByClause = orderByClause();
+
+			if ( implicitParameterBindings.hasNext() ) {
+				throw new UnsupportedCriteriaException( "literal parameters were not all encountered" );
+			}
+
+			final AST query = node(
+					HqlTokenTypes.QUERY,
+					"query",
+					node( HqlTokenTypes.SELECT_FROM, "SELECT_FROM", fromClause, selectClause )
+			);
+			if ( whereClause != null ) {
+				query.addChild( whereClause );
+			}
+			if ( groupByClause != null ) {
+				query.addChild( groupByClause );
+			}
+			if ( orderByClause != null ) {
+				query.addChild( orderByClause );
+			}
+			return query;
+		}
+
+		private AST selectClause() {
+			final AST selectClause = node( HqlTokenTypes.SELECT, "select" );
+			if ( queryStructure.isDistinct() ) {
+				selectClause.addChild( node( HqlTokenTypes.DISTINCT, "distinct" ) );
+			}
+
+			final Selection<?> selection = queryStructure.getSelection();
+			if ( selection == null ) {
+				// the implicit selection of a (non-sub) query is its single root
+				selectClause.addChild( fromReference( queryStructure.getRoots().iterator().next() ) );
+			}
+			else if ( selection.getClass() == CompoundSelectionImpl.class ) {
+				final CompoundSelectionImpl<?> compoundSelection = (CompoundSelectionImpl<?>) selection;
+				if ( compoundSelection.isConstructor() ) {
+					final AST constructor = node( HqlTokenTypes.CONSTRUCTOR, "(", qualifiedName( compoundSelection.getJavaType().getName() ) );
+					for ( Selection<?> item : compoundSelection.getCompoundSelectionItems() ) {
+						constructor.addChild( projection( item ) );
+					}
+					selectClause.addChild( constructor );
+				}
+				else {
+					for ( Selection<?> item : compoundSelection.getCompoundSelectionItems() ) {
+						selectClause.addChild( projection( item ) );
+					}
+				}
+			}
+			else {
+				selectClause.addChild( projection( selection ) );
+			}
+			return selectClause;
+		}
+
+		private AST projection(Selection<?> selection) {
+			// literals are rendered in-line in the select clause, and compound selections do not nest
+			if ( selection.getClass() == LiteralExpression.class || !Expression.class.isInstance( selection ) ) {
+				throw unsupported( selection );
+			}
+			return expression( (Expression<?>) selection );
+		}
+
+		private AST qualifiedName(String name) {
+			AST path = null;
+			for ( String part : name.split( "\\." ) ) {
+				path = path == null
+						? identifier( HqlTokenTypes.IDENT, part )
+						: node( HqlTokenTypes.DOT, ".", path, dotIdentifier( part ) );
+			}
+			return path;
+		}
+
+		private AST fromClause() {
+			final AST fromClause = node( HqlTokenTypes.FROM, "from" );
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				if ( root.getClass() != RootImpl.class || !EntityTypeImpl.class.isInstance( root.getModel() ) ) {
+					throw unsupported( root );
+				}
+				// the query plan translates the query with the entity names substituted for the JPA ones
+				fromClause.addChild(
+						node(
+								HqlTokenTypes.RANGE,
+								"RANGE",
+								qualifiedName( ( (EntityTypeImpl<?>) root.getModel() ).getTypeName() ),
+								identifier( HqlTokenTypes.ALIAS, root.getAlias() )
+						)
+				);
+			}
+			for ( Root<?> root : queryStructure.getRoots() ) {
+				joins( fromClause, root.getJoins() );
+				fetches( fromClause, root.getFetches() );
+			}
+			return fromClause;
+		}
+
+		private void joins(AST fromClause, Collection<? extends Join<?, ?>> joins) {
+			for ( Join<?, ?> join : joins ) {
+				fromClause.addChild( join( join.getJoinType(), false, join ) );
+				joins( fromClause, join.getJoins() );
+				fetches( fromClause, join.getFetches() );
+			}
+		}
+
+		private void fetches(AST fromClause, Collection<? extends Fetch<?, ?>> fetches) {
+			for ( Fetch<?, ?> fetch : fetches ) {
+				fromClause.addChild( join( fetch.getJoinType(), true, fetch ) );
+				fetches( fromClause, fetch.getFetches() );
+			}
+		}
+
+		private AST join(JoinType joinType, boolean fetch, Object node) {
+			if ( !isJoin( node ) ) {
+				throw unsupported( node );
+			}
+			final AbstractJoinImpl<?, ?> join = (AbstractJoinImpl<?, ?>) node;
+			final AST joinNode = node( HqlTokenTypes.JOIN, "join" );
+			switch ( joinType ) {
+				case INNER: {
+					joinNode.addChild( node( HqlTokenTypes.INNER, "inner" ) );
+					break;
+				}
+				case LEFT: {
+					joinNode.addChild( node( HqlTokenTypes.LEFT, "left" ) );
+					break;
+				}
+				case RIGHT: {
+					joinNode.addChild( node( HqlTokenTypes.RIGHT, "right" ) );
+					break;
+				}
+				default: {
+					throw unsupported( joinType );
+				}
+			}
+			if ( fetch ) {
+				joinNode.addChild( node( HqlTokenTypes.FETCH, "fetch" ) );
+			}
+			joinNode.addChild(
+					node(
+							HqlTokenTypes.DOT,
+							".",
+							identifier( HqlTokenTypes.IDENT, join.getParent().getAlias() ),
+							dotIdentifier( join.getAttribute().getName() )
+					)
+			);
+			joinNode.addChild( identifier( HqlTokenTypes.ALIAS, join.getAlias() ) );
+			if ( join.getOn() != null ) {
+				joinNode.addChild( node( HqlTokenTypes.WITH, "with", condition( join.getOn() ) ) );
+			}
+			return joinNode;
+		}
+
+		private AST groupByClause() {
+			if ( queryStructure.getGroupings().isEmpty() ) {
+				return null;
+			}
+			final AST groupByClause = node( HqlTokenTypes.GROUP, "group" );
+			for ( Expression<?> grouping : queryStructure.getGroupings() ) {
+				groupByClause.addChild( expression( grouping ) );
+			}
+			if ( queryStructure.getHaving() != null ) {
+				groupByClause.addChild( node( HqlTokenTypes.HAVING, "having", condition( queryStructure.getHaving() ) ) );
+			}
+			return groupByClause;
+		}
+
+		private AST orderByClause() {
+			if ( orderList.isEmpty() ) {
+				return null;
+			}
+			final AST orderByClause = node( HqlTokenTypes.ORDER, "order" );
+			for ( Order order : orderList ) {
+				orderByClause.addChild( expression( order.getExpression() ) );
+				orderByClause.addChild(
+						order.isAscending()
+								? node( HqlTokenTypes.ASCENDING, "asc" )
+								: node( HqlTokenTypes.DESCENDING, "desc" )
+				);
+			}
+			return orderByClause;
+		}
+
+		// predicates ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private AST condition(Expression<?> condition) {
+			final Class<?> type = condition.getClass();
+			if ( type == CompoundPredicate.class ) {
+				return compoundPredicate( (CompoundPredicate) condition );
+			}
+			else if ( type == ComparisonPredicate.class ) {
+				final ComparisonPredicate comparison = (ComparisonPredicate) condition;
+				final AST lhs = expression( comparison.getLeftHandOperand() );
+				final AST rhs = expression( comparison.getRightHandOperand() );
+				return comparison( comparison.getComparisonOperator(), lhs, rhs );
+			}
+			else if ( type == LikePredicate.class ) {
+				final LikePredicate like = (LikePredicate) condition;
+				final AST likeNode = like.isNegated()
+						? node( HqlTokenTypes.NOT_LIKE, "not like" )
+						: node( HqlTokenTypes.LIKE, "like" );
+				likeNode.addChild( expression( like.getMatchExpression() ) );
+				likeNode.addChild( expression( like.getPattern() ) );
+				if ( like.getEscapeCharacter() != null ) {
+					likeNode.addChild( node( HqlTokenTypes.ESCAPE, "escape", expression( like.getEscapeCharacter() ) ) );
+				}
+				return likeNode;
+			}
+			else if ( type == NullnessPredicate.class ) {
+				final NullnessPredicate nullness = (NullnessPredicate) condition;
+				return nullness.isNegated()
+						? node( HqlTokenTypes.IS_NOT_NULL, "is not null", expression( nullness.getOperand() ) )
+						: node( HqlTokenTypes.IS_NULL, "is null", expression( nullness.getOperand() ) );
+			}
+			else if ( type == InPredicate.class ) {
+				return inPredicate( (InPredicate<?>) condition );
+			}
+			else if ( type == BetweenPredicate.class ) {
+				final BetweenPredicate<?> between = (BetweenPredicate<?>) condition;
+				return node(
+						between.isNegated() ? HqlTokenTypes.NOT_BETWEEN : HqlTokenTypes.BETWEEN,
+						between.isNegated() ? "not between" : "between",
+						expression( between.getExpression() ),
+						expression( between.getLowerBound() ),
+						expression( between.getUpperBound() )
+				);
+			}
+			else if ( type == BooleanStaticAssertionPredicate.class ) {
+				final BooleanStaticAssertionPredicate assertion = (BooleanStaticAssertionPredicate) condition;
+				return staticTruth( assertion.getAssertedValue() != assertion.isNegated() );
+			}
+			else if ( type == BooleanAssertionPredicate.class ) {
+				final BooleanAssertionPredicate assertion = (BooleanAssertionPredicate) condition;
+				return node(
+						assertion.isNegated() ? HqlTokenTypes.NE : HqlTokenTypes.EQ,
+						assertion.isNegated() ? "<>" : "=",
+						expression( assertion.getExpression() ),
+						truthValue( assertion.getAssertedValue() )
+				);
+			}
+			else if ( type == ExplicitTruthValueCheck.class ) {
+				final ExplicitTruthValueCheck check = (ExplicitTruthValueCheck) condition;
+				return node(
+						HqlTokenTypes.EQ,
+						"=",
+						expression( check.getBooleanExpression() ),
+						truthValue( check.getTruthValue() == TruthValue.TRUE )
+				);
+			}
+			else if ( type == BooleanExpressionPredicate.class ) {
+				return condition( ( (BooleanExpressionPredicate) condition ).getExpression() );
+			}
+			else {
+				// possibly a boolean valued expression rather than a predicate
+				return expression( condition );
+			}
+		}
+
+		private AST compoundPredicate(CompoundPredicate compoundPredicate) {
+			final List<Expression<Boolean>> expressions = compoundPredicate.getExpressions();
+			if ( expressions.isEmpty() ) {
+				final boolean implicitTrue = compoundPredicate.getOperator() == CompoundPredicate.BooleanOperator.AND;
+				return staticTruth( implicitTrue != compoundPredicate.isNegated() );
+			}
+			final boolean and = compoundPredicate.getOperator() == CompoundPredicate.BooleanOperator.AND;
+			AST result = null;
+			for ( Expression<Boolean> expression : expressions ) {
+				final AST operand = condition( expression );
+				result = result == null
+						? operand
+						: node( and ? HqlTokenTypes.AND : HqlTokenTypes.OR, and ? "and" : "or", result, operand );
+			}
+			return result;
+		}
+
+		private AST comparison(ComparisonPredicate.ComparisonOperator operator, AST lhs, AST rhs) {
+			switch ( operator ) {
+				case EQUAL: {
+					return node( HqlTokenTypes.EQ, "=", lhs, rhs );
+				}
+				case NOT_EQUAL: {
+					return node( HqlTokenTypes.NE, "<>", lhs, rhs );
+				}
+				case LESS_THAN: {
+					return node( HqlTokenTypes.LT, "<", lhs, rhs );
+				}
+				case LESS_THAN_OR_EQUAL: {
+					return node( HqlTokenTypes.LE, "<=", lhs, rhs );
+				}
+				case GREATER_THAN: {
+					return node( HqlTokenTypes.GT, ">", lhs, rhs );
+				}
+				case GREATER_THAN_OR_EQUAL: {
+					return node( HqlTokenTypes.GE, ">=", lhs, rhs );
+				}
+			}
+			throw unsupported( operator );
+		}
+
+		private AST inPredicate(InPredicate<?> in) {
+			final List<? extends Expression<?>> values = in.getValues();
+			final AST inNode = in.isNegated()
+					? node( HqlTokenTypes.NOT_IN, "not in" )
+					: node( HqlTokenTypes.IN, "in" );
+			inNode.addChild( expression( in.getExpression() ) );
+			final AST inList = node( HqlTokenTypes.IN_LIST, "inList" );
+			for ( Expression<?> value : values ) {
+				inList.addChild( expression( value ) );
+			}
+			inNode.addChild( inList );
+			return inNode;
+		}
+
+		private AST staticTruth(boolean isTrue) {
+			// "1=1" or "0=1"
+			return node(
+					HqlTokenTypes.EQ,
+					"=",
+					node( HqlTokenTypes.NUM_INT, isTrue ? "1" : "0" ),
+					node( HqlTokenTypes.NUM_INT, "1" )
+			);
+		}
+
+		private AST truthValue(boolean value) {
+			return value ? node( HqlTokenTypes.TRUE, "true" ) : node( HqlTokenTypes.FALSE, "false" );
+		}
+
+		// expressions ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		private AST expression(Expression<?> expression) {
+			final Class<?> type = expression.getClass();
+			if ( type == SingularAttributePath.class ) {
+				final SingularAttributePath<?> path = (SingularAttributePath<?>) expression;
+				return path.getPathSource() == null
+						? identifier( HqlTokenTypes.IDENT, path.getAttribute().getName() )
+						: node(
+								HqlTokenTypes.DOT,
+								".",
+								pathSource( path.getPathSource() ),
+								dotIdentifier( path.getAttribute().getName() )
+						);
+			}
+			else if ( type == RootImpl.class || isJoin( expression ) ) {
+				return fromReference( expression );
+			}
+			else if ( type == ParameterExpressionImpl.class ) {
+				final String name = parameterMetadata.explicitParameterMapping().get( expression );
+				if ( name == null ) {
+					throw unsupported( expression );
+				}
+				return parameter( name );
+			}
+			else if ( type == LiteralExpression.class ) {
+				return literal( (LiteralExpression<?>) expression );
+			}
+			else if ( type == LowerFunction.class
+					|| type == UpperFunction.class
+					|| type == LengthFunction.class
+					|| type == AbsFunction.class
+					|| type == SqrtFunction.class ) {
+				final ParameterizedFunctionExpression<?> function = (ParameterizedFunctionExpression<?>) expression;
+				final AST arguments = node( HqlTokenTypes.EXPR_LIST, "exprList" );
+				for ( Expression<?> argument : function.getArgumentExpressions() ) {
+					arguments.addChild( expression( argument ) );
+				}
+				return node(
+						HqlTokenTypes.METHOD_CALL,
+						"(",
+						identifier( HqlTokenTypes.IDENT, function.getFunctionName() ),
+						arguments
+				);
+			}
+			else if ( type == AggregationFunction.COUNT.class ) {
+				return count( (AggregationFunction.COUNT) expression );
+			}
+			else if ( type == AggregationFunction.AVG.class
+					|| type == AggregationFunction.SUM.class
+					|| type == AggregationFunction.MIN.class
+					|| type == AggregationFunction.MAX.class
+					|| type == AggregationFunction.LEAST.class
+					|| type == AggregationFunction.GREATEST.class ) {
+				final AggregationFunction<?> function = (AggregationFunction<?>) expression;
+				if ( function.getArgumentExpressions().size() != 1 ) {
+					throw unsupported( expression );
+				}
+				return node(
+						HqlTokenTypes.AGGREGATE,
+						function.getFunctionName(),
+						expression( function.getArgumentExpressions().get( 0 ) )
+				);
+			}
+			else if ( type == ConcatExpression.class ) {
+				// a || b || c is a single call, whichever way the concatenations nest
+				final AST operands = node( HqlTokenTypes.EXPR_LIST, "concatList" );
+				concatOperands( operands, (ConcatExpression) expression );
+				return node( HqlTokenTypes.METHOD_CALL, "||", node( HqlTokenTypes.IDENT, "concat" ), operands );
+			}
+			else if ( type == BinaryArithmeticOperation.class ) {
+				return arithmetic( (BinaryArithmeticOperation<?>) expression );
+			}
+			throw unsupported( expression );
+		}
+
+		private AST pathSource(PathSource<?> source) {
+			if ( source.getClass() == SingularAttributePath.class ) {
+				final SingularAttributePath<?> path = (SingularAttributePath<?>) source;
+				if ( path.getPathSource() == null ) {
+					throw unsupported( source );
+				}
+				return node(
+						HqlTokenTypes.DOT,
+						".",
+						pathSource( path.getPathSource() ),
+						dotIdentifier( path.getAttribute().getName() )
+				);
+			}
+			return fromReference( source );
+		}
+
+		private AST fromReference(Object from) {
+			if ( from.getClass() != RootImpl.class && !isJoin( from ) ) {
+				throw unsupported( from );
+			}
+			return identifier( HqlTokenTypes.IDENT, ( (AbstractFromImpl<?, ?>) from ).getAlias() );
+		}
+
+		private AST parameter(String name) {
+			return node( HqlTokenTypes.COLON, ":", identifier( HqlTokenTypes.IDENT, name ) );
+		}
+
+		private AST literal(LiteralExpression<?> literal) {
+			final Object value = literal.getLiteral();
+			if ( value == null ) {
+				throw unsupported( literal );
+			}
+			final Class<?> valueType = value.getClass();
+			if ( valueType == Integer.class || valueType == Short.class || valueType == Byte.class ) {
+				return number( HqlTokenTypes.NUM_INT, value.toString(), "" );
+			}
+			else if ( valueType == Long.class ) {
+				return number( HqlTokenTypes.NUM_LONG, value.toString(), "L" );
+			}
+			else if ( valueType == BigInteger.class ) {
+				return number( HqlTokenTypes.NUM_BIG_INTEGER, value.toString(), "BI" );
+			}
+			else if ( Number.class.isInstance( value ) ) {
+				// other numeric literals are rendered in-line too, but their text is not lexed as reliably
+				throw unsupported( literal );
+			}
+
+			if ( !implicitParameterBindings.hasNext() ) {
+				throw unsupported( literal );
+			}
+			final ImplicitParameterBinding binding = implicitParameterBindings.next();
+			if ( binding.getJavaType() != literal.getJavaType() ) {
+				throw unsupported( literal );
+			}
+			return parameter( binding.getParameterName() );
+		}
+
+		private AST number(int type, String text, String suffix) {
+			// the parser sees a negative number as a unary minus applied to a positive one
+			return text.charAt( 0 ) == '-'
+					? node( HqlTokenTypes.UNARY_MINUS, "-", node( type, text.substring( 1 ) + suffix ) )
+					: node( type, text + suffix );
+		}
+
+		private AST count(AggregationFunction.COUNT count) {
+			final List<Expression<?>> arguments = count.getArgumentExpressions();
+			if ( arguments.size() != 1 ) {
+				throw unsupported( count );
+			}
+			final Expression<?> argument = arguments.get( 0 );
+			final AST countNode = node( HqlTokenTypes.COUNT, "count" );
+			if ( count.isDistinct() ) {
+				countNode.addChild( node( HqlTokenTypes.DISTINCT, "distinct" ) );
+			}
+			else if ( argument instanceof Root && ( (Root<?>) argument ).getModel().getIdType() != null ) {
+				countNode.addChild( node( HqlTokenTypes.ROW_STAR, "*" ) );
+				return countNode;
+			}
+			// the grammar only allows a path here
+			if ( argument.getClass() != SingularAttributePath.class
+					&& argument.getClass() != RootImpl.class
+					&& !isJoin( argument ) ) {
+				throw unsupported( count );
+			}
+			countNode.addChild( expression( argument ) );
+			return countNode;
+		}
+
+		private void concatOperands(AST operands, ConcatExpression concat) {
+			for ( Expression<String> operand : Arrays.asList( concat.getString1(), concat.getString2() ) ) {
+				if ( operand.getClass() == ConcatExpression.class ) {
+					concatOperands( operands, (ConcatExpression) operand );
+				}
+				else {
+					operands.addChild( expression( operand ) );
+				}
+			}
+		}
+
+		private AST arithmetic(BinaryArithmeticOperation<?> operation) {
+			final AST lhs = expression( operation.getLeftHandOperand() );
+			final AST rhs = expression( operation.getRightHandOperand() );
+			switch ( operation.getOperator() ) {
+				case ADD: {
+					return node( HqlTokenTypes.PLUS, "+", lhs, rhs );
+				}
+				case SUBTRACT: {
+					return node( HqlTokenTypes.MINUS, "-", lhs, rhs );
+				}
+				case MULTIPLY: {
+					return node( HqlTokenTypes.STAR, "*", lhs, rhs );
+				}
+				case DIVIDE:
+				case QUOT: {
+					return node( HqlTokenTypes.DIV, "/", lhs, rhs );
+				}
+			}
+			throw unsupported( operation );
+		}
+	}
+
+	private static boolean isJoin(Object node) {
+		final Class<?> type = node.getClass();
+		return type == SingularAttributeJoin.class
+				|| type == SetAttributeJoin.class
+				|| type == ListAttributeJoin.class
+				|| type == CollectionAttributeJoin.class
+				|| type == MapAttributeJoin.class;
+	}
+
+	private static boolean isIdentifier(String name) {
+		if ( name == null || name.length() == 0 ) {
+			return false;
+		}
+		for ( int i = 0; i < name.length(); i++ ) {
+			final char c = name.charAt( i );
+			final boolean letter = c == '_' || c == '$' || ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' )
+					|| c >= '\u0080';
+			if ( !letter && ( i == 0 || c < '0' || c > '9' ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -63,6 +63,15 @@ public class CompoundSelectionImpl<X>
 		return true;
 	}
 
+	/**
+	 * Is this selection the arguments of a constructor of its java type (as opposed to an array or tuple)?
+	 *
+	 * @return {@code true} if this selection is a constructor call
+	 */
+	public boolean isConstructor() {
+		return isConstructor;
+	}
+
 	@Override
 	public List<Selection<?>> getCompoundSelectionItems() {
 		return selectionItems;
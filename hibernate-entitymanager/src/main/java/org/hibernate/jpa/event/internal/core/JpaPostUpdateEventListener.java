@@ -26,6 +26,7 @@ package org.hibernate.jpa.event.internal.core;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.OldStateAwareEventListener;
 import org.hibernate.event.spi.PostCollectionRecreateEvent;
 import org.hibernate.event.spi.PostCollectionRecreateEventListener;
 import org.hibernate.event.spi.PostCollectionRemoveEvent;
@@ -46,6 +47,7 @@ import org.hibernate.persister.entity.EntityPersister;
 @SuppressWarnings("serial")
 public class JpaPostUpdateEventListener
 		implements PostUpdateEventListener,
+				   OldStateAwareEventListener,
 				   CallbackRegistryConsumer,
 				   PostCollectionRecreateEventListener,
 				   PostCollectionRemoveEventListener,
@@ -85,6 +87,11 @@ public class JpaPostUpdateEventListener
 		return callbackRegistry.hasPostUpdateCallbacks( persister.getMappedClass() );
 	}
 
+	@Override
+	public boolean requiresOldState(EntityPersister persister) {
+		return false;
+	}
+
 	@Override
 	public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
 		Object entity = event.getCollection().getOwner();
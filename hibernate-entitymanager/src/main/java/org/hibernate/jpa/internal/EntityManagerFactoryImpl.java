@@ -69,6 +69,7 @@ import org.hibernate.jpa.AvailableSettings;
 import org.hibernate.jpa.HibernateQuery;
 import org.hibernate.jpa.boot.internal.SettingsImpl;
 import org.hibernate.jpa.criteria.CriteriaBuilderImpl;
+import org.hibernate.jpa.criteria.compile.CompiledCriteriaCache;
 import org.hibernate.jpa.graph.internal.EntityGraphImpl;
 import org.hibernate.jpa.internal.metamodel.EntityTypeImpl;
 import org.hibernate.jpa.internal.metamodel.MetamodelImpl;
@@ -95,6 +96,7 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 	private final transient boolean discardOnClose;
 	private final transient Class sessionInterceptorClass;
 	private final transient CriteriaBuilderImpl criteriaBuilder;
+	private final transient CompiledCriteriaCache compiledCriteriaCache;
 	private final transient MetamodelImpl metamodel;
 	private final transient HibernatePersistenceUnitUtil util;
 	private final transient Map<String,Object> properties;
@@ -144,6 +146,7 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 			);
 		}
 		this.criteriaBuilder = new CriteriaBuilderImpl( this );
+		this.compiledCriteriaCache = new CompiledCriteriaCache( sessionFactory.getProperties() );
 		this.util = new HibernatePersistenceUnitUtil( this );
 
 		HashMap<String,Object> props = new HashMap<String, Object>();
@@ -250,6 +253,10 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 		return criteriaBuilder;
 	}
 
+	public CompiledCriteriaCache getCompiledCriteriaCache() {
+		return compiledCriteriaCache;
+	}
+
 	public Metamodel getMetamodel() {
 		return metamodel;
 	}
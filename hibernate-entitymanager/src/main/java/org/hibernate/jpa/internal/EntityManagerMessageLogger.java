@@ -23,6 +23,7 @@
  */
 package org.hibernate.jpa.internal;
 
+import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
 
@@ -108,4 +109,14 @@ public interface EntityManagerMessageLogger extends CoreMessageLogger {
             "as the entity (type=%s, id=%s) does not exist", id = 15013 )
     void ignoringEntityNotFound( String entityName, String identifier);
 
+    @LogMessage( level = WARN )
+    @Message( value = "Unable to read mapping metadata cache file (ignored): %s", id = 15014 )
+    void unableToReadMetadataCache( File file,
+                                    @Cause Exception e );
+
+    @LogMessage( level = WARN )
+    @Message( value = "Unable to write mapping metadata cache file: %s", id = 15015 )
+    void unableToWriteMetadataCache( File file,
+                                     @Cause Exception e );
+
 }
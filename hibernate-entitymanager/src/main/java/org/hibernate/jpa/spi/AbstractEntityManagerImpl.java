@@ -107,6 +107,8 @@ import org.hibernate.engine.transaction.synchronization.spi.AfterCompletionActio
 import org.hibernate.engine.transaction.synchronization.spi.ExceptionMapper;
 import org.hibernate.engine.transaction.synchronization.spi.ManagedFlushChecker;
 import org.hibernate.engine.transaction.synchronization.spi.SynchronizationCallbackCoordinator;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
+import org.hibernate.internal.AbstractSessionImpl;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.jpa.AvailableSettings;
@@ -541,8 +543,21 @@ public abstract class AbstractEntityManagerImpl implements HibernateEntityManage
 			Class<T> resultClass,
 			Selection selection,
 			Options options) {
+		return createQuery( jpaqlString, resultClass, selection, options, null );
+	}
+
+	@Override
+	public <T> QueryImpl<T> createQuery(
+			String jpaqlString,
+			Class<T> resultClass,
+			Selection selection,
+			Options options,
+			HqlParseTreeBuilder parseTreeBuilder) {
 		try {
-			org.hibernate.Query hqlQuery = internalGetSession().createQuery( jpaqlString );
+			final Session session = internalGetSession();
+			org.hibernate.Query hqlQuery = parseTreeBuilder != null && session instanceof AbstractSessionImpl
+					? ( (AbstractSessionImpl) session ).createQuery( jpaqlString, parseTreeBuilder )
+					: session.createQuery( jpaqlString );
 
 			if ( options.getValueHandlers() == null ) {
 				if ( options.getResultMetadataValidator() != null ) {
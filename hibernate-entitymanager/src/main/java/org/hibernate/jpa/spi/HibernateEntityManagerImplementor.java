@@ -32,6 +32,7 @@ import java.util.Map;
 import org.hibernate.HibernateException;
 import org.hibernate.LockOptions;
 import org.hibernate.StaleStateException;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
 import org.hibernate.jpa.HibernateEntityManager;
 import org.hibernate.jpa.HibernateEntityManagerFactory;
 import org.hibernate.jpa.criteria.ValueHandlerFactory;
@@ -166,4 +167,23 @@ public interface HibernateEntityManagerImplementor extends HibernateEntityManage
 	 * @return The typed query
 	 */
 	public <T> QueryImpl<T> createQuery(String jpaqlString, Class<T> resultClass, Selection selection, Options options);
+
+	/**
+	 * Used during "compiling" a JPA criteria query whose HQL AST can be built without parsing the rendered JPA QL.
+	 *
+	 * @param jpaqlString The criteria query rendered as a JPA QL string
+	 * @param resultClass The result type (the type expected in the result list)
+	 * @param selection The selection(s)
+	 * @param options The options to use to build the query.
+	 * @param parseTreeBuilder Builds the HQL AST for {@code jpaqlString}; may be {@code null} to parse it
+	 * @param <T> The query type
+	 *
+	 * @return The typed query
+	 */
+	public <T> QueryImpl<T> createQuery(
+			String jpaqlString,
+			Class<T> resultClass,
+			Selection selection,
+			Options options,
+			HqlParseTreeBuilder parseTreeBuilder);
 }
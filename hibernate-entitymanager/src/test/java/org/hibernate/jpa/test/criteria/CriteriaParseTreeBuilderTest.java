@@ -0,0 +1,226 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.test.criteria;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import antlr.collections.AST;
+import org.junit.Test;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.QuerySplitter;
+import org.hibernate.hql.internal.ast.HqlASTFactory;
+import org.hibernate.hql.internal.ast.HqlParser;
+import org.hibernate.hql.spi.HqlParseTreeBuilder;
+import org.hibernate.jpa.HibernateEntityManagerFactory;
+import org.hibernate.jpa.criteria.compile.CompilableCriteria;
+import org.hibernate.jpa.criteria.compile.CriteriaCompiler;
+import org.hibernate.jpa.spi.HibernateEntityManagerImplementor;
+import org.hibernate.jpa.test.metamodel.AbstractMetamodelSpecificTest;
+import org.hibernate.jpa.test.metamodel.Customer;
+import org.hibernate.jpa.test.metamodel.LineItem;
+import org.hibernate.jpa.test.metamodel.Order;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the HQL AST built for a criteria query is the one the parser produces from the rendered query.
+ */
+public class CriteriaParseTreeBuilderTest extends AbstractMetamodelSpecificTest {
+	@Test
+	public void testRestrictions() {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Customer> criteria = builder.createQuery( Customer.class );
+		final Root<Customer> root = criteria.from( Customer.class );
+		final ParameterExpression<Integer> age = builder.parameter( Integer.class );
+		criteria.where(
+				builder.or(
+						builder.and(
+								builder.equal( root.get( "name" ), "Bob" ),
+								builder.lessThanOrEqualTo( root.<Integer>get( "age" ), age ),
+								builder.notLike( builder.lower( root.<String>get( "name" ) ), "%x%" )
+						),
+						builder.between( root.<Integer>get( "age" ), -10, 10 ),
+						root.get( "name" ).in( "Alice", "Carol" ),
+						builder.isNull( root.get( "spouse" ) ),
+						builder.notEqual( builder.length( root.<String>get( "name" ) ), 3L )
+				)
+		);
+		criteria.orderBy( builder.desc( root.get( "age" ) ), builder.asc( root.get( "name" ) ) );
+
+		assertBuiltTreeMatchesParsedTree( criteria, age, 40 );
+	}
+
+	@Test
+	public void testJoinsAndFetches() {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Order> criteria = builder.createQuery( Order.class ).distinct( true );
+		final Root<Order> root = criteria.from( Order.class );
+		final Join<Order, LineItem> lineItem = root.join( "lineItems", JoinType.LEFT );
+		lineItem.on( builder.gt( lineItem.<Integer>get( "quantity" ), 20 ) );
+		root.fetch( "customer" );
+		criteria.where( builder.equal( root.get( "customer" ).get( "name" ), "Bob" ) );
+
+		assertBuiltTreeMatchesParsedTree( criteria, null, null );
+	}
+
+	@Test
+	public void testProjections() {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+		final Root<Customer> root = criteria.from( Customer.class );
+		criteria.multiselect(
+				builder.concat( builder.concat( root.<String>get( "name" ), "-" ), builder.upper( root.<String>get( "name" ) ) ),
+				builder.count( root ),
+				builder.max( builder.sum( root.<Integer>get( "age" ), 1 ) )
+		);
+		criteria.groupBy( root.get( "name" ) );
+		criteria.having( builder.gt( builder.countDistinct( root.get( "age" ) ), 1L ) );
+
+		assertBuiltTreeMatchesParsedTree( criteria, null, null );
+	}
+
+	@Test
+	public void testConstructorSelection() {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<CustomerSummary> criteria = builder.createQuery( CustomerSummary.class );
+		final Root<Customer> root = criteria.from( Customer.class );
+		criteria.select( builder.construct( CustomerSummary.class, root.get( "name" ), root.get( "age" ) ) );
+
+		assertBuiltTreeMatchesParsedTree( criteria, null, null );
+	}
+
+	@Test
+	public void testUnsupportedCriteriaIsParsed() {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Customer> criteria = builder.createQuery( Customer.class );
+		final Root<Customer> root = criteria.from( Customer.class );
+		final Subquery<Order> orders = criteria.subquery( Order.class );
+		orders.select( orders.correlate( root ).<Customer, Order>join( "orders" ) );
+		criteria.where( builder.exists( orders ) );
+
+		final EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		final CompiledQuery compiledQuery = compile( em, criteria );
+		assertNull( compiledQuery.parseTreeBuilder.buildParseTree( new HqlASTFactory() ) );
+		compiledQuery.query.getResultList();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private void assertBuiltTreeMatchesParsedTree(
+			CriteriaQuery<?> criteria,
+			ParameterExpression<Integer> parameter,
+			Integer argument) {
+		final EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		final CompiledQuery compiledQuery = compile( em, criteria );
+
+		final AST builtTree = compiledQuery.parseTreeBuilder.buildParseTree( new HqlASTFactory() );
+		assertNotNull( builtTree );
+		final SessionFactoryImplementor sessionFactory =
+				(SessionFactoryImplementor) ( (HibernateEntityManagerFactory) entityManagerFactory() ).getSessionFactory();
+		final String[] concreteQueries = QuerySplitter.concreteQueries( compiledQuery.jpaql, sessionFactory );
+		assertEquals( 1, concreteQueries.length );
+		final HqlParser parser = HqlParser.getInstance( concreteQueries[0] );
+		try {
+			parser.statement();
+		}
+		catch (Exception e) {
+			throw new RuntimeException( "Unable to parse " + concreteQueries[0], e );
+		}
+		assertSameTree( parser.getAST(), builtTree );
+
+		// and the plan built from the tree executes
+		if ( parameter != null ) {
+			compiledQuery.query.setParameter( parameter, argument );
+		}
+		compiledQuery.query.getResultList();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private void assertSameTree(AST expected, AST actual) {
+		for ( ; expected != null; expected = expected.getNextSibling(), actual = actual.getNextSibling() ) {
+			assertNotNull( "missing node " + expected, actual );
+			assertEquals( expected.getType(), actual.getType() );
+			assertEquals( expected.getText(), actual.getText() );
+			assertSameTree( expected.getFirstChild(), actual.getFirstChild() );
+		}
+		assertNull( "unexpected node " + actual, actual );
+	}
+
+	private CompiledQuery compile(EntityManager em, CriteriaQuery<?> criteria) {
+		final HibernateEntityManagerImplementor entityManager = (HibernateEntityManagerImplementor) em;
+		final CompiledQuery compiledQuery = new CompiledQuery();
+		// captures what the compiled criteria query hands over to the entity manager
+		final HibernateEntityManagerImplementor capturingEntityManager = (HibernateEntityManagerImplementor) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class[] { HibernateEntityManagerImplementor.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( args != null && args.length == 5 && args[4] instanceof HqlParseTreeBuilder ) {
+							compiledQuery.jpaql = (String) args[0];
+							compiledQuery.parseTreeBuilder = (HqlParseTreeBuilder) args[4];
+						}
+						try {
+							return method.invoke( entityManager, args );
+						}
+						catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					}
+				}
+		);
+		compiledQuery.query = new CriteriaCompiler( capturingEntityManager ).compile( (CompilableCriteria) criteria );
+		return compiledQuery;
+	}
+
+	private static class CompiledQuery {
+		private String jpaql;
+		private HqlParseTreeBuilder parseTreeBuilder;
+		private Query query;
+	}
+
+	public static class CustomerSummary {
+		public CustomerSummary(String name, Integer age) {
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.test.criteria;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaBuilder.In;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateEntityManagerFactory;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.jpa.test.Distributor;
+import org.hibernate.jpa.test.Item;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that criteria queries of the same shape share one compiled query and query plan, and that changes made to
+ * a criteria query after executing it are seen by the next execution.
+ */
+public class CriteriaQueryPlanSharingTest extends BaseEntityManagerFunctionalTestCase {
+	@Override
+	public Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Distributor.class };
+	}
+
+	@Test
+	public void testSeparatelyBuiltCriteriaShareQueryPlan() {
+		createItems();
+
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		final TypedQuery<Item> mouseQuery = em.createQuery( buildCriteria( "Mouse" ) );
+		assertEquals( "Mouse", mouseQuery.getSingleResult().getDescr() );
+		final TypedQuery<Item> keyboardQuery = em.createQuery( buildCriteria( "Keyboard" ) );
+		assertEquals( "Keyboard", keyboardQuery.getSingleResult().getDescr() );
+		em.getTransaction().commit();
+		em.close();
+
+		// the literals are bound as parameters, so the second criteria is not rendered but reuses the compiled query
+		final String mouseJpaql = mouseQuery.unwrap( org.hibernate.Query.class ).getQueryString();
+		final String keyboardJpaql = keyboardQuery.unwrap( org.hibernate.Query.class ).getQueryString();
+		assertSame( mouseJpaql, keyboardJpaql );
+		assertSame( getQueryPlan( mouseJpaql ), getQueryPlan( keyboardJpaql ) );
+	}
+
+	@Test
+	public void testSeparatelyBuiltCriteriaWithParametersShareCompiledQuery() {
+		createItems();
+
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		final TypedQuery<Item> mouseQuery = em.createQuery( buildParameterizedCriteria( "Mouse" ) )
+				.setParameter( "name", "Mouse" );
+		assertEquals( "Mouse", mouseQuery.getSingleResult().getDescr() );
+		final TypedQuery<Item> keyboardQuery = em.createQuery( buildParameterizedCriteria( "Keyboard" ) )
+				.setParameter( "name", "Keyboard" );
+		assertEquals( "Keyboard", keyboardQuery.getSingleResult().getDescr() );
+		final TypedQuery<Item> mismatchQuery = em.createQuery( buildParameterizedCriteria( "Keyboard" ) )
+				.setParameter( "name", "Mouse" );
+		assertEquals( 0, mismatchQuery.getResultList().size() );
+		em.getTransaction().commit();
+		em.close();
+
+		assertSame(
+				mouseQuery.unwrap( org.hibernate.Query.class ).getQueryString(),
+				keyboardQuery.unwrap( org.hibernate.Query.class ).getQueryString()
+		);
+	}
+
+	@Test
+	public void testDifferentlyShapedCriteriaDoNotShareCompiledQuery() {
+		createItems();
+
+		final CriteriaQuery<Item> negated = buildCriteria( "Mouse" );
+		negated.getRestriction().not();
+
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		assertEquals( "Mouse", em.createQuery( buildCriteria( "Mouse" ) ).getSingleResult().getName() );
+		// a compound predicate is negated by negating its parts, which changes their operators
+		final List<Item> items = em.createQuery( negated ).getResultList();
+		assertEquals( 1, items.size() );
+		assertEquals( "Keyboard", items.get( 0 ).getName() );
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	@Test
+	public void testChangesAfterExecutionAreSeen() {
+		createItems();
+
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Item> criteria = builder.createQuery( Item.class );
+		final Root<Item> root = criteria.from( Item.class );
+		final In<String> names = builder.in( root.<String>get( "name" ) ).value( "Mouse" );
+		final Predicate hasDescr = builder.isNotNull( root.get( "descr" ) );
+		criteria.where( names, hasDescr );
+
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		assertEquals( 1, em.createQuery( criteria ).getResultList().size() );
+
+		// adding a value to the in-list in place
+		names.value( "Keyboard" );
+		assertEquals( 2, em.createQuery( criteria ).getResultList().size() );
+
+		// negating the nested predicate in place
+		criteria.where( builder.and( names, hasDescr.not() ) );
+		assertEquals( 0, em.createQuery( criteria ).getResultList().size() );
+
+		// replacing the restriction and adding an order
+		criteria.where( builder.like( root.<String>get( "name" ), "%o%" ) ).orderBy( builder.desc( root.get( "name" ) ) );
+		List<Item> items = em.createQuery( criteria ).getResultList();
+		assertEquals( 2, items.size() );
+		assertEquals( "Mouse", items.get( 0 ).getName() );
+
+		// adding a join
+		root.join( "distributors" );
+		assertEquals( 0, em.createQuery( criteria ).getResultList().size() );
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private CriteriaQuery<Item> buildCriteria(String name) {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Item> criteria = builder.createQuery( Item.class );
+		final Root<Item> root = criteria.from( Item.class );
+		criteria.where( builder.equal( root.get( "name" ), name ), builder.isNotNull( root.get( "descr" ) ) );
+		return criteria;
+	}
+
+	private CriteriaQuery<Item> buildParameterizedCriteria(String descr) {
+		final CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		final CriteriaQuery<Item> criteria = builder.createQuery( Item.class );
+		final Root<Item> root = criteria.from( Item.class );
+		criteria.where(
+				builder.equal( root.get( "name" ), builder.parameter( String.class, "name" ) ),
+				builder.equal( root.get( "descr" ), descr )
+		);
+		return criteria;
+	}
+
+	private HQLQueryPlan getQueryPlan(String jpaql) {
+		final SessionFactoryImplementor sessionFactory =
+				(SessionFactoryImplementor) ( (HibernateEntityManagerFactory) entityManagerFactory() ).getSessionFactory();
+		return sessionFactory.getQueryPlanCache().getHQLQueryPlan( jpaql, false, Collections.emptyMap() );
+	}
+
+	private void createItems() {
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		em.createQuery( "delete from Item" ).executeUpdate();
+		em.persist( new Item( "Mouse", "Mouse" ) );
+		em.persist( new Item( "Keyboard", "Keyboard" ) );
+		em.getTransaction().commit();
+		em.close();
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.test.ejb3configuration;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.jpa.AvailableSettings;
+import org.hibernate.jpa.boot.scan.internal.StandardScanner;
+import org.hibernate.jpa.boot.scan.spi.ScanOptions;
+import org.hibernate.jpa.boot.scan.spi.ScanResult;
+import org.hibernate.jpa.boot.scan.spi.Scanner;
+import org.hibernate.jpa.boot.spi.Bootstrap;
+import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
+import org.hibernate.jpa.test.Distributor;
+import org.hibernate.jpa.test.Item;
+import org.hibernate.jpa.test.PersistenceUnitDescriptorAdapter;
+import org.hibernate.jpa.test.SettingsGenerator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests booting with {@link AvailableSettings#METADATA_CACHE_DIR}.
+ */
+public class MetadataCacheTest {
+	private final PersistenceUnitDescriptor persistenceUnit = new PersistenceUnitDescriptorAdapter();
+	private File cacheDirectory;
+
+	@Before
+	public void createCacheDirectory() throws IOException {
+		cacheDirectory = File.createTempFile( "metadata-cache", "" );
+		cacheDirectory.delete();
+	}
+
+	@After
+	public void deleteCacheDirectory() {
+		final File[] files = cacheDirectory.listFiles();
+		if ( files != null ) {
+			for ( File file : files ) {
+				file.delete();
+			}
+		}
+		cacheDirectory.delete();
+	}
+
+	@Test
+	public void testSecondBootUsesCachedMappings() {
+		CountingScanner scanner = new CountingScanner();
+		EntityManagerFactory emf = build( settings( scanner, "create-drop" ) );
+		try {
+			assertEquals( 1, scanner.count );
+			assertEquals( 1, cacheDirectory.listFiles().length );
+		}
+		finally {
+			emf.close();
+		}
+
+		scanner = new CountingScanner();
+		emf = build( settings( scanner, "create-drop" ) );
+		try {
+			assertEquals( 0, scanner.count );
+			assertPersistAndFind( emf );
+		}
+		finally {
+			emf.close();
+		}
+	}
+
+	@Test
+	public void testChangedSettingsRebindMappings() {
+		CountingScanner scanner = new CountingScanner();
+		build( settings( scanner, "create-drop" ) ).close();
+		assertEquals( 1, scanner.count );
+
+		scanner = new CountingScanner();
+		EntityManagerFactory emf = build( settings( scanner, "create" ) );
+		try {
+			assertEquals( 1, scanner.count );
+			assertPersistAndFind( emf );
+		}
+		finally {
+			emf.close();
+		}
+	}
+
+	private void assertPersistAndFind(EntityManagerFactory emf) {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		Item item = new Item( "Laptop", "Screen and keyboard" );
+		em.persist( item );
+		em.getTransaction().commit();
+		em.clear();
+		em.getTransaction().begin();
+		assertNotNull( em.find( Item.class, "Laptop" ) );
+		em.remove( em.find( Item.class, "Laptop" ) );
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private EntityManagerFactory build(Map settings) {
+		return Bootstrap.getEntityManagerFactoryBuilder( persistenceUnit, settings ).build();
+	}
+
+	private Map settings(Scanner scanner, String hbm2ddl) {
+		return SettingsGenerator.generateSettings(
+				Environment.HBM2DDL_AUTO, hbm2ddl,
+				Environment.USE_NEW_ID_GENERATOR_MAPPINGS, "true",
+				Environment.DIALECT, Dialect.getDialect().getClass().getName(),
+				AvailableSettings.LOADED_CLASSES, Arrays.asList( Item.class, Distributor.class ),
+				AvailableSettings.SCANNER, scanner,
+				AvailableSettings.METADATA_CACHE_DIR, cacheDirectory.getAbsolutePath()
+		);
+	}
+
+	private static class CountingScanner implements Scanner {
+		private int count;
+
+		@Override
+		public ScanResult scan(PersistenceUnitDescriptor persistenceUnit, ScanOptions options) {
+			count++;
+			return new StandardScanner().scan( persistenceUnit, options );
+		}
+	}
+}
@@ -121,6 +121,13 @@ public interface EnversSettings {
 	 */
 	public static final String AUDIT_STRATEGY_VALIDITY_REVEND_TIMESTAMP_FIELD_NAME = "org.hibernate.envers.audit_strategy_validity_revend_timestamp_field_name";
 
+	/**
+	 * Close the previous revisions of all entities changed in a revision with one set-based {@code UPDATE}
+	 * per audit table, instead of one batched {@code UPDATE} per entity. Only applies to
+	 * {@link org.hibernate.envers.strategy.ValidityAuditStrategy}. Defaults to {@code false}.
+	 */
+	public static final String AUDIT_STRATEGY_VALIDITY_BULK_END_REV_UPDATE = "org.hibernate.envers.audit_strategy_validity_bulk_end_rev_update";
+
 	/**
 	 * Name of column used for storing ordinal of the change in sets of embeddable elements. Defaults to {@literal SETORDINAL}.
 	 */
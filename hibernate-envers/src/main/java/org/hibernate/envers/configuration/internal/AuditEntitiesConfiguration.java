@@ -60,6 +60,8 @@ public class AuditEntitiesConfiguration {
 	private final boolean revisionEndTimestampEnabled;
 	private final String revisionEndTimestampFieldName;
 
+	private final boolean revisionEndBulkUpdateEnabled;
+
 	private final String embeddableSetOrdinalPropertyName;
 
 	public AuditEntitiesConfiguration(Properties properties, String revisionInfoEntityName) {
@@ -98,6 +100,10 @@ public class AuditEntitiesConfiguration {
 			revisionEndTimestampFieldName = null;
 		}
 
+		revisionEndBulkUpdateEnabled = ConfigurationHelper.getBoolean(
+				EnversSettings.AUDIT_STRATEGY_VALIDITY_BULK_END_REV_UPDATE, properties, false
+		);
+
 		customAuditTablesNames = new HashMap<String, String>();
 
 		revisionNumberPath = originalIdPropName + "." + revisionFieldName + ".id";
@@ -124,6 +130,10 @@ public class AuditEntitiesConfiguration {
 		return revisionEndTimestampFieldName;
 	}
 
+	public boolean isRevisionEndBulkUpdateEnabled() {
+		return revisionEndBulkUpdateEnabled;
+	}
+
 	public String getRevisionNumberPath() {
 		return revisionNumberPath;
 	}
@@ -27,6 +27,7 @@ import org.hibernate.envers.configuration.spi.AuditConfiguration;
 import org.hibernate.envers.internal.synchronization.AuditProcess;
 import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
 import org.hibernate.envers.internal.synchronization.work.ModWorkUnit;
+import org.hibernate.event.spi.OldStateAwareEventListener;
 import org.hibernate.event.spi.PostUpdateEvent;
 import org.hibernate.event.spi.PostUpdateEventListener;
 import org.hibernate.persister.entity.EntityPersister;
@@ -38,7 +39,8 @@ import org.hibernate.persister.entity.EntityPersister;
  * @author HernпїЅn Chanfreau
  * @author Steve Ebersole
  */
-public class EnversPostUpdateEventListenerImpl extends BaseEnversEventListener implements PostUpdateEventListener {
+public class EnversPostUpdateEventListenerImpl extends BaseEnversEventListener
+		implements PostUpdateEventListener, OldStateAwareEventListener {
 	protected EnversPostUpdateEventListenerImpl(AuditConfiguration enversConfiguration) {
 		super( enversConfiguration );
 	}
@@ -95,4 +97,9 @@ public class EnversPostUpdateEventListenerImpl extends BaseEnversEventListener i
 	public boolean requiresPostCommitHanding(EntityPersister persister) {
 		return getAuditConfiguration().getEntCfg().isVersioned( persister.getEntityName() );
 	}
+
+	@Override
+	public boolean requiresOldState(EntityPersister persister) {
+		return getAuditConfiguration().getEntCfg().isVersioned( persister.getEntityName() );
+	}
 }
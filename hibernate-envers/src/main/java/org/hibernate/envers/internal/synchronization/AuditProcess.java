@@ -23,8 +23,11 @@
  */
 package org.hibernate.envers.internal.synchronization;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -44,10 +47,16 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 	private final RevisionInfoGenerator revisionInfoGenerator;
 	private final SessionImplementor session;
 
-	private final LinkedList<AuditWorkUnit> workUnits;
+	/**
+	 * Work units in the order they were added; units removed by merging leave a {@code null} tombstone in their slot,
+	 * so that removal takes constant time. The tombstones are compacted away when the work units are performed.
+	 */
+	private final ArrayList<AuditWorkUnit> workUnits;
+	private int workUnitCount;
 	private final Queue<AuditWorkUnit> undoQueue;
-	private final Map<Pair<String, Object>, AuditWorkUnit> usedIds;
+	private final Map<Pair<String, Object>, WorkUnitSlot> usedIds;
 	private final EntityChangeNotifier entityChangeNotifier;
+	private final Map<Object, BeforeTransactionCompletionProcess> revisionCompletionProcesses;
 
 	private Object revisionData;
 
@@ -55,17 +64,29 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 		this.revisionInfoGenerator = revisionInfoGenerator;
 		this.session = session;
 
-		workUnits = new LinkedList<AuditWorkUnit>();
+		workUnits = new ArrayList<AuditWorkUnit>();
 		undoQueue = new LinkedList<AuditWorkUnit>();
-		usedIds = new HashMap<Pair<String, Object>, AuditWorkUnit>();
+		usedIds = new HashMap<Pair<String, Object>, WorkUnitSlot>();
 		entityChangeNotifier = new EntityChangeNotifier( revisionInfoGenerator, session );
+		revisionCompletionProcesses = new LinkedHashMap<Object, BeforeTransactionCompletionProcess>();
 	}
 
-	private void removeWorkUnit(AuditWorkUnit vwu) {
-		workUnits.remove( vwu );
-		if ( vwu.isPerformed() ) {
+	private WorkUnitSlot appendWorkUnit(AuditWorkUnit vwu) {
+		final WorkUnitSlot slot = new WorkUnitSlot( vwu, workUnits.size() );
+		workUnits.add( vwu );
+		workUnitCount++;
+		return slot;
+	}
+
+	private void removeWorkUnit(WorkUnitSlot slot) {
+		// The slot may be stale if the work units have been performed in the meantime
+		if ( slot.index < workUnits.size() && workUnits.get( slot.index ) == slot.workUnit ) {
+			workUnits.set( slot.index, null );
+			workUnitCount--;
+		}
+		if ( slot.workUnit.isPerformed() ) {
 			// If this work unit has already been performed, it must be deleted (undone) first.
-			undoQueue.offer( vwu );
+			undoQueue.offer( slot.workUnit );
 		}
 	}
 
@@ -75,35 +96,59 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 
 			if ( entityId == null ) {
 				// Just adding the work unit - it's not associated with any persistent entity.
-				workUnits.offer( vwu );
+				appendWorkUnit( vwu );
 			}
 			else {
 				final String entityName = vwu.getEntityName();
 				final Pair<String, Object> usedIdsKey = Pair.make( entityName, entityId );
+				final WorkUnitSlot other = usedIds.get( usedIdsKey );
 
-				if ( usedIds.containsKey( usedIdsKey ) ) {
-					final AuditWorkUnit other = usedIds.get( usedIdsKey );
-					final AuditWorkUnit result = vwu.dispatch( other );
+				if ( other != null ) {
+					final AuditWorkUnit result = vwu.dispatch( other.workUnit );
 
-					if ( result != other ) {
+					if ( result != other.workUnit ) {
 						removeWorkUnit( other );
 
 						if ( result != null ) {
-							usedIds.put( usedIdsKey, result );
-							workUnits.offer( result );
+							usedIds.put( usedIdsKey, appendWorkUnit( result ) );
 						}
 						// else: a null result means that no work unit should be kept
 					}
 					// else: the result is the same as the work unit already added. No need to do anything.
 				}
 				else {
-					usedIds.put( usedIdsKey, vwu );
-					workUnits.offer( vwu );
+					usedIds.put( usedIdsKey, appendWorkUnit( vwu ) );
 				}
 			}
 		}
 	}
 
+	/**
+	 * Removes the pending work units, grouped by entity name in the order in which each entity name first occurs, so
+	 * that the audit data saved when performing them is inserted in JDBC batches.
+	 */
+	private List<AuditWorkUnit> drainWorkUnits() {
+		final Map<String, List<AuditWorkUnit>> workUnitsByEntityName = new LinkedHashMap<String, List<AuditWorkUnit>>();
+		for ( AuditWorkUnit vwu : workUnits ) {
+			if ( vwu != null ) {
+				List<AuditWorkUnit> entityWorkUnits = workUnitsByEntityName.get( vwu.getEntityName() );
+				if ( entityWorkUnits == null ) {
+					entityWorkUnits = new ArrayList<AuditWorkUnit>();
+					workUnitsByEntityName.put( vwu.getEntityName(), entityWorkUnits );
+				}
+				entityWorkUnits.add( vwu );
+			}
+		}
+
+		final List<AuditWorkUnit> result = new ArrayList<AuditWorkUnit>( workUnitCount );
+		for ( List<AuditWorkUnit> entityWorkUnits : workUnitsByEntityName.values() ) {
+			result.addAll( entityWorkUnits );
+		}
+		workUnits.clear();
+		workUnitCount = 0;
+		return result;
+	}
+
 	private void executeInSession(Session session) {
 		// Making sure the revision data is persisted.
 		final Object currentRevisionData = getCurrentRevisionData( session, true );
@@ -115,10 +160,39 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			vwu.undo( session );
 		}
 
-		while ( (vwu = workUnits.poll()) != null ) {
-			vwu.perform( session, revisionData );
-			entityChangeNotifier.entityChanged( session, currentRevisionData, vwu );
+		// Work units may be added while others are performed
+		while ( workUnitCount > 0 ) {
+			for ( AuditWorkUnit workUnit : drainWorkUnits() ) {
+				workUnit.perform( session, revisionData );
+				entityChangeNotifier.entityChanged( session, currentRevisionData, workUnit );
+			}
 		}
+
+		// Completing work accumulated while performing the work units, e.g. set-based updates
+		for ( BeforeTransactionCompletionProcess process : revisionCompletionProcesses.values() ) {
+			process.doBeforeTransactionCompletion( (SessionImplementor) session );
+		}
+		revisionCompletionProcesses.clear();
+	}
+
+	/**
+	 * @param key Key under which the process was registered.
+	 *
+	 * @return The revision completion process registered under the given key, or {@code null}.
+	 */
+	public BeforeTransactionCompletionProcess getRevisionCompletionProcess(Object key) {
+		return revisionCompletionProcesses.get( key );
+	}
+
+	/**
+	 * Registers a process which is run, in the session performing the work units, after all work units of the
+	 * current revision have been performed and before that session is flushed.
+	 *
+	 * @param key Key under which the process is registered, replacing any process previously registered under it.
+	 * @param process The process.
+	 */
+	public void registerRevisionCompletionProcess(Object key, BeforeTransactionCompletionProcess process) {
+		revisionCompletionProcesses.put( key, process );
 	}
 
 	public Object getCurrentRevisionData(Session session, boolean persist) {
@@ -137,7 +211,7 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 
 	@Override
 	public void doBeforeTransactionCompletion(SessionImplementor session) {
-		if ( workUnits.size() == 0 && undoQueue.size() == 0 ) {
+		if ( workUnitCount == 0 && undoQueue.size() == 0 ) {
 			return;
 		}
 
@@ -164,4 +238,14 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			session.flush();
 		}
 	}
+
+	private static final class WorkUnitSlot {
+		private final AuditWorkUnit workUnit;
+		private final int index;
+
+		private WorkUnitSlot(AuditWorkUnit workUnit, int index) {
+			this.workUnit = workUnit;
+			this.index = index;
+		}
+	}
 }
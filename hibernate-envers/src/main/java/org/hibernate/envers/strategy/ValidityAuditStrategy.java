@@ -1,20 +1,30 @@
 package org.hibernate.envers.strategy;
 
 import java.io.Serializable;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.LockOptions;
 import org.hibernate.Session;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.RevisionType;
@@ -24,6 +34,7 @@ import org.hibernate.envers.configuration.spi.AuditConfiguration;
 import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleComponentData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.internal.synchronization.AuditProcess;
 import org.hibernate.envers.internal.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.internal.tools.query.Parameters;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
@@ -32,7 +43,8 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.EventType;
-import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.jdbc.Expectations;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
 import org.hibernate.property.Getter;
@@ -62,6 +74,11 @@ import static org.hibernate.envers.internal.entities.mapper.relation.query.Query
  * <li>Retrieving audit information is a lot faster</li>
  * </ul>
  * </p>
+ * <p>
+ * The end-revision updates are added to the JDBC batch, or, if
+ * {@link org.hibernate.envers.configuration.EnversSettings#AUDIT_STRATEGY_VALIDITY_BULK_END_REV_UPDATE} is enabled,
+ * executed as one set-based update per audit table once all changes of the revision have been audited.
+ * </p>
  *
  * @author Stephanie Pau
  * @author Adam Warski (adam at warski dot org)
@@ -70,6 +87,11 @@ import static org.hibernate.envers.internal.entities.mapper.relation.query.Query
 public class ValidityAuditStrategy implements AuditStrategy {
 	private static final Logger log = Logger.getLogger( ValidityAuditStrategy.class );
 
+	/**
+	 * Upper bound of the number of entities whose previous revisions are closed by a single set-based update
+	 */
+	private static final int MAX_BULK_UPDATE_SIZE = 500;
+
 	/**
 	 * getter for the revision entity field annotated with @RevisionTimestamp
 	 */
@@ -77,6 +99,9 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
 	private final SessionCacheCleaner sessionCacheCleaner;
 
+	private final ConcurrentMap<String, EndRevisionUpdate> endRevisionUpdates
+			= new ConcurrentHashMap<String, EndRevisionUpdate>();
+
 	public ValidityAuditStrategy() {
 		sessionCacheCleaner = new SessionCacheCleaner();
 	}
@@ -90,9 +115,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			final Object revision) {
 		final AuditEntitiesConfiguration audEntitiesCfg = auditCfg.getAuditEntCfg();
 		final String auditedEntityName = audEntitiesCfg.getAuditEntityName( entityName );
-		final String revisionInfoEntityName = auditCfg.getAuditEntCfg().getRevisionInfoEntityName();
 		final SessionImplementor sessionImplementor = (SessionImplementor) session;
-		final Dialect dialect = sessionImplementor.getFactory().getDialect();
 
 		// Save the audit data
 		session.save( auditedEntityName, data );
@@ -100,153 +123,94 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
 		// Update the end date of the previous row if this operation is expected to have a previous row
 		if ( getRevisionType( auditCfg, data ) != RevisionType.ADD ) {
-			final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
-			final Queryable rootProductionEntityQueryable = getQueryable(
-					productionEntityQueryable.getRootEntityName(),
-					sessionImplementor
-			);
-			final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
-			final Queryable rootAuditedEntityQueryable = getQueryable(
-					auditedEntityQueryable.getRootEntityName(),
+			final EndRevisionUpdate endRevisionUpdate = getEndRevisionUpdate(
+					entityName,
+					auditedEntityName,
+					auditCfg,
 					sessionImplementor
 			);
-			final Queryable revisionInfoEntityQueryable = getQueryable( revisionInfoEntityName, sessionImplementor );
 
-			final String updateTableName;
-			if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
-				// this is the condition causing all the problems in terms of the generated SQL UPDATE
-				// the problem being that we currently try to update the in-line view made up of the union query
-				//
-				// this is extremely hacky means to get the root table name for the union subclass style entities.
-				// hacky because it relies on internal behavior of UnionSubclassEntityPersister
-				// !!!!!! NOTICE - using subclass persister, not root !!!!!!
-				updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
+			if ( audEntitiesCfg.isRevisionEndBulkUpdateEnabled() ) {
+				// the previous rows of all entities sharing the audit table are updated at once, after all work
+				// units of the revision have been performed
+				getEndRevisionBulkUpdates( session, auditCfg, revision ).add( endRevisionUpdate, id );
 			}
 			else {
-				updateTableName = rootAuditedEntityQueryable.getTableName();
+				addEndRevisionUpdateToBatch( sessionImplementor, auditCfg, endRevisionUpdate, id, revision );
 			}
+		}
+	}
 
+	private EndRevisionUpdate getEndRevisionUpdate(
+			String entityName,
+			String auditedEntityName,
+			AuditConfiguration auditCfg,
+			SessionImplementor sessionImplementor) {
+		EndRevisionUpdate endRevisionUpdate = endRevisionUpdates.get( auditedEntityName );
+		if ( endRevisionUpdate == null ) {
+			endRevisionUpdate = new EndRevisionUpdate( entityName, auditedEntityName, auditCfg, sessionImplementor );
+			endRevisionUpdates.putIfAbsent( auditedEntityName, endRevisionUpdate );
+		}
+		return endRevisionUpdate;
+	}
 
-			// first we need to flush the session in order to have the new audit data inserted
-			// todo: expose org.hibernate.internal.SessionImpl.autoFlushIfRequired via SessionImplementor
-			// for now, we duplicate some of that logic here
-			autoFlushIfRequired( sessionImplementor, rootAuditedEntityQueryable, revisionInfoEntityQueryable );
-
-			final Type revisionInfoIdType = sessionImplementor.getFactory()
-					.getEntityPersister( revisionInfoEntityName )
-					.getIdentifierType();
-			final String revEndColumnName = rootAuditedEntityQueryable.toColumns(
-					auditCfg.getAuditEntCfg()
-							.getRevisionEndFieldName()
-			)[0];
-
-			final boolean isRevisionEndTimestampEnabled = auditCfg.getAuditEntCfg().isRevisionEndTimestampEnabled();
-
-			// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
-			final Update update = new Update( dialect ).setTableName( updateTableName );
-			// set REVEND = ?
-			update.addColumn( revEndColumnName );
-			// set [, REVEND_TSTMP = ?]
-			if ( isRevisionEndTimestampEnabled ) {
-				update.addColumn(
-						rootAuditedEntityQueryable.toColumns(
-								auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName()
-						)[0]
-				);
-			}
-
-			// where (prod_ent_id) = ?
-			update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
-			// where REV <> ?
-			update.addWhereColumn(
-					rootAuditedEntityQueryable.toColumns(
-							auditCfg.getAuditEntCfg().getRevisionNumberPath()
-					)[0],
-					"<> ?"
+	private void addEndRevisionUpdateToBatch(
+			SessionImplementor sessionImplementor,
+			AuditConfiguration auditCfg,
+			EndRevisionUpdate endRevisionUpdate,
+			Serializable id,
+			Object revision) {
+		// REVEND references the revision entity, so it has to be inserted before the update is executed; the audit
+		// data itself does not, as the update excludes rows of the current revision
+		flushIfRevisionNotInserted( sessionImplementor, auditCfg, endRevisionUpdate, revision );
+
+		final Batch batch = sessionImplementor.getTransactionCoordinator()
+				.getJdbcCoordinator()
+				.getBatch( endRevisionUpdate.batchKey );
+		final PreparedStatement preparedStatement = batch.getBatchStatement( endRevisionUpdate.sql, false );
+		try {
+			int index = endRevisionUpdate.bindRevisionEnd( preparedStatement, auditCfg, revision, sessionImplementor );
+			index = endRevisionUpdate.bindId( preparedStatement, id, index, sessionImplementor );
+			endRevisionUpdate.bindRevision( preparedStatement, auditCfg, revision, index, sessionImplementor );
+		}
+		catch (SQLException e) {
+			throw sessionImplementor.getFactory().getSQLExceptionHelper().convert(
+					e,
+					"Could not bind end revision update for entity " + endRevisionUpdate.auditedEntityName,
+					endRevisionUpdate.sql
 			);
-			// where REVEND is null
-			update.addWhereColumn( revEndColumnName, " is null" );
+		}
+		batch.addToBatch();
+	}
 
-			// Now lets execute the sql...
-			final String updateSql = update.toStatementString();
-
-			int rowCount = session.doReturningWork(
-					new ReturningWork<Integer>() {
-						@Override
-						public Integer execute(Connection connection) throws SQLException {
-							PreparedStatement preparedStatement = sessionImplementor.getTransactionCoordinator()
-									.getJdbcCoordinator()
-									.getStatementPreparer()
-									.prepareStatement( updateSql );
-
-							try {
-								int index = 1;
-
-								// set REVEND = ?
-								final Number revisionNumber = auditCfg.getRevisionInfoNumberReader().getRevisionNumber(
-										revision
-								);
-								revisionInfoIdType.nullSafeSet(
-										preparedStatement,
-										revisionNumber,
-										index,
-										sessionImplementor
-								);
-								index += revisionInfoIdType.getColumnSpan( sessionImplementor.getFactory() );
-
-								// set [, REVEND_TSTMP = ?]
-								if ( isRevisionEndTimestampEnabled ) {
-									final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
-									final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
-									final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
-											auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName()
-									);
-									revEndTsType.nullSafeSet(
-											preparedStatement,
-											revisionEndTimestamp,
-											index,
-											sessionImplementor
-									);
-									index += revEndTsType.getColumnSpan( sessionImplementor.getFactory() );
-								}
-
-								// where (prod_ent_id) = ?
-								final Type idType = rootProductionEntityQueryable.getIdentifierType();
-								idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
-								index += idType.getColumnSpan( sessionImplementor.getFactory() );
-
-								// where REV <> ?
-								final Type revType = rootAuditedEntityQueryable.getPropertyType(
-										auditCfg.getAuditEntCfg().getRevisionNumberPath()
-								);
-								revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
-
-								// where REVEND is null
-								// 		nothing to bind....
-
-								return sessionImplementor.getTransactionCoordinator()
-										.getJdbcCoordinator()
-										.getResultSetReturn()
-										.executeUpdate( preparedStatement );
-							}
-							finally {
-								sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().release(
-										preparedStatement
-								);
-							}
-						}
-					}
-			);
+	private EndRevisionBulkUpdates getEndRevisionBulkUpdates(Session session, AuditConfiguration auditCfg, Object revision) {
+		final AuditProcess auditProcess = auditCfg.getSyncManager().get( (EventSource) session );
+		EndRevisionBulkUpdates bulkUpdates = (EndRevisionBulkUpdates) auditProcess.getRevisionCompletionProcess( this );
+		if ( bulkUpdates == null ) {
+			bulkUpdates = new EndRevisionBulkUpdates( auditCfg, revision );
+			auditProcess.registerRevisionCompletionProcess( this, bulkUpdates );
+		}
+		return bulkUpdates;
+	}
 
-			if ( rowCount != 1 ) {
-				throw new RuntimeException(
-						"Cannot update previous revision for entity " + auditedEntityName + " and id " + id
-				);
-			}
+	private void flushIfRevisionNotInserted(
+			SessionImplementor sessionImplementor,
+			AuditConfiguration auditCfg,
+			EndRevisionUpdate endRevisionUpdate,
+			Object revision) {
+		final EntityEntry revisionEntry = sessionImplementor.getPersistenceContext().getEntry( revision );
+		if ( revisionEntry == null || !revisionEntry.isExistsInDatabase() ) {
+			// todo: expose org.hibernate.internal.SessionImpl.autoFlushIfRequired via SessionImplementor
+			// for now, we duplicate some of that logic here
+			autoFlushIfRequired(
+					sessionImplementor,
+					getQueryable( endRevisionUpdate.rootAuditedEntityName, sessionImplementor ),
+					getQueryable( auditCfg.getAuditEntCfg().getRevisionInfoEntityName(), sessionImplementor )
+			);
 		}
 	}
 
-	private Queryable getQueryable(String entityName, SessionImplementor sessionImplementor) {
+	private static Queryable getQueryable(String entityName, SessionImplementor sessionImplementor) {
 		return (Queryable) sessionImplementor.getFactory().getEntityPersister( entityName );
 	}
 
@@ -409,5 +373,280 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		}
 		return new Date( (Long) revEndTimestampObj );
 	}
-}
 
+	/**
+	 * The end revision update of one audited entity, whose SQL is generated once and reused for every modification.
+	 * Binds the parameters of both the single-row and the set-based form of the update.
+	 */
+	private final class EndRevisionUpdate {
+		private final String auditedEntityName;
+		private final String rootAuditedEntityName;
+		private final String updateTableName;
+		private final String revEndColumnName;
+		private final String revEndTimestampColumnName;
+		private final String revisionColumnName;
+		private final String[] idColumnNames;
+		private final Type idType;
+		private final Type revisionInfoIdType;
+		private final Type revisionType;
+		private final Type revEndTimestampType;
+		private final Dialect dialect;
+		private final SessionFactoryImplementor factory;
+
+		// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
+		private final String sql;
+		private final BatchKey batchKey;
+
+		private EndRevisionUpdate(
+				String entityName,
+				String auditedEntityName,
+				AuditConfiguration auditCfg,
+				SessionImplementor sessionImplementor) {
+			final AuditEntitiesConfiguration audEntitiesCfg = auditCfg.getAuditEntCfg();
+			final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
+			final Queryable rootProductionEntityQueryable = getQueryable(
+					productionEntityQueryable.getRootEntityName(),
+					sessionImplementor
+			);
+			final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
+			final Queryable rootAuditedEntityQueryable = getQueryable(
+					auditedEntityQueryable.getRootEntityName(),
+					sessionImplementor
+			);
+
+			this.auditedEntityName = auditedEntityName;
+			this.rootAuditedEntityName = rootAuditedEntityQueryable.getEntityName();
+			if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
+				// this is the condition causing all the problems in terms of the generated SQL UPDATE
+				// the problem being that we currently try to update the in-line view made up of the union query
+				//
+				// this is extremely hacky means to get the root table name for the union subclass style entities.
+				// hacky because it relies on internal behavior of UnionSubclassEntityPersister
+				// !!!!!! NOTICE - using subclass persister, not root !!!!!!
+				this.updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
+			}
+			else {
+				this.updateTableName = rootAuditedEntityQueryable.getTableName();
+			}
+
+			this.revEndColumnName = rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionEndFieldName() )[0];
+			if ( audEntitiesCfg.isRevisionEndTimestampEnabled() ) {
+				this.revEndTimestampColumnName = rootAuditedEntityQueryable.toColumns(
+						audEntitiesCfg.getRevisionEndTimestampFieldName()
+				)[0];
+				this.revEndTimestampType = rootAuditedEntityQueryable.getPropertyType(
+						audEntitiesCfg.getRevisionEndTimestampFieldName()
+				);
+			}
+			else {
+				this.revEndTimestampColumnName = null;
+				this.revEndTimestampType = null;
+			}
+			this.revisionColumnName = rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionNumberPath() )[0];
+			this.revisionType = rootAuditedEntityQueryable.getPropertyType( audEntitiesCfg.getRevisionNumberPath() );
+			this.idColumnNames = rootProductionEntityQueryable.getIdentifierColumnNames();
+			this.idType = rootProductionEntityQueryable.getIdentifierType();
+			this.revisionInfoIdType = sessionImplementor.getFactory()
+					.getEntityPersister( audEntitiesCfg.getRevisionInfoEntityName() )
+					.getIdentifierType();
+			this.factory = sessionImplementor.getFactory();
+			this.dialect = factory.getDialect();
+
+			this.sql = createUpdate().addPrimaryKeyColumns( idColumnNames ).toStatementString();
+			this.batchKey = new BasicBatchKey( updateTableName + "#REVEND", Expectations.BASIC );
+		}
+
+		private Update createUpdate() {
+			final Update update = new Update( dialect ).setTableName( updateTableName );
+			// set REVEND = ?
+			update.addColumn( revEndColumnName );
+			// set [, REVEND_TSTMP = ?]
+			if ( revEndTimestampColumnName != null ) {
+				update.addColumn( revEndTimestampColumnName );
+			}
+			// where REV <> ?
+			update.addWhereColumn( revisionColumnName, "<> ?" );
+			// where REVEND is null
+			update.addWhereColumn( revEndColumnName, " is null" );
+			return update;
+		}
+
+		/**
+		 * Generates the set-based form of the update, restricted to the given number of identifiers.
+		 */
+		private String createBulkSql(int idCount) {
+			final StringBuilder where = new StringBuilder();
+			if ( idColumnNames.length == 1 ) {
+				where.append( idColumnNames[0] ).append( " in (" );
+				appendParameters( where, idCount, ", " );
+				where.append( ')' );
+			}
+			else if ( dialect.supportsRowValueConstructorSyntaxInInList() ) {
+				where.append( '(' ).append( StringHelper.join( ", ", idColumnNames ) ).append( ") in (" );
+				for ( int i = 0; i < idCount; i++ ) {
+					if ( i > 0 ) {
+						where.append( ", " );
+					}
+					where.append( '(' );
+					appendParameters( where, idColumnNames.length, ", " );
+					where.append( ')' );
+				}
+				where.append( ')' );
+			}
+			else {
+				final String idRestriction = StringHelper.join( "=? and ", idColumnNames ) + "=?";
+				where.append( '(' );
+				for ( int i = 0; i < idCount; i++ ) {
+					if ( i > 0 ) {
+						where.append( " or " );
+					}
+					where.append( '(' ).append( idRestriction ).append( ')' );
+				}
+				where.append( ')' );
+			}
+			return createUpdate().setWhere( where.toString() ).toStatementString();
+		}
+
+		private void appendParameters(StringBuilder buffer, int count, String separator) {
+			for ( int i = 0; i < count; i++ ) {
+				if ( i > 0 ) {
+					buffer.append( separator );
+				}
+				buffer.append( '?' );
+			}
+		}
+
+		private int getMaxBulkUpdateSize() {
+			final int inExpressionCountLimit = dialect.getInExpressionCountLimit();
+			return inExpressionCountLimit > 0
+					? Math.min( inExpressionCountLimit, MAX_BULK_UPDATE_SIZE )
+					: MAX_BULK_UPDATE_SIZE;
+		}
+
+		private int bindRevisionEnd(
+				PreparedStatement preparedStatement,
+				AuditConfiguration auditCfg,
+				Object revision,
+				SessionImplementor sessionImplementor) throws SQLException {
+			int index = 1;
+
+			// set REVEND = ?
+			revisionInfoIdType.nullSafeSet(
+					preparedStatement,
+					auditCfg.getRevisionInfoNumberReader().getRevisionNumber( revision ),
+					index,
+					sessionImplementor
+			);
+			index += revisionInfoIdType.getColumnSpan( factory );
+
+			// set [, REVEND_TSTMP = ?]
+			if ( revEndTimestampType != null ) {
+				final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
+				final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
+				revEndTimestampType.nullSafeSet( preparedStatement, revisionEndTimestamp, index, sessionImplementor );
+				index += revEndTimestampType.getColumnSpan( factory );
+			}
+
+			return index;
+		}
+
+		private int bindId(
+				PreparedStatement preparedStatement,
+				Serializable id,
+				int index,
+				SessionImplementor sessionImplementor) throws SQLException {
+			// where (prod_ent_id) = ?
+			idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
+			return index + idType.getColumnSpan( factory );
+		}
+
+		private void bindRevision(
+				PreparedStatement preparedStatement,
+				AuditConfiguration auditCfg,
+				Object revision,
+				int index,
+				SessionImplementor sessionImplementor) throws SQLException {
+			// where REV <> ?
+			revisionType.nullSafeSet(
+					preparedStatement,
+					auditCfg.getRevisionInfoNumberReader().getRevisionNumber( revision ),
+					index,
+					sessionImplementor
+			);
+
+			// where REVEND is null
+			// 		nothing to bind....
+		}
+	}
+
+	/**
+	 * Collects the identifiers of the entities modified in a revision per audit table, and closes their previous
+	 * revisions with set-based updates once all work units of the revision have been performed.
+	 */
+	private final class EndRevisionBulkUpdates implements BeforeTransactionCompletionProcess {
+		private final AuditConfiguration auditCfg;
+		private final Object revision;
+		private final Map<String, EndRevisionUpdate> updatesByTable = new LinkedHashMap<String, EndRevisionUpdate>();
+		private final Map<String, List<Serializable>> idsByTable = new HashMap<String, List<Serializable>>();
+
+		private EndRevisionBulkUpdates(AuditConfiguration auditCfg, Object revision) {
+			this.auditCfg = auditCfg;
+			this.revision = revision;
+		}
+
+		private void add(EndRevisionUpdate endRevisionUpdate, Serializable id) {
+			List<Serializable> ids = idsByTable.get( endRevisionUpdate.updateTableName );
+			if ( ids == null ) {
+				ids = new ArrayList<Serializable>();
+				idsByTable.put( endRevisionUpdate.updateTableName, ids );
+				updatesByTable.put( endRevisionUpdate.updateTableName, endRevisionUpdate );
+			}
+			ids.add( id );
+		}
+
+		@Override
+		public void doBeforeTransactionCompletion(SessionImplementor session) {
+			for ( EndRevisionUpdate endRevisionUpdate : updatesByTable.values() ) {
+				flushIfRevisionNotInserted( session, auditCfg, endRevisionUpdate, revision );
+
+				final List<Serializable> ids = idsByTable.get( endRevisionUpdate.updateTableName );
+				final int maxBulkUpdateSize = endRevisionUpdate.getMaxBulkUpdateSize();
+				for ( int start = 0; start < ids.size(); start += maxBulkUpdateSize ) {
+					execute( session, endRevisionUpdate, ids.subList( start, Math.min( ids.size(), start + maxBulkUpdateSize ) ) );
+				}
+			}
+		}
+
+		private void execute(SessionImplementor session, EndRevisionUpdate endRevisionUpdate, List<Serializable> ids) {
+			final String sql = endRevisionUpdate.createBulkSql( ids.size() );
+			final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+			final PreparedStatement preparedStatement = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+			final int rowCount;
+			try {
+				int index = endRevisionUpdate.bindRevisionEnd( preparedStatement, auditCfg, revision, session );
+				for ( Serializable id : ids ) {
+					index = endRevisionUpdate.bindId( preparedStatement, id, index, session );
+				}
+				endRevisionUpdate.bindRevision( preparedStatement, auditCfg, revision, index, session );
+				rowCount = jdbcCoordinator.getResultSetReturn().executeUpdate( preparedStatement );
+			}
+			catch (SQLException e) {
+				throw session.getFactory().getSQLExceptionHelper().convert(
+						e,
+						"Could not bind end revision update for entity " + endRevisionUpdate.auditedEntityName,
+						sql
+				);
+			}
+			finally {
+				jdbcCoordinator.release( preparedStatement );
+			}
+
+			if ( rowCount != ids.size() ) {
+				throw new RuntimeException(
+						"Cannot update previous revisions for entity " + endRevisionUpdate.auditedEntityName
+								+ " and ids " + ids + ": expected " + ids.size() + " rows, but updated " + rowCount
+				);
+			}
+		}
+	}
+}
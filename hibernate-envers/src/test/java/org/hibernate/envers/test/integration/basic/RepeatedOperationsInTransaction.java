@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.basic;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Modifies entities of two types repeatedly within a single transaction, flushing in between, so that the work
+ * units of every entity are merged several times before the revision is written.
+ */
+public class RepeatedOperationsInTransaction extends BaseEnversJPAFunctionalTestCase {
+	private static final int ENTITY_COUNT = 50;
+	private static final int MODIFICATION_COUNT = 5;
+
+	private final List<Integer> ids1 = new ArrayList<Integer>();
+	private final List<Integer> ids2 = new ArrayList<Integer>();
+	private Integer removedId;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {BasicTestEntity1.class, BasicTestEntity2.class};
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		final List<BasicTestEntity1> entities1 = new ArrayList<BasicTestEntity1>();
+		final List<BasicTestEntity2> entities2 = new ArrayList<BasicTestEntity2>();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final BasicTestEntity1 entity1 = new BasicTestEntity1( "x", i );
+			final BasicTestEntity2 entity2 = new BasicTestEntity2( "y", "z" );
+			em.persist( entity1 );
+			em.persist( entity2 );
+			entities1.add( entity1 );
+			entities2.add( entity2 );
+		}
+		em.flush();
+		for ( int modification = 1; modification <= MODIFICATION_COUNT; modification++ ) {
+			for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+				entities1.get( i ).setStr1( "x" + modification );
+				entities2.get( i ).setStr1( "y" + modification );
+			}
+			em.flush();
+		}
+		// Added and removed in the same revision, so never audited
+		final BasicTestEntity1 removed = new BasicTestEntity1( "removed", -1 );
+		em.persist( removed );
+		em.flush();
+		removed.setStr1( "removed2" );
+		em.flush();
+		em.remove( removed );
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		for ( int modification = 1; modification <= MODIFICATION_COUNT; modification++ ) {
+			for ( int i = 0; i < ENTITY_COUNT; i += 2 ) {
+				entities1.get( i ).setLong1( i * 100 + modification );
+			}
+			em.flush();
+		}
+		em.getTransaction().commit();
+
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			ids1.add( entities1.get( i ).getId() );
+			ids2.add( entities2.get( i ).getId() );
+		}
+		removedId = removed.getId();
+		em.close();
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			Assert.assertEquals(
+					i % 2 == 0 ? Arrays.asList( 1, 2 ) : Arrays.asList( 1 ),
+					getAuditReader().getRevisions( BasicTestEntity1.class, ids1.get( i ) )
+			);
+			Assert.assertEquals( Arrays.asList( 1 ), getAuditReader().getRevisions( BasicTestEntity2.class, ids2.get( i ) ) );
+		}
+		Assert.assertTrue( getAuditReader().getRevisions( BasicTestEntity1.class, removedId ).isEmpty() );
+	}
+
+	@Test
+	public void testHistory() {
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final Integer id1 = ids1.get( i );
+			final Integer id2 = ids2.get( i );
+			Assert.assertEquals(
+					new BasicTestEntity1( id1, "x" + MODIFICATION_COUNT, i ),
+					getAuditReader().find( BasicTestEntity1.class, id1, 1 )
+			);
+			Assert.assertEquals(
+					new BasicTestEntity1( id1, "x" + MODIFICATION_COUNT, i % 2 == 0 ? i * 100 + MODIFICATION_COUNT : i ),
+					getAuditReader().find( BasicTestEntity1.class, id1, 2 )
+			);
+			Assert.assertEquals(
+					new BasicTestEntity2( id2, "y" + MODIFICATION_COUNT, null ),
+					getAuditReader().find( BasicTestEntity2.class, id2, 1 )
+			);
+		}
+	}
+}
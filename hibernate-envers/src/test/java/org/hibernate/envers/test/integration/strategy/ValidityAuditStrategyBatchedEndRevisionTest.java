@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.strategy;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.envers.test.entities.ids.EmbId;
+import org.hibernate.envers.test.entities.ids.EmbIdTestEntity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the end revisions set through the JDBC batch by {@link ValidityAuditStrategy} close exactly the
+ * previous revision of every modified entity.
+ */
+public class ValidityAuditStrategyBatchedEndRevisionTest extends BaseEnversJPAFunctionalTestCase {
+	private static final int ENTITY_COUNT = 510;
+
+	private final List<Integer> strIds = new ArrayList<Integer>();
+	private final EmbId embId1 = new EmbId( 1, 2 );
+	private final EmbId embId2 = new EmbId( 10, 20 );
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class, EmbIdTestEntity.class};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.AUDIT_STRATEGY, ValidityAuditStrategy.class.getName() );
+		options.put( AvailableSettings.STATEMENT_BATCH_SIZE, "20" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			strIds.add( entity.getId() );
+		}
+		em.persist( new EmbIdTestEntity( embId1, "a" ) );
+		em.persist( new EmbIdTestEntity( embId2, "b" ) );
+		em.getTransaction().commit();
+		em.clear();
+
+		// Revision 2
+		em.getTransaction().begin();
+		for ( Integer id : strIds ) {
+			em.find( StrTestEntity.class, id ).setStr( "y" + id );
+		}
+		em.find( EmbIdTestEntity.class, embId1 ).setStr1( "a2" );
+		em.remove( em.find( EmbIdTestEntity.class, embId2 ) );
+		em.getTransaction().commit();
+		em.clear();
+
+		// Revision 3
+		em.getTransaction().begin();
+		em.find( StrTestEntity.class, strIds.get( 0 ) ).setStr( "z" );
+		em.find( EmbIdTestEntity.class, embId1 ).setStr1( "a3" );
+		em.getTransaction().commit();
+
+		em.close();
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		Assert.assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, strIds.get( 0 ) ) );
+		Assert.assertEquals( Arrays.asList( 1, 2 ), getAuditReader().getRevisions( StrTestEntity.class, strIds.get( 1 ) ) );
+		Assert.assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( EmbIdTestEntity.class, embId1 ) );
+		Assert.assertEquals( Arrays.asList( 1, 2 ), getAuditReader().getRevisions( EmbIdTestEntity.class, embId2 ) );
+	}
+
+	@Test
+	public void testEndRevisionsOfSingleColumnIds() {
+		Assert.assertEquals( Arrays.asList( 2, 3, null ), getEndRevisions( "STR_TEST_AUD", "id = " + strIds.get( 0 ) ) );
+		Assert.assertEquals( Arrays.asList( 2, null ), getEndRevisions( "STR_TEST_AUD", "id = " + strIds.get( 1 ) ) );
+		Assert.assertEquals(
+				ENTITY_COUNT,
+				getEndRevisions( "STR_TEST_AUD", "REVEND is null" ).size()
+		);
+	}
+
+	@Test
+	public void testEndRevisionsOfCompositeIds() {
+		Assert.assertEquals( Arrays.asList( 2, 3, null ), getEndRevisions( "EmbIdEnt_AUD", "x = 1 and y = 2" ) );
+		Assert.assertEquals( Arrays.asList( 2, null ), getEndRevisions( "EmbIdEnt_AUD", "x = 10 and y = 20" ) );
+	}
+
+	@Test
+	public void testHistoryOfModifiedEntity() {
+		Assert.assertEquals( "x0", getAuditReader().find( StrTestEntity.class, strIds.get( 0 ), 1 ).getStr() );
+		Assert.assertEquals( "y" + strIds.get( 0 ), getAuditReader().find( StrTestEntity.class, strIds.get( 0 ), 2 ).getStr() );
+		Assert.assertEquals( "z", getAuditReader().find( StrTestEntity.class, strIds.get( 0 ), 3 ).getStr() );
+		Assert.assertNull( getAuditReader().find( EmbIdTestEntity.class, embId2, 2 ) );
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Integer> getEndRevisions(String auditTable, String restriction) {
+		final List<Number> endRevisions = getEntityManager().createNativeQuery(
+				"select REVEND from " + auditTable + " where " + restriction + " order by REV"
+		).getResultList();
+		final List<Integer> result = new ArrayList<Integer>();
+		for ( Number endRevision : endRevisions ) {
+			result.add( endRevision == null ? null : endRevision.intValue() );
+		}
+		return result;
+	}
+}
@@ -169,6 +169,14 @@ public class InfinispanRegionFactory implements RegionFactory {
 	 */
 	public static final String DEF_ENTITY_RESOURCE = "entity";
 
+	/**
+	 * Name of the non-transactional configuration in the default configuration file, to be set as
+	 * {@link #ENTITY_CACHE_RESOURCE_PROP} (or a collection, natural id or region specific property) for
+	 * the <tt>read-write</tt> and <tt>nonstrict-read-write</tt> access types.  These do not need a JTA
+	 * transaction manager and rely on asynchronous invalidation between nodes.
+	 */
+	public static final String NON_TX_ENTITY_RESOURCE = "entity-nontx";
+
 	/**
 	 * Default value for {@link #TIMESTAMPS_CACHE_RESOURCE_PROP}.
 	 */
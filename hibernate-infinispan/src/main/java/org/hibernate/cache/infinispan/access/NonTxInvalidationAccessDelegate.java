@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.access;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Defines the strategy for non-transactional, invalidation based access to entity, collection or natural id data in
+ * an Infinispan instance.  It backs the <tt>read-write</tt> and <tt>nonstrict-read-write</tt> access types on caches
+ * which are not configured as transactional, so no JTA transaction manager is needed.
+ * <p/>
+ * The cache is never written on insert or update.  Instead each modified key is invalidated twice: once before the
+ * database write, when the item is locked, and once more after the transaction completes, when it is unlocked.  Both
+ * invalidations go through the {@link PutFromLoadValidator}, so a <tt>putFromLoad</tt> of data read before the
+ * transaction committed is rejected, and a remove on an invalidation mode cache tells the other nodes to drop
+ * their copy.  Only <tt>putFromLoad</tt> ever stores data, after the next read from the database.
+ *
+ * @see org.hibernate.cache.infinispan.InfinispanRegionFactory#ENTITY_CACHE_RESOURCE_PROP
+ */
+public class NonTxInvalidationAccessDelegate extends TransactionalAccessDelegate {
+
+   /**
+    * Create a new non-transactional invalidation access delegate instance.
+    *
+    * @param region to control access to
+    * @param validator put from load validator
+    */
+	public NonTxInvalidationAccessDelegate(BaseRegion region, PutFromLoadValidator validator) {
+		super( region, validator );
+	}
+
+   /**
+    * {@inheritDoc}
+    * <p/>
+    * Never caches the item: the transaction could still roll back, and it is cached by the next
+    * <tt>putFromLoad</tt> once it has committed.
+    */
+	@Override
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+   /**
+    * {@inheritDoc}
+    * <p/>
+    * Invalidates the item instead of caching the new value, which would be visible to other
+    * transactions before this one commits.
+    */
+	@Override
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		remove( key );
+		return false;
+	}
+
+   /**
+    * Called before an item is updated or removed in the database.  Invalidates the item so
+    * that no other transaction reads it from the cache while the database write is pending.
+    *
+    * @param key The item key
+    * @param version The item's current version value
+    * @return always <tt>null</tt>; the item is never locked in the cache
+    * @throws CacheException if invalidating the item fails
+    */
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		remove( key );
+		return null;
+	}
+
+   /**
+    * Called after an item has been inserted (after the transaction completes).
+    *
+    * @param key The item key
+    * @param value The item
+    * @param version The item's version value
+    * @return always <tt>false</tt>; the item is only cached by a later <tt>putFromLoad</tt>
+    */
+	public boolean afterInsert(Object key, Object value, Object version) {
+		return false;
+	}
+
+   /**
+    * Called after an item has been updated (after the transaction completes).  Invalidates the
+    * item again, rejecting any <tt>putFromLoad</tt> of data read before the update committed.
+    *
+    * @param key The item key
+    * @param value The item
+    * @param currentVersion The item's current version value
+    * @param previousVersion The item's previous version value
+    * @param lock The lock previously obtained from {@link #lockItem}
+    * @return always <tt>false</tt>; the item is only cached by a later <tt>putFromLoad</tt>
+    * @throws CacheException if invalidating the item fails
+    */
+	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException {
+		unlockItem( key, lock );
+		return false;
+	}
+
+   /**
+    * Called when the transaction which locked an item completes without updating it through
+    * {@link #afterUpdate}, either because it rolled back or because the item was removed.
+    * Invalidates the item again, for the same reason as {@link #afterUpdate}.
+    *
+    * @param key The item key
+    * @param lock The lock previously obtained from {@link #lockItem}
+    * @throws CacheException if invalidating the item fails
+    */
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		remove( key );
+	}
+
+}
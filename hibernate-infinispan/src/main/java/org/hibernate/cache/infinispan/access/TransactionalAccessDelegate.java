@@ -23,6 +23,11 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import javax.transaction.Transaction;
 
 import org.infinispan.AdvancedCache;
@@ -84,6 +89,32 @@ public class TransactionalAccessDelegate {
 		return val;
 	}
 
+   /**
+    * Attempt to retrieve several objects from the cache.  The region's validity is checked once for all of them;
+    * Infinispan has no multi-key get, so the keys are then read one by one.
+    *
+    * @param keys The keys of the items to be retrieved
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @return the cached objects, keyed by their key; missing keys are absent
+    * @throws CacheException if the cache retrieval failed
+    */
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		if ( !region.checkValid() ) {
+			return values;
+		}
+		for ( Object key : keys ) {
+			final Object val = cache.get( key );
+			if ( val == null ) {
+				putValidator.registerPendingPut( key );
+			}
+			else {
+				values.put( key, val );
+			}
+		}
+		return values;
+	}
+
    /**
     * Attempt to cache an object, after loading from the database.
     *
@@ -117,7 +148,39 @@ public class TransactionalAccessDelegate {
 			}
 			return false;
 		}
+		return putFromLoadIntoValidRegion( key, value, minimalPutOverride );
+	}
+
+   /**
+    * Attempt to cache several objects, after loading them from the database.  The region's validity is checked
+    * once for all of them; each item is still put with its own put-for-external-read, which unlike Infinispan's
+    * putAll never overwrites a concurrently cached value.
+    *
+    * @param values The items, keyed by their key
+    * @param versions The item version numbers, keyed by item key; may be null
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @param minimalPutOverride Explicit minimalPut flag
+    * @return the keys of the items which were successfully cached
+    * @throws CacheException if storing the objects failed
+    */
+	public Set<Object> putAllFromLoad(Map<?, ?> values, Map<?, ?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		final Set<Object> cached = new HashSet<Object>();
+		if ( !region.checkValid() ) {
+			if ( TRACE_ENABLED ) {
+				log.tracef( "Region %s not valid", region.getName() );
+			}
+			return cached;
+		}
+		for ( Map.Entry<?, ?> entry : values.entrySet() ) {
+			if ( putFromLoadIntoValidRegion( entry.getKey(), entry.getValue(), minimalPutOverride ) ) {
+				cached.add( entry.getKey() );
+			}
+		}
+		return cached;
+	}
 
+	private boolean putFromLoadIntoValidRegion(Object key, Object value, boolean minimalPutOverride) {
 		// In theory, since putForExternalRead is already as minimal as it can
 		// get, we shouldn't be need this check. However, without the check and
 		// without https://issues.jboss.org/browse/ISPN-1986, it's impossible to
@@ -63,6 +63,11 @@ public class CollectionRegionImpl extends BaseTransactionalDataRegion implements
 				|| AccessType.TRANSACTIONAL.equals( accessType ) ) {
 			return new TransactionalAccess( this );
 		}
+		if ( AccessType.READ_WRITE.equals( accessType )
+				|| AccessType.NONSTRICT_READ_WRITE.equals( accessType ) ) {
+			checkNonTransactional( accessType );
+			return new ReadWriteAccess( this );
+		}
 
 		throw new CacheException( "Unsupported access type [" + accessType.getExternalName() + "]" );
 	}
@@ -0,0 +1,111 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.collection;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.access.NonTxInvalidationAccessDelegate;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Non-transactional, invalidation based read-write collection region access for Infinispan.  Also used for
+ * nonstrict-read-write access, whose weaker guarantees it satisfies.
+ *
+ * @see NonTxInvalidationAccessDelegate
+ */
+class ReadWriteAccess implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
+
+	private final CollectionRegionImpl region;
+
+	private final NonTxInvalidationAccessDelegate delegate;
+
+	ReadWriteAccess(CollectionRegionImpl region) {
+		this.region = region;
+		this.delegate = new NonTxInvalidationAccessDelegate( region, region.getPutFromLoadValidator() );
+	}
+
+	public void evict(Object key) throws CacheException {
+		delegate.evict( key );
+	}
+
+	public void evictAll() throws CacheException {
+		delegate.evictAll();
+	}
+
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		return delegate.get( key, txTimestamp );
+	}
+
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version );
+	}
+
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
+	}
+
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return delegate.getAll( keys, txTimestamp );
+	}
+
+	public Set<Object> putAllFromLoad(Map<?, ?> values, Map<?, ?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putAllFromLoad( values, versions, txTimestamp, minimalPutOverride );
+	}
+
+	public void remove(Object key) throws CacheException {
+		delegate.remove( key );
+	}
+
+	public void removeAll() throws CacheException {
+		delegate.removeAll();
+	}
+
+	public CollectionRegion getRegion() {
+		return region;
+	}
+
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		return delegate.lockItem( key, version );
+	}
+
+	public SoftLock lockRegion() throws CacheException {
+		return null;
+	}
+
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		delegate.unlockItem( key, lock );
+	}
+
+	public void unlockRegion(SoftLock lock) throws CacheException {
+	}
+
+}
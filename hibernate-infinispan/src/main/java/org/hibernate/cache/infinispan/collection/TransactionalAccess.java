@@ -23,9 +23,14 @@
  */
 package org.hibernate.cache.infinispan.collection;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.access.TransactionalAccessDelegate;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -36,7 +41,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Galder Zamarreño
  * @since 3.5
  */
-class TransactionalAccess implements CollectionRegionAccessStrategy {
+class TransactionalAccess implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	private final CollectionRegionImpl region;
 
@@ -68,6 +73,15 @@ class TransactionalAccess implements CollectionRegionAccessStrategy {
 		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
 	}
 
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return delegate.getAll( keys, txTimestamp );
+	}
+
+	public Set<Object> putAllFromLoad(Map<?, ?> values, Map<?, ?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putAllFromLoad( values, versions, txTimestamp, minimalPutOverride );
+	}
+
 	public void remove(Object key) throws CacheException {
 		delegate.remove( key );
 	}
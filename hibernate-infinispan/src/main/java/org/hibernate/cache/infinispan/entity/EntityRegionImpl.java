@@ -64,6 +64,10 @@ public class EntityRegionImpl extends BaseTransactionalDataRegion implements Ent
 				return new ReadOnlyAccess( this );
 			case TRANSACTIONAL:
 				return new TransactionalAccess( this );
+			case READ_WRITE:
+			case NONSTRICT_READ_WRITE:
+				checkNonTransactional( accessType );
+				return new ReadWriteAccess( this );
 			default:
 				throw new CacheException( "Unsupported access type [" + accessType.getExternalName() + "]" );
 		}
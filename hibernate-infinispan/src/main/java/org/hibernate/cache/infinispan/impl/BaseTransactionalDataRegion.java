@@ -25,9 +25,13 @@ package org.hibernate.cache.infinispan.impl;
 
 import org.infinispan.AdvancedCache;
 
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.infinispan.util.Caches;
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
 
 /**
  * Support for Inifinispan {@link org.hibernate.cache.spi.TransactionalDataRegion} implementors.
@@ -61,4 +65,22 @@ public abstract class BaseTransactionalDataRegion
 		return metadata;
 	}
 
+   /**
+    * Checks that the cache backing this region can serve a non-transactional access type.
+    * The read-write and nonstrict-read-write strategies write outside of any transaction, which
+    * a transactional cache does not allow.
+    *
+    * @param accessType the non-transactional access type requested
+    * @throws CacheException if the cache is configured as transactional
+    */
+	protected void checkNonTransactional(AccessType accessType) throws CacheException {
+		if ( Caches.isTransactionalCache( cache ) ) {
+			throw new CacheException(
+					"Access type [" + accessType.getExternalName() + "] requires a non-transactional cache, but region ["
+							+ getName() + "] uses a transactional one; configure it with a non-transactional cache such as ["
+							+ InfinispanRegionFactory.NON_TX_ENTITY_RESOURCE + "]"
+			);
+		}
+	}
+
 }
@@ -65,7 +65,8 @@ public class Caches {
     * right pattern is used to make sure that the transaction is always either
     * committed or rollbacked.
     *
-    * @param tm transaction manager
+    * @param tm transaction manager; if <code>null</code>, as for a
+    *           non-transactional cache, the operation is just called
     * @param c callable instance to run within a transaction
     * @param <T> type of callable return
     * @return returns whatever the callable returns
@@ -74,6 +75,9 @@ public class Caches {
 	public static <T> T withinTx(
 			TransactionManager tm,
 			Callable<T> c) throws Exception {
+		if ( tm == null ) {
+			return c.call();
+		}
 		tm.begin();
 		try {
 			return c.call();
@@ -255,4 +259,16 @@ public class Caches {
 				.clustering().cacheMode().isClustered();
 	}
 
+   /**
+    * Indicates whether the given cache is configured with a transactional
+    * {@link org.infinispan.transaction.TransactionMode}.
+    *
+    * @param cache to check for transactional configuration
+    * @return true if the cache is transactional, false otherwise
+    */
+	public static boolean isTransactionalCache(AdvancedCache cache) {
+		return cache.getCacheConfiguration()
+				.transaction().transactionMode().isTransactional();
+	}
+
 }
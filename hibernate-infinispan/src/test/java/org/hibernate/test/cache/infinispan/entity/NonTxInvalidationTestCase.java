@@ -0,0 +1,211 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.entity;
+
+import java.util.Arrays;
+
+import org.infinispan.test.TestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.infinispan.entity.EntityRegionImpl;
+import org.hibernate.cache.infinispan.util.Caches;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.util.compare.ComparableComparator;
+import org.hibernate.test.cache.infinispan.AbstractNonFunctionalTestCase;
+import org.hibernate.test.cache.infinispan.NodeEnvironment;
+import org.hibernate.test.cache.infinispan.util.CacheTestUtil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests READ_WRITE access on a non-transactional, asynchronously invalidated entity cache, across two nodes.
+ */
+public class NonTxInvalidationTestCase extends AbstractNonFunctionalTestCase {
+
+   private static final String REGION_NAME = "test/com.foo.test";
+   private static final String KEY_BASE = "KEY";
+   private static final String VALUE1 = "VALUE1";
+   private static final String VALUE2 = "VALUE2";
+
+   private static int testCount;
+
+   private NodeEnvironment localEnvironment;
+   private EntityRegionImpl localEntityRegion;
+   private EntityRegionAccessStrategy localAccessStrategy;
+
+   private NodeEnvironment remoteEnvironment;
+   private EntityRegionImpl remoteEntityRegion;
+   private EntityRegionAccessStrategy remoteAccessStrategy;
+
+   @Before
+   public void prepareResources() throws Exception {
+      Configuration cfg = createConfiguration(InfinispanRegionFactory.NON_TX_ENTITY_RESOURCE);
+      localEnvironment = new NodeEnvironment(cfg);
+      localEnvironment.prepare();
+      localEntityRegion = localEnvironment.getEntityRegion(REGION_NAME, getCacheDataDescription());
+      localAccessStrategy = localEntityRegion.buildAccessStrategy(AccessType.READ_WRITE);
+
+      // Sleep a bit to avoid concurrent FLUSH problem
+      avoidConcurrentFlush();
+
+      remoteEnvironment = new NodeEnvironment(cfg);
+      remoteEnvironment.prepare();
+      remoteEntityRegion = remoteEnvironment.getEntityRegion(REGION_NAME, getCacheDataDescription());
+      remoteAccessStrategy = remoteEntityRegion.buildAccessStrategy(AccessType.READ_WRITE);
+
+      TestingUtil.blockUntilViewsReceived(10000, Arrays.asList(localEntityRegion.getCache(),
+            remoteEntityRegion.getCache()));
+   }
+
+   @After
+   public void releaseResources() throws Exception {
+      try {
+         if (localEnvironment != null) {
+            localEnvironment.release();
+         }
+      } finally {
+         if (remoteEnvironment != null) {
+            remoteEnvironment.release();
+         }
+      }
+   }
+
+   private static Configuration createConfiguration(String configName) {
+      Configuration cfg = CacheTestUtil.buildConfiguration(
+            REGION_PREFIX,
+            InfinispanRegionFactory.class,
+            true,
+            false
+      );
+      cfg.setProperty(InfinispanRegionFactory.ENTITY_CACHE_RESOURCE_PROP, configName);
+      return cfg;
+   }
+
+   private CacheDataDescription getCacheDataDescription() {
+      return new CacheDataDescriptionImpl(true, true, ComparableComparator.INSTANCE);
+   }
+
+   @Test
+   public void testCacheConfiguration() {
+      assertTrue("Using Invalidation", Caches.isInvalidationCache(localEntityRegion.getCache()));
+      assertFalse("Asynchronous mode", Caches.isSynchronousCache(localEntityRegion.getCache()));
+      assertFalse("Non transactional", Caches.isTransactionalCache(localEntityRegion.getCache()));
+   }
+
+   @Test
+   public void testTransactionalCacheRejected() throws Exception {
+      NodeEnvironment environment = new NodeEnvironment(createConfiguration(InfinispanRegionFactory.DEF_ENTITY_RESOURCE));
+      environment.prepare();
+      try {
+         EntityRegionImpl region = environment.getEntityRegion(REGION_NAME + "-tx", getCacheDataDescription());
+         try {
+            region.buildAccessStrategy(AccessType.READ_WRITE);
+            fail("Expected read-write access on a transactional cache to be rejected");
+         } catch (CacheException expected) {
+            // expected
+         }
+      } finally {
+         environment.release();
+      }
+   }
+
+   @Test
+   public void testInsertIsNotCached() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      assertFalse(localAccessStrategy.insert(KEY, VALUE1, new Integer(1)));
+      assertNull("Not cached before commit", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertFalse(localAccessStrategy.afterInsert(KEY, VALUE1, new Integer(1)));
+      assertNull("Not cached after commit", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      assertTrue(localAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1)));
+      assertEquals(VALUE1, localAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+   @Test
+   public void testUpdateInvalidatesBothNodes() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      localAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1));
+      remoteAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1));
+      assertEquals(VALUE1, localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertEquals(VALUE1, remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      SoftLock lock = localAccessStrategy.lockItem(KEY, new Integer(1));
+      assertNull("Invalidated locally before the database write", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      assertFalse(localAccessStrategy.update(KEY, VALUE2, new Integer(2), new Integer(1)));
+      assertNull("Not cached before commit", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      assertFalse(localAccessStrategy.afterUpdate(KEY, VALUE2, new Integer(2), new Integer(1), lock));
+      assertNull("Not cached after commit", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      // Wait for the async invalidation
+      sleep(250);
+      assertNull("Invalidated remotely", remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+   @Test
+   public void testStalePutFromLoadRejectedAfterCompletion() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      SoftLock lock = localAccessStrategy.lockItem(KEY, new Integer(1));
+
+      // A reader misses the cache while the update is pending and reads the old, still committed, value
+      assertNull(localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      localAccessStrategy.update(KEY, VALUE2, new Integer(2), new Integer(1));
+      localAccessStrategy.afterUpdate(KEY, VALUE2, new Integer(2), new Integer(1), lock);
+
+      assertFalse("Stale put rejected", localAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1)));
+      assertNull(localAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+   @Test
+   public void testRollbackInvalidates() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      localAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1));
+      SoftLock lock = localAccessStrategy.lockItem(KEY, new Integer(1));
+      localAccessStrategy.unlockItem(KEY, lock);
+      assertNull(localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      assertTrue(localAccessStrategy.putFromLoad(KEY, VALUE1, System.currentTimeMillis(), new Integer(1)));
+      assertEquals(VALUE1, localAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+}